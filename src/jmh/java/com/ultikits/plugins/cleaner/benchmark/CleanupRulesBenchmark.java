@@ -0,0 +1,126 @@
+package com.ultikits.plugins.cleaner.benchmark;
+
+import com.ultikits.plugins.cleaner.config.CleanerConfig;
+import com.ultikits.plugins.cleaner.service.CleanupRules;
+import org.bukkit.Material;
+import org.bukkit.entity.EntityType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the compiled rule evaluator with the hard-coded item check chain
+ * from {@code CleanerService} over the same item facts.
+ * <p>
+ * Run with {@code mvn -Pjmh test-compile exec:java -Dexec.args="CleanupRulesBenchmark"}.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CleanupRulesBenchmark {
+
+    private static final int SIZE = 4096;
+    private static final int RECENT_TICKS = 10 * 20;
+
+    private final Set<String> whitelist = new HashSet<>(Arrays.asList(
+        "DIAMOND", "DIAMOND_BLOCK", "EMERALD", "NETHERITE_INGOT", "NETHER_STAR", "ELYTRA", "SHULKER_BOX"
+    ));
+
+    private Material[] materials;
+    private int[] materialOrdinals;
+    private int[] ages;
+    private boolean[] named;
+    private int[] flags;
+
+    private CleanupRules legacyRules;
+    private CleanupRules customRules;
+
+    @Setup
+    public void setUp() {
+        CleanerConfig config = new CleanerConfig();
+        config.setItemIgnoreNamed(true);
+        config.setItemIgnoreRecentSeconds(10);
+        legacyRules = CleanupRules.compile(null, config, whitelist);
+        customRules = CleanupRules.compile(Arrays.asList(
+            "keep item world=world_creative",
+            "clean item material=COBBLESTONE,DIRT,NETHERRACK age>=5",
+            "keep item material=BEACON,CONDUIT"
+        ), config, whitelist);
+
+        Material[] all = Material.values();
+        Random random = new Random(42);
+        materials = new Material[SIZE];
+        materialOrdinals = new int[SIZE];
+        ages = new int[SIZE];
+        named = new boolean[SIZE];
+        flags = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            materials[i] = i % 16 == 0 ? Material.DIAMOND : all[random.nextInt(all.length)];
+            materialOrdinals[i] = materials[i].ordinal();
+            ages[i] = random.nextInt(2000);
+            named[i] = random.nextInt(50) == 0;
+            flags[i] = named[i] ? CleanupRules.FLAG_NAMED : 0;
+        }
+    }
+
+    @Benchmark
+    public int legacyChain() {
+        int eligible = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (whitelist.contains(materials[i].name())) {
+                continue;
+            }
+            if (named[i]) {
+                continue;
+            }
+            if (ages[i] < RECENT_TICKS) {
+                continue;
+            }
+            eligible++;
+        }
+        return eligible;
+    }
+
+    @Benchmark
+    public int compiledLegacyOptions() {
+        return evaluate(legacyRules);
+    }
+
+    @Benchmark
+    public int compiledCustomRules() {
+        return evaluate(customRules);
+    }
+
+    private int evaluate(CleanupRules rules) {
+        int eligible = 0;
+        int itemType = EntityType.DROPPED_ITEM.ordinal();
+        int worldId = rules.worldId("world");
+        for (int i = 0; i < SIZE; i++) {
+            if (rules.isCandidate(CleanupRules.TARGET_ITEM, worldId, itemType,
+                    materialOrdinals[i], ages[i], flags[i], 0L)) {
+                eligible++;
+            }
+        }
+        return eligible;
+    }
+}
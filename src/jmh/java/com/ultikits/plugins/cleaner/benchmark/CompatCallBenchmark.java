@@ -0,0 +1,143 @@
+package com.ultikits.plugins.cleaner.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the reflective optional-API calls {@code ServerTypeUtil} used to
+ * make with the static final method handles it uses now.
+ * <p>
+ * Paper itself is not on the benchmark classpath, so the calls go to stand-ins
+ * with the same shapes: a no-argument boolean getter like
+ * {@code Chunk#isEntitiesLoaded()} and a two-int call returning an object like
+ * {@code World#getChunkAtAsync(int, int)}. A direct call is the baseline.
+ * </p>
+ * <p>
+ * Run with {@code mvn -Pjmh test-compile exec:java -Dexec.args="CompatCallBenchmark"}.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompatCallBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private static final MethodHandle IS_ENTITIES_LOADED = find("isEntitiesLoaded",
+        MethodType.methodType(boolean.class));
+    private static final MethodHandle GET_CHUNK_AT = find("getChunkAt",
+        MethodType.methodType(Object.class, int.class, int.class));
+
+    /**
+     * Stand-in for a Paper chunk and world.
+     */
+    public static final class Target {
+        private final boolean loaded;
+        private final Object chunk = new Object();
+
+        Target(boolean loaded) {
+            this.loaded = loaded;
+        }
+
+        public boolean isEntitiesLoaded() {
+            return loaded;
+        }
+
+        public Object getChunkAt(int x, int z) {
+            return chunk;
+        }
+    }
+
+    private Target[] targets;
+    private Method isEntitiesLoadedMethod;
+    private Method getChunkAtMethod;
+
+    private static MethodHandle find(String name, MethodType type) {
+        try {
+            return MethodHandles.publicLookup().findVirtual(Target.class, name, type);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        targets = new Target[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            targets[i] = new Target(i % 3 != 0);
+        }
+        isEntitiesLoadedMethod = Target.class.getMethod("isEntitiesLoaded");
+        getChunkAtMethod = Target.class.getMethod("getChunkAt", int.class, int.class);
+    }
+
+    @Benchmark
+    public int entitiesLoadedDirect() {
+        int loaded = 0;
+        for (Target target : targets) {
+            if (target.isEntitiesLoaded()) {
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    @Benchmark
+    public int entitiesLoadedReflective() throws Exception {
+        int loaded = 0;
+        for (Target target : targets) {
+            if ((boolean) isEntitiesLoadedMethod.invoke(target)) {
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    @Benchmark
+    public int entitiesLoadedMethodHandle() throws Throwable {
+        int loaded = 0;
+        for (Target target : targets) {
+            if ((boolean) IS_ENTITIES_LOADED.invokeExact(target)) {
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    @Benchmark
+    public int chunkAtReflective() throws Exception {
+        int hash = 0;
+        for (int i = 0; i < SIZE; i++) {
+            hash += getChunkAtMethod.invoke(targets[i], i, -i).hashCode();
+        }
+        return hash;
+    }
+
+    @Benchmark
+    public int chunkAtMethodHandle() throws Throwable {
+        int hash = 0;
+        for (int i = 0; i < SIZE; i++) {
+            hash += ((Object) GET_CHUNK_AT.invokeExact(targets[i], i, -i)).hashCode();
+        }
+        return hash;
+    }
+}
@@ -2,10 +2,13 @@ package com.ultikits.plugins.cleaner;
 
 import com.ultikits.plugins.cleaner.service.ChunkUnloadService;
 import com.ultikits.plugins.cleaner.service.CleanerService;
+import com.ultikits.plugins.cleaner.service.TickClock;
 import com.ultikits.plugins.cleaner.service.TpsAwareScheduler;
+import com.ultikits.plugins.cleaner.utils.ServerCapabilities;
 import com.ultikits.plugins.cleaner.utils.ServerTypeUtil;
 import com.ultikits.ultitools.abstracts.UltiToolsPlugin;
 import com.ultikits.ultitools.annotations.UltiToolsModule;
+import org.bukkit.Bukkit;
 
 /**
  * UltiCleaner - Advanced automatic entity and item cleanup for Minecraft servers.
@@ -16,6 +19,7 @@ import com.ultikits.ultitools.annotations.UltiToolsModule;
  * - TPS-adaptive threshold adjustment
  * - Batch processing to minimize lag spikes
  * - Safe chunk unloading with Paper compatibility
+ * - Region-threaded cleanup on Folia
  * - Custom events for extensibility
  * </p>
  *
@@ -27,8 +31,15 @@ public class UltiCleaner extends UltiToolsPlugin {
 
     @Override
     public boolean registerSelf() {
-        // Log server type
-        getLogger().info("Detected server: " + ServerTypeUtil.getServerSoftware());
+        // Detect server type and bind optional API
+        ServerCapabilities capabilities = ServerTypeUtil.init();
+        getLogger().info("Detected server: " + ServerTypeUtil.getServerSoftware() + " " + capabilities.describe());
+
+        // Folia has no main thread; the global region drives the timers instead
+        TickClock tickClock = getContext().getBean(TickClock.class);
+        if (capabilities.isFolia() && tickClock != null) {
+            tickClock.driveFromGlobalRegion(Bukkit.getPluginManager().getPlugin("UltiTools"));
+        }
 
         // Load configuration caches
         CleanerService cleanerService = getContext().getBean(CleanerService.class);
@@ -54,6 +65,26 @@ public class UltiCleaner extends UltiToolsPlugin {
 
     @Override
     public void unregisterSelf() {
+        // Stop in reverse order: timers, queued cleanups and the filter pool go with each service
+        ChunkUnloadService chunkUnloadService = getContext().getBean(ChunkUnloadService.class);
+        if (chunkUnloadService != null) {
+            chunkUnloadService.shutdown();
+        }
+
+        TpsAwareScheduler tpsScheduler = getContext().getBean(TpsAwareScheduler.class);
+        if (tpsScheduler != null) {
+            tpsScheduler.shutdown();
+        }
+
+        CleanerService cleanerService = getContext().getBean(CleanerService.class);
+        if (cleanerService != null) {
+            cleanerService.shutdown();
+        }
+
+        TickClock tickClock = getContext().getBean(TickClock.class);
+        if (tickClock != null) {
+            tickClock.stopRegionDriver();
+        }
         getLogger().info(i18n("cleaner_disabled"));
     }
 
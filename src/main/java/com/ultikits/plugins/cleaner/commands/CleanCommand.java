@@ -1,14 +1,27 @@
 package com.ultikits.plugins.cleaner.commands;
 
 import com.ultikits.plugins.cleaner.service.ChunkUnloadService;
+import com.ultikits.plugins.cleaner.service.CleanJob;
 import com.ultikits.plugins.cleaner.service.CleanerService;
+import com.ultikits.plugins.cleaner.service.GrowthPredictor;
+import com.ultikits.plugins.cleaner.service.HotspotIndex;
+import com.ultikits.plugins.cleaner.service.MsptController;
+import com.ultikits.plugins.cleaner.service.TickClock;
+import com.ultikits.plugins.cleaner.service.TickSampler;
+import com.ultikits.plugins.cleaner.service.TimingWheel;
 import com.ultikits.plugins.cleaner.service.TpsAwareScheduler;
+import com.ultikits.plugins.cleaner.service.TrashBin;
+import com.ultikits.plugins.cleaner.service.TrashStore;
+import com.ultikits.plugins.cleaner.service.WorldProfile;
 import com.ultikits.ultitools.abstracts.command.BaseCommandExecutor;
 import com.ultikits.ultitools.annotations.command.*;
 
 import org.bukkit.ChatColor;
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -26,6 +39,8 @@ import java.util.Map;
 )
 public class CleanCommand extends BaseCommandExecutor {
     
+    private static final int BIN_PAGE_SIZE = 10;
+    
     private final CleanerService cleanerService;
     private final ChunkUnloadService chunkUnloadService;
     
@@ -36,33 +51,40 @@ public class CleanCommand extends BaseCommandExecutor {
     
     @CmdMapping(format = "items")
     public void cleanItems(@CmdSender CommandSender sender) {
-        if (cleanerService.isCleaningInProgress()) {
-            sender.sendMessage(ChatColor.YELLOW + "清理正在进行中，请稍候...");
-            return;
-        }
+        boolean queued = cleanerService.isCleaningInProgress();
         int count = cleanerService.forceCleanItems();
-        sender.sendMessage(ChatColor.GREEN + "已开始清理 " + count + " 个地面物品（分批处理中）...");
+        reportStarted(sender, queued, describeCount(count, "个地面物品"));
     }
     
     @CmdMapping(format = "entities")
     public void cleanEntities(@CmdSender CommandSender sender) {
-        if (cleanerService.isCleaningInProgress()) {
-            sender.sendMessage(ChatColor.YELLOW + "清理正在进行中，请稍候...");
-            return;
-        }
+        boolean queued = cleanerService.isCleaningInProgress();
         int count = cleanerService.forceCleanEntities();
-        sender.sendMessage(ChatColor.GREEN + "已开始清理 " + count + " 个实体（分批处理中）...");
+        reportStarted(sender, queued, describeCount(count, "个实体"));
     }
     
     @CmdMapping(format = "all")
     public void cleanAll(@CmdSender CommandSender sender) {
-        if (cleanerService.isCleaningInProgress()) {
-            sender.sendMessage(ChatColor.YELLOW + "清理正在进行中，请稍候...");
-            return;
-        }
+        boolean queued = cleanerService.isCleaningInProgress();
         int itemCount = cleanerService.forceCleanItems();
         int entityCount = cleanerService.forceCleanEntities();
-        sender.sendMessage(ChatColor.GREEN + "已开始清理 " + itemCount + " 个物品和 " + entityCount + " 个实体（分批处理中）...");
+        reportStarted(sender, queued,
+            describeCount(itemCount, "个物品") + "和 " + describeCount(entityCount, "个实体"));
+    }
+    
+    /**
+     * Describe a count; negative counts are unknown until the region scans finish (Folia).
+     */
+    private static String describeCount(int count, String what) {
+        return count >= 0 ? count + " " + what : "所有" + what.substring(1);
+    }
+    
+    private void reportStarted(CommandSender sender, boolean queued, String what) {
+        if (queued) {
+            sender.sendMessage(ChatColor.YELLOW + "清理正在进行中，已将 " + what + " 加入清理队列");
+        } else {
+            sender.sendMessage(ChatColor.GREEN + "已开始清理 " + what + "（分批处理中）...");
+        }
     }
     
     @CmdMapping(format = "chunks")
@@ -72,21 +94,30 @@ public class CleanCommand extends BaseCommandExecutor {
             return;
         }
         int count = chunkUnloadService.forceUnloadChunks();
+        if (count < 0) {
+            sender.sendMessage(ChatColor.RED + "Folia 服务器由自身的区块系统卸载区块，插件无法卸载！");
+            return;
+        }
         sender.sendMessage(ChatColor.GREEN + "已卸载 " + count + " 个闲置区块！");
     }
     
     @CmdMapping(format = "check")
     public void check(@CmdSender CommandSender sender) {
-        Map<String, Integer> counts = cleanerService.getEntityCounts();
-        
         sender.sendMessage(ChatColor.GOLD + "=== 服务器实体统计 ===");
-        sender.sendMessage(ChatColor.YELLOW + "地面物品: " + ChatColor.WHITE + counts.get("items"));
-        sender.sendMessage(ChatColor.YELLOW + "可清理生物: " + ChatColor.WHITE + counts.get("mobs"));
-        sender.sendMessage(ChatColor.YELLOW + "实体总数: " + ChatColor.WHITE + counts.get("total"));
+        if (cleanerService.isRegionThreaded()) {
+            sender.sendMessage(ChatColor.GRAY + "Folia 服务器按区域清理，不提供全服实体统计");
+        } else {
+            checkEntities(sender);
+        }
         
         if (chunkUnloadService != null) {
             sender.sendMessage(ChatColor.YELLOW + "已加载区块: " + ChatColor.WHITE + chunkUnloadService.getTotalLoadedChunks());
-            sender.sendMessage(ChatColor.YELLOW + "可卸载区块: " + ChatColor.WHITE + chunkUnloadService.getUnloadableChunkCount());
+            int unloadable = chunkUnloadService.getUnloadableChunkCount();
+            if (unloadable >= 0) {
+                sender.sendMessage(ChatColor.YELLOW + "可卸载区块: " + ChatColor.WHITE + unloadable);
+            } else {
+                sender.sendMessage(ChatColor.GRAY + "区块卸载由 Folia 管理，插件的区块卸载已停用");
+            }
         }
         
         TpsAwareScheduler tpsScheduler = cleanerService.getTpsScheduler();
@@ -95,11 +126,40 @@ public class CleanCommand extends BaseCommandExecutor {
         }
     }
     
+    private void checkEntities(CommandSender sender) {
+        Map<String, Integer> counts = cleanerService.getEntityCounts();
+        sender.sendMessage(ChatColor.YELLOW + "地面物品: " + ChatColor.WHITE + counts.get("items"));
+        sender.sendMessage(ChatColor.YELLOW + "可清理生物: " + ChatColor.WHITE + counts.get("mobs"));
+        sender.sendMessage(ChatColor.YELLOW + "实体总数: " + ChatColor.WHITE + counts.get("total"));
+        
+        GrowthPredictor itemGrowth = cleanerService.getItemGrowth();
+        GrowthPredictor mobGrowth = cleanerService.getMobGrowth();
+        if (itemGrowth != null && mobGrowth != null && itemGrowth.getSampleCount() >= GrowthPredictor.MIN_SAMPLES) {
+            sender.sendMessage(ChatColor.YELLOW + "增长速度: " + ChatColor.WHITE
+                + "物品 " + String.format("%+.0f", itemGrowth.getRatePerSecond() * 60) + "/分钟, "
+                + "生物 " + String.format("%+.0f", mobGrowth.getRatePerSecond() * 60) + "/分钟");
+        }
+        
+        List<HotspotIndex.Hotspot> hotspots = cleanerService.getHotspots();
+        if (!hotspots.isEmpty()) {
+            sender.sendMessage(ChatColor.YELLOW + "实体最密集区块:");
+            for (HotspotIndex.Hotspot hotspot : hotspots) {
+                sender.sendMessage(ChatColor.GRAY + "  " + hotspot.getWorldName()
+                    + " (" + hotspot.getChunkX() + ", " + hotspot.getChunkZ() + "): "
+                    + ChatColor.WHITE + hotspot.getCount());
+            }
+        }
+    }
+    
     @CmdMapping(format = "status")
     public void status(@CmdSender CommandSender sender) {
         sender.sendMessage(ChatColor.GOLD + "=== 清理状态 ===");
         sender.sendMessage(ChatColor.YELLOW + "下次物品清理: " + ChatColor.WHITE + cleanerService.getItemCountdown() + " 秒");
         sender.sendMessage(ChatColor.YELLOW + "下次实体清理: " + ChatColor.WHITE + cleanerService.getEntityCountdown() + " 秒");
+        for (WorldProfile profile : cleanerService.getWorldProfiles()) {
+            sender.sendMessage(ChatColor.YELLOW + "  " + profile.getWorldName() + ": " + ChatColor.WHITE
+                + "物品 " + profile.getItemCountdown() + " 秒, 实体 " + profile.getEntityCountdown() + " 秒");
+        }
         
         if (cleanerService.isCleaningInProgress()) {
             sender.sendMessage(ChatColor.YELLOW + "清理状态: " + ChatColor.GREEN + "进行中...");
@@ -110,7 +170,18 @@ public class CleanCommand extends BaseCommandExecutor {
         TpsAwareScheduler tpsScheduler = cleanerService.getTpsScheduler();
         if (tpsScheduler != null) {
             sender.sendMessage(ChatColor.YELLOW + "TPS: " + tpsScheduler.getTpsStatus());
-            if (tpsScheduler.isCriticalTps()) {
+            TickSampler sampler = tpsScheduler.getTickSampler();
+            if (sampler != null && sampler.getSampleCount() >= TickSampler.TICKS_1M) {
+                double[] p = sampler.getPercentiles();
+                sender.sendMessage(ChatColor.YELLOW + "Tick间隔(1分钟): " + ChatColor.WHITE
+                    + String.format("p50 %.0f ms, p95 %.0f ms, p99 %.0f ms", p[0], p[1], p[2]));
+            }
+            MsptController mspt = tpsScheduler.getMsptController();
+            if (mspt != null) {
+                sender.sendMessage(ChatColor.YELLOW + "MSPT: " + ChatColor.WHITE
+                    + String.format("%.1f ms (目标 %.1f ms), 阈值系数 %.2f",
+                        mspt.getLastMspt(), mspt.getTargetMspt(), mspt.getMultiplier()));
+            } else if (tpsScheduler.isCriticalTps()) {
                 sender.sendMessage(ChatColor.RED + "⚠ TPS严重过低，智能清理阈值已降低50%");
             } else if (tpsScheduler.isLowTps()) {
                 sender.sendMessage(ChatColor.YELLOW + "⚠ TPS较低，智能清理阈值已降低30%");
@@ -118,6 +189,129 @@ public class CleanCommand extends BaseCommandExecutor {
         }
     }
     
+    @CmdMapping(format = "bin")
+    public void bin(@CmdSender CommandSender sender) {
+        showBin(sender, 1);
+    }
+    
+    @CmdMapping(format = "bin <page>")
+    public void bin(@CmdSender CommandSender sender, @CmdParam("page") String page) {
+        try {
+            showBin(sender, Integer.parseInt(page));
+        } catch (NumberFormatException e) {
+            sender.sendMessage(ChatColor.RED + "页码必须是数字！");
+        }
+    }
+    
+    private void showBin(CommandSender sender, int page) {
+        TrashBin trashBin = cleanerService.getTrashBin();
+        if (trashBin == null || !trashBin.isEnabled()) {
+            sender.sendMessage(ChatColor.RED + "回收站未启用！");
+            return;
+        }
+        int pages = Math.max(1, (trashBin.size() + BIN_PAGE_SIZE - 1) / BIN_PAGE_SIZE);
+        List<TrashStore.Entry> entries = trashBin.page(page - 1, BIN_PAGE_SIZE);
+        
+        sender.sendMessage(ChatColor.GOLD + "=== 回收站 (" + page + "/" + pages + ") ===");
+        if (entries.isEmpty()) {
+            sender.sendMessage(ChatColor.GRAY + "没有可找回的物品");
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (TrashStore.Entry entry : entries) {
+            sender.sendMessage(ChatColor.YELLOW + "#" + entry.getId() + " " + ChatColor.WHITE
+                + entry.getMaterial() + " x" + entry.getAmount()
+                + ChatColor.GRAY + " (" + (now - entry.getTime()) / 1000 + " 秒前)");
+        }
+        sender.sendMessage(ChatColor.GRAY + "使用 /clean restore <编号> 找回物品");
+    }
+    
+    @CmdMapping(format = "restore <id>")
+    public void restore(@CmdSender Player player, @CmdParam("id") String id) {
+        TrashBin trashBin = cleanerService.getTrashBin();
+        if (trashBin == null || !trashBin.isEnabled()) {
+            player.sendMessage(ChatColor.RED + "回收站未启用！");
+            return;
+        }
+        long entryId;
+        try {
+            entryId = Long.parseLong(id.startsWith("#") ? id.substring(1) : id);
+        } catch (NumberFormatException e) {
+            player.sendMessage(ChatColor.RED + "编号必须是数字！");
+            return;
+        }
+        ItemStack stack = trashBin.restore(entryId);
+        if (stack == null) {
+            player.sendMessage(ChatColor.RED + "物品 #" + entryId + " 不存在或已被覆盖！");
+            return;
+        }
+        for (ItemStack leftover : player.getInventory().addItem(stack).values()) {
+            player.getWorld().dropItem(player.getLocation(), leftover);
+        }
+        player.sendMessage(ChatColor.GREEN + "已找回 " + stack.getType() + " x" + stack.getAmount());
+    }
+    
+    @CmdMapping(format = "timers")
+    public void timers(@CmdSender CommandSender sender) {
+        TickClock tickClock = cleanerService.getTickClock();
+        if (tickClock == null) {
+            sender.sendMessage(ChatColor.RED + "计时器不可用！");
+            return;
+        }
+        sender.sendMessage(ChatColor.GOLD + "=== 计时器 (" + tickClock.getTimers().size() + " 个运行中) ===");
+        for (TimingWheel.TaskStats stats : tickClock.getTimerStats()) {
+            sender.sendMessage(ChatColor.YELLOW + stats.getName() + ChatColor.WHITE
+                + " 次数: " + stats.getRuns()
+                + " 平均: " + String.format("%.3f", stats.getAverageNanos() / 1_000_000.0) + "ms"
+                + " 最长: " + String.format("%.3f", stats.getMaxNanos() / 1_000_000.0) + "ms"
+                + (stats.getErrors() > 0 ? ChatColor.RED + " 错误: " + stats.getErrors() : ""));
+        }
+    }
+    
+    @CmdMapping(format = "jobs")
+    public void jobs(@CmdSender CommandSender sender) {
+        List<CleanJob> jobs = cleanerService.getCleanCoordinator().getJobs();
+        sender.sendMessage(ChatColor.GOLD + "=== 清理队列 (" + jobs.size() + " 个任务) ===");
+        if (jobs.isEmpty()) {
+            sender.sendMessage(ChatColor.GRAY + "没有进行中的清理任务");
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (CleanJob job : jobs) {
+            sender.sendMessage(ChatColor.YELLOW + "#" + job.getId() + " " + ChatColor.WHITE + job.getName()
+                + " [" + priorityLabel(job.getPriority()) + "] " + ChatColor.AQUA + job.getState()
+                + ChatColor.GRAY + " (" + (now - job.getSubmitTime()) / 1000 + " 秒前提交)");
+        }
+        sender.sendMessage(ChatColor.GRAY + "使用 /clean cancel <编号> 取消任务");
+    }
+    
+    @CmdMapping(format = "cancel <id>")
+    public void cancel(@CmdSender CommandSender sender, @CmdParam("id") String id) {
+        long jobId;
+        try {
+            jobId = Long.parseLong(id.startsWith("#") ? id.substring(1) : id);
+        } catch (NumberFormatException e) {
+            sender.sendMessage(ChatColor.RED + "编号必须是数字！");
+            return;
+        }
+        if (cleanerService.getCleanCoordinator().cancel(jobId)) {
+            sender.sendMessage(ChatColor.GREEN + "已取消清理任务 #" + jobId);
+        } else {
+            sender.sendMessage(ChatColor.RED + "清理任务 #" + jobId + " 不存在或已结束！");
+        }
+    }
+    
+    private static String priorityLabel(CleanJob.Priority priority) {
+        switch (priority) {
+            case MANUAL:
+                return "手动";
+            case SMART:
+                return "智能";
+            default:
+                return "定时";
+        }
+    }
+    
     @CmdMapping(format = "")
     public void help(@CmdSender CommandSender sender) {
         sender.sendMessage(ChatColor.GOLD + "=== UltiCleaner 帮助 ===");
@@ -127,6 +321,11 @@ public class CleanCommand extends BaseCommandExecutor {
         sender.sendMessage(ChatColor.YELLOW + "/clean chunks" + ChatColor.WHITE + " - 卸载闲置区块");
         sender.sendMessage(ChatColor.YELLOW + "/clean check" + ChatColor.WHITE + " - 查看实体统计");
         sender.sendMessage(ChatColor.YELLOW + "/clean status" + ChatColor.WHITE + " - 查看清理状态");
+        sender.sendMessage(ChatColor.YELLOW + "/clean bin [页码]" + ChatColor.WHITE + " - 查看回收站");
+        sender.sendMessage(ChatColor.YELLOW + "/clean restore <编号>" + ChatColor.WHITE + " - 从回收站找回物品");
+        sender.sendMessage(ChatColor.YELLOW + "/clean timers" + ChatColor.WHITE + " - 查看计时器耗时");
+        sender.sendMessage(ChatColor.YELLOW + "/clean jobs" + ChatColor.WHITE + " - 查看清理队列");
+        sender.sendMessage(ChatColor.YELLOW + "/clean cancel <编号>" + ChatColor.WHITE + " - 取消清理任务");
     }
     
     @Override
@@ -1,5 +1,6 @@
 package com.ultikits.plugins.cleaner.config;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -52,7 +53,39 @@ public class CleanerConfig extends AbstractConfigEntity {
     @Range(min = 0, max = 300)
     @ConfigEntry(path = "item.ignore-recent", comment = "忽略刚掉落的物品（秒）")
     private int itemIgnoreRecentSeconds = 30;
+
+    @ConfigEntry(path = "item.tracker-enabled", comment = "启用增量物品索引（通过事件维护，清理时无需遍历全部实体）")
+    private boolean itemTrackerEnabled = false;
+
+    @Range(min = 10, max = 3600)
+    @ConfigEntry(path = "item.tracker-reconcile-interval", comment = "物品索引与实际扫描校准的间隔（秒）")
+    private int itemTrackerReconcileInterval = 60;
+
+    @ConfigEntry(path = "item.lifetime-enabled", comment = "按物品寿命逐个清理（需开启 tracker-enabled，取代全局倒计时清理）")
+    private boolean itemLifetimeEnabled = false;
+
+    @Range(min = 10, max = 3600)
+    @ConfigEntry(path = "item.lifetime-default", comment = "物品默认寿命（秒）")
+    private int itemLifetimeDefault = 300;
+
+    @ConfigEntry(path = "item.lifetimes", comment = "按材质设置寿命（秒，0为永不清理），格式：MATERIAL:秒数")
+    private List<String> itemLifetimes = new ArrayList<>();
+
+    @ConfigEntry(path = "item.merge-enabled", comment = "清理前先把附近相同的掉落物合并成整组（不会删除物品）")
+    private boolean itemMergeEnabled = false;
+
+    @Range(min = 0, max = 16)
+    @ConfigEntry(path = "item.merge-radius", comment = "掉落物合并半径（格）")
+    private double itemMergeRadius = 2.0;
     
+    // ============ Recycle Bin ============
+    @ConfigEntry(path = "bin.enabled", comment = "启用回收站（被清理的物品可通过 /clean bin 找回）")
+    private boolean binEnabled = false;
+
+    @Range(min = 1, max = 512)
+    @ConfigEntry(path = "bin.size-mb", comment = "回收站容量（MB，写满后覆盖最早的物品；服务器重启后清空）")
+    private int binSizeMb = 8;
+
     // ============ Entity Cleanup ============
     @ConfigEntry(path = "entity.enabled", comment = "启用实体清理")
     private boolean entityCleanEnabled = true;
@@ -94,6 +127,9 @@ public class CleanerConfig extends AbstractConfigEntity {
         "world_creative"
     );
     
+    @ConfigEntry(path = "worlds.profiles", comment = "按世界单独设置清理参数，格式 世界名:item-interval=秒,entity-interval=秒,item-threshold=数量,mob-threshold=数量,batch-size=数量（省略的项使用全局设置）")
+    private List<String> worldProfiles = new ArrayList<>();
+    
     // ============ Smart Cleanup ============
     @ConfigEntry(path = "smart.enabled", comment = "启用智能清理（基于实体数量阈值自动触发）")
     private boolean smartCleanEnabled = false;
@@ -110,14 +146,78 @@ public class CleanerConfig extends AbstractConfigEntity {
     @ConfigEntry(path = "smart.cooldown", comment = "智能清理冷却时间（秒）")
     private int smartCleanCooldown = 60;
 
+    @ConfigEntry(path = "smart.mob-counter-enabled", comment = "启用实时生物计数（通过事件维护，智能检测无需遍历实体；超过阈值时先用实际扫描确认）")
+    private boolean mobCounterEnabled = true;
+
+    @Range(min = 10, max = 3600)
+    @ConfigEntry(path = "smart.reconcile-interval", comment = "实时生物计数与实际扫描校准的间隔（秒）")
+    private int mobCounterReconcileInterval = 60;
+
+    @ConfigEntry(path = "smart.hotspot-only", comment = "智能清理只清理实体最密集的区块")
+    private boolean hotspotOnly = false;
+
+    @Range(min = 1, max = 100)
+    @ConfigEntry(path = "smart.hotspot-count", comment = "密集区块数量（用于智能清理和 /clean check 显示）")
+    private int hotspotCount = 5;
+
+    @ConfigEntry(path = "smart.predict-enabled", comment = "按实体增长速度预测，预计将在短时间内超过阈值时提前触发智能清理")
+    private boolean predictEnabled = false;
+
+    @Range(min = 5, max = 600)
+    @ConfigEntry(path = "smart.predict-seconds", comment = "预测的时间范围（秒），预计在此时间内超过阈值即提前清理")
+    private int predictSeconds = 30;
+
+    @Range(min = 3, max = 120)
+    @ConfigEntry(path = "smart.predict-samples", comment = "用于拟合增长速度的采样数量（每5秒采样一次）")
+    private int predictSamples = 12;
+
     // ============ Batch Processing ============
     @Range(min = 10, max = 500)
     @ConfigEntry(path = "batch.size", comment = "每tick清理的实体数量（分批清理减少卡顿）")
     private int cleanBatchSize = 50;
 
+    @Range(min = 0, max = 50)
+    @ConfigEntry(path = "batch.budget-ms", comment = "每tick清理的时间预算（毫秒，TPS低时自动缩减；0为按batch.size固定数量清理）")
+    private double removeBudgetMs = 0.0;
+
     @ConfigEntry(path = "batch.show-progress", comment = "向OP显示清理进度")
     private boolean showCleanProgress = false;
+
+    @ConfigEntry(path = "batch.sliced-collect", comment = "按区块分片收集待清理实体，分摊到多个tick")
+    private boolean slicedCollectEnabled = false;
+
+    @Range(min = 100, max = 50000)
+    @ConfigEntry(path = "batch.collect-budget-us", comment = "分片收集每tick的时间预算（微秒）")
+    private int collectBudgetMicros = 2000;
+
+    @ConfigEntry(path = "batch.parallel-filter", comment = "主线程只采集实体快照，白名单等过滤在后台线程池并行执行")
+    private boolean parallelFilterEnabled = false;
+
+    @Range(min = 1, max = 200)
+    @ConfigEntry(path = "batch.job-gap", comment = "排队的清理任务依次执行，前一个结束后间隔多少tick再开始下一个")
+    private int jobGapTicks = 10;
     
+    // ============ Chunk Density ============
+
+    @ConfigEntry(path = "density.enabled", comment = "启用区块密度限制（只清理超出上限的部分，优先清理存在最久的）")
+    private boolean densityEnabled = false;
+
+    @Range(min = 0, max = 10000)
+    @ConfigEntry(path = "density.max-items", comment = "每区块最多掉落物数量（0为不限制）")
+    private int densityMaxItems = 200;
+
+    @Range(min = 0, max = 10000)
+    @ConfigEntry(path = "density.max-mobs", comment = "每区块每种生物最多数量（0为不限制）")
+    private int densityMaxMobs = 50;
+
+    @ConfigEntry(path = "density.type-limits", comment = "按生物类型单独设置上限，格式 类型:数量")
+    private List<String> densityTypeLimits = new ArrayList<>();
+
+    // ============ Rules ============
+
+    @ConfigEntry(path = "rules", comment = "自定义清理规则（按顺序匹配，首条命中生效；为空时使用上方白名单选项）")
+    private List<String> cleanRules = new ArrayList<>();
+
     // ============ TPS Adaptive ============
     @ConfigEntry(path = "tps.adaptive-enabled", comment = "启用TPS自适应阈值调整")
     private boolean tpsAdaptiveEnabled = true;
@@ -141,6 +241,17 @@ public class CleanerConfig extends AbstractConfigEntity {
     @Range(min = 0, max = 90)
     @ConfigEntry(path = "tps.critical-reduction", comment = "严重低TPS时阈值降低百分比")
     private int criticalTpsReduction = 50;
+
+    @ConfigEntry(path = "tps.mspt-control-enabled", comment = "按每tick耗时（MSPT）持续调节阈值、清理预算和区块卸载速度，代替上方TPS分档（需要 Paper，Spigot 上仍使用TPS分档）")
+    private boolean msptControlEnabled = false;
+
+    @Range(min = 10, max = 50)
+    @ConfigEntry(path = "tps.target-mspt", comment = "目标MSPT（毫秒），超过时清理更积极，有余量时逐步放缓")
+    private double targetMspt = 40.0;
+
+    @Range(min = 0, max = 90)
+    @ConfigEntry(path = "tps.mspt-max-reduction", comment = "MSPT调节时阈值最多降低的百分比")
+    private int msptMaxReduction = 70;
     
     // ============ Chunk Unload ============
     @ConfigEntry(path = "chunk.enabled", comment = "启用区块卸载（卸载远离玩家的区块）")
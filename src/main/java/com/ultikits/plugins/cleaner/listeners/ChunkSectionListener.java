@@ -0,0 +1,49 @@
+package com.ultikits.plugins.cleaner.listeners;
+
+import com.ultikits.plugins.cleaner.service.ChunkSectionIndex;
+import com.ultikits.ultitools.annotations.Autowired;
+import com.ultikits.ultitools.annotations.EventListener;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntitySpawnEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+
+/**
+ * Keeps the {@link ChunkSectionIndex} in sync with chunk load events.
+ * The index ignores events until it is enabled on Folia.
+ * <p>
+ * A spawn also marks its chunk loaded, which indexes chunks that were loaded
+ * before the index was enabled and lay outside the seeding sweep.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+@EventListener
+public class ChunkSectionListener implements Listener {
+
+    @Autowired
+    private ChunkSectionIndex sectionIndex;
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        Chunk chunk = event.getChunk();
+        sectionIndex.onChunkLoad(chunk.getWorld().getName(), chunk.getX(), chunk.getZ());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntitySpawn(EntitySpawnEvent event) {
+        Location location = event.getLocation();
+        sectionIndex.onChunkLoad(location.getWorld().getName(), location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        Chunk chunk = event.getChunk();
+        sectionIndex.onChunkUnload(chunk.getWorld().getName(), chunk.getX(), chunk.getZ());
+    }
+}
@@ -0,0 +1,106 @@
+package com.ultikits.plugins.cleaner.listeners;
+
+import com.ultikits.plugins.cleaner.service.ItemTracker;
+import com.ultikits.plugins.cleaner.utils.ServerTypeUtil;
+import com.ultikits.ultitools.annotations.Autowired;
+import com.ultikits.ultitools.annotations.EventListener;
+import org.bukkit.entity.Item;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.entity.ItemDespawnEvent;
+import org.bukkit.event.entity.ItemMergeEvent;
+import org.bukkit.event.entity.ItemSpawnEvent;
+import org.bukkit.event.inventory.InventoryPickupItemEvent;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+
+/**
+ * Keeps the {@link ItemTracker} index in sync with item lifecycle events.
+ * <p>
+ * Item tracking is skipped on Folia, where these events fire on every region
+ * thread at once, so the handlers ignore them there instead of writing the
+ * tracker's maps concurrently.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+@EventListener
+public class ItemTrackerListener implements Listener {
+
+    @Autowired
+    private ItemTracker itemTracker;
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemSpawn(ItemSpawnEvent event) {
+        if (ServerTypeUtil.isFolia()) {
+            return;
+        }
+        itemTracker.track(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemMerge(ItemMergeEvent event) {
+        if (ServerTypeUtil.isFolia()) {
+            return;
+        }
+        // The source item is absorbed into the target
+        itemTracker.untrack(event.getEntity().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemPickup(EntityPickupItemEvent event) {
+        if (ServerTypeUtil.isFolia()) {
+            return;
+        }
+        // Partial pickups leave the item entity in the world
+        if (event.getRemaining() == 0) {
+            itemTracker.untrack(event.getItem().getUniqueId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onHopperPickup(InventoryPickupItemEvent event) {
+        if (ServerTypeUtil.isFolia()) {
+            return;
+        }
+        // The event does not say how much was taken; a partial pickup is seeded again on reconcile
+        itemTracker.untrack(event.getItem().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemDespawn(ItemDespawnEvent event) {
+        if (ServerTypeUtil.isFolia()) {
+            return;
+        }
+        itemTracker.untrack(event.getEntity().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemDamage(EntityDamageEvent event) {
+        if (ServerTypeUtil.isFolia() || !(event.getEntity() instanceof Item)) {
+            return;
+        }
+        // Fire, lava, cacti and explosions destroy items without an event of their own
+        itemTracker.markDamaged((Item) event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        if (ServerTypeUtil.isFolia()) {
+            return;
+        }
+        itemTracker.trackAll(event.getEntities());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        if (ServerTypeUtil.isFolia()) {
+            return;
+        }
+        itemTracker.untrackAll(event.getEntities());
+    }
+}
@@ -0,0 +1,43 @@
+package com.ultikits.plugins.cleaner.listeners;
+
+import com.ultikits.plugins.cleaner.service.LoadedChunkTracker;
+import com.ultikits.ultitools.annotations.Autowired;
+import com.ultikits.ultitools.annotations.EventListener;
+import org.bukkit.Chunk;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+/**
+ * Keeps the {@link LoadedChunkTracker} in sync with chunk and world events.
+ * The tracker ignores chunk events until it is enabled.
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+@EventListener
+public class LoadedChunkListener implements Listener {
+
+    @Autowired
+    private LoadedChunkTracker chunkTracker;
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        Chunk chunk = event.getChunk();
+        chunkTracker.onChunkLoad(chunk.getWorld().getName(), chunk.getX(), chunk.getZ());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        Chunk chunk = event.getChunk();
+        chunkTracker.onChunkUnload(chunk.getWorld().getName(), chunk.getX(), chunk.getZ());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        chunkTracker.onWorldUnload(event.getWorld().getName());
+    }
+}
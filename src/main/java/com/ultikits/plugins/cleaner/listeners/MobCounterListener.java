@@ -0,0 +1,63 @@
+package com.ultikits.plugins.cleaner.listeners;
+
+import com.ultikits.plugins.cleaner.service.MobCounter;
+import com.ultikits.plugins.cleaner.utils.ServerTypeUtil;
+import com.ultikits.ultitools.annotations.Autowired;
+import com.ultikits.ultitools.annotations.EventListener;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.entity.EntitySpawnEvent;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+
+/**
+ * Keeps the {@link MobCounter} counters in sync with mob lifecycle events.
+ * <p>
+ * The smart check that reads the counters is off on Folia, where these events
+ * fire on every region thread at once, so the handlers ignore them there
+ * instead of updating the counters concurrently.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+@EventListener
+public class MobCounterListener implements Listener {
+
+    @Autowired
+    private MobCounter mobCounter;
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntitySpawn(EntitySpawnEvent event) {
+        if (ServerTypeUtil.isFolia()) {
+            return;
+        }
+        mobCounter.increment(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityDeath(EntityDeathEvent event) {
+        if (ServerTypeUtil.isFolia()) {
+            return;
+        }
+        mobCounter.decrement(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        if (ServerTypeUtil.isFolia()) {
+            return;
+        }
+        mobCounter.incrementAll(event.getEntities());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        if (ServerTypeUtil.isFolia()) {
+            return;
+        }
+        mobCounter.decrementAll(event.getEntities());
+    }
+}
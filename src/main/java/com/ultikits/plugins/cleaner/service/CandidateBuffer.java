@@ -0,0 +1,419 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.utils.ChunkKeyUtil;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Compact list of cleanup candidates.
+ * <p>
+ * UUIDs are stored as parallel {@code long} arrays of their most and least
+ * significant bits, next to the packed chunk key and world each candidate was
+ * seen in. Type counts are kept in an {@code int} array indexed by ordinal.
+ * {@link #asList()} exposes the candidates to event listeners as a mutable
+ * {@code List<UUID>} that only creates {@link UUID} objects on access.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class CandidateBuffer {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int NO_WORLD = -1;
+
+    private long[] mostBits;
+    private long[] leastBits;
+    private long[] chunkKeys;
+    private int[] worldIds;
+    private int size;
+
+    private final List<String> worldNames = new ArrayList<>();
+    private final Map<String, Integer> worldIndex = new HashMap<>();
+    private final int[] typeCounts = new int[EntityType.values().length];
+
+    private final View view = new View();
+
+    /**
+     * Create an empty CandidateBuffer.
+     */
+    public CandidateBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create an empty CandidateBuffer.
+     *
+     * @param capacity initial capacity
+     */
+    public CandidateBuffer(int capacity) {
+        int initial = Math.max(capacity, 1);
+        mostBits = new long[initial];
+        leastBits = new long[initial];
+        chunkKeys = new long[initial];
+        worldIds = new int[initial];
+    }
+
+    /**
+     * Create a buffer holding the given UUIDs without locations.
+     *
+     * @param uuids candidate UUIDs
+     * @return new buffer
+     */
+    public static CandidateBuffer of(List<UUID> uuids) {
+        CandidateBuffer buffer = new CandidateBuffer(uuids.size());
+        for (UUID uuid : uuids) {
+            buffer.add(uuid);
+        }
+        return buffer;
+    }
+
+    /**
+     * Add a candidate without a known location.
+     *
+     * @param uuid candidate UUID
+     */
+    public void add(UUID uuid) {
+        insert(size, uuid, NO_WORLD, 0L);
+    }
+
+    /**
+     * Add a candidate with the world and chunk it was seen in.
+     *
+     * @param uuid      candidate UUID
+     * @param worldName world name
+     * @param chunkKey  packed chunk key
+     */
+    public void add(UUID uuid, String worldName, long chunkKey) {
+        insert(size, uuid, worldId(worldName), chunkKey);
+    }
+
+    /**
+     * Add an entity at its current location.
+     * Entities without a location are added without one.
+     *
+     * @param entity the entity
+     */
+    public void add(Entity entity) {
+        Location location = entity.getLocation();
+        if (location != null && location.getWorld() != null) {
+            add(entity.getUniqueId(), location.getWorld().getName(), ChunkKeyUtil.pack(location));
+        } else {
+            add(entity.getUniqueId());
+        }
+    }
+
+    /**
+     * Append every candidate of another buffer, with its location and type counts.
+     *
+     * @param other buffer to append
+     */
+    public void addAll(CandidateBuffer other) {
+        for (int i = 0; i < other.size; i++) {
+            int otherWorld = other.worldIds[i];
+            int id = otherWorld == NO_WORLD ? NO_WORLD : worldId(other.worldNames.get(otherWorld));
+            insert(size, new UUID(other.mostBits[i], other.leastBits[i]), id, other.chunkKeys[i]);
+        }
+        for (int i = 0; i < typeCounts.length; i++) {
+            typeCounts[i] += other.typeCounts[i];
+        }
+    }
+
+    /**
+     * Count one candidate of an entity type.
+     *
+     * @param type entity type, ignored if null
+     */
+    public void countType(EntityType type) {
+        if (type != null) {
+            typeCounts[type.ordinal()]++;
+        }
+    }
+
+    /**
+     * Get the counted number of candidates of a type.
+     *
+     * @param type entity type
+     * @return count
+     */
+    public int getTypeCount(EntityType type) {
+        return typeCounts[type.ordinal()];
+    }
+
+    /**
+     * Get the counted types as a map.
+     *
+     * @return new map of entity type to count, without zero entries
+     */
+    public Map<EntityType, Integer> getTypeCounts() {
+        Map<EntityType, Integer> result = new EnumMap<>(EntityType.class);
+        EntityType[] types = EntityType.values();
+        for (int i = 0; i < typeCounts.length; i++) {
+            if (typeCounts[i] > 0) {
+                result.put(types[i], typeCounts[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the number of candidates.
+     *
+     * @return candidate count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Check if the buffer is empty.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Get the UUID at an index.
+     *
+     * @param index candidate index
+     * @return new UUID instance
+     */
+    public UUID getUuid(int index) {
+        return new UUID(mostBits[index], leastBits[index]);
+    }
+
+    /**
+     * Check if the candidate at an index matches a UUID without creating one.
+     *
+     * @param index candidate index
+     * @param uuid  UUID to compare
+     * @return true if equal
+     */
+    public boolean matches(int index, UUID uuid) {
+        return mostBits[index] == uuid.getMostSignificantBits()
+                && leastBits[index] == uuid.getLeastSignificantBits();
+    }
+
+    /**
+     * Get the world the candidate at an index was seen in.
+     *
+     * @param index candidate index
+     * @return world name, or null if unknown
+     */
+    public String getWorldName(int index) {
+        int id = worldIds[index];
+        return id == NO_WORLD ? null : worldNames.get(id);
+    }
+
+    /**
+     * Get the chunk the candidate at an index was seen in.
+     *
+     * @param index candidate index
+     * @return packed chunk key, or 0 if unknown
+     */
+    public long getChunkKey(int index) {
+        return chunkKeys[index];
+    }
+
+    /**
+     * Find the index of a UUID.
+     *
+     * @param uuid UUID to find
+     * @return index, or -1 if absent
+     */
+    public int indexOf(UUID uuid) {
+        long most = uuid.getMostSignificantBits();
+        long least = uuid.getLeastSignificantBits();
+        for (int i = 0; i < size; i++) {
+            if (mostBits[i] == most && leastBits[i] == least) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Create an independent copy of this buffer.
+     *
+     * @return new buffer with the same candidates, locations and type counts
+     */
+    public CandidateBuffer copy() {
+        CandidateBuffer result = new CandidateBuffer(size);
+        result.mostBits = Arrays.copyOf(mostBits, Math.max(size, 1));
+        result.leastBits = Arrays.copyOf(leastBits, Math.max(size, 1));
+        result.chunkKeys = Arrays.copyOf(chunkKeys, Math.max(size, 1));
+        result.worldIds = Arrays.copyOf(worldIds, Math.max(size, 1));
+        result.size = size;
+        result.worldNames.addAll(worldNames);
+        result.worldIndex.putAll(worldIndex);
+        System.arraycopy(typeCounts, 0, result.typeCounts, 0, typeCounts.length);
+        return result;
+    }
+
+    /**
+     * Get a mutable list view of the candidate UUIDs.
+     * Changes through the view write through to this buffer; UUIDs added
+     * through the view have no location. Type counts are not adjusted.
+     *
+     * @return list view
+     */
+    public List<UUID> asList() {
+        return view;
+    }
+
+    private int worldId(String worldName) {
+        Integer id = worldIndex.get(worldName);
+        if (id == null) {
+            id = worldNames.size();
+            worldNames.add(worldName);
+            worldIndex.put(worldName, id);
+        }
+        return id;
+    }
+
+    private void insert(int index, UUID uuid, int worldId, long chunkKey) {
+        if (size == mostBits.length) {
+            int capacity = mostBits.length + (mostBits.length >> 1) + 1;
+            mostBits = Arrays.copyOf(mostBits, capacity);
+            leastBits = Arrays.copyOf(leastBits, capacity);
+            chunkKeys = Arrays.copyOf(chunkKeys, capacity);
+            worldIds = Arrays.copyOf(worldIds, capacity);
+        }
+        int moved = size - index;
+        if (moved > 0) {
+            System.arraycopy(mostBits, index, mostBits, index + 1, moved);
+            System.arraycopy(leastBits, index, leastBits, index + 1, moved);
+            System.arraycopy(chunkKeys, index, chunkKeys, index + 1, moved);
+            System.arraycopy(worldIds, index, worldIds, index + 1, moved);
+        }
+        mostBits[index] = uuid.getMostSignificantBits();
+        leastBits[index] = uuid.getLeastSignificantBits();
+        chunkKeys[index] = chunkKey;
+        worldIds[index] = worldId;
+        size++;
+    }
+
+    private void delete(int index) {
+        int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(mostBits, index + 1, mostBits, index, moved);
+            System.arraycopy(leastBits, index + 1, leastBits, index, moved);
+            System.arraycopy(chunkKeys, index + 1, chunkKeys, index, moved);
+            System.arraycopy(worldIds, index + 1, worldIds, index, moved);
+        }
+        size--;
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * List view that materializes UUIDs only when read.
+     */
+    private final class View extends AbstractList<UUID> implements RandomAccess {
+
+        @Override
+        public UUID get(int index) {
+            checkIndex(index, size);
+            return getUuid(index);
+        }
+
+        @Override
+        public UUID set(int index, UUID uuid) {
+            checkIndex(index, size);
+            UUID old = getUuid(index);
+            mostBits[index] = uuid.getMostSignificantBits();
+            leastBits[index] = uuid.getLeastSignificantBits();
+            chunkKeys[index] = 0L;
+            worldIds[index] = NO_WORLD;
+            return old;
+        }
+
+        @Override
+        public void add(int index, UUID uuid) {
+            checkIndex(index, size + 1);
+            insert(index, uuid, NO_WORLD, 0L);
+            modCount++;
+        }
+
+        @Override
+        public UUID remove(int index) {
+            checkIndex(index, size);
+            UUID old = getUuid(index);
+            delete(index);
+            modCount++;
+            return old;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return o instanceof UUID ? CandidateBuffer.this.indexOf((UUID) o) : -1;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            int index = indexOf(o);
+            if (index < 0) {
+                return false;
+            }
+            remove(index);
+            return true;
+        }
+
+        @Override
+        public boolean removeIf(Predicate<? super UUID> filter) {
+            // Compact in one pass instead of shifting the arrays per removal
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (!filter.test(getUuid(i))) {
+                    mostBits[kept] = mostBits[i];
+                    leastBits[kept] = leastBits[i];
+                    chunkKeys[kept] = chunkKeys[i];
+                    worldIds[kept] = worldIds[i];
+                    kept++;
+                }
+            }
+            boolean changed = kept != size;
+            if (changed) {
+                size = kept;
+                modCount++;
+            }
+            return changed;
+        }
+
+        @Override
+        public void clear() {
+            if (size > 0) {
+                size = 0;
+                modCount++;
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.ultikits.plugins.cleaner.service;
+
+import org.bukkit.entity.EntityType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-chunk counts of items and of each configured mob type.
+ * <p>
+ * Filled during the entity scan so dense chunks can be found without a
+ * second pass. Slot 0 counts items; the remaining slots map to mob types.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class ChunkDensity {
+
+    private static final int ITEM_SLOT = 0;
+
+    private final int[] slotByOrdinal;
+    private final EntityType[] typeBySlot;
+    private final Map<String, Map<Long, int[]>> counts = new HashMap<>();
+
+    /**
+     * Create a new ChunkDensity.
+     *
+     * @param mobTypes mob types to count separately
+     */
+    public ChunkDensity(Collection<EntityType> mobTypes) {
+        slotByOrdinal = new int[EntityType.values().length];
+        Arrays.fill(slotByOrdinal, -1);
+        typeBySlot = new EntityType[mobTypes.size() + 1];
+        typeBySlot[ITEM_SLOT] = EntityType.DROPPED_ITEM;
+        slotByOrdinal[EntityType.DROPPED_ITEM.ordinal()] = ITEM_SLOT;
+        int slot = 1;
+        for (EntityType type : mobTypes) {
+            if (slotByOrdinal[type.ordinal()] < 0) {
+                slotByOrdinal[type.ordinal()] = slot;
+                typeBySlot[slot++] = type;
+            }
+        }
+    }
+
+    /**
+     * Count one entity in a chunk. Untracked types are ignored.
+     *
+     * @param worldName world name
+     * @param chunkKey  packed chunk key
+     * @param type      entity type
+     */
+    public void add(String worldName, long chunkKey, EntityType type) {
+        int slot = slotOf(type);
+        if (slot < 0) {
+            return;
+        }
+        counts.computeIfAbsent(worldName, k -> new HashMap<>())
+            .computeIfAbsent(chunkKey, k -> new int[typeBySlot.length])[slot]++;
+    }
+
+    /**
+     * Get the count of a type in a chunk.
+     *
+     * @param worldName world name
+     * @param chunkKey  packed chunk key
+     * @param type      entity type
+     * @return count
+     */
+    public int getCount(String worldName, long chunkKey, EntityType type) {
+        int slot = slotOf(type);
+        Map<Long, int[]> world = counts.get(worldName);
+        int[] chunk = world != null ? world.get(chunkKey) : null;
+        return slot >= 0 && chunk != null ? chunk[slot] : 0;
+    }
+
+    /**
+     * Find every chunk holding more of a type than its limit allows.
+     *
+     * @param itemLimit  maximum items per chunk, 0 for no limit
+     * @param mobLimit   maximum of each mob type per chunk, 0 for no limit
+     * @param typeLimits per-type overrides of the mob limit
+     * @return chunks over their limits with the excess per type
+     */
+    public List<Excess> findExcess(int itemLimit, int mobLimit, Map<EntityType, Integer> typeLimits) {
+        int[] limits = new int[typeBySlot.length];
+        limits[ITEM_SLOT] = itemLimit;
+        for (int slot = 1; slot < typeBySlot.length; slot++) {
+            Integer override = typeLimits.get(typeBySlot[slot]);
+            limits[slot] = override != null ? override : mobLimit;
+        }
+
+        List<Excess> result = new ArrayList<>();
+        for (Map.Entry<String, Map<Long, int[]>> world : counts.entrySet()) {
+            for (Map.Entry<Long, int[]> chunk : world.getValue().entrySet()) {
+                int[] chunkCounts = chunk.getValue();
+                for (int slot = 0; slot < chunkCounts.length; slot++) {
+                    if (limits[slot] > 0 && chunkCounts[slot] > limits[slot]) {
+                        result.add(new Excess(world.getKey(), chunk.getKey(), typeBySlot[slot],
+                            chunkCounts[slot] - limits[slot]));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private int slotOf(EntityType type) {
+        return type != null ? slotByOrdinal[type.ordinal()] : -1;
+    }
+
+    /**
+     * A chunk holding too many entities of one type.
+     */
+    public static final class Excess {
+        private final String worldName;
+        private final long chunkKey;
+        private final EntityType type;
+        private final int count;
+
+        Excess(String worldName, long chunkKey, EntityType type, int count) {
+            this.worldName = worldName;
+            this.chunkKey = chunkKey;
+            this.type = type;
+            this.count = count;
+        }
+
+        /**
+         * Get the world the chunk is in.
+         *
+         * @return world name
+         */
+        public String getWorldName() {
+            return worldName;
+        }
+
+        /**
+         * Get the dense chunk.
+         *
+         * @return packed chunk key
+         */
+        public long getChunkKey() {
+            return chunkKey;
+        }
+
+        /**
+         * Get the type over its limit; {@link EntityType#DROPPED_ITEM} for items.
+         *
+         * @return entity type
+         */
+        public EntityType getType() {
+            return type;
+        }
+
+        /**
+         * Get how many entities are over the limit.
+         *
+         * @return excess count
+         */
+        public int getCount() {
+            return count;
+        }
+    }
+}
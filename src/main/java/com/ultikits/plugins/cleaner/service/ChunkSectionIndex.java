@@ -0,0 +1,164 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.utils.ChunkKeyUtil;
+import com.ultikits.ultitools.annotations.Service;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loaded chunks per 16x16 chunk section, for Folia.
+ * <p>
+ * Folia splits each world into regions made of whole sections and ticks every
+ * region on its own thread, so a world cannot be walked from one thread. The
+ * cleaner instead sends one task per section to the region that owns it.
+ * This index tells it which sections have loaded chunks. It is kept up to
+ * date by chunk load and unload events, which arrive on many region threads
+ * at once, so the chunks live in concurrent maps updated atomically per key.
+ * Each section holds its chunk keys rather than a count, so a chunk seen by
+ * both the seeding sweep and a load event is still indexed once.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+@Service
+public class ChunkSectionIndex {
+
+    /**
+     * Chunks per section side, as a shift. Matches Folia's default region section size.
+     */
+    public static final int SECTION_SHIFT = 4;
+
+    private final Map<String, Map<Long, Set<Long>>> sections = new ConcurrentHashMap<>();
+    private volatile boolean enabled = false;
+
+    /**
+     * Start indexing, seeded with the chunks the worlds have loaded already.
+     * Folia does not let a world list its chunks from this thread; those
+     * worlds are returned so their regions can be swept with
+     * {@link RegionCleaner#seed(Iterable, int)}.
+     *
+     * @param worlds worlds to seed from
+     * @return worlds that could not be seeded here
+     */
+    public List<World> enable(Iterable<World> worlds) {
+        sections.clear();
+        enabled = true;
+        List<World> unseeded = new ArrayList<>();
+        for (World world : worlds) {
+            try {
+                for (Chunk chunk : world.getLoadedChunks()) {
+                    onChunkLoad(world.getName(), chunk.getX(), chunk.getZ());
+                }
+            } catch (RuntimeException e) {
+                // Not allowed off the owning regions
+                unseeded.add(world);
+            }
+        }
+        return unseeded;
+    }
+
+    /**
+     * Stop indexing and forget every section.
+     */
+    public void disable() {
+        enabled = false;
+        sections.clear();
+    }
+
+    /**
+     * Check if the index is being kept.
+     *
+     * @return true once enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Index a loaded chunk. Indexing a chunk twice has no effect.
+     *
+     * @param worldName world name
+     * @param chunkX    chunk X coordinate
+     * @param chunkZ    chunk Z coordinate
+     */
+    public void onChunkLoad(String worldName, int chunkX, int chunkZ) {
+        if (!enabled) {
+            return;
+        }
+        long chunkKey = ChunkKeyUtil.pack(chunkX, chunkZ);
+        sections.computeIfAbsent(worldName, k -> new ConcurrentHashMap<>())
+            .compute(sectionKey(chunkX, chunkZ), (k, chunks) -> {
+                Set<Long> updated = chunks != null ? chunks : ConcurrentHashMap.newKeySet();
+                updated.add(chunkKey);
+                return updated;
+            });
+    }
+
+    /**
+     * Forget an unloaded chunk; sections without loaded chunks are dropped.
+     *
+     * @param worldName world name
+     * @param chunkX    chunk X coordinate
+     * @param chunkZ    chunk Z coordinate
+     */
+    public void onChunkUnload(String worldName, int chunkX, int chunkZ) {
+        if (!enabled) {
+            return;
+        }
+        Map<Long, Set<Long>> chunks = sections.get(worldName);
+        if (chunks != null) {
+            long chunkKey = ChunkKeyUtil.pack(chunkX, chunkZ);
+            chunks.computeIfPresent(sectionKey(chunkX, chunkZ), (k, keys) -> {
+                keys.remove(chunkKey);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    /**
+     * Get the sections of a world that have loaded chunks.
+     *
+     * @param worldName world name
+     * @return packed section keys, a copy
+     */
+    public long[] getSections(String worldName) {
+        Map<Long, Set<Long>> chunks = sections.get(worldName);
+        if (chunks == null) {
+            return new long[0];
+        }
+        return chunks.keySet().stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Get the number of loaded chunks across all worlds.
+     *
+     * @return loaded chunk count
+     */
+    public int getLoadedChunkCount() {
+        int total = 0;
+        for (Map<Long, Set<Long>> chunks : sections.values()) {
+            for (Set<Long> keys : chunks.values()) {
+                total += keys.size();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Get the key of the section containing a chunk.
+     *
+     * @param chunkX chunk X coordinate
+     * @param chunkZ chunk Z coordinate
+     * @return packed section key
+     */
+    public static long sectionKey(int chunkX, int chunkZ) {
+        return ChunkKeyUtil.pack(chunkX >> SECTION_SHIFT, chunkZ >> SECTION_SHIFT);
+    }
+}
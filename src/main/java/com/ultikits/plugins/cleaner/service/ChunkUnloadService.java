@@ -2,10 +2,10 @@ package com.ultikits.plugins.cleaner.service;
 
 import com.ultikits.plugins.cleaner.config.CleanerConfig;
 import com.ultikits.plugins.cleaner.events.PreChunkUnloadEvent;
+import com.ultikits.plugins.cleaner.utils.ChunkKeyUtil;
 import com.ultikits.plugins.cleaner.utils.ServerTypeUtil;
 import com.ultikits.ultitools.abstracts.UltiToolsPlugin;
 import com.ultikits.ultitools.annotations.Autowired;
-import com.ultikits.ultitools.annotations.Scheduled;
 import com.ultikits.ultitools.annotations.Service;
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
@@ -22,10 +22,18 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 
 /**
  * Service for safe chunk unloading with Paper compatibility.
  * Unloads chunks that are far from players to improve server performance.
+ * Loaded chunks come from {@link LoadedChunkTracker} instead of listing every
+ * world's chunks on each check.
+ * <p>
+ * Folia rejects plugin chunk unloads and leaves unloading to its own chunk
+ * system, so there the check is not scheduled, no {@link PreChunkUnloadEvent}
+ * is fired, and the service only reports the loaded chunk count.
+ * </p>
  *
  * @author wisdomme
  * @version 1.0.0
@@ -42,13 +50,40 @@ public class ChunkUnloadService {
     @Autowired
     private TpsAwareScheduler tpsScheduler;
 
+    @Autowired
+    private TickClock tickClock;
+
+    @Autowired
+    private ChunkSectionIndex sectionIndex;
+
+    @Autowired
+    private LoadedChunkTracker chunkTracker;
+
+    private static final String TIMER_CHUNK_CHECK = "chunk-check";
+
     private final Plugin bukkitPlugin = Bukkit.getPluginManager().getPlugin("UltiTools");
+    private boolean regionThreaded;
     
     /**
      * Initialize the chunk unload service.
-     * Note: Task is now automatically scheduled via @Scheduled annotation.
+     * Note: The check runs on the shared {@link TickClock} timing wheel.
      */
     public void init() {
+        regionThreaded = ServerTypeUtil.isFolia();
+        if (regionThreaded) {
+            if (config.isChunkUnloadEnabled()) {
+                plugin.getLogger().info("Chunk unloading is managed by Folia; the chunk unload check is disabled.");
+            }
+            return;
+        }
+        if (chunkTracker != null && tickClock != null) {
+            // Near-player stamps are ticks of the shared clock
+            chunkTracker.enable(Bukkit.getWorlds());
+        }
+        if (tickClock != null) {
+            tickClock.cancel(TIMER_CHUNK_CHECK);
+            tickClock.schedule(TIMER_CHUNK_CHECK, 600, this::checkAndUnloadChunks);
+        }
         if (config.isChunkUnloadEnabled()) {
             plugin.getLogger().info("Chunk unload service initialized.");
         }
@@ -56,19 +91,22 @@ public class ChunkUnloadService {
 
     /**
      * Shutdown the chunk unload service.
-     * Note: @Scheduled tasks are automatically cancelled by the framework.
      */
     public void shutdown() {
-        // No manual task cancellation needed
+        if (tickClock != null) {
+            tickClock.cancel(TIMER_CHUNK_CHECK);
+        }
+        if (chunkTracker != null) {
+            chunkTracker.disable();
+        }
     }
     
     /**
      * Check and unload far chunks.
      * Runs every 30 seconds (600 ticks).
      */
-    @Scheduled(period = 600, async = false)
     public void checkAndUnloadChunks() {
-        if (!config.isChunkUnloadEnabled()) {
+        if (!config.isChunkUnloadEnabled() || regionThreaded) {
             return;
         }
 
@@ -93,6 +131,11 @@ public class ChunkUnloadService {
                 continue;
             }
             
+            if (isTracking()) {
+                collectTrackedChunks(world, maxDistance, chunks);
+                continue;
+            }
+            
             List<Player> players = world.getPlayers();
             
             // If no players, all loaded chunks are candidates
@@ -116,6 +159,41 @@ public class ChunkUnloadService {
         return chunks;
     }
     
+    /**
+     * Collect far chunks of a world from the tracker, without listing its chunks.
+     * Chunks the tracker still holds after they unloaded are dropped from it.
+     */
+    private void collectTrackedChunks(World world, int maxDistance, List<Chunk> chunks) {
+        for (long key : chunkTracker.collectFarChunks(world.getName(), playerChunkKeys(world), maxDistance)) {
+            int chunkX = ChunkKeyUtil.getX(key);
+            int chunkZ = ChunkKeyUtil.getZ(key);
+            if (!world.isChunkLoaded(chunkX, chunkZ)) {
+                chunkTracker.onChunkUnload(world.getName(), chunkX, chunkZ);
+                continue;
+            }
+            Chunk chunk = world.getChunkAt(chunkX, chunkZ);
+            if (isSafeToUnload(chunk)) {
+                chunks.add(chunk);
+            }
+        }
+    }
+    
+    /**
+     * Get the packed chunk keys of a world's players.
+     */
+    private static long[] playerChunkKeys(World world) {
+        return world.getPlayers().stream()
+            .mapToLong(player -> ChunkKeyUtil.pack(player.getLocation()))
+            .toArray();
+    }
+    
+    /**
+     * Check if loaded chunks come from the tracker.
+     */
+    private boolean isTracking() {
+        return chunkTracker != null && chunkTracker.isEnabled();
+    }
+    
     /**
      * Check if chunk is far from all players.
      * Uses chunk coordinates (not block coordinates) for accurate distance.
@@ -177,12 +255,15 @@ public class ChunkUnloadService {
      * Unload chunks in batches to avoid lag spikes.
      */
     private void unloadChunksInBatches(List<Chunk> chunks) {
-        int batchSize = config.getChunkUnloadBatchSize();
+        int configuredBatch = config.getChunkUnloadBatchSize();
+        int batchSize = tpsScheduler != null
+            ? Math.min(configuredBatch, tpsScheduler.scaleUnloadBatch(configuredBatch))
+            : configuredBatch;
         AtomicInteger unloadedCount = new AtomicInteger(0);
         AtomicInteger index = new AtomicInteger(0);
         int timeoutSeconds = config.getChunkUnloadTimeout();
         
-        Bukkit.getScheduler().runTaskTimer(bukkitPlugin, task -> {
+        BooleanSupplier step = () -> {
             int processed = 0;
             
             while (processed < batchSize && index.get() < chunks.size()) {
@@ -218,21 +299,38 @@ public class ChunkUnloadService {
                 processed++;
             }
             
-            // Cancel task when done
-            if (index.get() >= chunks.size()) {
+            // Stop when done
+            if (index.get() < chunks.size()) {
+                return false;
+            }
+            announceUnloaded(unloadedCount.get());
+            return true;
+        };
+        
+        if (tickClock != null) {
+            tickClock.scheduleUntil("chunk-unload", 1, step);
+            return;
+        }
+        Bukkit.getScheduler().runTaskTimer(bukkitPlugin, task -> {
+            if (step.getAsBoolean()) {
                 task.cancel();
-                
-                if (unloadedCount.get() > 0 && config.isShowCleanProgress()) {
-                    String msg = org.bukkit.ChatColor.translateAlternateColorCodes('&',
-                            plugin.i18n("chunk_unloaded").replace("{COUNT}", String.valueOf(unloadedCount.get())));
-                    Bukkit.getOnlinePlayers().stream()
-                        .filter(Player::isOp)
-                        .forEach(op -> op.sendMessage(msg));
-                }
             }
         }, 0L, 1L);
     }
     
+    /**
+     * Tell operators how many chunks were unloaded, if progress is shown.
+     */
+    private void announceUnloaded(int count) {
+        if (count > 0 && config.isShowCleanProgress()) {
+            String msg = org.bukkit.ChatColor.translateAlternateColorCodes('&',
+                    plugin.i18n("chunk_unloaded").replace("{COUNT}", String.valueOf(count)));
+            Bukkit.getOnlinePlayers().stream()
+                .filter(Player::isOp)
+                .forEach(op -> op.sendMessage(msg));
+        }
+    }
+    
     /**
      * Unload chunk asynchronously with timeout (Paper only).
      */
@@ -270,9 +368,12 @@ public class ChunkUnloadService {
     /**
      * Force unload all far chunks immediately.
      * 
-     * @return number of chunks unloaded
+     * @return number of chunks unloaded, or -1 on Folia, where plugins cannot unload chunks
      */
     public int forceUnloadChunks() {
+        if (regionThreaded) {
+            return -1;
+        }
         List<Chunk> chunks = collectChunksToUnload();
         AtomicInteger count = new AtomicInteger(0);
         
@@ -292,8 +393,13 @@ public class ChunkUnloadService {
     
     /**
      * Get count of chunks that could be unloaded.
+     *
+     * @return chunk count, or -1 on Folia, where plugins cannot unload chunks
      */
     public int getUnloadableChunkCount() {
+        if (regionThreaded) {
+            return -1;
+        }
         return collectChunksToUnload().size();
     }
     
@@ -301,6 +407,12 @@ public class ChunkUnloadService {
      * Get total loaded chunks across all worlds.
      */
     public int getTotalLoadedChunks() {
+        if (regionThreaded) {
+            return sectionIndex != null ? sectionIndex.getLoadedChunkCount() : 0;
+        }
+        if (isTracking()) {
+            return chunkTracker.getLoadedChunkCount();
+        }
         int total = 0;
         for (World world : Bukkit.getWorlds()) {
             total += world.getLoadedChunks().length;
@@ -0,0 +1,207 @@
+package com.ultikits.plugins.cleaner.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Priority queue of cleanup jobs, run one after another.
+ * <p>
+ * Jobs start in priority order (manual, smart, scheduled), first submitted
+ * first within a priority. Submitting a job whose name is already queued
+ * coalesces into the queued one, which takes the higher of the two priorities.
+ * A job calls {@link CleanJob#complete()} once its removal has finished or it
+ * turned out to have nothing to do; the next job starts a gap of ticks later,
+ * so two cleanups never share a tick and each one gets the whole per-tick
+ * removal budget.
+ * </p>
+ * <p>
+ * On Folia, commands and region callbacks reach the queue from different
+ * threads, so every method that reads or changes it holds the coordinator's
+ * lock. Job bodies start under that lock and must not block on other threads.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class CleanCoordinator {
+
+    private static final Comparator<CleanJob> ORDER = Comparator
+        .comparing(CleanJob::getPriority)
+        .thenComparingLong(CleanJob::getId);
+
+    private final List<CleanJob> pending = new ArrayList<>();
+    private final BiConsumer<Long, Runnable> scheduleLater;
+    private long gapTicks = 1;
+    private long nextId = 1;
+    private CleanJob current;
+    private boolean waiting;
+
+    /**
+     * Create a new CleanCoordinator.
+     *
+     * @param scheduleLater runs a task after a number of ticks
+     */
+    public CleanCoordinator(BiConsumer<Long, Runnable> scheduleLater) {
+        this.scheduleLater = scheduleLater;
+    }
+
+    /**
+     * Set the ticks between the end of one job and the start of the next.
+     *
+     * @param gapTicks gap, at least 1
+     */
+    public void setGapTicks(long gapTicks) {
+        this.gapTicks = Math.max(1L, gapTicks);
+    }
+
+    /**
+     * Queue a job, starting it now if nothing is running or waiting.
+     *
+     * @param name     job name; a queued job with the same name absorbs this one
+     * @param priority job priority
+     * @param body     job body, given the job to report state and completion on
+     * @return the queued, running or coalesced job
+     */
+    public synchronized CleanJob submit(String name, CleanJob.Priority priority, Consumer<CleanJob> body) {
+        for (CleanJob queued : pending) {
+            if (queued.getName().equals(name)) {
+                if (priority.compareTo(queued.getPriority()) < 0) {
+                    queued.raise(priority, body);
+                }
+                return queued;
+            }
+        }
+        CleanJob job = new CleanJob(nextId++, name, priority, body, System.currentTimeMillis());
+        pending.add(job);
+        if (current == null && !waiting) {
+            startNext();
+        }
+        return job;
+    }
+
+    /**
+     * Cancel a job. A queued job is dropped; a running job stops at its next stage.
+     *
+     * @param id job id
+     * @return true if the job was queued or running
+     */
+    public synchronized boolean cancel(long id) {
+        if (current != null && current.getId() == id) {
+            current.requestCancel();
+            return true;
+        }
+        for (CleanJob queued : pending) {
+            if (queued.getId() == id) {
+                pending.remove(queued);
+                queued.setState(CleanJob.State.CANCELLED);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Cancel every queued and running job.
+     */
+    public synchronized void cancelAll() {
+        for (CleanJob queued : pending) {
+            queued.setState(CleanJob.State.CANCELLED);
+        }
+        pending.clear();
+        if (current != null) {
+            current.requestCancel();
+        }
+    }
+
+    /**
+     * Check if a job is running.
+     *
+     * @return true while a job has not completed
+     */
+    public synchronized boolean isBusy() {
+        return current != null;
+    }
+
+    /**
+     * Check if nothing is running, queued or waiting out the gap.
+     *
+     * @return true if a submitted job would start right away
+     */
+    public synchronized boolean isIdle() {
+        return current == null && !waiting && pending.isEmpty();
+    }
+
+    /**
+     * Get the running job.
+     *
+     * @return running job, or null if idle
+     */
+    public synchronized CleanJob getCurrent() {
+        return current;
+    }
+
+    /**
+     * Get the queued jobs in start order.
+     *
+     * @return queued jobs
+     */
+    public synchronized List<CleanJob> getPending() {
+        List<CleanJob> ordered = new ArrayList<>(pending);
+        ordered.sort(ORDER);
+        return ordered;
+    }
+
+    /**
+     * Get the running job followed by the queued jobs in start order.
+     *
+     * @return jobs in flight
+     */
+    public synchronized List<CleanJob> getJobs() {
+        if (current == null) {
+            return getPending();
+        }
+        List<CleanJob> jobs = new ArrayList<>(pending.size() + 1);
+        jobs.add(current);
+        jobs.addAll(getPending());
+        return jobs;
+    }
+
+    private void startNext() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        CleanJob job = Collections.min(pending, ORDER);
+        pending.remove(job);
+        current = job;
+        try {
+            job.start(this::finish);
+        } catch (RuntimeException e) {
+            finish(job);
+            throw e;
+        }
+    }
+
+    private synchronized void finish(CleanJob job) {
+        if (current != job) {
+            return;
+        }
+        job.setState(job.isCancelled() ? CleanJob.State.CANCELLED : CleanJob.State.DONE);
+        current = null;
+        if (pending.isEmpty() || waiting) {
+            return;
+        }
+        waiting = true;
+        scheduleLater.accept(gapTicks, this::endGap);
+    }
+
+    private synchronized void endGap() {
+        waiting = false;
+        if (current == null) {
+            startNext();
+        }
+    }
+}
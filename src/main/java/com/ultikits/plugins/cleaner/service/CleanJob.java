@@ -0,0 +1,156 @@
+package com.ultikits.plugins.cleaner.service;
+
+import java.util.function.Consumer;
+
+/**
+ * One queued or running cleanup, tracked by the {@link CleanCoordinator}.
+ * <p>
+ * A job moves from QUEUED through COLLECTING, AWAITING_EVENT and REMOVING to
+ * DONE, or to CANCELLED if it was cancelled before it finished. Running stages
+ * check {@link #isCancelled()} and stop early; on Folia they may do so from
+ * region threads.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class CleanJob {
+
+    /**
+     * Job priority, highest first.
+     */
+    public enum Priority {
+        /** Started by a command */
+        MANUAL,
+        /** Started by a threshold or density check */
+        SMART,
+        /** Started by a countdown */
+        SCHEDULED
+    }
+
+    /**
+     * Job lifecycle state.
+     */
+    public enum State {
+        /** Waiting in the queue */
+        QUEUED,
+        /** Gathering candidates */
+        COLLECTING,
+        /** Pre-clean event being handled by listeners */
+        AWAITING_EVENT,
+        /** Removing entities in batches */
+        REMOVING,
+        /** Finished normally */
+        DONE,
+        /** Cancelled before it finished */
+        CANCELLED
+    }
+
+    private final long id;
+    private final String name;
+    private final long submitTime;
+    private Priority priority;
+    private Consumer<CleanJob> body;
+    private volatile State state = State.QUEUED;
+    private volatile boolean cancelRequested;
+    private Consumer<CleanJob> onComplete;
+
+    CleanJob(long id, String name, Priority priority, Consumer<CleanJob> body, long submitTime) {
+        this.id = id;
+        this.name = name;
+        this.priority = priority;
+        this.body = body;
+        this.submitTime = submitTime;
+    }
+
+    /**
+     * Get the job id used to cancel it.
+     *
+     * @return job id
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Get the job name; queued jobs with the same name are coalesced.
+     *
+     * @return job name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the job priority.
+     *
+     * @return priority
+     */
+    public Priority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Get the job state.
+     *
+     * @return state
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Get when the job was submitted.
+     *
+     * @return epoch milliseconds
+     */
+    public long getSubmitTime() {
+        return submitTime;
+    }
+
+    /**
+     * Check if the job was asked to stop.
+     *
+     * @return true once cancelled
+     */
+    public boolean isCancelled() {
+        return cancelRequested || state == State.CANCELLED;
+    }
+
+    /**
+     * Check if the job has finished, normally or by cancellation.
+     *
+     * @return true in DONE or CANCELLED
+     */
+    public boolean isFinished() {
+        return state == State.DONE || state == State.CANCELLED;
+    }
+
+    /**
+     * Mark the job finished and let the next one start. Later calls are ignored.
+     */
+    public void complete() {
+        if (onComplete != null) {
+            onComplete.accept(this);
+        }
+    }
+
+    void setState(State state) {
+        this.state = state;
+    }
+
+    void requestCancel() {
+        cancelRequested = true;
+    }
+
+    void raise(Priority priority, Consumer<CleanJob> body) {
+        this.priority = priority;
+        this.body = body;
+    }
+
+    void start(Consumer<CleanJob> onComplete) {
+        this.onComplete = onComplete;
+        state = State.COLLECTING;
+        body.accept(this);
+    }
+}
@@ -4,12 +4,15 @@ import com.ultikits.plugins.cleaner.config.CleanerConfig;
 import com.ultikits.plugins.cleaner.events.CleanCompleteEvent;
 import com.ultikits.plugins.cleaner.events.PreEntityCleanEvent;
 import com.ultikits.plugins.cleaner.events.PreItemCleanEvent;
+import com.ultikits.plugins.cleaner.utils.ChunkKeyUtil;
+import com.ultikits.plugins.cleaner.utils.FoliaSchedulers;
+import com.ultikits.plugins.cleaner.utils.ServerTypeUtil;
 import com.ultikits.ultitools.abstracts.UltiToolsPlugin;
 import com.ultikits.ultitools.annotations.Autowired;
-import com.ultikits.ultitools.annotations.Scheduled;
 import com.ultikits.ultitools.annotations.Service;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
+import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
@@ -17,10 +20,16 @@ import org.bukkit.entity.Item;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Tameable;
+import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
 
 /**
  * Service for managing entity and item cleanup.
@@ -42,36 +51,105 @@ public class CleanerService {
     @Autowired
     private TpsAwareScheduler tpsScheduler;
 
+    @Autowired
+    private ItemTracker itemTracker;
+
+    @Autowired
+    private MobCounter mobCounter;
+
+    @Autowired
+    private TrashBin trashBin;
+
+    @Autowired
+    private TickClock tickClock;
+    
+    @Autowired
+    private ChunkSectionIndex sectionIndex;
+
+    private static final String TIMER_SMART_CHECK = "smart-check";
+    private static final String TIMER_ITEM_COUNTDOWN = "item-countdown";
+    private static final String TIMER_ITEM_LIFETIMES = "item-lifetimes";
+    private static final String TIMER_ENTITY_COUNTDOWN = "entity-countdown";
+    private static final String TIMER_WORLD_COUNTDOWN = "world-countdown:";
+    private static final String TIMER_WORLD_SMART_CHECK = "world-smart-check:";
+
     private final Plugin bukkitPlugin = Bukkit.getPluginManager().getPlugin("UltiTools");
 
     private Set<String> itemWhitelistCache;
     private Set<EntityType> entityTypesCache;
+    // Blacklisted worlds plus profiled worlds, which only their own schedule cleans
     private Set<String> worldBlacklistCache;
+    private Map<String, WorldProfile> worldProfiles = new LinkedHashMap<>();
+    private final List<String> worldTimerNames = new ArrayList<>();
 
     // Track countdown state
     private int itemCountdown;
     private int entityCountdown;
+    
+    // Items of the last lifetime batch, requeued if they survive it
+    private List<Item> lifetimeBatch = Collections.emptyList();
 
     // Smart clean tracking
     private long lastSmartCleanTime = 0;
+    private GrowthPredictor itemGrowth = new GrowthPredictor(GrowthPredictor.MIN_SAMPLES);
+    private GrowthPredictor mobGrowth = new GrowthPredictor(GrowthPredictor.MIN_SAMPLES);
 
     // Batch processing state
-    private boolean isCleaningInProgress = false;
+    private final CleanCoordinator cleanCoordinator = new CleanCoordinator(this::runLater);
+
+    // Entity census shared by all readers within the current tick
+    private EntityCensus census;
+    private long censusTick = -1;
+    private ForkJoinPool filterPool;
+    private CleanupRules cleanupRules;
+    private World lastRuleWorld;
+    private int lastRuleWorldId = -1;
+    private RegionCleaner regionCleaner;
+    private final Location scratchLocation = new Location(null, 0, 0, 0);
     
     /**
      * Initialize the cleaner service.
-     * Note: Tasks are now automatically scheduled via @Scheduled annotations.
+     * Note: Tasks run on the shared {@link TickClock} timing wheel.
      */
     public void init() {
+        if (ServerTypeUtil.isFolia() && sectionIndex != null) {
+            List<World> unseeded = sectionIndex.enable(Bukkit.getWorlds());
+            regionCleaner = new RegionCleaner(sectionIndex, RegionCleaner.RegionExecutor.folia(bukkitPlugin));
+            regionCleaner.seed(unseeded, Bukkit.getViewDistance());
+            plugin.getLogger().info("Folia detected: cleanups run per region; "
+                + "smart clean, item tracking and custom rules are skipped.");
+        }
         loadCaches();
+        if (itemTracker != null) {
+            itemTracker.init();
+        }
+        if (tickClock != null) {
+            cancelTimers();
+            tickClock.schedule(TIMER_SMART_CHECK, 100, this::checkSmartClean);
+            tickClock.schedule(TIMER_ITEM_COUNTDOWN, 20, this::tickItemClean);
+            tickClock.schedule(TIMER_ITEM_LIFETIMES, 1, this::tickItemLifetimes);
+            tickClock.schedule(TIMER_ENTITY_COUNTDOWN, 20, this::tickEntityClean);
+            scheduleWorldTimers();
+        }
     }
 
     /**
      * Shutdown the cleaner service.
-     * Note: Tasks are now automatically cancelled by the framework.
+     * Cancels queued and running cleanups, stops the timers and releases the filter pool.
      */
     public void shutdown() {
-        // No manual task cancellation needed - framework handles @Scheduled tasks
+        cleanCoordinator.cancelAll();
+        if (tickClock != null) {
+            cancelTimers();
+        }
+        if (filterPool != null) {
+            filterPool.shutdown();
+            filterPool = null;
+        }
+        if (regionCleaner != null) {
+            sectionIndex.disable();
+            regionCleaner = null;
+        }
     }
 
     /**
@@ -79,6 +157,13 @@ public class CleanerService {
      */
     public void reload() {
         loadCaches();
+        census = null;
+        if (itemTracker != null) {
+            itemTracker.init();
+        }
+        if (tickClock != null) {
+            scheduleWorldTimers();
+        }
     }
     
     /**
@@ -109,6 +194,42 @@ public class CleanerService {
             worldBlacklistCache.addAll(config.getWorldBlacklist());
         }
         
+        // World profiles; profiled worlds leave the global passes
+        worldProfiles = new LinkedHashMap<>();
+        if (config.getWorldProfiles() != null) {
+            for (String entry : config.getWorldProfiles()) {
+                try {
+                    WorldProfile profile = WorldProfile.parse(entry, config);
+                    if (!worldBlacklistCache.contains(profile.getWorldName())) {
+                        worldProfiles.put(profile.getWorldName(), profile);
+                    }
+                } catch (IllegalArgumentException e) {
+                    plugin.getLogger().warn("Invalid world profile: " + entry);
+                }
+            }
+        }
+        
+        worldBlacklistCache.addAll(worldProfiles.keySet());
+        
+        if (mobCounter != null) {
+            mobCounter.configure(entityTypesCache, worldBlacklistCache);
+        }
+        
+        // Compiled eligibility rules, only used when custom rules are configured.
+        // They keep per-chunk state, so region threads cannot share them.
+        cleanupRules = null;
+        lastRuleWorld = null;
+        if (regionCleaner == null && config.getCleanRules() != null && !config.getCleanRules().isEmpty()) {
+            cleanupRules = CleanupRules.compile(config.getCleanRules(), config, itemWhitelistCache);
+            for (String error : cleanupRules.getErrors()) {
+                plugin.getLogger().warn("Invalid clean rule: " + error);
+            }
+        }
+        
+        cleanCoordinator.setGapTicks(config.getJobGapTicks());
+        itemGrowth = new GrowthPredictor(config.getPredictSamples());
+        mobGrowth = new GrowthPredictor(config.getPredictSamples());
+        
         // Initialize countdowns
         itemCountdown = config.getItemCleanInterval();
         entityCountdown = config.getEntityCleanInterval();
@@ -119,9 +240,8 @@ public class CleanerService {
      * Check if smart cleanup should be triggered.
      * Runs every 5 seconds (100 ticks).
      */
-    @Scheduled(period = 100, async = false)
     public void checkSmartClean() {
-        if (!config.isSmartCleanEnabled() || isCleaningInProgress) {
+        if (!config.isSmartCleanEnabled() || isCleaningInProgress() || regionCleaner != null) {
             return;
         }
         
@@ -140,46 +260,204 @@ public class CleanerService {
             config.getMobMaxThreshold();
         
         // Count current entities
-        int itemCount = 0;
-        int mobCount = 0;
-        
-        for (World world : Bukkit.getWorlds()) {
-            if (worldBlacklistCache.contains(world.getName())) {
-                continue;
-            }
-            for (Entity entity : world.getEntities()) {
-                if (entity instanceof Item) {
-                    itemCount++;
-                } else if (entityTypesCache.contains(entity.getType())) {
-                    mobCount++;
-                }
-            }
-        }
+        int itemCount = isItemTrackerActive() ?
+            readItemTracker(now) :
+            getCensus().getItemCount();
+        int mobCount = isMobCounterActive() ?
+            readMobCounter(now) :
+            getCensus().getMobCount();
         
         // Trigger smart clean if thresholds exceeded
         boolean shouldCleanItems = itemCount > itemThreshold;
         boolean shouldCleanMobs = mobCount > mobThreshold;
         
+        // Or if growth will carry a count past its threshold soon
+        if (config.isPredictEnabled()) {
+            itemGrowth.record(now, itemCount);
+            mobGrowth.record(now, mobCount);
+            shouldCleanItems |= itemGrowth.willExceed(itemThreshold, config.getPredictSeconds());
+            shouldCleanMobs |= mobGrowth.willExceed(mobThreshold, config.getPredictSeconds());
+        }
+        
+        // The live counter misses removals that fire no event, such as natural
+        // despawns, so it only bounds the real count from above; confirm a
+        // breach against a scan before culling
+        if (shouldCleanMobs && isMobCounterActive()) {
+            int confirmed = confirmMobCount(now);
+            if (confirmed != mobCount) {
+                // The trend was built on mobs that are gone; restart it from the real count
+                mobGrowth.reset();
+                mobGrowth.record(now, confirmed);
+                shouldCleanMobs = confirmed > mobThreshold;
+            }
+        }
+        
         if (shouldCleanItems || shouldCleanMobs) {
             lastSmartCleanTime = now;
+            // The cleanup breaks the trend; fit a fresh one afterwards
+            itemGrowth.reset();
+            mobGrowth.reset();
             broadcastMessage(config.getSmartCleanTriggeredMessage());
             
+            if (config.isHotspotOnly()) {
+                cleanHotspots(shouldCleanItems, shouldCleanMobs);
+                return;
+            }
             if (shouldCleanItems) {
                 cleanItemsWithBatch(PreItemCleanEvent.CleanTrigger.SMART);
             }
             if (shouldCleanMobs) {
                 cleanEntitiesWithBatch(PreEntityCleanEvent.CleanTrigger.SMART);
             }
+        } else if (config.isDensityEnabled()) {
+            cullDenseChunks(now);
+        }
+    }
+    
+    /**
+     * Cull the excess in chunks over their density limits, oldest entities first.
+     * Mobs go first since dense farms cost the most; items follow once that
+     * removal has finished and the cooldown has passed.
+     */
+    private void cullDenseChunks(long now) {
+        ChunkDensity density = getCensus().getDensity();
+        if (density == null) {
+            return;
+        }
+        List<ChunkDensity.Excess> excesses = density.findExcess(
+            config.getDensityMaxItems(), config.getDensityMaxMobs(), parseTypeLimits());
+        if (excesses.isEmpty()) {
+            return;
+        }
+        
+        CandidateBuffer mobs = collectDensityExcess(excesses, false);
+        CandidateBuffer items = mobs.isEmpty() ? collectDensityExcess(excesses, true) : null;
+        if (mobs.isEmpty() && (items == null || items.isEmpty())) {
+            return;
+        }
+        
+        lastSmartCleanTime = now;
+        if (!mobs.isEmpty()) {
+            cleanCoordinator.submit("density-mobs", CleanJob.Priority.SMART, job ->
+                finishEntityClean(mobs, PreEntityCleanEvent.CleanTrigger.SMART, System.currentTimeMillis(), job));
+        } else {
+            cleanCoordinator.submit("density-items", CleanJob.Priority.SMART, job ->
+                finishItemClean(items, PreItemCleanEvent.CleanTrigger.SMART, System.currentTimeMillis(), job));
+        }
+    }
+    
+    /**
+     * Pick the oldest eligible entities in each dense chunk, up to its excess.
+     */
+    private CandidateBuffer collectDensityExcess(List<ChunkDensity.Excess> excesses, boolean items) {
+        CandidateBuffer result = new CandidateBuffer();
+        beginRulePass();
+        for (ChunkDensity.Excess excess : excesses) {
+            if ((excess.getType() == EntityType.DROPPED_ITEM) != items) {
+                continue;
+            }
+            List<Entity> eligible = collectChunkCandidates(excess.getWorldName(), excess.getChunkKey(),
+                entity -> entity.getType() == excess.getType());
+            eligible.sort((a, b) -> Integer.compare(b.getTicksLived(), a.getTicksLived()));
+            
+            int count = Math.min(excess.getCount(), eligible.size());
+            for (int i = 0; i < count; i++) {
+                result.add(eligible.get(i).getUniqueId(), excess.getWorldName(), excess.getChunkKey());
+                if (!items) {
+                    result.countType(excess.getType());
+                }
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Smart clean only the densest chunks instead of every world.
+     */
+    private void cleanHotspots(boolean cleanItems, boolean cleanMobs) {
+        if (cleanItems) {
+            cleanCoordinator.submit("hotspot-items", CleanJob.Priority.SMART, job ->
+                finishItemClean(collectHotspotCandidates(true), PreItemCleanEvent.CleanTrigger.SMART,
+                    System.currentTimeMillis(), job));
+        }
+        if (cleanMobs) {
+            cleanCoordinator.submit("hotspot-mobs", CleanJob.Priority.SMART, job ->
+                finishEntityClean(collectHotspotCandidates(false), PreEntityCleanEvent.CleanTrigger.SMART,
+                    System.currentTimeMillis(), job));
+        }
+    }
+    
+    /**
+     * Collect the eligible items or mobs in the chunks densest in that category.
+     * Blacklisted worlds are left out before ranking, so they never take a target slot.
+     */
+    private CandidateBuffer collectHotspotCandidates(boolean items) {
+        List<HotspotIndex.Hotspot> hotspots = getCensus().getHotspots().top(config.getHotspotCount(),
+            items ? HotspotIndex.Category.ITEMS : HotspotIndex.Category.MOBS, worldBlacklistCache);
+        CandidateBuffer result = new CandidateBuffer();
+        beginRulePass();
+        for (HotspotIndex.Hotspot hotspot : hotspots) {
+            List<Entity> eligible = collectChunkCandidates(hotspot.getWorldName(), hotspot.getChunkKey(),
+                entity -> items ? entity instanceof Item : entityTypesCache.contains(entity.getType()));
+            for (Entity entity : eligible) {
+                result.add(entity.getUniqueId(), hotspot.getWorldName(), hotspot.getChunkKey());
+                if (!items) {
+                    result.countType(entity.getType());
+                }
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Get the entities in a loaded chunk that pass a filter and may be cleaned.
+     *
+     * @return eligible entities, empty if the chunk is not loaded
+     */
+    private List<Entity> collectChunkCandidates(String worldName, long chunkKey, Predicate<Entity> filter) {
+        List<Entity> eligible = new ArrayList<>();
+        World world = Bukkit.getWorld(worldName);
+        int chunkX = ChunkKeyUtil.getX(chunkKey);
+        int chunkZ = ChunkKeyUtil.getZ(chunkKey);
+        if (world == null || !world.isChunkLoaded(chunkX, chunkZ)) {
+            return eligible;
+        }
+        for (Entity entity : world.getChunkAt(chunkX, chunkZ).getEntities()) {
+            if (!filter.test(entity)) {
+                continue;
+            }
+            if (entity instanceof Item ? isItemCandidate((Item) entity) : isMobCandidate(entity)) {
+                eligible.add(entity);
+            }
+        }
+        return eligible;
+    }
+    
+    /**
+     * Parse the per-type density limits from TYPE:N entries.
+     */
+    private Map<EntityType, Integer> parseTypeLimits() {
+        Map<EntityType, Integer> limits = new EnumMap<>(EntityType.class);
+        if (config.getDensityTypeLimits() == null) {
+            return limits;
+        }
+        for (String entry : config.getDensityTypeLimits()) {
+            String[] parts = entry.split(":");
+            try {
+                limits.put(EntityType.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                plugin.getLogger().warn("Invalid density limit: " + entry);
+            }
         }
+        return limits;
     }
     
     /**
      * Item cleanup tick.
      * Runs every second (20 ticks) to countdown and trigger cleanup.
      */
-    @Scheduled(period = 20, async = false)
     public void tickItemClean() {
-        if (!config.isItemCleanEnabled()) {
+        if (!config.isItemCleanEnabled() || isItemLifetimeActive()) {
             return;
         }
         itemCountdown--;
@@ -196,11 +474,77 @@ public class CleanerService {
         }
     }
     
+    /**
+     * Item lifetime tick.
+     * Runs every tick and cleans only the items whose lifetime is up,
+     * so the cost is spread evenly instead of arriving in one countdown clean.
+     * Each batch is a quiet scheduled cleanup: it fires the clean events and
+     * fills the recycle bin like any other, without the chat broadcast.
+     * Expiries wait in the tracker while another cleanup is in flight.
+     * Expired items that may not be cleaned yet, or that the last batch left
+     * behind, get a later expiry instead of being dropped from the heap.
+     */
+    public void tickItemLifetimes() {
+        if (!config.isItemCleanEnabled() || !isItemLifetimeActive() || !cleanCoordinator.isIdle()) {
+            return;
+        }
+        // The last batch has finished; whatever a listener kept goes round again
+        for (Item item : lifetimeBatch) {
+            if (item.isValid()) {
+                itemTracker.requeue(item, lifetimeRetryTicks(item));
+            }
+        }
+        lifetimeBatch = Collections.emptyList();
+        
+        List<Item> expired = itemTracker.pollExpired(config.getCleanBatchSize());
+        if (expired.isEmpty()) {
+            return;
+        }
+        beginRulePass();
+        List<Item> batch = new ArrayList<>(expired.size());
+        CandidateBuffer candidates = new CandidateBuffer(expired.size());
+        for (Item item : expired) {
+            String worldName = item.getWorld().getName();
+            if (worldBlacklistCache.contains(worldName) && !worldProfiles.containsKey(worldName)) {
+                continue;
+            }
+            if (isItemCandidate(item)) {
+                batch.add(item);
+                candidates.add(item);
+            } else {
+                itemTracker.requeue(item, lifetimeRetryTicks(item));
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+        lifetimeBatch = batch;
+        long startTime = System.currentTimeMillis();
+        cleanCoordinator.submit("item-lifetimes", CleanJob.Priority.SCHEDULED, job ->
+            finishItemClean(candidates, null, PreItemCleanEvent.CleanTrigger.SCHEDULED, startTime,
+                config.getCleanBatchSize(), false, job));
+    }
+    
+    /**
+     * Ticks until an expired item that was not cleaned expires again:
+     * until it is old enough to clean if it was dropped too recently,
+     * otherwise 0 for another full lifetime.
+     */
+    private long lifetimeRetryTicks(Item item) {
+        return Math.max(0L, config.getItemIgnoreRecentSeconds() * 20L - item.getTicksLived());
+    }
+    
+    /**
+     * Check if items are removed by their own lifetimes instead of the countdown.
+     */
+    private boolean isItemLifetimeActive() {
+        return itemTracker != null && regionCleaner == null && itemTracker.isLifetimeEnabled();
+    }
+    
     /**
      * Entity cleanup tick.
      * Runs every second (20 ticks) to countdown and trigger cleanup.
      */
-    @Scheduled(period = 20, async = false)
     public void tickEntityClean() {
         if (!config.isEntityCleanEnabled()) {
             return;
@@ -219,253 +563,1073 @@ public class CleanerService {
     }
     
     /**
-     * Clean items with batch processing and event support.
+     * Cleanup tick of a profiled world.
+     * Runs every second on its own phase; cleanups that come due are queued
+     * behind any cleanup already running.
+     *
+     * @param profile world profile
      */
-    private void cleanItemsWithBatch(PreItemCleanEvent.CleanTrigger trigger) {
-        if (isCleaningInProgress) {
+    public void tickWorldClean(WorldProfile profile) {
+        World world = Bukkit.getWorld(profile.getWorldName());
+        if (world == null) {
             return;
         }
         
-        long startTime = System.currentTimeMillis();
-        List<UUID> itemsToClean = collectItemsToClean();
-        
-        // Fire pre-clean event
-        PreItemCleanEvent preEvent = new PreItemCleanEvent(itemsToClean, null, trigger);
-        Bukkit.getPluginManager().callEvent(preEvent);
-        
-        if (preEvent.isCancelled()) {
-            broadcastMessage(config.getCleanCancelledMessage());
-            return;
+        if (config.isItemCleanEnabled() && !isItemLifetimeActive()) {
+            int countdown = profile.countDownItems();
+            if (config.getItemWarnTimes() != null && config.getItemWarnTimes().contains(countdown)) {
+                broadcastMessage(config.getWarnMessage().replace("{TIME}", String.valueOf(countdown)), world);
+            }
+            if (countdown <= 0) {
+                cleanWorldItems(world, profile, PreItemCleanEvent.CleanTrigger.SCHEDULED);
+                profile.resetItemCountdown();
+            }
         }
         
-        // Use modified list from event
-        List<UUID> finalItems = preEvent.getItemUuids();
-        
-        if (finalItems.isEmpty()) {
-            broadcastItemCleaned(0);
-            return;
+        if (config.isEntityCleanEnabled()) {
+            int countdown = profile.countDownEntities();
+            if (config.getEntityWarnTimes() != null && config.getEntityWarnTimes().contains(countdown)) {
+                broadcastMessage(config.getEntityWarnMessage().replace("{TIME}", String.valueOf(countdown)), world);
+            }
+            if (countdown <= 0) {
+                cleanWorldEntities(world, profile, PreEntityCleanEvent.CleanTrigger.SCHEDULED);
+                profile.resetEntityCountdown();
+            }
         }
-        
-        // Batch remove
-        removeEntitiesInBatches(finalItems, config.getCleanBatchSize(), count -> {
-            long duration = System.currentTimeMillis() - startTime;
-            broadcastItemCleaned(count);
-            
-            // Fire complete event (async)
-            Bukkit.getScheduler().runTaskAsynchronously(bukkitPlugin, () -> {
-                CleanCompleteEvent completeEvent = new CleanCompleteEvent(
-                    CleanCompleteEvent.CleanType.ITEMS,
-                    count,
-                    duration,
-                    convertTrigger(trigger)
-                );
-                Bukkit.getPluginManager().callEvent(completeEvent);
-            });
-        });
     }
     
     /**
-     * Clean entities with batch processing and event support.
+     * Smart cleanup check of a profiled world against its own thresholds.
+     * Runs every 5 seconds on its own phase.
+     *
+     * @param profile world profile
      */
-    private void cleanEntitiesWithBatch(PreEntityCleanEvent.CleanTrigger trigger) {
-        if (isCleaningInProgress) {
+    public void checkWorldSmartClean(WorldProfile profile) {
+        if (!config.isSmartCleanEnabled() || isCleaningInProgress() || regionCleaner != null) {
             return;
         }
-        
-        long startTime = System.currentTimeMillis();
-        Map<EntityType, Integer> typeCounts = new HashMap<>();
-        List<UUID> entitiesToClean = collectEntitiesToClean(typeCounts);
-        
-        // Fire pre-clean event
-        PreEntityCleanEvent preEvent = new PreEntityCleanEvent(entitiesToClean, null, trigger, typeCounts);
-        Bukkit.getPluginManager().callEvent(preEvent);
-        
-        if (preEvent.isCancelled()) {
-            broadcastMessage(config.getCleanCancelledMessage());
+        World world = Bukkit.getWorld(profile.getWorldName());
+        long now = System.currentTimeMillis();
+        if (world == null || now - profile.getLastSmartCleanTime() < config.getSmartCleanCooldown() * 1000L) {
             return;
         }
         
-        // Use modified list from event
-        List<UUID> finalEntities = preEvent.getEntityUuids();
+        int itemThreshold = tpsScheduler != null ?
+            tpsScheduler.applyThresholdReduction(profile.getItemThreshold()) :
+            profile.getItemThreshold();
+        int mobThreshold = tpsScheduler != null ?
+            tpsScheduler.applyThresholdReduction(profile.getMobThreshold()) :
+            profile.getMobThreshold();
+        
+        // Profiled worlds are walked by the shared census like every other world
+        EntityCensus current = getCensus();
+        int itemCount = current.getWorldItemCount(world.getName());
+        int mobCount = current.getWorldMobCount(world.getName());
         
-        if (finalEntities.isEmpty()) {
+        boolean shouldCleanItems = itemCount > itemThreshold;
+        boolean shouldCleanMobs = mobCount > mobThreshold;
+        if (!shouldCleanItems && !shouldCleanMobs) {
             return;
         }
-        
-        // Batch remove
-        removeEntitiesInBatches(finalEntities, config.getCleanBatchSize(), count -> {
-            long duration = System.currentTimeMillis() - startTime;
-            broadcastEntityCleaned(count);
-            
-            // Fire complete event (async)
-            Bukkit.getScheduler().runTaskAsynchronously(bukkitPlugin, () -> {
-                CleanCompleteEvent completeEvent = new CleanCompleteEvent(
-                    CleanCompleteEvent.CleanType.ENTITIES,
-                    count,
-                    duration,
-                    convertTrigger(trigger)
-                );
-                Bukkit.getPluginManager().callEvent(completeEvent);
-            });
-        });
+        profile.setLastSmartCleanTime(now);
+        broadcastMessage(config.getSmartCleanTriggeredMessage(), world);
+        if (shouldCleanItems) {
+            cleanWorldItems(world, profile, PreItemCleanEvent.CleanTrigger.SMART);
+        }
+        if (shouldCleanMobs) {
+            cleanWorldEntities(world, profile, PreEntityCleanEvent.CleanTrigger.SMART);
+        }
     }
     
     /**
-     * Collect items that should be cleaned.
+     * Clean the items of one profiled world with its batch size.
      */
-    private List<UUID> collectItemsToClean() {
-        List<UUID> items = new ArrayList<>();
-        
-        for (World world : Bukkit.getWorlds()) {
-            if (worldBlacklistCache.contains(world.getName())) {
-                continue;
-            }
-            
-            for (Entity entity : world.getEntities()) {
-                if (entity instanceof Item) {
-                    Item item = (Item) entity;
-                    
-                    // Check if in whitelist
-                    if (item.getItemStack() != null) {
-                        String typeName = item.getItemStack().getType().name();
-                        if (itemWhitelistCache.contains(typeName)) {
-                            continue;
-                        }
-                        
-                        // Check if named
-                        if (config.isItemIgnoreNamed() && 
-                            item.getItemStack().hasItemMeta() && 
-                            item.getItemStack().getItemMeta().hasDisplayName()) {
-                            continue;
-                        }
-                    }
-                    
-                    // Check if recently dropped
-                    if (config.getItemIgnoreRecentSeconds() > 0) {
-                        int ticksAlive = item.getTicksLived();
-                        if (ticksAlive < config.getItemIgnoreRecentSeconds() * 20) {
-                            continue;
-                        }
-                    }
-                    
-                    items.add(entity.getUniqueId());
-                }
+    private void cleanWorldItems(World world, WorldProfile profile, PreItemCleanEvent.CleanTrigger trigger) {
+        cleanCoordinator.submit("world-items:" + world.getName(), priorityOf(trigger), job -> {
+            long startTime = System.currentTimeMillis();
+            if (regionCleaner != null) {
+                regionCleaner.collect(Collections.singletonList(world), this::isItemEntityCandidate, false,
+                    items -> finishItemClean(items, world, trigger, startTime, profile.getBatchSize(), true, job));
+                return;
             }
-        }
-        
-        return items;
+            CandidateBuffer items = collectWorldCandidates(world, true);
+            compactCandidates(items, job);
+            finishItemClean(items, world, trigger, startTime, profile.getBatchSize(), true, job);
+        });
     }
     
     /**
-     * Collect entities that should be cleaned.
+     * Clean the configured mobs of one profiled world with its batch size.
      */
-    private List<UUID> collectEntitiesToClean(Map<EntityType, Integer> typeCounts) {
-        List<UUID> entities = new ArrayList<>();
-        
-        for (World world : Bukkit.getWorlds()) {
-            if (worldBlacklistCache.contains(world.getName())) {
-                continue;
+    private void cleanWorldEntities(World world, WorldProfile profile, PreEntityCleanEvent.CleanTrigger trigger) {
+        cleanCoordinator.submit("world-entities:" + world.getName(), priorityOf(trigger), job -> {
+            long startTime = System.currentTimeMillis();
+            if (regionCleaner != null) {
+                regionCleaner.collect(Collections.singletonList(world), this::isMobEntityCandidate, true,
+                    entities -> finishEntityClean(entities, world, trigger, startTime, profile.getBatchSize(), job));
+                return;
             }
-            
-            for (Entity entity : world.getEntities()) {
-                if (!entityTypesCache.contains(entity.getType())) {
-                    continue;
-                }
-                
-                // Check if named
-                if (config.isEntityWhitelistNamed() && entity.getCustomName() != null) {
-                    continue;
-                }
-                
-                // Check if living entity specific conditions
-                if (entity instanceof LivingEntity) {
-                    LivingEntity living = (LivingEntity) entity;
-                    
-                    // Check if leashed
-                    if (config.isEntityWhitelistLeashed() && living.isLeashed()) {
-                        continue;
-                    }
-                    
-                    // Check if tamed
-                    if (config.isEntityWhitelistTamed() && entity instanceof Tameable) {
-                        Tameable tameable = (Tameable) entity;
-                        if (tameable.isTamed()) {
-                            continue;
-                        }
-                    }
+            finishEntityClean(collectWorldCandidates(world, false), world, trigger, startTime,
+                profile.getBatchSize(), job);
+        });
+    }
+    
+    /**
+     * Collect the eligible items or configured mobs of one world.
+     */
+    private CandidateBuffer collectWorldCandidates(World world, boolean items) {
+        CandidateBuffer result = new CandidateBuffer();
+        appendWorldCandidates(result, world, items);
+        return result;
+    }
+    
+    private void appendWorldCandidates(CandidateBuffer result, World world, boolean items) {
+        beginRulePass();
+        for (Entity entity : world.getEntities()) {
+            if (entity instanceof Item) {
+                if (items && isItemCandidate((Item) entity)) {
+                    result.add(entity);
                 }
-                
-                entities.add(entity.getUniqueId());
-                typeCounts.merge(entity.getType(), 1, Integer::sum);
+            } else if (!items && entityTypesCache.contains(entity.getType()) && isMobCandidate(entity)) {
+                result.add(entity);
+                result.countType(entity.getType());
             }
         }
-        
-        return entities;
     }
     
     /**
-     * Remove entities in batches to avoid lag spikes.
+     * Add the candidates of every loaded profiled world, so manual cleanups cover them too.
      */
-    private void removeEntitiesInBatches(List<UUID> uuids, int batchSize, java.util.function.Consumer<Integer> onComplete) {
-        if (uuids.isEmpty()) {
-            onComplete.accept(0);
-            return;
-        }
-        
-        isCleaningInProgress = true;
-        AtomicInteger removedCount = new AtomicInteger(0);
-        AtomicInteger currentIndex = new AtomicInteger(0);
-        int totalCount = uuids.size();
-        
-        Bukkit.getScheduler().runTaskTimer(bukkitPlugin, task -> {
-            int processed = 0;
-            
-            while (processed < batchSize && currentIndex.get() < uuids.size()) {
-                UUID uuid = uuids.get(currentIndex.getAndIncrement());
-                Entity entity = Bukkit.getEntity(uuid);
-                
-                if (entity != null && entity.isValid() && !(entity instanceof Player)) {
-                    entity.remove();
-                    removedCount.incrementAndGet();
-                }
-                processed++;
-            }
-            
-            // Show progress if enabled
-            if (config.isShowCleanProgress() && currentIndex.get() < uuids.size()) {
-                String progressMsg = config.getCleanProgressMessage()
-                    .replace("{CURRENT}", String.valueOf(currentIndex.get()))
-                    .replace("{TOTAL}", String.valueOf(totalCount));
-                
-                Bukkit.getOnlinePlayers().stream()
-                    .filter(Player::isOp)
-                    .forEach(op -> op.sendMessage(ChatColor.translateAlternateColorCodes('&', progressMsg)));
-            }
-            
-            // Check if done
-            if (currentIndex.get() >= uuids.size()) {
-                task.cancel();
-                isCleaningInProgress = false;
-                onComplete.accept(removedCount.get());
+    private void appendProfiledWorlds(CandidateBuffer result, boolean items) {
+        for (WorldProfile profile : worldProfiles.values()) {
+            World world = Bukkit.getWorld(profile.getWorldName());
+            if (world != null) {
+                appendWorldCandidates(result, world, items);
             }
-        }, 0L, 1L);
+        }
     }
     
     /**
-     * Convert PreItemCleanEvent trigger to CleanCompleteEvent trigger.
+     * Register the timers of every profiled world, spreading their phases
+     * so no two worlds, nor the global timers, start a cleanup on the same tick.
      */
-    private CleanCompleteEvent.CleanTrigger convertTrigger(PreItemCleanEvent.CleanTrigger trigger) {
-        switch (trigger) {
-            case SMART: return CleanCompleteEvent.CleanTrigger.SMART;
-            case MANUAL: return CleanCompleteEvent.CleanTrigger.MANUAL;
-            default: return CleanCompleteEvent.CleanTrigger.SCHEDULED;
+    private void scheduleWorldTimers() {
+        for (String name : worldTimerNames) {
+            tickClock.cancel(name);
+        }
+        worldTimerNames.clear();
+        int total = worldProfiles.size();
+        int index = 0;
+        for (WorldProfile profile : worldProfiles.values()) {
+            index++;
+            String countdownTimer = TIMER_WORLD_COUNTDOWN + profile.getWorldName();
+            String smartTimer = TIMER_WORLD_SMART_CHECK + profile.getWorldName();
+            tickClock.schedule(countdownTimer, phase(index, total, 20), 20, () -> tickWorldClean(profile));
+            tickClock.schedule(smartTimer, phase(index, total, 100), 100, () -> checkWorldSmartClean(profile));
+            worldTimerNames.add(countdownTimer);
+            worldTimerNames.add(smartTimer);
         }
     }
     
     /**
-     * Convert PreEntityCleanEvent trigger to CleanCompleteEvent trigger.
+     * First-run delay of the index-th of total worlds, strictly inside one period
+     * so the global timers, which first run after a full period, keep their own tick.
      */
-    private CleanCompleteEvent.CleanTrigger convertTrigger(PreEntityCleanEvent.CleanTrigger trigger) {
+    static long phase(int index, int total, int period) {
+        return Math.max(1L, (long) index * period / (total + 1));
+    }
+    
+    /**
+     * Clean items with batch processing and event support.
+     * Queued behind any cleanup already running.
+     */
+    private void cleanItemsWithBatch(PreItemCleanEvent.CleanTrigger trigger) {
+        cleanCoordinator.submit("items", priorityOf(trigger), job -> runItemClean(trigger, job));
+    }
+    
+    /**
+     * Job priority of a clean trigger.
+     */
+    private static CleanJob.Priority priorityOf(Enum<?> trigger) {
+        return CleanJob.Priority.valueOf(trigger.name());
+    }
+    
+    /**
+     * Collect and remove items; completes the job once removal has finished.
+     */
+    private void runItemClean(PreItemCleanEvent.CleanTrigger trigger, CleanJob job) {
+        long startTime = System.currentTimeMillis();
+        
+        if (regionCleaner != null) {
+            regionCleaner.collect(regionWorlds(trigger == PreItemCleanEvent.CleanTrigger.MANUAL),
+                this::isItemEntityCandidate, false, items -> finishItemClean(items, trigger, startTime, job));
+            return;
+        }
+        
+        java.util.function.Consumer<CandidateBuffer> finish = items -> finishCollectedItems(items, trigger, startTime, job);
+        
+        if (isParallelFilterActive() && !isItemTrackerActive()) {
+            collectParallel(true, finish);
+            return;
+        }
+        
+        // Spread the scan across ticks when the tracker cannot supply candidates
+        if (isSlicedCollectActive() && !isItemTrackerActive()) {
+            collectSliced(entity -> entity instanceof Item && isItemCandidate((Item) entity), finish);
+            return;
+        }
+        
+        finish.accept(collectItemCandidates());
+    }
+    
+    /**
+     * Compact the collected items and start their removal.
+     */
+    private void finishCollectedItems(CandidateBuffer items, PreItemCleanEvent.CleanTrigger trigger, long startTime,
+                                      CleanJob job) {
+        compactCandidates(items, job);
+        finishItemClean(items, trigger, startTime, job);
+    }
+    
+    /**
+     * Merge nearby identical candidate stacks when merging is enabled, and drop
+     * the merged-away items from the candidates. Only the chunks the candidates
+     * were seen in are listed, so no world is swept a second time.
+     */
+    private void compactCandidates(CandidateBuffer candidates, CleanJob job) {
+        if (!config.isItemMergeEnabled() || job.isCancelled() || candidates.isEmpty()) {
+            return;
+        }
+        Map<String, Map<Long, Set<UUID>>> byChunk = new HashMap<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            String worldName = candidates.getWorldName(i);
+            if (worldName != null) {
+                byChunk.computeIfAbsent(worldName, k -> new HashMap<>())
+                    .computeIfAbsent(candidates.getChunkKey(i), k -> new HashSet<>())
+                    .add(candidates.getUuid(i));
+            }
+        }
+        
+        Set<UUID> merged = new HashSet<>();
+        ItemCompactor compactor = new ItemCompactor(config.getItemMergeRadius(), item -> {
+            merged.add(item.getUniqueId());
+            onEntityRemoved(item);
+        });
+        List<Item> items = new ArrayList<>();
+        for (Map.Entry<String, Map<Long, Set<UUID>>> worldEntry : byChunk.entrySet()) {
+            World world = Bukkit.getWorld(worldEntry.getKey());
+            if (world == null) {
+                continue;
+            }
+            for (Map.Entry<Long, Set<UUID>> chunkEntry : worldEntry.getValue().entrySet()) {
+                int chunkX = ChunkKeyUtil.getX(chunkEntry.getKey());
+                int chunkZ = ChunkKeyUtil.getZ(chunkEntry.getKey());
+                if (!world.isChunkLoaded(chunkX, chunkZ)) {
+                    continue;
+                }
+                items.clear();
+                for (Entity entity : world.getChunkAt(chunkX, chunkZ).getEntities()) {
+                    if (entity instanceof Item && chunkEntry.getValue().contains(entity.getUniqueId())) {
+                        items.add((Item) entity);
+                    }
+                }
+                compactor.compact(items);
+            }
+        }
+        
+        if (!merged.isEmpty()) {
+            candidates.asList().removeIf(merged::contains);
+            // The census may still list the merged-away items
+            census = null;
+        }
+    }
+    
+    /**
+     * Fire the pre-clean event for collected items and start removal.
+     */
+    private void finishItemClean(CandidateBuffer itemsToClean, PreItemCleanEvent.CleanTrigger trigger, long startTime,
+                                 CleanJob job) {
+        if (trigger == PreItemCleanEvent.CleanTrigger.MANUAL && regionCleaner == null) {
+            appendProfiledWorlds(itemsToClean, true);
+        }
+        finishItemClean(itemsToClean, null, trigger, startTime, config.getCleanBatchSize(), true, job);
+    }
+    
+    /**
+     * Fire the pre-clean event for items collected in one world, or all worlds if null, and start removal.
+     * Quiet cleanups skip the chat broadcasts but still fire both events.
+     */
+    private void finishItemClean(CandidateBuffer itemsToClean, World world, PreItemCleanEvent.CleanTrigger trigger,
+                                 long startTime, int batchSize, boolean announce, CleanJob job) {
+        if (job.isCancelled()) {
+            job.complete();
+            return;
+        }
+        
+        // Fire pre-clean event; listeners edit the buffer through its list view
+        job.setState(CleanJob.State.AWAITING_EVENT);
+        PreItemCleanEvent preEvent = new PreItemCleanEvent(itemsToClean.asList(), world, trigger);
+        Bukkit.getPluginManager().callEvent(preEvent);
+        
+        if (preEvent.isCancelled()) {
+            if (announce) {
+                broadcastMessage(config.getCleanCancelledMessage(), world);
+            }
+            job.complete();
+            return;
+        }
+        
+        if (itemsToClean.isEmpty()) {
+            if (announce) {
+                broadcastItemCleaned(0, world);
+            }
+            job.complete();
+            return;
+        }
+        
+        // Batch remove
+        job.setState(CleanJob.State.REMOVING);
+        removeEntitiesInBatches(itemsToClean, batchSize, job, count -> {
+            long duration = System.currentTimeMillis() - startTime;
+            if (announce) {
+                broadcastItemCleaned(count, world);
+            }
+            job.complete();
+            
+            // Fire complete event (async)
+            runAsync(() -> {
+                CleanCompleteEvent completeEvent = new CleanCompleteEvent(
+                    CleanCompleteEvent.CleanType.ITEMS,
+                    count,
+                    duration,
+                    convertTrigger(trigger)
+                );
+                Bukkit.getPluginManager().callEvent(completeEvent);
+            });
+        });
+    }
+    
+    /**
+     * Clean entities with batch processing and event support.
+     * Queued behind any cleanup already running.
+     */
+    private void cleanEntitiesWithBatch(PreEntityCleanEvent.CleanTrigger trigger) {
+        cleanCoordinator.submit("entities", priorityOf(trigger), job -> runEntityClean(trigger, job));
+    }
+    
+    /**
+     * Collect and remove entities; completes the job once removal has finished.
+     */
+    private void runEntityClean(PreEntityCleanEvent.CleanTrigger trigger, CleanJob job) {
+        long startTime = System.currentTimeMillis();
+        
+        if (regionCleaner != null) {
+            regionCleaner.collect(regionWorlds(trigger == PreEntityCleanEvent.CleanTrigger.MANUAL),
+                this::isMobEntityCandidate, true, entities -> finishEntityClean(entities, trigger, startTime, job));
+            return;
+        }
+        
+        if (isParallelFilterActive()) {
+            collectParallel(false, entities -> finishEntityClean(entities, trigger, startTime, job));
+            return;
+        }
+        
+        if (isSlicedCollectActive()) {
+            collectSliced(
+                entity -> entityTypesCache.contains(entity.getType()) && isMobCandidate(entity),
+                entities -> finishEntityClean(entities, trigger, startTime, job)
+            );
+            return;
+        }
+        
+        finishEntityClean(collectMobCandidates(), trigger, startTime, job);
+    }
+    
+    /**
+     * Fire the pre-clean event for collected entities and start removal.
+     */
+    private void finishEntityClean(CandidateBuffer entitiesToClean, PreEntityCleanEvent.CleanTrigger trigger,
+                                   long startTime, CleanJob job) {
+        if (trigger == PreEntityCleanEvent.CleanTrigger.MANUAL && regionCleaner == null) {
+            appendProfiledWorlds(entitiesToClean, false);
+        }
+        finishEntityClean(entitiesToClean, null, trigger, startTime, config.getCleanBatchSize(), job);
+    }
+    
+    /**
+     * Fire the pre-clean event for entities collected in one world, or all worlds if null, and start removal.
+     */
+    private void finishEntityClean(CandidateBuffer entitiesToClean, World world,
+                                   PreEntityCleanEvent.CleanTrigger trigger, long startTime, int batchSize,
+                                   CleanJob job) {
+        if (job.isCancelled()) {
+            job.complete();
+            return;
+        }
+        
+        // Fire pre-clean event; listeners edit the buffer through its list view
+        job.setState(CleanJob.State.AWAITING_EVENT);
+        PreEntityCleanEvent preEvent = new PreEntityCleanEvent(entitiesToClean.asList(), world, trigger,
+            entitiesToClean.getTypeCounts());
+        Bukkit.getPluginManager().callEvent(preEvent);
+        
+        if (preEvent.isCancelled()) {
+            broadcastMessage(config.getCleanCancelledMessage(), world);
+            job.complete();
+            return;
+        }
+        
+        if (entitiesToClean.isEmpty()) {
+            job.complete();
+            return;
+        }
+        
+        // Batch remove
+        job.setState(CleanJob.State.REMOVING);
+        removeEntitiesInBatches(entitiesToClean, batchSize, job, count -> {
+            long duration = System.currentTimeMillis() - startTime;
+            broadcastEntityCleaned(count, world);
+            job.complete();
+            
+            // Fire complete event (async)
+            runAsync(() -> {
+                CleanCompleteEvent completeEvent = new CleanCompleteEvent(
+                    CleanCompleteEvent.CleanType.ENTITIES,
+                    count,
+                    duration,
+                    convertTrigger(trigger)
+                );
+                Bukkit.getPluginManager().callEvent(completeEvent);
+            });
+        });
+    }
+    
+    /**
+     * Worlds that region collection covers: every non-blacklisted world,
+     * plus the profiled worlds for manual cleanups.
+     */
+    private List<World> regionWorlds(boolean includeProfiled) {
+        List<World> worlds = new ArrayList<>();
+        for (World world : Bukkit.getWorlds()) {
+            String name = world.getName();
+            if (!worldBlacklistCache.contains(name) || (includeProfiled && worldProfiles.containsKey(name))) {
+                worlds.add(world);
+            }
+        }
+        return worlds;
+    }
+    
+    private boolean isItemEntityCandidate(Entity entity) {
+        return entity instanceof Item && isItemCandidate((Item) entity);
+    }
+    
+    private boolean isMobEntityCandidate(Entity entity) {
+        return entityTypesCache.contains(entity.getType()) && isMobCandidate(entity);
+    }
+    
+    /**
+     * Check if candidate collection should be spread across ticks.
+     */
+    private boolean isSlicedCollectActive() {
+        return config.isSlicedCollectEnabled() && config.getCollectBudgetMicros() > 0;
+    }
+    
+    /**
+     * Collect candidates chunk by chunk within a per-tick time budget.
+     * The callback runs on the tick that visits the last chunk.
+     */
+    private void collectSliced(Predicate<Entity> filter, java.util.function.Consumer<CandidateBuffer> onComplete) {
+        List<World> worlds = new ArrayList<>();
+        for (World world : Bukkit.getWorlds()) {
+            if (!worldBlacklistCache.contains(world.getName())) {
+                worlds.add(world);
+            }
+        }
+        
+        SlicedCollector collector = new SlicedCollector(worlds, filter, config.getCollectBudgetMicros() * 1000L);
+        beginRulePass();
+        
+        runUntilDone("collect", collector::step, () -> onComplete.accept(collector.getCandidates()));
+    }
+    
+    /**
+     * Check if filtering should run on the worker pool.
+     * Compiled rules keep per-chunk state, so they stay on the main thread.
+     */
+    private boolean isParallelFilterActive() {
+        return config.isParallelFilterEnabled() && cleanupRules == null;
+    }
+    
+    /**
+     * Capture snapshots on the main thread, filter them on the worker pool,
+     * and hand the candidates back to the main thread.
+     */
+    private void collectParallel(boolean items, java.util.function.Consumer<CandidateBuffer> onComplete) {
+        SnapshotFilter filter = new SnapshotFilter(config, itemWhitelistCache);
+        List<EntitySnapshot> snapshots = captureSnapshots(items, filter.needsDisplayName());
+        
+        try {
+            CompletableFuture.supplyAsync(() -> filter.apply(snapshots, items), getFilterPool())
+                .whenComplete((candidates, error) -> {
+                    // Hand back even if filtering threw, so the job still completes
+                    CandidateBuffer result = candidates != null ? candidates : new CandidateBuffer(0);
+                    Bukkit.getScheduler().runTask(bukkitPlugin, () -> onComplete.accept(result));
+                });
+        } catch (RejectedExecutionException e) {
+            // The pool was shut down under us; the job is being cancelled anyway
+            onComplete.accept(new CandidateBuffer(0));
+        }
+    }
+    
+    /**
+     * Copy the state of every item, or every configured mob, in non-blacklisted worlds.
+     */
+    private List<EntitySnapshot> captureSnapshots(boolean items, boolean readDisplayName) {
+        List<EntitySnapshot> snapshots = new ArrayList<>();
+        for (World world : Bukkit.getWorlds()) {
+            String worldName = world.getName();
+            if (worldBlacklistCache.contains(worldName)) {
+                continue;
+            }
+            for (Entity entity : world.getEntities()) {
+                if (entity instanceof Item) {
+                    if (items) {
+                        snapshots.add(EntitySnapshot.ofItem((Item) entity, worldName, readDisplayName));
+                    }
+                } else if (!items && entityTypesCache.contains(entity.getType())) {
+                    snapshots.add(EntitySnapshot.ofMob(entity, worldName));
+                }
+            }
+        }
+        return snapshots;
+    }
+    
+    /**
+     * Get the worker pool for snapshot filtering, leaving one core for the main thread.
+     */
+    private ForkJoinPool getFilterPool() {
+        if (filterPool == null) {
+            filterPool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+        }
+        return filterPool;
+    }
+    
+    /**
+     * Get the entity counts for the current tick.
+     * The first call in a tick walks every world once, only counting;
+     * later calls in the same tick reuse that snapshot. Without a tick clock
+     * the snapshot is kept until a reload drops it.
+     *
+     * @return entity census, without candidates unless a cleanup asked for them this tick
+     */
+    public EntityCensus getCensus() {
+        return census(false);
+    }
+    
+    /**
+     * Get the entity census for the current tick with its cleanup candidates.
+     * Candidates are only filtered when a cleanup needs them; if this tick's
+     * census was taken by the counting pass, a second pass adds them.
+     *
+     * @return entity census with candidates
+     */
+    public EntityCensus getCandidateCensus() {
+        return census(true);
+    }
+    
+    private EntityCensus census(boolean withCandidates) {
+        // Keyed on the shared clock's tick, so no task is needed to expire it
+        long tick = tickClock != null ? tickClock.getCurrentTick() : 0;
+        if (census == null || censusTick != tick) {
+            EntityCensus result = new EntityCensus();
+            if (config.isDensityEnabled()) {
+                result.setDensity(new ChunkDensity(entityTypesCache));
+            }
+            walkWorlds(result, true, withCandidates);
+            census = result;
+            censusTick = tick;
+        } else if (withCandidates && !census.hasCandidates()) {
+            walkWorlds(census, false, true);
+        }
+        return census;
+    }
+    
+    /**
+     * Walk every world once, counting entities, filtering candidates, or both.
+     * Locations are read into a scratch instance instead of a new one per entity.
+     */
+    private void walkWorlds(EntityCensus result, boolean count, boolean collect) {
+        if (collect) {
+            beginRulePass();
+            result.markCandidatesCollected();
+        }
+        
+        for (World world : Bukkit.getWorlds()) {
+            String worldName = world.getName();
+            boolean blacklisted = worldBlacklistCache.contains(worldName);
+            int worldItems = 0;
+            int worldMobs = 0;
+            
+            for (Entity entity : world.getEntities()) {
+                EntityType type = entity.getType();
+                if (count) {
+                    result.addEntity(type);
+                }
+                boolean item = entity instanceof Item;
+                if (!item && !entityTypesCache.contains(type)) {
+                    continue;
+                }
+                
+                Location location = entity.getLocation(scratchLocation);
+                boolean located = location != null;
+                long chunkKey = located ? ChunkKeyUtil.pack(location) : 0L;
+                if (count) {
+                    if (item) {
+                        result.addItem(blacklisted);
+                        worldItems++;
+                    } else {
+                        result.addMob(type, blacklisted);
+                        worldMobs++;
+                    }
+                    if (located) {
+                        result.addChunkEntity(worldName, chunkKey, item);
+                        if (!blacklisted) {
+                            result.addDensity(worldName, chunkKey, type);
+                        }
+                    }
+                }
+                
+                if (!collect || blacklisted) {
+                    continue;
+                }
+                if (item) {
+                    if (isItemCandidate((Item) entity)) {
+                        if (located) {
+                            result.addItemCandidate(entity.getUniqueId(), worldName, chunkKey);
+                        } else {
+                            result.addItemCandidate(entity.getUniqueId());
+                        }
+                    }
+                } else if (isMobCandidate(entity)) {
+                    if (located) {
+                        result.addMobCandidate(entity.getUniqueId(), type, worldName, chunkKey);
+                    } else {
+                        result.addMobCandidate(entity.getUniqueId(), type);
+                    }
+                }
+            }
+            if (count) {
+                result.setWorldCounts(worldName, worldItems, worldMobs);
+            }
+        }
+    }
+
+    
+    /**
+     * Check whether an item may be cleaned.
+     */
+    private boolean isItemCandidate(Item item) {
+        if (cleanupRules != null) {
+            return isRuleCandidate(CleanupRules.TARGET_ITEM, item);
+        }
+        
+        // Check if in whitelist
+        if (item.getItemStack() != null) {
+            String typeName = item.getItemStack().getType().name();
+            if (itemWhitelistCache.contains(typeName)) {
+                return false;
+            }
+            
+            // Check if named
+            if (config.isItemIgnoreNamed() && 
+                item.getItemStack().hasItemMeta() && 
+                item.getItemStack().getItemMeta().hasDisplayName()) {
+                return false;
+            }
+        }
+        
+        // Check if recently dropped
+        if (config.getItemIgnoreRecentSeconds() > 0) {
+            int ticksAlive = item.getTicksLived();
+            if (ticksAlive < config.getItemIgnoreRecentSeconds() * 20) {
+                return false;
+            }
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Check whether a mob of a configured type may be cleaned.
+     */
+    private boolean isMobCandidate(Entity entity) {
+        if (cleanupRules != null) {
+            return isRuleCandidate(CleanupRules.TARGET_MOB, entity);
+        }
+        
+        // Check if named
+        if (config.isEntityWhitelistNamed() && entity.getCustomName() != null) {
+            return false;
+        }
+        
+        // Check if living entity specific conditions
+        if (entity instanceof LivingEntity) {
+            LivingEntity living = (LivingEntity) entity;
+            
+            // Check if leashed
+            if (config.isEntityWhitelistLeashed() && living.isLeashed()) {
+                return false;
+            }
+            
+            // Check if tamed
+            if (config.isEntityWhitelistTamed() && entity instanceof Tameable) {
+                Tameable tameable = (Tameable) entity;
+                if (tameable.isTamed()) {
+                    return false;
+                }
+            }
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Evaluate the compiled rules for an entity.
+     * Item meta and location are only read when some rule needs them.
+     */
+    private boolean isRuleCandidate(int target, Entity entity) {
+        int flags = 0;
+        int materialOrdinal = -1;
+        if (target == CleanupRules.TARGET_ITEM) {
+            ItemStack stack = ((Item) entity).getItemStack();
+            if (stack != null) {
+                materialOrdinal = stack.getType().ordinal();
+                if (cleanupRules.usesFlag(target, CleanupRules.FLAG_NAMED)
+                        && stack.hasItemMeta() && stack.getItemMeta().hasDisplayName()) {
+                    flags |= CleanupRules.FLAG_NAMED;
+                }
+            }
+        } else {
+            if (entity.getCustomName() != null) {
+                flags |= CleanupRules.FLAG_NAMED;
+            }
+            if (entity instanceof LivingEntity && ((LivingEntity) entity).isLeashed()) {
+                flags |= CleanupRules.FLAG_LEASHED;
+            }
+            if (entity instanceof Tameable && ((Tameable) entity).isTamed()) {
+                flags |= CleanupRules.FLAG_TAMED;
+            }
+        }
+        
+        long chunkKey = 0L;
+        if (cleanupRules.usesChunks() && entity.getLocation(scratchLocation) != null) {
+            chunkKey = ChunkKeyUtil.pack(scratchLocation);
+        }
+        EntityType type = entity.getType();
+        return cleanupRules.isCandidate(target, ruleWorldId(entity.getWorld()),
+            type != null ? type.ordinal() : -1, materialOrdinal, entity.getTicksLived(), flags, chunkKey);
+    }
+    
+    /**
+     * Resolve the rule world id, remembering the last world since entities arrive grouped by world.
+     */
+    private int ruleWorldId(World world) {
+        if (world != lastRuleWorld) {
+            lastRuleWorld = world;
+            lastRuleWorldId = world != null ? cleanupRules.worldId(world.getName()) : -1;
+        }
+        return lastRuleWorldId;
+    }
+    
+    /**
+     * Start a new rule pass so keep-per-chunk limits count from zero.
+     */
+    private void beginRulePass() {
+        if (cleanupRules != null) {
+            cleanupRules.beginPass();
+        }
+    }
+    
+    /**
+     * Collect items that should be cleaned, with the chunks they were seen in.
+     */
+    private CandidateBuffer collectItemCandidates() {
+        if (isItemTrackerActive()) {
+            beginRulePass();
+            return itemTracker.collectCandidates(this::isItemCandidate, worldBlacklistCache);
+        }
+        return getCandidateCensus().copyItemCandidates();
+    }
+    
+    /**
+     * Collect mobs that should be cleaned, with the chunks they were seen in and their type counts.
+     */
+    private CandidateBuffer collectMobCandidates() {
+        return getCandidateCensus().copyMobCandidates();
+    }
+    
+    /**
+     * Read the live mob count, reconciling it against a real scan when due.
+     */
+    private int readMobCounter(long now) {
+        if (mobCounter.isReconcileDue(now, config.getMobCounterReconcileInterval() * 1000L)) {
+            mobCounter.reconcile(getCensus().getMobTypeCounts(), now);
+        }
+        return mobCounter.getMobCount();
+    }
+    
+    /**
+     * Reconcile the live mob count against a real scan and return the result.
+     */
+    private int confirmMobCount(long now) {
+        mobCounter.reconcile(getCensus().getMobTypeCounts(), now);
+        return mobCounter.getMobCount();
+    }
+    
+    /**
+     * Read the tracked item count, reconciling it against a real scan when due.
+     */
+    private int readItemTracker(long now) {
+        if (itemTracker.isReconcileDue(now, config.getItemTrackerReconcileInterval() * 1000L)) {
+            itemTracker.reconcile(getCensus(), now);
+        }
+        return itemTracker.getItemCount(worldBlacklistCache);
+    }
+    
+    /**
+     * Check if mob counts should be read from the live counter.
+     */
+    private boolean isMobCounterActive() {
+        return mobCounter != null && mobCounter.isEnabled();
+    }
+    
+    /**
+     * Check if items should be read from the incremental tracker.
+     */
+    private boolean isItemTrackerActive() {
+        return itemTracker != null && regionCleaner == null && itemTracker.isEnabled();
+    }
+    
+    /**
+     * Remove entities in batches, resolving them one chunk at a time.
+     * Stops early, reporting what was removed so far, if the job is cancelled.
+     */
+    private void removeEntitiesInBatches(CandidateBuffer candidates, int batchSize, CleanJob job,
+                                         java.util.function.Consumer<Integer> onComplete) {
+        if (candidates.isEmpty()) {
+            onComplete.accept(0);
+            return;
+        }
+        
+        // Each region removes its own share; the results come back to the global region
+        if (regionCleaner != null) {
+            // Stacks are read on the owning region thread, before the entity is gone
+            regionCleaner.remove(candidates, () -> job != null && job.isCancelled(), entity -> {
+                if (trashBin != null && entity instanceof Item) {
+                    trashBin.capture(((Item) entity).getItemStack());
+                }
+            }, removed -> {
+                for (Entity entity : removed) {
+                    onEntityRemoved(entity);
+                }
+                onComplete.accept(removed.size());
+            });
+            return;
+        }
+        
+        AtomicInteger removedCount = new AtomicInteger(0);
+        RemovalPlan plan = new RemovalPlan(candidates);
+        int totalCount = plan.getTotal();
+        
+        runUntilDone("remove", () -> {
+            if (job != null && job.isCancelled()) {
+                return true;
+            }
+            int processed = 0;
+            long budgetNanos = getRemovalBudgetNanos();
+            long deadline = System.nanoTime() + budgetNanos;
+            
+            while (hasRemovalBudget(processed, batchSize, budgetNanos, deadline) && !plan.isDone()) {
+                // A dense chunk is split across ticks rather than removed past the limit
+                processed += plan.step(entity -> {
+                    if (entity.isValid() && !(entity instanceof Player)) {
+                        if (trashBin != null && entity instanceof Item) {
+                            trashBin.capture(((Item) entity).getItemStack());
+                        }
+                        entity.remove();
+                        removedCount.incrementAndGet();
+                        onEntityRemoved(entity);
+                    }
+                }, getRemovalAllowance(processed, batchSize, budgetNanos));
+            }
+            
+            // Show progress if enabled
+            if (config.isShowCleanProgress() && !plan.isDone()) {
+                String progressMsg = config.getCleanProgressMessage()
+                    .replace("{CURRENT}", String.valueOf(plan.getProcessed()))
+                    .replace("{TOTAL}", String.valueOf(totalCount));
+                
+                Bukkit.getOnlinePlayers().stream()
+                    .filter(Player::isOp)
+                    .forEach(op -> op.sendMessage(ChatColor.translateAlternateColorCodes('&', progressMsg)));
+            }
+            
+            return plan.isDone();
+        }, () -> onComplete.accept(removedCount.get()));
+    }
+    
+    /**
+     * Run a step every tick, starting next tick, until it returns true.
+     * Uses the shared timing wheel when available.
+     * onDone runs once after the last step, or after a step that throws,
+     * so the job the steps belong to always completes.
+     */
+    private void runUntilDone(String name, BooleanSupplier step, Runnable onDone) {
+        BooleanSupplier guarded = () -> {
+            boolean done = true;
+            try {
+                done = step.getAsBoolean();
+            } finally {
+                if (done) {
+                    onDone.run();
+                }
+            }
+            return done;
+        };
+        if (tickClock != null) {
+            tickClock.scheduleUntil(name, 1, guarded);
+            return;
+        }
+        Bukkit.getScheduler().runTaskTimer(bukkitPlugin, task -> {
+            boolean done = true;
+            try {
+                done = guarded.getAsBoolean();
+            } finally {
+                if (done) {
+                    task.cancel();
+                }
+            }
+        }, 0L, 1L);
+    }
+    
+    /**
+     * Run a task off the server threads.
+     */
+    private void runAsync(Runnable task) {
+        if (ServerTypeUtil.isFolia()) {
+            FoliaSchedulers.runAsync(bukkitPlugin, task);
+            return;
+        }
+        Bukkit.getScheduler().runTaskAsynchronously(bukkitPlugin, task);
+    }
+    
+    /**
+     * Run a task on the global region, where the timers start cleanups.
+     * Commands on Folia run on the sender's region thread, so they hand over here.
+     */
+    private void runGlobal(Runnable task) {
+        if (ServerTypeUtil.isFolia()) {
+            FoliaSchedulers.runGlobal(bukkitPlugin, task);
+            return;
+        }
+        task.run();
+    }
+    
+    /**
+     * Run a task once after a number of ticks.
+     */
+    private void runLater(long delayTicks, Runnable task) {
+        if (tickClock != null) {
+            tickClock.scheduleUntil("clean-queue", delayTicks, () -> {
+                task.run();
+                return true;
+            });
+            return;
+        }
+        Bukkit.getScheduler().runTaskLater(bukkitPlugin, task, delayTicks);
+    }
+    
+    private void cancelTimers() {
+        tickClock.cancel(TIMER_SMART_CHECK);
+        tickClock.cancel(TIMER_ITEM_COUNTDOWN);
+        tickClock.cancel(TIMER_ITEM_LIFETIMES);
+        tickClock.cancel(TIMER_ENTITY_COUNTDOWN);
+    }
+    
+    /**
+     * Get the clock that drives the cleaner timers.
+     *
+     * @return tick clock, or null if not injected
+     */
+    public TickClock getTickClock() {
+        return tickClock;
+    }
+    
+    /**
+     * Get the removal time budget for the current tick.
+     * The configured budget shrinks with the TPS threshold multiplier.
+     *
+     * @return budget in nanoseconds, or 0 to remove a fixed batch size per tick
+     */
+    private long getRemovalBudgetNanos() {
+        double budgetMs = config.getRemoveBudgetMs();
+        if (budgetMs <= 0) {
+            return 0L;
+        }
+        double multiplier = tpsScheduler != null ? tpsScheduler.getThresholdMultiplier() : 1.0;
+        return (long) (budgetMs * 1_000_000L * multiplier);
+    }
+    
+    /**
+     * Check if the current tick may remove another entity.
+     * In budget mode at least one entity is removed per tick so removal always progresses.
+     */
+    private boolean hasRemovalBudget(int processed, int batchSize, long budgetNanos, long deadline) {
+        if (budgetNanos <= 0) {
+            return processed < batchSize;
+        }
+        return processed == 0 || System.nanoTime() < deadline;
+    }
+    
+    /**
+     * Get how many entities the next removal step may hand out.
+     * In budget mode the deadline is checked after every entity.
+     */
+    private int getRemovalAllowance(int processed, int batchSize, long budgetNanos) {
+        if (budgetNanos > 0) {
+            return 1;
+        }
+        return batchSize - processed;
+    }
+    
+    /**
+     * Keep the incremental indexes in sync with an entity the cleaner removed.
+     */
+    private void onEntityRemoved(Entity entity) {
+        if (entity instanceof Item) {
+            if (itemTracker != null) {
+                itemTracker.untrack(entity.getUniqueId());
+            }
+        } else if (mobCounter != null) {
+            mobCounter.decrement(entity);
+        }
+    }
+    
+    /**
+     * Convert PreItemCleanEvent trigger to CleanCompleteEvent trigger.
+     */
+    private CleanCompleteEvent.CleanTrigger convertTrigger(PreItemCleanEvent.CleanTrigger trigger) {
+        switch (trigger) {
+            case SMART: return CleanCompleteEvent.CleanTrigger.SMART;
+            case MANUAL: return CleanCompleteEvent.CleanTrigger.MANUAL;
+            default: return CleanCompleteEvent.CleanTrigger.SCHEDULED;
+        }
+    }
+    
+    /**
+     * Convert PreEntityCleanEvent trigger to CleanCompleteEvent trigger.
+     */
+    private CleanCompleteEvent.CleanTrigger convertTrigger(PreEntityCleanEvent.CleanTrigger trigger) {
         switch (trigger) {
             case SMART: return CleanCompleteEvent.CleanTrigger.SMART;
             case MANUAL: return CleanCompleteEvent.CleanTrigger.MANUAL;
@@ -477,8 +1641,15 @@ public class CleanerService {
      * Broadcast a message.
      */
     private void broadcastMessage(String message) {
+        broadcastMessage(message, null);
+    }
+    
+    /**
+     * Send a message to the players in a world, or everyone if the world is null.
+     */
+    private void broadcastMessage(String message, World world) {
         String formatted = ChatColor.translateAlternateColorCodes('&', message);
-        for (Player player : Bukkit.getOnlinePlayers()) {
+        for (Player player : world != null ? world.getPlayers() : Bukkit.getOnlinePlayers()) {
             player.sendMessage(formatted);
         }
     }
@@ -502,18 +1673,18 @@ public class CleanerService {
     /**
      * Broadcast item cleaned message.
      */
-    private void broadcastItemCleaned(int count) {
+    private void broadcastItemCleaned(int count, World world) {
         String message = config.getItemCleanedMessage().replace("{COUNT}", String.valueOf(count));
-        broadcastMessage(message);
+        broadcastMessage(message, world);
     }
     
     /**
      * Broadcast entity cleaned message.
      */
-    private void broadcastEntityCleaned(int count) {
+    private void broadcastEntityCleaned(int count, World world) {
         if (count > 0) {
             String message = config.getEntityCleanedMessage().replace("{COUNT}", String.valueOf(count));
-            broadcastMessage(message);
+            broadcastMessage(message, world);
         }
     }
     
@@ -534,26 +1705,60 @@ public class CleanerService {
     /**
      * Force immediate item cleanup.
      * 
-     * @return number of items collected for cleaning (actual removal is async)
+     * @return number of items collected for cleaning (actual removal is async),
+     *         or -1 on Folia, where items are only counted by the region scans
      */
     public int forceCleanItems() {
-        List<UUID> items = collectItemsToClean();
-        cleanItemsWithBatch(PreItemCleanEvent.CleanTrigger.MANUAL);
+        if (regionCleaner != null) {
+            runGlobal(() -> {
+                cleanItemsWithBatch(PreItemCleanEvent.CleanTrigger.MANUAL);
+                itemCountdown = config.getItemCleanInterval();
+            });
+            return -1;
+        }
+        int count;
+        if (isItemTrackerActive()) {
+            // Collect from the tracker once and hand the same candidates to the job
+            CandidateBuffer items = collectItemCandidates();
+            count = items.size();
+            cleanCoordinator.submit("items", CleanJob.Priority.MANUAL, job -> finishCollectedItems(items,
+                PreItemCleanEvent.CleanTrigger.MANUAL, System.currentTimeMillis(), job));
+        } else {
+            count = getCandidateCensus().getItemCandidates().size();
+            cleanItemsWithBatch(PreItemCleanEvent.CleanTrigger.MANUAL);
+        }
         itemCountdown = config.getItemCleanInterval();
-        return items.size();
+        return count;
     }
     
     /**
      * Force immediate entity cleanup.
      * 
-     * @return number of entities collected for cleaning (actual removal is async)
+     * @return number of entities collected for cleaning (actual removal is async),
+     *         or -1 on Folia, where entities are only counted by the region scans
      */
     public int forceCleanEntities() {
-        Map<EntityType, Integer> typeCounts = new HashMap<>();
-        List<UUID> entities = collectEntitiesToClean(typeCounts);
+        if (regionCleaner != null) {
+            runGlobal(() -> {
+                cleanEntitiesWithBatch(PreEntityCleanEvent.CleanTrigger.MANUAL);
+                entityCountdown = config.getEntityCleanInterval();
+            });
+            return -1;
+        }
+        int count = getCandidateCensus().getMobCandidates().size();
         cleanEntitiesWithBatch(PreEntityCleanEvent.CleanTrigger.MANUAL);
         entityCountdown = config.getEntityCleanInterval();
-        return entities.size();
+        return count;
+    }
+    
+    /**
+     * Check if cleanups run per region on Folia.
+     * World-wide counts such as {@link #getEntityCounts()} are not available then.
+     *
+     * @return true on Folia
+     */
+    public boolean isRegionThreaded() {
+        return regionCleaner != null;
     }
     
     /**
@@ -561,32 +1766,48 @@ public class CleanerService {
      */
     public Map<String, Integer> getEntityCounts() {
         Map<String, Integer> counts = new HashMap<>();
-        int itemCount = 0;
-        int mobCount = 0;
-        int totalEntities = 0;
-        
-        for (World world : Bukkit.getWorlds()) {
-            for (Entity entity : world.getEntities()) {
-                totalEntities++;
-                if (entity instanceof Item) {
-                    itemCount++;
-                } else if (entityTypesCache.contains(entity.getType())) {
-                    mobCount++;
-                }
-            }
-        }
-        
-        counts.put("items", itemCount);
-        counts.put("mobs", mobCount);
-        counts.put("total", totalEntities);
+        EntityCensus current = getCensus();
+        counts.put("items", current.getTotalItems());
+        counts.put("mobs", current.getTotalMobs());
+        counts.put("total", current.getTotalEntities());
         return counts;
     }
     
+    /**
+     * Get the densest chunks for status display.
+     *
+     * @return hotspots, densest first
+     */
+    public List<HotspotIndex.Hotspot> getHotspots() {
+        return getCensus().getHotspots().top(config.getHotspotCount());
+    }
+    
     /**
      * Check if cleanup is currently in progress.
      */
     public boolean isCleaningInProgress() {
-        return isCleaningInProgress;
+        return cleanCoordinator.isBusy();
+    }
+    
+    /**
+     * Get the growth predictor of the item count.
+     */
+    public GrowthPredictor getItemGrowth() {
+        return itemGrowth;
+    }
+    
+    /**
+     * Get the growth predictor of the mob count.
+     */
+    public GrowthPredictor getMobGrowth() {
+        return mobGrowth;
+    }
+    
+    /**
+     * Get the coordinator that queues cleanup jobs.
+     */
+    public CleanCoordinator getCleanCoordinator() {
+        return cleanCoordinator;
     }
     
     /**
@@ -595,4 +1816,18 @@ public class CleanerService {
     public TpsAwareScheduler getTpsScheduler() {
         return tpsScheduler;
     }
+    
+    /**
+     * Get the cleanup profiles of individually scheduled worlds.
+     */
+    public Collection<WorldProfile> getWorldProfiles() {
+        return Collections.unmodifiableCollection(worldProfiles.values());
+    }
+    
+    /**
+     * Get the recycling bin for removed items.
+     */
+    public TrashBin getTrashBin() {
+        return trashBin;
+    }
 }
@@ -0,0 +1,527 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.config.CleanerConfig;
+import org.bukkit.Material;
+import org.bukkit.entity.EntityType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Cleanup eligibility rules compiled into flat arrays.
+ * <p>
+ * Each config line has the form {@code <action> <target> [condition...]}:
+ * </p>
+ * <ul>
+ *   <li>action: {@code keep}, {@code clean} or {@code keep-per-chunk:N}</li>
+ *   <li>target: {@code item}, {@code mob} or {@code any}</li>
+ *   <li>conditions: {@code world=a,b}, {@code type=ZOMBIE,COW},
+ *       {@code material=STONE,DIRT}, {@code age>=N}/{@code age>N}/{@code age<N}/{@code age<=N}
+ *       in seconds, and the flags {@code named}, {@code leashed}, {@code tamed},
+ *       each optionally negated with {@code !}</li>
+ * </ul>
+ * <p>
+ * The first matching rule decides. {@code keep-per-chunk} keeps the first N
+ * matches in each chunk during a pass and lets the rest fall through to later
+ * rules. The legacy whitelist options are compiled in after the custom rules,
+ * and anything left over is cleaned. Evaluation works on ordinals, bit sets and
+ * flag masks only, so it never allocates or compares strings.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public final class CleanupRules {
+
+    /** Target bit for dropped items. */
+    public static final int TARGET_ITEM = 1;
+    /** Target bit for mobs. */
+    public static final int TARGET_MOB = 2;
+
+    /** Item has a display name, or mob has a custom name. */
+    public static final int FLAG_NAMED = 1;
+    /** Mob is leashed. */
+    public static final int FLAG_LEASHED = 2;
+    /** Mob is tamed. */
+    public static final int FLAG_TAMED = 4;
+
+    private static final int ACTION_KEEP = 0;
+    private static final int ACTION_CLEAN = 1;
+    private static final int ACTION_KEEP_PER_CHUNK = 2;
+
+    private final int count;
+    private final int[] actions;
+    private final int[] targets;
+    private final int[] minAgeTicks;
+    private final int[] maxAgeTicks;
+    private final int[] requiredFlags;
+    private final int[] forbiddenFlags;
+    private final int[] perChunkLimits;
+    private final long[][] worldBits;
+    private final long[][] typeBits;
+    private final long[][] materialBits;
+
+    private final Map<String, Integer> worldIds;
+    private final int flagsUsedByItems;
+    private final int flagsUsedByMobs;
+    private final boolean perChunk;
+    private final List<String> errors;
+    private final ChunkTally tally = new ChunkTally();
+
+    private CleanupRules(List<Rule> rules, Map<String, Integer> worldIds, List<String> errors) {
+        this.count = rules.size();
+        this.actions = new int[count];
+        this.targets = new int[count];
+        this.minAgeTicks = new int[count];
+        this.maxAgeTicks = new int[count];
+        this.requiredFlags = new int[count];
+        this.forbiddenFlags = new int[count];
+        this.perChunkLimits = new int[count];
+        this.worldBits = new long[count][];
+        this.typeBits = new long[count][];
+        this.materialBits = new long[count][];
+        int itemFlags = 0;
+        int mobFlags = 0;
+        boolean anyPerChunk = false;
+        for (int i = 0; i < count; i++) {
+            Rule rule = rules.get(i);
+            actions[i] = rule.action;
+            targets[i] = rule.target;
+            minAgeTicks[i] = rule.minAgeTicks;
+            maxAgeTicks[i] = rule.maxAgeTicks;
+            requiredFlags[i] = rule.requiredFlags;
+            forbiddenFlags[i] = rule.forbiddenFlags;
+            perChunkLimits[i] = rule.perChunkLimit;
+            worldBits[i] = rule.worlds;
+            typeBits[i] = rule.types;
+            materialBits[i] = rule.materials;
+            int flags = rule.requiredFlags | rule.forbiddenFlags;
+            if ((rule.target & TARGET_ITEM) != 0) {
+                itemFlags |= flags;
+            }
+            if ((rule.target & TARGET_MOB) != 0) {
+                mobFlags |= flags;
+            }
+            anyPerChunk |= rule.action == ACTION_KEEP_PER_CHUNK;
+        }
+        this.worldIds = worldIds;
+        this.flagsUsedByItems = itemFlags;
+        this.flagsUsedByMobs = mobFlags;
+        this.perChunk = anyPerChunk;
+        this.errors = Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * Compile custom rule lines followed by the legacy whitelist options.
+     * Lines that fail to parse are skipped and reported by {@link #getErrors()}.
+     *
+     * @param lines         custom rule lines
+     * @param config        cleaner config for the legacy options
+     * @param itemWhitelist material names that are never cleaned
+     * @return compiled rules
+     */
+    public static CleanupRules compile(List<String> lines, CleanerConfig config, Collection<String> itemWhitelist) {
+        List<Rule> rules = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        Map<String, Integer> worldIds = new HashMap<>();
+        List<String[]> worldLists = new ArrayList<>();
+
+        if (lines != null) {
+            for (String line : lines) {
+                if (line == null || line.trim().isEmpty()) {
+                    continue;
+                }
+                try {
+                    rules.add(parse(line.trim(), worldIds, worldLists));
+                } catch (IllegalArgumentException e) {
+                    errors.add(line + ": " + e.getMessage());
+                }
+            }
+        }
+        // World bit sets can only be sized once every world name is known
+        for (int i = 0; i < rules.size(); i++) {
+            String[] names = worldLists.get(i);
+            if (names != null) {
+                long[] bits = new long[(worldIds.size() + 63) >>> 6];
+                for (String name : names) {
+                    set(bits, worldIds.get(name));
+                }
+                rules.get(i).worlds = bits;
+            }
+        }
+
+        addLegacyRules(rules, config, itemWhitelist);
+        return new CleanupRules(rules, worldIds, errors);
+    }
+
+    private static void addLegacyRules(List<Rule> rules, CleanerConfig config, Collection<String> itemWhitelist) {
+        if (!itemWhitelist.isEmpty()) {
+            Rule rule = new Rule(ACTION_KEEP, TARGET_ITEM);
+            rule.materials = new long[(Material.values().length + 63) >>> 6];
+            for (String name : itemWhitelist) {
+                try {
+                    set(rule.materials, Material.valueOf(name).ordinal());
+                } catch (IllegalArgumentException e) {
+                    // Unknown material names never match
+                }
+            }
+            rules.add(rule);
+        }
+        if (config.isItemIgnoreNamed()) {
+            Rule rule = new Rule(ACTION_KEEP, TARGET_ITEM);
+            rule.requiredFlags = FLAG_NAMED;
+            rules.add(rule);
+        }
+        if (config.getItemIgnoreRecentSeconds() > 0) {
+            Rule rule = new Rule(ACTION_KEEP, TARGET_ITEM);
+            rule.maxAgeTicks = config.getItemIgnoreRecentSeconds() * 20;
+            rules.add(rule);
+        }
+        if (config.isEntityWhitelistNamed()) {
+            Rule rule = new Rule(ACTION_KEEP, TARGET_MOB);
+            rule.requiredFlags = FLAG_NAMED;
+            rules.add(rule);
+        }
+        if (config.isEntityWhitelistLeashed()) {
+            Rule rule = new Rule(ACTION_KEEP, TARGET_MOB);
+            rule.requiredFlags = FLAG_LEASHED;
+            rules.add(rule);
+        }
+        if (config.isEntityWhitelistTamed()) {
+            Rule rule = new Rule(ACTION_KEEP, TARGET_MOB);
+            rule.requiredFlags = FLAG_TAMED;
+            rules.add(rule);
+        }
+    }
+
+    private static Rule parse(String line, Map<String, Integer> worldIds, List<String[]> worldLists) {
+        String[] tokens = line.split("\\s+");
+        if (tokens.length < 2) {
+            throw new IllegalArgumentException("expected <action> <target>");
+        }
+
+        Rule rule = new Rule(parseAction(tokens[0]), parseTarget(tokens[1]));
+        if (rule.action == ACTION_KEEP_PER_CHUNK) {
+            rule.perChunkLimit = parseInt(tokens[0].substring(tokens[0].indexOf(':') + 1), "keep-per-chunk");
+        }
+
+        String[] worlds = null;
+        for (int i = 2; i < tokens.length; i++) {
+            String token = tokens[i];
+            String lower = token.toLowerCase(Locale.ROOT);
+            if (lower.startsWith("world=")) {
+                worlds = token.substring(6).split(",");
+                for (String name : worlds) {
+                    worldIds.computeIfAbsent(name, k -> worldIds.size());
+                }
+            } else if (lower.startsWith("type=")) {
+                rule.types = new long[(EntityType.values().length + 63) >>> 6];
+                for (String name : token.substring(5).split(",")) {
+                    set(rule.types, parseEnum(EntityType.class, name).ordinal());
+                }
+            } else if (lower.startsWith("material=")) {
+                rule.materials = new long[(Material.values().length + 63) >>> 6];
+                for (String name : token.substring(9).split(",")) {
+                    set(rule.materials, parseEnum(Material.class, name).ordinal());
+                }
+            } else if (lower.startsWith("age")) {
+                parseAge(rule, lower.substring(3));
+            } else {
+                parseFlag(rule, lower);
+            }
+        }
+        worldLists.add(worlds);
+        return rule;
+    }
+
+    private static int parseAction(String token) {
+        String lower = token.toLowerCase(Locale.ROOT);
+        if (lower.equals("keep")) {
+            return ACTION_KEEP;
+        }
+        if (lower.equals("clean")) {
+            return ACTION_CLEAN;
+        }
+        if (lower.startsWith("keep-per-chunk:")) {
+            return ACTION_KEEP_PER_CHUNK;
+        }
+        throw new IllegalArgumentException("unknown action " + token);
+    }
+
+    private static int parseTarget(String token) {
+        switch (token.toLowerCase(Locale.ROOT)) {
+            case "item":
+                return TARGET_ITEM;
+            case "mob":
+                return TARGET_MOB;
+            case "any":
+                return TARGET_ITEM | TARGET_MOB;
+            default:
+                throw new IllegalArgumentException("unknown target " + token);
+        }
+    }
+
+    private static void parseAge(Rule rule, String expression) {
+        if (expression.startsWith(">=")) {
+            rule.minAgeTicks = parseInt(expression.substring(2), "age") * 20;
+        } else if (expression.startsWith("<=")) {
+            rule.maxAgeTicks = parseInt(expression.substring(2), "age") * 20 + 1;
+        } else if (expression.startsWith(">")) {
+            rule.minAgeTicks = parseInt(expression.substring(1), "age") * 20 + 1;
+        } else if (expression.startsWith("<")) {
+            rule.maxAgeTicks = parseInt(expression.substring(1), "age") * 20;
+        } else {
+            throw new IllegalArgumentException("bad age condition age" + expression);
+        }
+    }
+
+    private static void parseFlag(Rule rule, String token) {
+        boolean negated = token.startsWith("!");
+        String name = negated ? token.substring(1) : token;
+        int flag;
+        switch (name) {
+            case "named":
+                flag = FLAG_NAMED;
+                break;
+            case "leashed":
+                flag = FLAG_LEASHED;
+                break;
+            case "tamed":
+                flag = FLAG_TAMED;
+                break;
+            default:
+                throw new IllegalArgumentException("unknown condition " + token);
+        }
+        if (negated) {
+            rule.forbiddenFlags |= flag;
+        } else {
+            rule.requiredFlags |= flag;
+        }
+    }
+
+    private static int parseInt(String value, String what) {
+        try {
+            int result = Integer.parseInt(value);
+            if (result < 0) {
+                throw new IllegalArgumentException(what + " must not be negative");
+            }
+            return result;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("bad number for " + what + ": " + value);
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String name) {
+        try {
+            return Enum.valueOf(type, name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("unknown " + type.getSimpleName() + " " + name);
+        }
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private static boolean get(long[] bits, int index) {
+        int word = index >>> 6;
+        return index >= 0 && word < bits.length && (bits[word] & (1L << index)) != 0;
+    }
+
+    /**
+     * Resolve a world name to the id used by {@link #isCandidate}.
+     * Call once per world, not per entity.
+     *
+     * @param worldName world name
+     * @return world id, or -1 if no rule names the world
+     */
+    public int worldId(String worldName) {
+        Integer id = worldIds.get(worldName);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Check if any rule for a target reads a flag.
+     * Lets callers skip expensive lookups such as item meta.
+     *
+     * @param target {@link #TARGET_ITEM} or {@link #TARGET_MOB}
+     * @param flag   flag bit
+     * @return true if the flag is used
+     */
+    public boolean usesFlag(int target, int flag) {
+        int used = target == TARGET_ITEM ? flagsUsedByItems : flagsUsedByMobs;
+        return (used & flag) != 0;
+    }
+
+    /**
+     * Check if any rule needs the chunk key.
+     *
+     * @return true if a keep-per-chunk rule exists
+     */
+    public boolean usesChunks() {
+        return perChunk;
+    }
+
+    /**
+     * Start a new collection pass, resetting the per-chunk tallies.
+     */
+    public void beginPass() {
+        tally.clear();
+    }
+
+    /**
+     * Evaluate the rules for one entity.
+     *
+     * @param target          {@link #TARGET_ITEM} or {@link #TARGET_MOB}
+     * @param worldId         id from {@link #worldId(String)}
+     * @param typeOrdinal     entity type ordinal, or -1
+     * @param materialOrdinal item material ordinal, or -1
+     * @param ageTicks        ticks lived
+     * @param flags           combination of the FLAG constants
+     * @param chunkKey        packed chunk key, only read by keep-per-chunk rules
+     * @return true if the entity may be cleaned
+     */
+    public boolean isCandidate(int target, int worldId, int typeOrdinal, int materialOrdinal,
+                               int ageTicks, int flags, long chunkKey) {
+        for (int i = 0; i < count; i++) {
+            if ((targets[i] & target) == 0
+                    || (worldBits[i] != null && !get(worldBits[i], worldId))
+                    || (typeBits[i] != null && !get(typeBits[i], typeOrdinal))
+                    || (materialBits[i] != null && !get(materialBits[i], materialOrdinal))
+                    || ageTicks < minAgeTicks[i] || ageTicks >= maxAgeTicks[i]
+                    || (flags & requiredFlags[i]) != requiredFlags[i]
+                    || (flags & forbiddenFlags[i]) != 0) {
+                continue;
+            }
+            switch (actions[i]) {
+                case ACTION_KEEP:
+                    return false;
+                case ACTION_CLEAN:
+                    return true;
+                default:
+                    if (tally.increment(i, worldId, chunkKey) <= perChunkLimits[i]) {
+                        return false;
+                    }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the number of compiled rules, including the legacy options.
+     *
+     * @return rule count
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Get the lines that failed to compile.
+     *
+     * @return unmodifiable list of error messages
+     */
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Mutable rule used while compiling.
+     */
+    private static final class Rule {
+        private final int action;
+        private final int target;
+        private int minAgeTicks = 0;
+        private int maxAgeTicks = Integer.MAX_VALUE;
+        private int requiredFlags;
+        private int forbiddenFlags;
+        private int perChunkLimit;
+        private long[] worlds;
+        private long[] types;
+        private long[] materials;
+
+        private Rule(int action, int target) {
+            this.action = action;
+            this.target = target;
+        }
+    }
+
+    /**
+     * Open-addressing counter keyed by rule, world and chunk.
+     * Cleared in constant time by bumping a generation stamp.
+     */
+    private static final class ChunkTally {
+        private long[] chunkKeys = new long[64];
+        private int[] tags = new int[64];
+        private int[] counts = new int[64];
+        private int[] stamps = new int[64];
+        private int generation = 1;
+        private int size;
+
+        void clear() {
+            generation++;
+            size = 0;
+            if (generation == Integer.MAX_VALUE) {
+                Arrays.fill(stamps, 0);
+                generation = 1;
+            }
+        }
+
+        int increment(int rule, int worldId, long chunkKey) {
+            if (size * 2 >= chunkKeys.length) {
+                grow();
+            }
+            int tag = (rule << 16) ^ (worldId + 1);
+            int mask = chunkKeys.length - 1;
+            int slot = hash(tag, chunkKey) & mask;
+            while (stamps[slot] == generation) {
+                if (chunkKeys[slot] == chunkKey && tags[slot] == tag) {
+                    return ++counts[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            stamps[slot] = generation;
+            chunkKeys[slot] = chunkKey;
+            tags[slot] = tag;
+            counts[slot] = 1;
+            size++;
+            return 1;
+        }
+
+        private void grow() {
+            long[] oldKeys = chunkKeys;
+            int[] oldTags = tags;
+            int[] oldCounts = counts;
+            int[] oldStamps = stamps;
+            int capacity = oldKeys.length << 1;
+            chunkKeys = new long[capacity];
+            tags = new int[capacity];
+            counts = new int[capacity];
+            stamps = new int[capacity];
+            int mask = capacity - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldStamps[i] == generation) {
+                    int slot = hash(oldTags[i], oldKeys[i]) & mask;
+                    while (stamps[slot] == generation) {
+                        slot = (slot + 1) & mask;
+                    }
+                    stamps[slot] = generation;
+                    chunkKeys[slot] = oldKeys[i];
+                    tags[slot] = oldTags[i];
+                    counts[slot] = oldCounts[i];
+                }
+            }
+        }
+
+        private static int hash(int tag, long chunkKey) {
+            long h = chunkKey * 0x9E3779B97F4A7C15L + tag;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.ultikits.plugins.cleaner.service;
+
+import org.bukkit.entity.EntityType;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Single-pass snapshot of the entities in all loaded worlds.
+ * <p>
+ * Built by {@link CleanerService} with one walk over each world and shared by
+ * the smart check, candidate collection and status display for the rest of the tick.
+ * Candidates are only filtered in when a cleanup asks for them.
+ * Type counts are kept in {@code int} arrays indexed by ordinal.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class EntityCensus {
+
+    private final CandidateBuffer itemCandidates = new CandidateBuffer();
+    private final CandidateBuffer mobCandidates = new CandidateBuffer();
+    private final int[] typeCounts = new int[EntityType.values().length];
+    private final int[] mobTypeCounts = new int[EntityType.values().length];
+    private final HotspotIndex hotspots = new HotspotIndex();
+    private final Map<String, int[]> worldCounts = new HashMap<>();
+    private ChunkDensity density;
+    private boolean candidatesCollected;
+
+    private int itemCount;
+    private int mobCount;
+    private int totalItems;
+    private int totalMobs;
+    private int totalEntities;
+
+    void addEntity(EntityType type) {
+        totalEntities++;
+        if (type != null) {
+            typeCounts[type.ordinal()]++;
+        }
+    }
+
+    void addItem(boolean blacklisted) {
+        totalItems++;
+        if (!blacklisted) {
+            itemCount++;
+        }
+    }
+
+    void addMob(EntityType type, boolean blacklisted) {
+        totalMobs++;
+        if (!blacklisted) {
+            mobCount++;
+            mobTypeCounts[type.ordinal()]++;
+        }
+    }
+
+    void setWorldCounts(String worldName, int items, int mobs) {
+        worldCounts.put(worldName, new int[]{items, mobs});
+    }
+
+    void addChunkEntity(String worldName, long chunkKey, boolean item) {
+        if (item) {
+            hotspots.addItem(worldName, chunkKey);
+        } else {
+            hotspots.addMob(worldName, chunkKey);
+        }
+    }
+
+    void setDensity(ChunkDensity density) {
+        this.density = density;
+    }
+
+    void addDensity(String worldName, long chunkKey, EntityType type) {
+        if (density != null) {
+            density.add(worldName, chunkKey, type);
+        }
+    }
+
+    void markCandidatesCollected() {
+        candidatesCollected = true;
+    }
+
+    /**
+     * Check if cleanup candidates were filtered into this census.
+     * The counting pass of the smart check leaves them out.
+     *
+     * @return true if the candidate lists are filled
+     */
+    public boolean hasCandidates() {
+        return candidatesCollected;
+    }
+
+    void addItemCandidate(UUID uuid) {
+        itemCandidates.add(uuid);
+    }
+
+    void addItemCandidate(UUID uuid, String worldName, long chunkKey) {
+        itemCandidates.add(uuid, worldName, chunkKey);
+    }
+
+    void addMobCandidate(UUID uuid, EntityType type) {
+        mobCandidates.add(uuid);
+        mobCandidates.countType(type);
+    }
+
+    void addMobCandidate(UUID uuid, EntityType type, String worldName, long chunkKey) {
+        mobCandidates.add(uuid, worldName, chunkKey);
+        mobCandidates.countType(type);
+    }
+
+    /**
+     * Get the items eligible for cleanup.
+     *
+     * @return unmodifiable list of item UUIDs
+     */
+    public List<UUID> getItemCandidates() {
+        return Collections.unmodifiableList(itemCandidates.asList());
+    }
+
+    /**
+     * Copy the items eligible for cleanup, with the chunks they were seen in.
+     *
+     * @return new candidate buffer
+     */
+    public CandidateBuffer copyItemCandidates() {
+        return itemCandidates.copy();
+    }
+
+    /**
+     * Get the mobs eligible for cleanup.
+     *
+     * @return unmodifiable list of entity UUIDs
+     */
+    public List<UUID> getMobCandidates() {
+        return Collections.unmodifiableList(mobCandidates.asList());
+    }
+
+    /**
+     * Copy the mobs eligible for cleanup, with the chunks they were seen in and their type counts.
+     *
+     * @return new candidate buffer
+     */
+    public CandidateBuffer copyMobCandidates() {
+        return mobCandidates.copy();
+    }
+
+    /**
+     * Get the count of each mob type eligible for cleanup.
+     *
+     * @return unmodifiable map of entity type to count
+     */
+    public Map<EntityType, Integer> getMobCandidateCounts() {
+        return Collections.unmodifiableMap(mobCandidates.getTypeCounts());
+    }
+
+    /**
+     * Get the count of each entity type across all worlds.
+     *
+     * @return unmodifiable map of entity type to count
+     */
+    public Map<EntityType, Integer> getTypeCounts() {
+        return toMap(typeCounts);
+    }
+
+    /**
+     * Get the count of each configured mob type in non-blacklisted worlds.
+     *
+     * @return unmodifiable map of entity type to count
+     */
+    public Map<EntityType, Integer> getMobTypeCounts() {
+        return toMap(mobTypeCounts);
+    }
+
+    /**
+     * Get the count of one entity type across all worlds.
+     *
+     * @param type entity type
+     * @return count
+     */
+    public int getTypeCount(EntityType type) {
+        return typeCounts[type.ordinal()];
+    }
+
+    /**
+     * Get the number of items and configured mobs in each chunk.
+     *
+     * @return map of world name to packed chunk key to count
+     */
+    public Map<String, Map<Long, Integer>> getChunkCounts() {
+        return hotspots.asMap();
+    }
+
+    /**
+     * Get the per-chunk counts as an index of the densest chunks.
+     *
+     * @return hotspot index
+     */
+    public HotspotIndex getHotspots() {
+        return hotspots;
+    }
+
+    /**
+     * Get the per-chunk counts of items and each configured mob type
+     * in non-blacklisted worlds.
+     *
+     * @return chunk density, or null if density limits are disabled
+     */
+    public ChunkDensity getDensity() {
+        return density;
+    }
+
+    /**
+     * Get the number of items in non-blacklisted worlds.
+     *
+     * @return item count
+     */
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    /**
+     * Get the number of configured mobs in non-blacklisted worlds.
+     *
+     * @return mob count
+     */
+    public int getMobCount() {
+        return mobCount;
+    }
+
+    /**
+     * Get the number of items in one world, blacklisted or not.
+     *
+     * @param worldName world name
+     * @return item count, 0 if the world was not walked
+     */
+    public int getWorldItemCount(String worldName) {
+        int[] counts = worldCounts.get(worldName);
+        return counts != null ? counts[0] : 0;
+    }
+
+    /**
+     * Get the number of configured mobs in one world, blacklisted or not.
+     *
+     * @param worldName world name
+     * @return mob count, 0 if the world was not walked
+     */
+    public int getWorldMobCount(String worldName) {
+        int[] counts = worldCounts.get(worldName);
+        return counts != null ? counts[1] : 0;
+    }
+
+    /**
+     * Get the number of items across all worlds.
+     *
+     * @return item count
+     */
+    public int getTotalItems() {
+        return totalItems;
+    }
+
+    /**
+     * Get the number of configured mobs across all worlds.
+     *
+     * @return mob count
+     */
+    public int getTotalMobs() {
+        return totalMobs;
+    }
+
+    /**
+     * Get the number of entities across all worlds.
+     *
+     * @return entity count
+     */
+    public int getTotalEntities() {
+        return totalEntities;
+    }
+
+    private static Map<EntityType, Integer> toMap(int[] counts) {
+        Map<EntityType, Integer> result = new EnumMap<>(EntityType.class);
+        EntityType[] types = EntityType.values();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                result.put(types[i], counts[i]);
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+}
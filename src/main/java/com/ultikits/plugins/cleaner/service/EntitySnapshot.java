@@ -0,0 +1,184 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.utils.ChunkKeyUtil;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Tameable;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.UUID;
+
+/**
+ * Immutable copy of the entity state the cleanup filters look at.
+ * <p>
+ * Captured on the main thread so eligibility can be checked on worker
+ * threads without touching the live entity.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public final class EntitySnapshot {
+
+    private final UUID uuid;
+    private final EntityType type;
+    private final Material material;
+    private final boolean displayName;
+    private final int ticksLived;
+    private final boolean leashed;
+    private final boolean tamed;
+    private final String customName;
+    private final String worldName;
+    private final long chunkKey;
+    private final boolean located;
+
+    private EntitySnapshot(UUID uuid, EntityType type, Material material, boolean displayName, int ticksLived,
+                           boolean leashed, boolean tamed, String customName, String worldName, Location location) {
+        this.uuid = uuid;
+        this.type = type;
+        this.material = material;
+        this.displayName = displayName;
+        this.ticksLived = ticksLived;
+        this.leashed = leashed;
+        this.tamed = tamed;
+        this.customName = customName;
+        this.worldName = worldName;
+        this.located = location != null;
+        this.chunkKey = location != null ? ChunkKeyUtil.pack(location) : 0L;
+    }
+
+    /**
+     * Capture a dropped item.
+     *
+     * @param item            the item
+     * @param worldName       world the item is in
+     * @param readDisplayName whether to read the item meta for a display name
+     * @return new snapshot
+     */
+    public static EntitySnapshot ofItem(Item item, String worldName, boolean readDisplayName) {
+        ItemStack stack = item.getItemStack();
+        Material material = stack != null ? stack.getType() : null;
+        boolean displayName = readDisplayName && stack != null
+                && stack.hasItemMeta() && stack.getItemMeta().hasDisplayName();
+        return new EntitySnapshot(item.getUniqueId(), item.getType(), material, displayName,
+                item.getTicksLived(), false, false, null, worldName, item.getLocation());
+    }
+
+    /**
+     * Capture a mob.
+     *
+     * @param entity    the entity
+     * @param worldName world the entity is in
+     * @return new snapshot
+     */
+    public static EntitySnapshot ofMob(Entity entity, String worldName) {
+        boolean leashed = entity instanceof LivingEntity && ((LivingEntity) entity).isLeashed();
+        boolean tamed = entity instanceof Tameable && ((Tameable) entity).isTamed();
+        return new EntitySnapshot(entity.getUniqueId(), entity.getType(), null, false,
+                entity.getTicksLived(), leashed, tamed, entity.getCustomName(), worldName, entity.getLocation());
+    }
+
+    /**
+     * Get the entity UUID.
+     *
+     * @return entity UUID
+     */
+    public UUID getUuid() {
+        return uuid;
+    }
+
+    /**
+     * Get the entity type.
+     *
+     * @return entity type
+     */
+    public EntityType getType() {
+        return type;
+    }
+
+    /**
+     * Get the item material.
+     *
+     * @return material, or null for mobs and items without a stack
+     */
+    public Material getMaterial() {
+        return material;
+    }
+
+    /**
+     * Check if the item stack had a display name.
+     * Only read when the capture asked for it.
+     *
+     * @return true if named
+     */
+    public boolean hasDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Get the entity age.
+     *
+     * @return ticks lived
+     */
+    public int getTicksLived() {
+        return ticksLived;
+    }
+
+    /**
+     * Check if the entity was leashed.
+     *
+     * @return true if leashed
+     */
+    public boolean isLeashed() {
+        return leashed;
+    }
+
+    /**
+     * Check if the entity was tamed.
+     *
+     * @return true if tamed
+     */
+    public boolean isTamed() {
+        return tamed;
+    }
+
+    /**
+     * Get the entity custom name.
+     *
+     * @return custom name, or null
+     */
+    public String getCustomName() {
+        return customName;
+    }
+
+    /**
+     * Get the name of the world the entity was in.
+     *
+     * @return world name
+     */
+    public String getWorldName() {
+        return worldName;
+    }
+
+    /**
+     * Get the chunk the entity was in.
+     *
+     * @return packed chunk key
+     */
+    public long getChunkKey() {
+        return chunkKey;
+    }
+
+    /**
+     * Check if the entity had a location when captured.
+     *
+     * @return true if {@link #getChunkKey()} is meaningful
+     */
+    public boolean isLocated() {
+        return located;
+    }
+}
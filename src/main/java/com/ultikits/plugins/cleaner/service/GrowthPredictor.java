@@ -0,0 +1,127 @@
+package com.ultikits.plugins.cleaner.service;
+
+/**
+ * Projects an entity count forward from its recent growth.
+ * <p>
+ * Keeps a rolling window of (time, count) samples and fits their growth rate
+ * by least-squares linear regression. The projection starts from the latest
+ * sample, so a steady population projects to itself and only a rising one
+ * can cross a threshold early.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class GrowthPredictor {
+
+    /** Fewest samples a growth rate is fitted from. */
+    public static final int MIN_SAMPLES = 3;
+
+    private final long[] times;
+    private final int[] counts;
+    private int size;
+    private int next;
+
+    /**
+     * Create a new GrowthPredictor.
+     *
+     * @param capacity samples kept, at least {@link #MIN_SAMPLES}
+     */
+    public GrowthPredictor(int capacity) {
+        int slots = Math.max(MIN_SAMPLES, capacity);
+        this.times = new long[slots];
+        this.counts = new int[slots];
+    }
+
+    /**
+     * Add a sample, replacing the oldest once the window is full.
+     *
+     * @param timeMillis sample time in epoch milliseconds
+     * @param count      entity count
+     */
+    public void record(long timeMillis, int count) {
+        times[next] = timeMillis;
+        counts[next] = count;
+        next = (next + 1) % times.length;
+        if (size < times.length) {
+            size++;
+        }
+    }
+
+    /**
+     * Forget every sample, e.g. after a cleanup changed the count abruptly.
+     */
+    public void reset() {
+        size = 0;
+        next = 0;
+    }
+
+    /**
+     * Get the number of samples in the window.
+     *
+     * @return sample count
+     */
+    public int getSampleCount() {
+        return size;
+    }
+
+    /**
+     * Get the fitted growth rate.
+     *
+     * @return entities per second, 0 with fewer than {@link #MIN_SAMPLES} samples
+     */
+    public double getRatePerSecond() {
+        if (size < MIN_SAMPLES) {
+            return 0.0;
+        }
+        // Offsets from the first sample keep the sums small
+        long origin = times[index(0)];
+        double sumT = 0;
+        double sumC = 0;
+        for (int i = 0; i < size; i++) {
+            sumT += (times[index(i)] - origin) / 1000.0;
+            sumC += counts[index(i)];
+        }
+        double meanT = sumT / size;
+        double meanC = sumC / size;
+        double covariance = 0;
+        double variance = 0;
+        for (int i = 0; i < size; i++) {
+            double t = (times[index(i)] - origin) / 1000.0 - meanT;
+            covariance += t * (counts[index(i)] - meanC);
+            variance += t * t;
+        }
+        return variance > 0 ? covariance / variance : 0.0;
+    }
+
+    /**
+     * Project the count a number of seconds past the latest sample.
+     *
+     * @param seconds horizon
+     * @return projected count, or the latest count if no rate is known yet
+     */
+    public double project(int seconds) {
+        if (size == 0) {
+            return 0.0;
+        }
+        return counts[index(size - 1)] + getRatePerSecond() * seconds;
+    }
+
+    /**
+     * Check if a growing count is projected to pass a threshold within a horizon.
+     *
+     * @param threshold count that triggers a cleanup
+     * @param seconds   horizon
+     * @return true if growing and projected above the threshold
+     */
+    public boolean willExceed(int threshold, int seconds) {
+        return getRatePerSecond() > 0 && project(seconds) > threshold;
+    }
+
+    /**
+     * Map the i-th oldest sample to its slot.
+     */
+    private int index(int i) {
+        return (next - size + i + times.length) % times.length;
+    }
+}
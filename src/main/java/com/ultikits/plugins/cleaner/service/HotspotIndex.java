@@ -0,0 +1,221 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.utils.ChunkKeyUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Grid of chunk buckets per world counting items and configured mobs.
+ * <p>
+ * Filled during the entity scan; {@link #top(int, Category, Set)} keeps a
+ * bounded min-heap so the densest chunks come out in O(n log k) instead of a
+ * full sort. Items and mobs are counted apart so targets can be ranked by the
+ * category a cleanup removes.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class HotspotIndex {
+
+    private static final Comparator<Hotspot> BY_COUNT = Comparator.comparingInt(Hotspot::getCount);
+
+    /**
+     * What a chunk's density is ranked by.
+     */
+    public enum Category {
+        /** Items and configured mobs together */
+        ALL,
+        /** Items only */
+        ITEMS,
+        /** Configured mobs only */
+        MOBS
+    }
+
+    // Per chunk: {items, mobs}
+    private final Map<String, Map<Long, int[]>> buckets = new HashMap<>();
+
+    /**
+     * Count one item in a chunk.
+     *
+     * @param worldName world name
+     * @param chunkKey  packed chunk key
+     */
+    public void addItem(String worldName, long chunkKey) {
+        bucket(worldName, chunkKey)[0]++;
+    }
+
+    /**
+     * Count one configured mob in a chunk.
+     *
+     * @param worldName world name
+     * @param chunkKey  packed chunk key
+     */
+    public void addMob(String worldName, long chunkKey) {
+        bucket(worldName, chunkKey)[1]++;
+    }
+
+    /**
+     * Get the count of a chunk.
+     *
+     * @param worldName world name
+     * @param chunkKey  packed chunk key
+     * @return count of items and mobs
+     */
+    public int getCount(String worldName, long chunkKey) {
+        return getCount(worldName, chunkKey, Category.ALL);
+    }
+
+    /**
+     * Get the count of a chunk in one category.
+     *
+     * @param worldName world name
+     * @param chunkKey  packed chunk key
+     * @param category  what to count
+     * @return count
+     */
+    public int getCount(String worldName, long chunkKey, Category category) {
+        Map<Long, int[]> world = buckets.get(worldName);
+        int[] counts = world != null ? world.get(chunkKey) : null;
+        return counts != null ? count(counts, category) : 0;
+    }
+
+    /**
+     * Get the counts of every chunk.
+     *
+     * @return unmodifiable map of world name to packed chunk key to count of items and mobs
+     */
+    public Map<String, Map<Long, Integer>> asMap() {
+        Map<String, Map<Long, Integer>> result = new HashMap<>();
+        for (Map.Entry<String, Map<Long, int[]>> world : buckets.entrySet()) {
+            Map<Long, Integer> chunks = new HashMap<>();
+            for (Map.Entry<Long, int[]> chunk : world.getValue().entrySet()) {
+                chunks.put(chunk.getKey(), count(chunk.getValue(), Category.ALL));
+            }
+            result.put(world.getKey(), Collections.unmodifiableMap(chunks));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Get the densest chunks across all worlds.
+     *
+     * @param limit maximum number of chunks to return
+     * @return hotspots, densest first
+     */
+    public List<Hotspot> top(int limit) {
+        return top(limit, Category.ALL, Collections.emptySet());
+    }
+
+    /**
+     * Get the densest chunks in one category, leaving some worlds out before ranking.
+     *
+     * @param limit          maximum number of chunks to return
+     * @param category       what to rank by
+     * @param excludedWorlds names of worlds to skip
+     * @return hotspots with a non-zero count, densest first
+     */
+    public List<Hotspot> top(int limit, Category category, Set<String> excludedWorlds) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        PriorityQueue<Hotspot> heap = new PriorityQueue<>(limit + 1, BY_COUNT);
+        for (Map.Entry<String, Map<Long, int[]>> world : buckets.entrySet()) {
+            if (excludedWorlds.contains(world.getKey())) {
+                continue;
+            }
+            for (Map.Entry<Long, int[]> chunk : world.getValue().entrySet()) {
+                int count = count(chunk.getValue(), category);
+                if (count == 0 || (heap.size() == limit && heap.peek().getCount() >= count)) {
+                    continue;
+                }
+                heap.offer(new Hotspot(world.getKey(), chunk.getKey(), count));
+                if (heap.size() > limit) {
+                    heap.poll();
+                }
+            }
+        }
+        List<Hotspot> result = new ArrayList<>(heap);
+        result.sort(BY_COUNT.reversed());
+        return result;
+    }
+
+    private int[] bucket(String worldName, long chunkKey) {
+        return buckets.computeIfAbsent(worldName, k -> new HashMap<>()).computeIfAbsent(chunkKey, k -> new int[2]);
+    }
+
+    private static int count(int[] counts, Category category) {
+        switch (category) {
+            case ITEMS: return counts[0];
+            case MOBS: return counts[1];
+            default: return counts[0] + counts[1];
+        }
+    }
+
+    /**
+     * A chunk and the number of entities counted in it.
+     */
+    public static final class Hotspot {
+        private final String worldName;
+        private final long chunkKey;
+        private final int count;
+
+        Hotspot(String worldName, long chunkKey, int count) {
+            this.worldName = worldName;
+            this.chunkKey = chunkKey;
+            this.count = count;
+        }
+
+        /**
+         * Get the world the chunk is in.
+         *
+         * @return world name
+         */
+        public String getWorldName() {
+            return worldName;
+        }
+
+        /**
+         * Get the chunk.
+         *
+         * @return packed chunk key
+         */
+        public long getChunkKey() {
+            return chunkKey;
+        }
+
+        /**
+         * Get the chunk X coordinate.
+         *
+         * @return chunk X
+         */
+        public int getChunkX() {
+            return ChunkKeyUtil.getX(chunkKey);
+        }
+
+        /**
+         * Get the chunk Z coordinate.
+         *
+         * @return chunk Z
+         */
+        public int getChunkZ() {
+            return ChunkKeyUtil.getZ(chunkKey);
+        }
+
+        /**
+         * Get the number of entities counted in the chunk.
+         *
+         * @return count
+         */
+        public int getCount() {
+            return count;
+        }
+    }
+}
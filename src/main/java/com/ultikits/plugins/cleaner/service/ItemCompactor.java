@@ -0,0 +1,186 @@
+package com.ultikits.plugins.cleaner.service;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Item;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Merges nearby identical item stacks into full stacks before cleanup.
+ * <p>
+ * Items are hashed into cubic cells of the merge radius, then grouped by
+ * material and meta; only stacks that are {@link ItemStack#isSimilar similar}
+ * merge, so nothing is destroyed and the removal pass has fewer entities to visit.
+ * Stacks on either side of a cell border are not merged with each other.
+ * Stacks only merge with stacks of the same owner and thrower, so a death
+ * drop reserved for one player never ends up in another player's stack;
+ * stacks that can never be picked up (display items) are left alone.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class ItemCompactor {
+
+    /** Pickup delay plugins use for items that must never be picked up. */
+    private static final int NEVER_PICKUP = Short.MAX_VALUE;
+
+    private final double radius;
+    private final Consumer<Item> onMerged;
+    private final Location scratch = new Location(null, 0, 0, 0);
+
+    /**
+     * Create a new ItemCompactor.
+     *
+     * @param radius merge radius in blocks
+     */
+    public ItemCompactor(double radius) {
+        this(radius, item -> { });
+    }
+
+    /**
+     * Create a new ItemCompactor that reports the items it merges away.
+     * Removing an item fires no event, so indexes of items are told here.
+     *
+     * @param radius   merge radius in blocks
+     * @param onMerged receives each item entity after it was removed
+     */
+    public ItemCompactor(double radius, Consumer<Item> onMerged) {
+        this.radius = radius;
+        this.onMerged = onMerged;
+    }
+
+    /**
+     * Merge the items among some entities.
+     *
+     * @param entities entities of one world; non-items are skipped
+     * @return number of item entities merged away
+     */
+    public int compact(Iterable<? extends Entity> entities) {
+        if (radius <= 0) {
+            return 0;
+        }
+        Map<Key, List<Item>> groups = new HashMap<>();
+        for (Entity entity : entities) {
+            if (!(entity instanceof Item) || !entity.isValid()) {
+                continue;
+            }
+            Item item = (Item) entity;
+            ItemStack stack = item.getItemStack();
+            Location location = item.getLocation(scratch);
+            if (stack == null || location == null || stack.getAmount() >= stack.getMaxStackSize()
+                    || item.getPickupDelay() >= NEVER_PICKUP) {
+                continue;
+            }
+            Key key = new Key(cell(location), stack.getType(),
+                stack.hasItemMeta() ? Objects.hashCode(stack.getItemMeta()) : 0,
+                item.getOwner(), item.getThrower());
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(item);
+        }
+
+        int merged = 0;
+        for (List<Item> group : groups.values()) {
+            if (group.size() > 1) {
+                merged += mergeGroup(group);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Pour each stack into the earlier open stacks it is similar to.
+     */
+    private int mergeGroup(List<Item> group) {
+        int merged = 0;
+        List<Item> open = new ArrayList<>();
+        for (Item item : group) {
+            ItemStack stack = item.getItemStack();
+            int original = stack.getAmount();
+            for (int i = 0; i < open.size() && stack.getAmount() > 0; i++) {
+                Item head = open.get(i);
+                ItemStack headStack = head.getItemStack();
+                if (!headStack.isSimilar(stack)) {
+                    continue;
+                }
+                int moved = Math.min(headStack.getMaxStackSize() - headStack.getAmount(), stack.getAmount());
+                if (moved <= 0) {
+                    continue;
+                }
+                headStack.setAmount(headStack.getAmount() + moved);
+                head.setItemStack(headStack);
+                // Nobody may pick up the merged stack earlier than either part
+                if (item.getPickupDelay() > head.getPickupDelay()) {
+                    head.setPickupDelay(item.getPickupDelay());
+                }
+                stack.setAmount(stack.getAmount() - moved);
+                if (headStack.getAmount() >= headStack.getMaxStackSize()) {
+                    open.remove(i--);
+                }
+            }
+            if (stack.getAmount() <= 0) {
+                item.remove();
+                onMerged.accept(item);
+                merged++;
+            } else {
+                if (stack.getAmount() != original) {
+                    item.setItemStack(stack);
+                }
+                open.add(item);
+            }
+        }
+        return merged;
+    }
+
+    private long cell(Location location) {
+        long x = (long) Math.floor(location.getX() / radius);
+        long y = (long) Math.floor(location.getY() / radius);
+        long z = (long) Math.floor(location.getZ() / radius);
+        return (x & 0x1FFFFFL) | ((z & 0x1FFFFFL) << 21) | ((y & 0x1FFFFFL) << 42);
+    }
+
+    /**
+     * Cell, material, meta hash, owner and thrower of an item.
+     */
+    private static final class Key {
+        private final long cell;
+        private final Material material;
+        private final int metaHash;
+        private final UUID owner;
+        private final UUID thrower;
+
+        Key(long cell, Material material, int metaHash, UUID owner, UUID thrower) {
+            this.cell = cell;
+            this.material = material;
+            this.metaHash = metaHash;
+            this.owner = owner;
+            this.thrower = thrower;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return cell == other.cell && material == other.material && metaHash == other.metaHash
+                && Objects.equals(owner, other.owner) && Objects.equals(thrower, other.thrower);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(cell, material, metaHash, owner, thrower);
+        }
+    }
+}
@@ -0,0 +1,485 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.config.CleanerConfig;
+import com.ultikits.ultitools.abstracts.UltiToolsPlugin;
+import com.ultikits.ultitools.annotations.Autowired;
+import com.ultikits.ultitools.annotations.Service;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Item;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Incrementally maintained index of dropped items.
+ * Fed by item and chunk entity events so cleanups can read candidates
+ * without walking every entity in every world. In lifetime mode a min-heap
+ * keyed by expiry tick hands out only the items whose time is up.
+ * <p>
+ * Entries keep the item entity itself, so reading candidates never needs a
+ * global UUID lookup. An item that leaves without an event (burnt, fallen
+ * into the void, removed by another plugin) is no longer valid; its entry is
+ * dropped the next time it is read. Items that were hurt are checked again
+ * before the count is read, since fire, lava and cacti destroy them that way;
+ * the per-world counts are reconciled against a real scan periodically to
+ * correct the drift the rest leave behind.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+@Service
+public class ItemTracker {
+
+    @Autowired
+    private UltiToolsPlugin plugin;
+
+    @Autowired
+    private CleanerConfig config;
+
+    @Autowired
+    private TickClock tickClock;
+
+    // Items in lava or fire are hurt every tick; check them in bounded batches
+    private static final int MAX_DAMAGED = 1024;
+
+    private final Map<UUID, TrackedItem> items = new HashMap<>();
+    private final Map<String, Integer> worldCounts = new HashMap<>();
+    private final PriorityQueue<Expiry> expiries = new PriorityQueue<>();
+    private final List<Item> damaged = new ArrayList<>();
+    private final Map<Material, Long> lifetimeTicks = new EnumMap<>(Material.class);
+    private long defaultLifetimeTicks;
+    private long lastReconcileTime = 0;
+
+    /**
+     * Tracked item entry.
+     */
+    public static final class TrackedItem {
+        private final UUID uuid;
+        private final Item item;
+        private final String worldName;
+        private final long spawnTick;
+
+        TrackedItem(Item item, String worldName, long spawnTick) {
+            this.uuid = item.getUniqueId();
+            this.item = item;
+            this.worldName = worldName;
+            this.spawnTick = spawnTick;
+        }
+
+        /**
+         * Get the item UUID.
+         *
+         * @return item UUID
+         */
+        public UUID getUniqueId() {
+            return uuid;
+        }
+
+        /**
+         * Get the name of the world the item is in.
+         *
+         * @return world name
+         */
+        public String getWorldName() {
+            return worldName;
+        }
+
+        /**
+         * Get the tick the item spawned at.
+         *
+         * @return spawn tick
+         */
+        public long getSpawnTick() {
+            return spawnTick;
+        }
+    }
+
+    /**
+     * Initialize the tracker.
+     * Clears the index and seeds it with the items already in loaded worlds.
+     */
+    public void init() {
+        items.clear();
+        worldCounts.clear();
+        expiries.clear();
+        damaged.clear();
+        if (!isEnabled()) {
+            return;
+        }
+        loadLifetimes();
+        for (World world : Bukkit.getWorlds()) {
+            seed(world);
+        }
+        lastReconcileTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Check if the tracker is enabled.
+     *
+     * @return true if items are being tracked
+     */
+    public boolean isEnabled() {
+        return config.isItemTrackerEnabled();
+    }
+
+    /**
+     * Check if items expire individually by their lifetimes.
+     *
+     * @return true if the tracker is enabled in lifetime mode
+     */
+    public boolean isLifetimeEnabled() {
+        return isEnabled() && config.isItemLifetimeEnabled();
+    }
+
+    /**
+     * Start tracking an item.
+     *
+     * @param item the item entity
+     */
+    public void track(Item item) {
+        if (!isEnabled() || item.getWorld() == null) {
+            return;
+        }
+        TrackedItem existing = items.get(item.getUniqueId());
+        if (existing != null) {
+            // A reloaded chunk hands out a new entity for the same item
+            if (existing.item == item || existing.item.isValid()) {
+                return;
+            }
+            untrack(item.getUniqueId());
+        }
+        long spawnTick = currentTick() - item.getTicksLived();
+        String worldName = item.getWorld().getName();
+        TrackedItem tracked = new TrackedItem(item, worldName, spawnTick);
+        items.put(item.getUniqueId(), tracked);
+        worldCounts.merge(worldName, 1, Integer::sum);
+        if (isLifetimeEnabled()) {
+            long lifetime = getLifetimeTicks(item);
+            if (lifetime > 0) {
+                expiries.add(new Expiry(spawnTick + lifetime, tracked));
+            }
+        }
+    }
+
+    /**
+     * Start tracking every item in a collection of entities.
+     *
+     * @param entities entities that were loaded
+     */
+    public void trackAll(Collection<Entity> entities) {
+        for (Entity entity : entities) {
+            if (entity instanceof Item) {
+                track((Item) entity);
+            }
+        }
+    }
+
+    /**
+     * Stop tracking an item.
+     *
+     * @param uuid the item UUID
+     */
+    public void untrack(UUID uuid) {
+        TrackedItem removed = items.remove(uuid);
+        if (removed != null) {
+            decrementWorld(removed.worldName);
+        }
+    }
+
+    /**
+     * Stop tracking every item in a collection of entities.
+     *
+     * @param entities entities that were unloaded
+     */
+    public void untrackAll(Collection<Entity> entities) {
+        for (Entity entity : entities) {
+            if (entity instanceof Item) {
+                untrack(entity.getUniqueId());
+            }
+        }
+    }
+
+    /**
+     * Note that a tracked item was hurt, so the count drops it if that destroyed it.
+     *
+     * @param item the item entity
+     */
+    public void markDamaged(Item item) {
+        TrackedItem tracked = items.get(item.getUniqueId());
+        if (tracked == null || tracked.item != item) {
+            return;
+        }
+        if (damaged.size() >= MAX_DAMAGED) {
+            dropDestroyed();
+        }
+        damaged.add(item);
+    }
+
+    /**
+     * Get a tracked item entry.
+     *
+     * @param uuid the item UUID
+     * @return tracked entry, or null if not tracked
+     */
+    public TrackedItem get(UUID uuid) {
+        return items.get(uuid);
+    }
+
+    /**
+     * Get the number of tracked items outside the excluded worlds.
+     *
+     * @param excludedWorlds names of worlds to skip
+     * @return item count
+     */
+    public int getItemCount(Set<String> excludedWorlds) {
+        dropDestroyed();
+        int count = 0;
+        for (Map.Entry<String, Integer> entry : worldCounts.entrySet()) {
+            if (!excludedWorlds.contains(entry.getKey())) {
+                count += entry.getValue();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Get the total number of tracked items.
+     *
+     * @return item count
+     */
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * Collect the items that pass a filter.
+     * Entries for items that are no longer valid are dropped on the way.
+     *
+     * @param filter         eligibility check for each item
+     * @param excludedWorlds names of worlds to skip
+     * @return candidates at their current chunks
+     */
+    public CandidateBuffer collectCandidates(Predicate<Item> filter, Set<String> excludedWorlds) {
+        dropDestroyed();
+        CandidateBuffer candidates = new CandidateBuffer(items.size());
+        Iterator<TrackedItem> iterator = items.values().iterator();
+        while (iterator.hasNext()) {
+            TrackedItem tracked = iterator.next();
+            if (excludedWorlds.contains(tracked.worldName)) {
+                continue;
+            }
+            Item item = resolve(tracked);
+            if (item == null) {
+                iterator.remove();
+                decrementWorld(tracked.worldName);
+                continue;
+            }
+            if (filter.test(item)) {
+                candidates.add(item);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Take the tracked items whose lifetime is up, oldest expiry first.
+     * Entries for items that were untracked or are no longer valid are dropped on the way.
+     *
+     * Each expiry is used up; callers {@link #requeue} the items they do not remove.
+     *
+     * @param limit maximum number of items to return
+     * @return expired items; they stay tracked until removed
+     */
+    public List<Item> pollExpired(int limit) {
+        List<Item> expired = new ArrayList<>();
+        long now = currentTick();
+        while (expired.size() < limit && !expiries.isEmpty() && expiries.peek().tick <= now) {
+            TrackedItem tracked = expiries.poll().tracked;
+            if (items.get(tracked.uuid) != tracked) {
+                continue;
+            }
+            Item item = resolve(tracked);
+            if (item == null) {
+                untrack(tracked.uuid);
+                continue;
+            }
+            expired.add(item);
+        }
+        return expired;
+    }
+
+    /**
+     * Give an expired item that was not removed another expiry, so lifetime
+     * mode still cleans it later. Items no longer tracked are ignored.
+     *
+     * @param item       the item
+     * @param delayTicks ticks until it expires again, or 0 to wait another full lifetime
+     */
+    public void requeue(Item item, long delayTicks) {
+        TrackedItem tracked = items.get(item.getUniqueId());
+        if (tracked == null || !isLifetimeEnabled()) {
+            return;
+        }
+        long delay = delayTicks > 0 ? delayTicks : getLifetimeTicks(item);
+        if (delay > 0) {
+            expiries.add(new Expiry(currentTick() + delay, tracked));
+        }
+    }
+
+    /**
+     * Check if the per-world counts should be reconciled against a real scan.
+     *
+     * @param now        current time in milliseconds
+     * @param intervalMs reconcile interval in milliseconds
+     * @return true if reconcile is due
+     */
+    public boolean isReconcileDue(long now, long intervalMs) {
+        return now - lastReconcileTime >= intervalMs;
+    }
+
+    /**
+     * Reconcile the index against a census of every loaded world.
+     * Worlds tracked with more items than the census saw have their entries
+     * that no longer resolve dropped; worlds with fewer are seeded again.
+     *
+     * @param census census counting every world
+     * @param now    current time in milliseconds
+     * @return change in the tracked item count
+     */
+    public int reconcile(EntityCensus census, long now) {
+        int previousSize = items.size();
+        Set<String> worlds = new HashSet<>(worldCounts.keySet());
+        for (World world : Bukkit.getWorlds()) {
+            worlds.add(world.getName());
+        }
+        for (String worldName : worlds) {
+            int tracked = worldCounts.getOrDefault(worldName, 0);
+            int actual = census.getWorldItemCount(worldName);
+            if (tracked > actual) {
+                pruneWorld(worldName);
+            } else if (tracked < actual) {
+                World world = Bukkit.getWorld(worldName);
+                if (world != null) {
+                    seed(world);
+                }
+            }
+        }
+        lastReconcileTime = now;
+        return items.size() - previousSize;
+    }
+
+    /**
+     * Get the number of pending expiries, including stale ones not yet dropped.
+     *
+     * @return expiry queue size
+     */
+    public int getPendingExpiries() {
+        return expiries.size();
+    }
+
+    /**
+     * Untrack the hurt items that did not survive.
+     */
+    private void dropDestroyed() {
+        for (Item item : damaged) {
+            TrackedItem tracked = items.get(item.getUniqueId());
+            if (tracked != null && tracked.item == item && !item.isValid()) {
+                untrack(item.getUniqueId());
+            }
+        }
+        damaged.clear();
+    }
+
+    /**
+     * Parse the per-material lifetimes from MATERIAL:seconds entries.
+     */
+    private void loadLifetimes() {
+        lifetimeTicks.clear();
+        defaultLifetimeTicks = config.getItemLifetimeDefault() * 20L;
+        if (config.getItemLifetimes() == null) {
+            return;
+        }
+        for (String entry : config.getItemLifetimes()) {
+            String[] parts = entry.split(":");
+            try {
+                Material material = Material.valueOf(parts[0].trim().toUpperCase());
+                lifetimeTicks.put(material, Long.parseLong(parts[1].trim()) * 20L);
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                if (plugin != null) {
+                    plugin.getLogger().warn("Invalid item lifetime: " + entry);
+                }
+            }
+        }
+    }
+
+    private long getLifetimeTicks(Item item) {
+        if (item.getItemStack() != null) {
+            Long lifetime = lifetimeTicks.get(item.getItemStack().getType());
+            if (lifetime != null) {
+                return lifetime;
+            }
+        }
+        return defaultLifetimeTicks;
+    }
+
+    private void seed(World world) {
+        for (Item item : world.getEntitiesByClass(Item.class)) {
+            track(item);
+        }
+    }
+
+    private void pruneWorld(String worldName) {
+        Iterator<TrackedItem> iterator = items.values().iterator();
+        while (iterator.hasNext()) {
+            TrackedItem tracked = iterator.next();
+            if (tracked.worldName.equals(worldName) && resolve(tracked) == null) {
+                iterator.remove();
+                decrementWorld(worldName);
+            }
+        }
+    }
+
+    private static Item resolve(TrackedItem tracked) {
+        return tracked.item.isValid() ? tracked.item : null;
+    }
+
+    private void decrementWorld(String worldName) {
+        worldCounts.computeIfPresent(worldName, (k, v) -> v > 1 ? v - 1 : null);
+    }
+
+    private long currentTick() {
+        return tickClock != null ? tickClock.getCurrentTick() : 0L;
+    }
+
+    /**
+     * Expiry tick of a tracked item.
+     */
+    private static final class Expiry implements Comparable<Expiry> {
+        private final long tick;
+        private final TrackedItem tracked;
+
+        Expiry(long tick, TrackedItem tracked) {
+            this.tick = tick;
+            this.tracked = tracked;
+        }
+
+        @Override
+        public int compareTo(Expiry other) {
+            return Long.compare(tick, other.tick);
+        }
+    }
+}
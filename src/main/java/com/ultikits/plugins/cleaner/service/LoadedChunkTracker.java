@@ -0,0 +1,312 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.utils.ChunkKeyUtil;
+import com.ultikits.ultitools.annotations.Autowired;
+import com.ultikits.ultitools.annotations.Service;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Loaded chunks per world, kept up to date from chunk load and unload events.
+ * <p>
+ * Each world holds an open-addressing table of packed chunk keys next to the
+ * tick a player was last within unload distance of the chunk, so unload
+ * checks and chunk counts never list the world's chunks again after the
+ * table is seeded. Main-thread servers only; Folia uses
+ * {@link ChunkSectionIndex} instead.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+@Service
+public class LoadedChunkTracker {
+
+    @Autowired
+    private TickClock tickClock;
+
+    private final Map<String, ChunkTable> worlds = new HashMap<>();
+    private boolean enabled = false;
+
+    /**
+     * Start tracking, seeded with the chunks the worlds have loaded already.
+     *
+     * @param worlds worlds to seed from
+     */
+    public void enable(Iterable<World> worlds) {
+        this.worlds.clear();
+        enabled = true;
+        for (World world : worlds) {
+            for (Chunk chunk : world.getLoadedChunks()) {
+                onChunkLoad(world.getName(), chunk.getX(), chunk.getZ());
+            }
+        }
+    }
+
+    /**
+     * Stop tracking and forget every chunk.
+     */
+    public void disable() {
+        enabled = false;
+        worlds.clear();
+    }
+
+    /**
+     * Check if chunks are being tracked.
+     *
+     * @return true once enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Track a loaded chunk. It counts as near a player on the tick it loads.
+     *
+     * @param worldName world name
+     * @param chunkX    chunk X coordinate
+     * @param chunkZ    chunk Z coordinate
+     */
+    public void onChunkLoad(String worldName, int chunkX, int chunkZ) {
+        if (!enabled) {
+            return;
+        }
+        worlds.computeIfAbsent(worldName, k -> new ChunkTable())
+            .put(ChunkKeyUtil.pack(chunkX, chunkZ), now());
+    }
+
+    /**
+     * Forget an unloaded chunk.
+     *
+     * @param worldName world name
+     * @param chunkX    chunk X coordinate
+     * @param chunkZ    chunk Z coordinate
+     */
+    public void onChunkUnload(String worldName, int chunkX, int chunkZ) {
+        if (!enabled) {
+            return;
+        }
+        ChunkTable table = worlds.get(worldName);
+        if (table != null) {
+            table.remove(ChunkKeyUtil.pack(chunkX, chunkZ));
+        }
+    }
+
+    /**
+     * Forget every chunk of an unloaded world.
+     *
+     * @param worldName world name
+     */
+    public void onWorldUnload(String worldName) {
+        worlds.remove(worldName);
+    }
+
+    /**
+     * Check if a chunk is tracked as loaded.
+     *
+     * @param worldName world name
+     * @param chunkX    chunk X coordinate
+     * @param chunkZ    chunk Z coordinate
+     * @return true if loaded
+     */
+    public boolean isLoaded(String worldName, int chunkX, int chunkZ) {
+        ChunkTable table = worlds.get(worldName);
+        return table != null && table.indexOf(ChunkKeyUtil.pack(chunkX, chunkZ)) >= 0;
+    }
+
+    /**
+     * Get the tick a player was last within unload distance of a chunk.
+     *
+     * @param worldName world name
+     * @param chunkX    chunk X coordinate
+     * @param chunkZ    chunk Z coordinate
+     * @return last tick, or -1 if the chunk is not tracked
+     */
+    public long getLastNearTick(String worldName, int chunkX, int chunkZ) {
+        ChunkTable table = worlds.get(worldName);
+        if (table == null) {
+            return -1L;
+        }
+        int slot = table.indexOf(ChunkKeyUtil.pack(chunkX, chunkZ));
+        return slot >= 0 ? table.stamps[slot] : -1L;
+    }
+
+    /**
+     * Get the number of tracked chunks in a world.
+     *
+     * @param worldName world name
+     * @return loaded chunk count
+     */
+    public int getLoadedChunkCount(String worldName) {
+        ChunkTable table = worlds.get(worldName);
+        return table != null ? table.size : 0;
+    }
+
+    /**
+     * Get the number of tracked chunks across all worlds.
+     *
+     * @return loaded chunk count
+     */
+    public int getLoadedChunkCount() {
+        int total = 0;
+        for (ChunkTable table : worlds.values()) {
+            total += table.size;
+        }
+        return total;
+    }
+
+    /**
+     * Stamp the chunks within a distance of any player as near on this tick
+     * and return the rest.
+     * <p>
+     * With few players the squares around them are stamped by lookup;
+     * once those squares would cover more than the table, the table is
+     * walked instead and each chunk is measured against every player.
+     * </p>
+     *
+     * @param worldName    world name
+     * @param playerChunks packed chunk keys of the world's players
+     * @param maxDistance  Chebyshev distance in chunks that counts as near
+     * @return packed keys of the chunks no player is near
+     */
+    public long[] collectFarChunks(String worldName, long[] playerChunks, int maxDistance) {
+        ChunkTable table = worlds.get(worldName);
+        if (table == null || table.size == 0) {
+            return new long[0];
+        }
+        long tick = now();
+        long[] players = Arrays.stream(playerChunks).distinct().toArray();
+        long side = 2L * maxDistance + 1;
+        if (players.length * side * side <= table.size) {
+            for (long player : players) {
+                int centerX = ChunkKeyUtil.getX(player);
+                int centerZ = ChunkKeyUtil.getZ(player);
+                for (int x = centerX - maxDistance; x <= centerX + maxDistance; x++) {
+                    for (int z = centerZ - maxDistance; z <= centerZ + maxDistance; z++) {
+                        int slot = table.indexOf(ChunkKeyUtil.pack(x, z));
+                        if (slot >= 0) {
+                            table.stamps[slot] = tick;
+                        }
+                    }
+                }
+            }
+        } else {
+            for (int slot = 0; slot < table.keys.length; slot++) {
+                if (table.used[slot] && isNearAny(table.keys[slot], players, maxDistance)) {
+                    table.stamps[slot] = tick;
+                }
+            }
+        }
+
+        long[] far = new long[table.size];
+        int count = 0;
+        for (int slot = 0; slot < table.keys.length; slot++) {
+            if (table.used[slot] && table.stamps[slot] < tick) {
+                far[count++] = table.keys[slot];
+            }
+        }
+        return Arrays.copyOf(far, count);
+    }
+
+    private static boolean isNearAny(long chunkKey, long[] players, int maxDistance) {
+        int chunkX = ChunkKeyUtil.getX(chunkKey);
+        int chunkZ = ChunkKeyUtil.getZ(chunkKey);
+        for (long player : players) {
+            if (Math.abs(chunkX - ChunkKeyUtil.getX(player)) <= maxDistance
+                    && Math.abs(chunkZ - ChunkKeyUtil.getZ(player)) <= maxDistance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long now() {
+        return tickClock != null ? tickClock.getCurrentTick() : 0L;
+    }
+
+    /**
+     * Linear-probing hash set of chunk keys with a stamp per key.
+     * Removal shifts later entries back instead of leaving tombstones.
+     */
+    private static final class ChunkTable {
+        private static final int INITIAL_CAPACITY = 64;
+
+        private long[] keys = new long[INITIAL_CAPACITY];
+        private long[] stamps = new long[INITIAL_CAPACITY];
+        private boolean[] used = new boolean[INITIAL_CAPACITY];
+        private int size;
+
+        int indexOf(long key) {
+            int mask = keys.length - 1;
+            for (int slot = hash(key) & mask; used[slot]; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        void put(long key, long stamp) {
+            if ((size + 1) * 4 > keys.length * 3) {
+                resize(keys.length * 2);
+            }
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (used[slot]) {
+                if (keys[slot] == key) {
+                    stamps[slot] = stamp;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            stamps[slot] = stamp;
+            used[slot] = true;
+            size++;
+        }
+
+        void remove(long key) {
+            int slot = indexOf(key);
+            if (slot < 0) {
+                return;
+            }
+            int mask = keys.length - 1;
+            // Pull back any later entry whose home slot does not lie between the gap and itself
+            int gap = slot;
+            for (int next = (gap + 1) & mask; used[next]; next = (next + 1) & mask) {
+                int home = hash(keys[next]) & mask;
+                if (((next - home) & mask) >= ((next - gap) & mask)) {
+                    keys[gap] = keys[next];
+                    stamps[gap] = stamps[next];
+                    gap = next;
+                }
+            }
+            used[gap] = false;
+            size--;
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            long[] oldStamps = stamps;
+            boolean[] oldUsed = used;
+            keys = new long[capacity];
+            stamps = new long[capacity];
+            used = new boolean[capacity];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) {
+                    put(oldKeys[i], oldStamps[i]);
+                }
+            }
+        }
+
+        private static int hash(long key) {
+            long mixed = key * 0x9E3779B97F4A7C15L;
+            return (int) (mixed ^ (mixed >>> 32));
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.config.CleanerConfig;
+import com.ultikits.ultitools.annotations.Autowired;
+import com.ultikits.ultitools.annotations.Service;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Live per-type counters for the mob types the cleaner manages.
+ * Kept up to date by spawn, death, removal and chunk entity events so the
+ * smart check reads the mob count in O(1). Counts are reconciled against
+ * a real scan periodically to correct drift from untracked removals.
+ * <p>
+ * Natural despawns and other removals fire no event, so the drift is always
+ * upward: the count is an upper bound, and the smart check confirms a
+ * threshold breach against a scan before it cleans anything.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+@Service
+public class MobCounter {
+
+    @Autowired
+    private CleanerConfig config;
+
+    private final int[] counts = new int[EntityType.values().length];
+    private int total = 0;
+
+    private Set<EntityType> trackedTypes = Collections.emptySet();
+    private Set<String> excludedWorlds = Collections.emptySet();
+
+    private long lastReconcileTime = 0;
+    private boolean reconcileNeeded = true;
+
+    /**
+     * Configure which types and worlds are counted.
+     * Resets the counters; the next smart check reconciles them.
+     *
+     * @param types          mob types to count
+     * @param excludedWorlds names of worlds to skip
+     */
+    public void configure(Set<EntityType> types, Set<String> excludedWorlds) {
+        this.trackedTypes = types;
+        this.excludedWorlds = excludedWorlds;
+        Arrays.fill(counts, 0);
+        total = 0;
+        reconcileNeeded = true;
+    }
+
+    /**
+     * Check if the counter is enabled.
+     *
+     * @return true if mobs are being counted
+     */
+    public boolean isEnabled() {
+        return config.isMobCounterEnabled();
+    }
+
+    /**
+     * Count a mob that entered the world.
+     *
+     * @param entity the entity
+     */
+    public void increment(Entity entity) {
+        if (isCounted(entity)) {
+            counts[entity.getType().ordinal()]++;
+            total++;
+        }
+    }
+
+    /**
+     * Uncount a mob that left the world.
+     *
+     * @param entity the entity
+     */
+    public void decrement(Entity entity) {
+        if (isCounted(entity)) {
+            int ordinal = entity.getType().ordinal();
+            if (counts[ordinal] > 0) {
+                counts[ordinal]--;
+                total--;
+            }
+        }
+    }
+
+    /**
+     * Count every mob in a collection of loaded entities.
+     *
+     * @param entities entities that were loaded
+     */
+    public void incrementAll(Collection<Entity> entities) {
+        for (Entity entity : entities) {
+            increment(entity);
+        }
+    }
+
+    /**
+     * Uncount every mob in a collection of unloaded entities.
+     *
+     * @param entities entities that were unloaded
+     */
+    public void decrementAll(Collection<Entity> entities) {
+        for (Entity entity : entities) {
+            decrement(entity);
+        }
+    }
+
+    /**
+     * Get the number of counted mobs.
+     *
+     * @return mob count
+     */
+    public int getMobCount() {
+        return total;
+    }
+
+    /**
+     * Get the number of counted mobs of one type.
+     *
+     * @param type the entity type
+     * @return mob count
+     */
+    public int getCount(EntityType type) {
+        return counts[type.ordinal()];
+    }
+
+    /**
+     * Check if the counters should be reconciled against a real scan.
+     *
+     * @param now        current time in milliseconds
+     * @param intervalMs reconcile interval in milliseconds
+     * @return true if reconcile is due
+     */
+    public boolean isReconcileDue(long now, long intervalMs) {
+        return reconcileNeeded || now - lastReconcileTime >= intervalMs;
+    }
+
+    /**
+     * Replace the counters with counts from a real scan.
+     *
+     * @param actualCounts per-type mob counts from the scan
+     * @param now          current time in milliseconds
+     * @return difference between the scanned and the live total
+     */
+    public int reconcile(Map<EntityType, Integer> actualCounts, long now) {
+        int previousTotal = total;
+        Arrays.fill(counts, 0);
+        total = 0;
+        for (Map.Entry<EntityType, Integer> entry : actualCounts.entrySet()) {
+            if (trackedTypes.contains(entry.getKey())) {
+                counts[entry.getKey().ordinal()] = entry.getValue();
+                total += entry.getValue();
+            }
+        }
+        lastReconcileTime = now;
+        reconcileNeeded = false;
+        return total - previousTotal;
+    }
+
+    private boolean isCounted(Entity entity) {
+        EntityType type = entity.getType();
+        if (type == null || !trackedTypes.contains(type)) {
+            return false;
+        }
+        World world = entity.getWorld();
+        return world != null && !excludedWorlds.contains(world.getName());
+    }
+}
@@ -0,0 +1,84 @@
+package com.ultikits.plugins.cleaner.service;
+
+/**
+ * AIMD controller that steers cleanup aggressiveness toward a target MSPT.
+ * <p>
+ * The output is a multiplier in [floor, 1.0] applied to smart-clean thresholds
+ * and per-tick budgets. The floor never drops below {@link #MIN_FLOOR}, so a
+ * budget scaled by the multiplier always keeps some room to work. When a tick sample runs over the target the multiplier
+ * is cut multiplicatively, so cleanup tightens quickly as headroom disappears;
+ * while there is slack below the target it recovers additively, so it backs off
+ * gradually instead of oscillating. Samples inside the dead band hold it.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class MsptController {
+
+    /** Factor applied on every sample over the target. */
+    static final double DECREASE_FACTOR = 0.8;
+    /** Step added on every sample with slack. */
+    static final double INCREASE_STEP = 0.05;
+    /** Fraction of the target below which a sample counts as slack. */
+    static final double SLACK_RATIO = 0.9;
+    /** Lowest multiplier, whatever the configured maximum reduction. */
+    static final double MIN_FLOOR = 0.1;
+
+    private final double targetMspt;
+    private final double floor;
+    private double multiplier = 1.0;
+    private double lastMspt;
+
+    /**
+     * Create a new MsptController.
+     *
+     * @param targetMspt   tick time to steer toward, in milliseconds
+     * @param maxReduction largest threshold reduction in percent, capped at 90
+     */
+    public MsptController(double targetMspt, int maxReduction) {
+        this.targetMspt = targetMspt;
+        this.floor = Math.max(MIN_FLOOR, Math.min(1.0, 1.0 - maxReduction / 100.0));
+    }
+
+    /**
+     * Feed one MSPT sample.
+     *
+     * @param mspt average milliseconds per tick since the last sample
+     */
+    public void update(double mspt) {
+        lastMspt = mspt;
+        if (mspt > targetMspt) {
+            multiplier = Math.max(floor, multiplier * DECREASE_FACTOR);
+        } else if (mspt < targetMspt * SLACK_RATIO) {
+            multiplier = Math.min(1.0, multiplier + INCREASE_STEP);
+        }
+    }
+
+    /**
+     * Get the current multiplier.
+     *
+     * @return multiplier between the floor and 1.0
+     */
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    /**
+     * Get the latest MSPT sample.
+     *
+     * @return milliseconds per tick, 0 before the first sample
+     */
+    public double getLastMspt() {
+        return lastMspt;
+    }
+
+    /**
+     * Get the MSPT the controller steers toward.
+     *
+     * @return target milliseconds per tick
+     */
+    public double getTargetMspt() {
+        return targetMspt;
+    }
+}
@@ -0,0 +1,356 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.utils.ChunkKeyUtil;
+import com.ultikits.plugins.cleaner.utils.FoliaSchedulers;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Collection, removal and chunk visits split into one task per chunk section, for Folia.
+ * <p>
+ * Each task runs on the region thread that owns its section and fills a
+ * result of its own, so tasks share nothing but a lock-free queue and a
+ * countdown. The task that brings the countdown to zero hands the queued
+ * results to the global region, where they are merged and passed on. A
+ * chunk that belongs to another region by the time its task runs gets a task
+ * of its own on that region.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class RegionCleaner {
+
+    /**
+     * Where region and global tasks run.
+     */
+    public interface RegionExecutor {
+
+        /**
+         * Run a task on the region that owns a chunk.
+         *
+         * @param world  world of the chunk
+         * @param chunkX chunk X coordinate
+         * @param chunkZ chunk Z coordinate
+         * @param task   task to run
+         */
+        void runAtChunk(World world, int chunkX, int chunkZ, Runnable task);
+
+        /**
+         * Run a task on the global region.
+         *
+         * @param task task to run
+         */
+        void runGlobal(Runnable task);
+
+        /**
+         * Check if the current thread owns a chunk.
+         *
+         * @param world  world of the chunk
+         * @param chunkX chunk X coordinate
+         * @param chunkZ chunk Z coordinate
+         * @return true if owned
+         */
+        boolean owns(World world, int chunkX, int chunkZ);
+
+        /**
+         * Executor backed by the Folia region schedulers.
+         *
+         * @param plugin plugin owning the tasks
+         * @return new executor
+         */
+        static RegionExecutor folia(Plugin plugin) {
+            return new RegionExecutor() {
+                @Override
+                public void runAtChunk(World world, int chunkX, int chunkZ, Runnable task) {
+                    FoliaSchedulers.runAtChunk(plugin, world, chunkX, chunkZ, task);
+                }
+
+                @Override
+                public void runGlobal(Runnable task) {
+                    FoliaSchedulers.runGlobal(plugin, task);
+                }
+
+                @Override
+                public boolean owns(World world, int chunkX, int chunkZ) {
+                    return FoliaSchedulers.isOwnedByCurrentRegion(world, chunkX, chunkZ);
+                }
+            };
+        }
+    }
+
+    private static final int SECTION_SIZE = 1 << ChunkSectionIndex.SECTION_SHIFT;
+
+    private final ChunkSectionIndex sectionIndex;
+    private final RegionExecutor executor;
+
+    /**
+     * Create a new RegionCleaner.
+     *
+     * @param sectionIndex sections with loaded chunks
+     * @param executor     where tasks run
+     */
+    public RegionCleaner(ChunkSectionIndex sectionIndex, RegionExecutor executor) {
+        this.sectionIndex = sectionIndex;
+        this.executor = executor;
+    }
+
+    /**
+     * Collect the matching entities of some worlds, one task per section.
+     * The filter runs on region threads and must not share mutable state.
+     *
+     * @param worlds     worlds to scan
+     * @param filter     entities to collect
+     * @param countTypes true to count collected entities by type
+     * @param onComplete receives the merged candidates on the global region
+     */
+    public void collect(List<World> worlds, Predicate<Entity> filter, boolean countTypes,
+                        Consumer<CandidateBuffer> onComplete) {
+        visitSections(worlds, () -> new CandidateBuffer(), (chunk, local) -> {
+            String worldName = chunk.getWorld().getName();
+            long chunkKey = ChunkKeyUtil.pack(chunk.getX(), chunk.getZ());
+            for (Entity entity : chunk.getEntities()) {
+                if (filter.test(entity)) {
+                    local.add(entity.getUniqueId(), worldName, chunkKey);
+                    if (countTypes) {
+                        local.countType(entity.getType());
+                    }
+                }
+            }
+        }, new Gather<CandidateBuffer>(parts -> {
+            CandidateBuffer merged = new CandidateBuffer();
+            for (CandidateBuffer part : parts) {
+                merged.addAll(part);
+            }
+            onComplete.accept(merged);
+        }));
+    }
+
+    /**
+     * Index the chunks already loaded around each world's spawn and players,
+     * for worlds that could not list their chunks when the index was enabled.
+     * The sections within the radius are checked chunk by chunk on the regions
+     * that own them. Chunks loaded elsewhere are indexed when they load again
+     * or an entity spawns in them.
+     *
+     * @param worlds worlds to sweep
+     * @param radius radius in chunks around each point, normally the view distance
+     */
+    public void seed(Iterable<World> worlds, int radius) {
+        for (World world : worlds) {
+            List<Location> points = new ArrayList<>();
+            points.add(world.getSpawnLocation());
+            for (Player player : world.getPlayers()) {
+                points.add(player.getLocation());
+            }
+            Set<Long> sections = new HashSet<>();
+            for (Location point : points) {
+                int chunkX = point.getBlockX() >> 4;
+                int chunkZ = point.getBlockZ() >> 4;
+                for (int x = (chunkX - radius) >> ChunkSectionIndex.SECTION_SHIFT;
+                     x <= (chunkX + radius) >> ChunkSectionIndex.SECTION_SHIFT; x++) {
+                    for (int z = (chunkZ - radius) >> ChunkSectionIndex.SECTION_SHIFT;
+                         z <= (chunkZ + radius) >> ChunkSectionIndex.SECTION_SHIFT; z++) {
+                        sections.add(ChunkKeyUtil.pack(x, z));
+                    }
+                }
+            }
+            long[] keys = sections.stream().mapToLong(Long::longValue).toArray();
+            String worldName = world.getName();
+            visitSections(Collections.singletonList(world), w -> keys, () -> null,
+                (chunk, local) -> sectionIndex.onChunkLoad(worldName, chunk.getX(), chunk.getZ()),
+                new Gather<Object>(parts -> { }));
+        }
+    }
+
+    private <T> void visitSections(List<World> worlds, Supplier<T> newPart, BiConsumer<Chunk, T> visitor,
+                                   Gather<T> gather) {
+        visitSections(worlds, world -> sectionIndex.getSections(world.getName()), newPart, visitor, gather);
+    }
+
+    private <T> void visitSections(List<World> worlds, Function<World, long[]> sectionsOf, Supplier<T> newPart,
+                                   BiConsumer<Chunk, T> visitor, Gather<T> gather) {
+        for (World world : worlds) {
+            for (long section : sectionsOf.apply(world)) {
+                int minX = ChunkKeyUtil.getX(section) << ChunkSectionIndex.SECTION_SHIFT;
+                int minZ = ChunkKeyUtil.getZ(section) << ChunkSectionIndex.SECTION_SHIFT;
+                gather.fork();
+                executor.runAtChunk(world, minX, minZ,
+                    () -> visitArea(world, minX, minZ, SECTION_SIZE, newPart, visitor, gather));
+            }
+        }
+        gather.join(null);
+    }
+
+    private <T> void visitArea(World world, int minX, int minZ, int size, Supplier<T> newPart,
+                               BiConsumer<Chunk, T> visitor, Gather<T> gather) {
+        T local = newPart.get();
+        try {
+            for (int x = minX; x < minX + size; x++) {
+                for (int z = minZ; z < minZ + size; z++) {
+                    if (!executor.owns(world, x, z)) {
+                        int chunkX = x;
+                        int chunkZ = z;
+                        gather.fork();
+                        executor.runAtChunk(world, chunkX, chunkZ,
+                            () -> visitArea(world, chunkX, chunkZ, 1, newPart, visitor, gather));
+                        continue;
+                    }
+                    if (world.isChunkLoaded(x, z)) {
+                        visitor.accept(world.getChunkAt(x, z), local);
+                    }
+                }
+            }
+        } finally {
+            gather.join(local);
+        }
+    }
+
+    /**
+     * Remove candidates, one task per section they were seen in.
+     * Candidates without a location, or that left their chunk, are skipped.
+     *
+     * @param candidates candidates to remove
+     * @param cancelled  checked by each task before it starts
+     * @param onComplete receives the removed entities on the global region
+     */
+    public void remove(CandidateBuffer candidates, BooleanSupplier cancelled, Consumer<List<Entity>> onComplete) {
+        remove(candidates, cancelled, entity -> { }, onComplete);
+    }
+
+    /**
+     * Remove candidates, one task per section they were seen in.
+     * Candidates without a location, or that left their chunk, are skipped.
+     *
+     * @param candidates   candidates to remove
+     * @param cancelled    checked by each task before it starts
+     * @param beforeRemove runs on the owning region thread just before each entity is removed,
+     *                     the last point its state may be read
+     * @param onComplete   receives the removed entities on the global region
+     */
+    public void remove(CandidateBuffer candidates, BooleanSupplier cancelled, Consumer<Entity> beforeRemove,
+                       Consumer<List<Entity>> onComplete) {
+        Map<String, Map<Long, Map<Long, Set<UUID>>>> byWorld = new LinkedHashMap<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            String worldName = candidates.getWorldName(i);
+            if (worldName == null) {
+                continue;
+            }
+            long chunkKey = candidates.getChunkKey(i);
+            long section = ChunkSectionIndex.sectionKey(ChunkKeyUtil.getX(chunkKey), ChunkKeyUtil.getZ(chunkKey));
+            byWorld.computeIfAbsent(worldName, k -> new LinkedHashMap<>())
+                .computeIfAbsent(section, k -> new LinkedHashMap<>())
+                .computeIfAbsent(chunkKey, k -> new HashSet<>())
+                .add(candidates.getUuid(i));
+        }
+
+        Gather<List<Entity>> gather = new Gather<>(parts -> {
+            List<Entity> removed = new ArrayList<>();
+            for (List<Entity> part : parts) {
+                removed.addAll(part);
+            }
+            onComplete.accept(removed);
+        });
+        for (Map.Entry<String, Map<Long, Map<Long, Set<UUID>>>> entry : byWorld.entrySet()) {
+            World world = Bukkit.getWorld(entry.getKey());
+            if (world == null) {
+                continue;
+            }
+            for (Map.Entry<Long, Map<Long, Set<UUID>>> section : entry.getValue().entrySet()) {
+                int minX = ChunkKeyUtil.getX(section.getKey()) << ChunkSectionIndex.SECTION_SHIFT;
+                int minZ = ChunkKeyUtil.getZ(section.getKey()) << ChunkSectionIndex.SECTION_SHIFT;
+                Map<Long, Set<UUID>> chunks = section.getValue();
+                gather.fork();
+                executor.runAtChunk(world, minX, minZ,
+                    () -> removeChunks(world, chunks, cancelled, beforeRemove, gather));
+            }
+        }
+        gather.join(null);
+    }
+
+    private void removeChunks(World world, Map<Long, Set<UUID>> chunks, BooleanSupplier cancelled,
+                              Consumer<Entity> beforeRemove, Gather<List<Entity>> gather) {
+        List<Entity> local = new ArrayList<>();
+        try {
+            if (cancelled.getAsBoolean()) {
+                return;
+            }
+            for (Map.Entry<Long, Set<UUID>> entry : chunks.entrySet()) {
+                int chunkX = ChunkKeyUtil.getX(entry.getKey());
+                int chunkZ = ChunkKeyUtil.getZ(entry.getKey());
+                if (!executor.owns(world, chunkX, chunkZ)) {
+                    Map<Long, Set<UUID>> single = Collections.singletonMap(entry.getKey(), entry.getValue());
+                    gather.fork();
+                    executor.runAtChunk(world, chunkX, chunkZ,
+                        () -> removeChunks(world, single, cancelled, beforeRemove, gather));
+                    continue;
+                }
+                if (!world.isChunkLoaded(chunkX, chunkZ)) {
+                    continue;
+                }
+                Chunk chunk = world.getChunkAt(chunkX, chunkZ);
+                Set<UUID> uuids = entry.getValue();
+                for (Entity entity : chunk.getEntities()) {
+                    if (uuids.contains(entity.getUniqueId()) && entity.isValid() && !(entity instanceof Player)) {
+                        beforeRemove.accept(entity);
+                        entity.remove();
+                        local.add(entity);
+                    }
+                }
+            }
+        } finally {
+            gather.join(local);
+        }
+    }
+
+    /**
+     * Lock-free fan-in of per-region results.
+     * The dispatcher holds one count until it has scheduled every task, so the
+     * results cannot be handed on while tasks are still being scheduled.
+     */
+    private final class Gather<T> {
+        private final Queue<T> parts = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger(1);
+        private final Consumer<Queue<T>> onComplete;
+
+        Gather(Consumer<Queue<T>> onComplete) {
+            this.onComplete = onComplete;
+        }
+
+        void fork() {
+            pending.incrementAndGet();
+        }
+
+        void join(T part) {
+            if (part != null) {
+                parts.offer(part);
+            }
+            if (pending.decrementAndGet() == 0) {
+                executor.runGlobal(() -> onComplete.accept(parts));
+            }
+        }
+    }
+}
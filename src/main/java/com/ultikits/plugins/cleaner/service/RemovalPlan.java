@@ -0,0 +1,186 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.utils.ChunkKeyUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Removal order for a list of candidates, grouped by chunk.
+ * <p>
+ * A chunk's entities are listed once, when the plan reaches it, and matched
+ * against the candidates recorded there. {@link #step(Consumer, int)} then
+ * removes at most the given number of them, so a dense chunk is spread over
+ * as many steps as the per-tick limit requires. Chunks that have unloaded
+ * are skipped. Candidates without a recorded location, or that moved out of
+ * their chunk, fall back to a UUID lookup one at a time.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class RemovalPlan {
+
+    private final Iterator<ChunkGroup> groups;
+    private final List<UUID> fallback = new ArrayList<>();
+    private final List<Entity> resolved = new ArrayList<>();
+    private final int total;
+
+    private int resolvedIndex = 0;
+    private int fallbackIndex = 0;
+    private int processed = 0;
+
+    /**
+     * Create a new RemovalPlan.
+     *
+     * @param candidates candidates to remove, with the chunks they were seen in
+     */
+    public RemovalPlan(CandidateBuffer candidates) {
+        Map<String, Map<Long, ChunkGroup>> byWorld = new LinkedHashMap<>();
+        List<ChunkGroup> ordered = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            UUID uuid = candidates.getUuid(i);
+            String worldName = candidates.getWorldName(i);
+            if (worldName == null) {
+                fallback.add(uuid);
+                continue;
+            }
+            long chunkKey = candidates.getChunkKey(i);
+            ChunkGroup group = byWorld.computeIfAbsent(worldName, k -> new LinkedHashMap<>()).get(chunkKey);
+            if (group == null) {
+                group = new ChunkGroup(worldName, chunkKey);
+                byWorld.get(worldName).put(chunkKey, group);
+                ordered.add(group);
+            }
+            group.uuids.add(uuid);
+        }
+        this.groups = ordered.iterator();
+        this.total = candidates.size();
+    }
+
+    /**
+     * Remove up to a limit of candidates from the current chunk, listing the
+     * next chunk first if the current one is finished. Once every chunk is
+     * done, each step resolves one fallback candidate.
+     *
+     * @param remover receives each resolved entity
+     * @param limit   maximum number of entities to hand to the remover
+     * @return number of candidates handled by this step
+     */
+    public int step(Consumer<Entity> remover, int limit) {
+        if (limit <= 0) {
+            return 0;
+        }
+        if (resolvedIndex < resolved.size()) {
+            return removeResolved(remover, limit);
+        }
+        if (groups.hasNext()) {
+            // Candidates of an unloaded chunk are handled without touching the limit
+            int dropped = resolveChunk(groups.next());
+            processed += dropped;
+            return resolved.isEmpty() ? dropped : dropped + removeResolved(remover, limit);
+        }
+        if (fallbackIndex < fallback.size()) {
+            Entity entity = Bukkit.getEntity(fallback.get(fallbackIndex++));
+            if (entity != null) {
+                remover.accept(entity);
+            }
+            processed++;
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Hand the next resolved entities of the current chunk to the remover.
+     */
+    private int removeResolved(Consumer<Entity> remover, int limit) {
+        int end = Math.min(resolved.size(), resolvedIndex + limit);
+        int count = end - resolvedIndex;
+        while (resolvedIndex < end) {
+            remover.accept(resolved.get(resolvedIndex++));
+        }
+        if (resolvedIndex >= resolved.size()) {
+            resolved.clear();
+            resolvedIndex = 0;
+        }
+        processed += count;
+        return count;
+    }
+
+    /**
+     * List a chunk and keep the candidates found in it for removal.
+     *
+     * @return number of candidates dropped because their chunk has unloaded
+     */
+    private int resolveChunk(ChunkGroup group) {
+        World world = Bukkit.getWorld(group.worldName);
+        int chunkX = ChunkKeyUtil.getX(group.chunkKey);
+        int chunkZ = ChunkKeyUtil.getZ(group.chunkKey);
+        // Entities in an unloaded chunk are no longer in the world
+        if (world == null || !world.isChunkLoaded(chunkX, chunkZ)) {
+            return group.uuids.size();
+        }
+
+        for (Entity entity : world.getChunkAt(chunkX, chunkZ).getEntities()) {
+            if (group.uuids.remove(entity.getUniqueId())) {
+                resolved.add(entity);
+                if (group.uuids.isEmpty()) {
+                    return 0;
+                }
+            }
+        }
+
+        // Candidates that wandered into another chunk since collection
+        fallback.addAll(group.uuids);
+        return 0;
+    }
+
+    /**
+     * Check if every candidate was handled.
+     *
+     * @return true if done
+     */
+    public boolean isDone() {
+        return resolvedIndex >= resolved.size() && !groups.hasNext() && fallbackIndex >= fallback.size();
+    }
+
+    /**
+     * Get the number of candidates handled so far.
+     *
+     * @return processed count
+     */
+    public int getProcessed() {
+        return processed;
+    }
+
+    /**
+     * Get the number of candidates in the plan.
+     *
+     * @return total count
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    private static final class ChunkGroup {
+        private final String worldName;
+        private final long chunkKey;
+        private final Set<UUID> uuids = new HashSet<>();
+
+        private ChunkGroup(String worldName, long chunkKey) {
+            this.worldName = worldName;
+            this.chunkKey = chunkKey;
+        }
+    }
+}
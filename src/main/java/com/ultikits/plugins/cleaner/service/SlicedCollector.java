@@ -0,0 +1,98 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.utils.ChunkKeyUtil;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Collects cleanup candidates by walking loaded chunks a slice at a time.
+ * Each {@link #step()} runs until its nanosecond budget is used up and the
+ * next call resumes from the chunk where the previous one stopped.
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class SlicedCollector {
+
+    private final List<World> worlds;
+    private final Predicate<Entity> filter;
+    private final long budgetNanos;
+
+    private final CandidateBuffer candidates = new CandidateBuffer();
+
+    private int worldIndex = 0;
+    private Chunk[] chunks;
+    private int chunkIndex = 0;
+
+    /**
+     * Create a new SlicedCollector.
+     *
+     * @param worlds      worlds to walk
+     * @param filter      eligibility check for each entity
+     * @param budgetNanos time budget per step in nanoseconds
+     */
+    public SlicedCollector(List<World> worlds, Predicate<Entity> filter, long budgetNanos) {
+        this.worlds = worlds;
+        this.filter = filter;
+        this.budgetNanos = budgetNanos;
+    }
+
+    /**
+     * Walk chunks until the budget is used up or every chunk was visited.
+     * At least one chunk is visited per step so collection always progresses.
+     *
+     * @return true if collection is finished
+     */
+    public boolean step() {
+        long deadline = System.nanoTime() + budgetNanos;
+        while (true) {
+            if (chunks == null || chunkIndex >= chunks.length) {
+                if (worldIndex >= worlds.size()) {
+                    return true;
+                }
+                chunks = worlds.get(worldIndex++).getLoadedChunks();
+                chunkIndex = 0;
+                continue;
+            }
+
+            Chunk chunk = chunks[chunkIndex++];
+            // The chunk may have unloaded since the world was listed
+            if (chunk.isLoaded()) {
+                long chunkKey = ChunkKeyUtil.pack(chunk.getX(), chunk.getZ());
+                String worldName = chunk.getWorld().getName();
+                for (Entity entity : chunk.getEntities()) {
+                    if (filter.test(entity)) {
+                        candidates.add(entity.getUniqueId(), worldName, chunkKey);
+                        candidates.countType(entity.getType());
+                    }
+                }
+            }
+
+            if (System.nanoTime() >= deadline) {
+                return isFinished();
+            }
+        }
+    }
+
+    /**
+     * Check if every chunk was visited.
+     *
+     * @return true if collection is finished
+     */
+    public boolean isFinished() {
+        return worldIndex >= worlds.size() && (chunks == null || chunkIndex >= chunks.length);
+    }
+
+    /**
+     * Get the candidates collected so far, with their chunks and type counts.
+     *
+     * @return candidate buffer
+     */
+    public CandidateBuffer getCandidates() {
+        return candidates;
+    }
+}
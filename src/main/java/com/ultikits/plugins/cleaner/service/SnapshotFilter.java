@@ -0,0 +1,113 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.config.CleanerConfig;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Thread-safe cleanup eligibility checks over {@link EntitySnapshot}s.
+ * <p>
+ * The config values are copied when the filter is created so worker threads
+ * never read the live config while it may be reloaded.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class SnapshotFilter {
+
+    private final Set<String> itemWhitelist;
+    private final boolean itemIgnoreNamed;
+    private final int itemIgnoreRecentTicks;
+    private final boolean entityWhitelistNamed;
+    private final boolean entityWhitelistLeashed;
+    private final boolean entityWhitelistTamed;
+
+    /**
+     * Create a new SnapshotFilter.
+     *
+     * @param config        cleaner config
+     * @param itemWhitelist material names that are never cleaned
+     */
+    public SnapshotFilter(CleanerConfig config, Set<String> itemWhitelist) {
+        this.itemWhitelist = Collections.unmodifiableSet(new HashSet<>(itemWhitelist));
+        this.itemIgnoreNamed = config.isItemIgnoreNamed();
+        this.itemIgnoreRecentTicks = config.getItemIgnoreRecentSeconds() * 20;
+        this.entityWhitelistNamed = config.isEntityWhitelistNamed();
+        this.entityWhitelistLeashed = config.isEntityWhitelistLeashed();
+        this.entityWhitelistTamed = config.isEntityWhitelistTamed();
+    }
+
+    /**
+     * Check if the display name must be read when capturing items.
+     *
+     * @return true if named items are kept
+     */
+    public boolean needsDisplayName() {
+        return itemIgnoreNamed;
+    }
+
+    /**
+     * Check whether a captured item may be cleaned.
+     *
+     * @param snapshot item snapshot
+     * @return true if eligible
+     */
+    public boolean isItemCandidate(EntitySnapshot snapshot) {
+        if (snapshot.getMaterial() != null && itemWhitelist.contains(snapshot.getMaterial().name())) {
+            return false;
+        }
+        if (itemIgnoreNamed && snapshot.hasDisplayName()) {
+            return false;
+        }
+        return itemIgnoreRecentTicks <= 0 || snapshot.getTicksLived() >= itemIgnoreRecentTicks;
+    }
+
+    /**
+     * Check whether a captured mob may be cleaned.
+     *
+     * @param snapshot mob snapshot
+     * @return true if eligible
+     */
+    public boolean isMobCandidate(EntitySnapshot snapshot) {
+        if (entityWhitelistNamed && snapshot.getCustomName() != null) {
+            return false;
+        }
+        if (entityWhitelistLeashed && snapshot.isLeashed()) {
+            return false;
+        }
+        return !entityWhitelistTamed || !snapshot.isTamed();
+    }
+
+    /**
+     * Filter snapshots in parallel on the pool of the calling thread and gather
+     * the survivors into a buffer. Call it from a task running in the filter pool.
+     *
+     * @param snapshots captured entities
+     * @param items     true to apply the item checks, false for the mob checks
+     * @return candidates in capture order, with mob type counts
+     */
+    public CandidateBuffer apply(List<EntitySnapshot> snapshots, boolean items) {
+        Predicate<EntitySnapshot> test = items ? this::isItemCandidate : this::isMobCandidate;
+        // A parallel stream started inside a ForkJoinPool runs in that pool
+        List<EntitySnapshot> passed = snapshots.parallelStream().filter(test).collect(Collectors.toList());
+
+        CandidateBuffer buffer = new CandidateBuffer(passed.size());
+        for (EntitySnapshot snapshot : passed) {
+            if (snapshot.isLocated()) {
+                buffer.add(snapshot.getUuid(), snapshot.getWorldName(), snapshot.getChunkKey());
+            } else {
+                buffer.add(snapshot.getUuid());
+            }
+            if (!items) {
+                buffer.countType(snapshot.getType());
+            }
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,162 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.utils.FoliaSchedulers;
+import com.ultikits.ultitools.abstracts.UltiToolsPlugin;
+import com.ultikits.ultitools.annotations.Autowired;
+import com.ultikits.ultitools.annotations.Scheduled;
+import com.ultikits.ultitools.annotations.Service;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Collection;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Server tick counter and timer driver shared by the cleaner services.
+ * Spigot has no public tick counter, so one is kept here. Every cleaner
+ * timer runs on one {@link TimingWheel} advanced by this single sync task.
+ * On Folia, where there is no main thread, the global region scheduler
+ * drives the clock instead; see {@link #driveFromGlobalRegion(Plugin)}.
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+@Service
+public class TickClock {
+
+    @Autowired
+    private UltiToolsPlugin plugin;
+
+    private volatile long currentTick = 0;
+    private volatile Runnable stopRegionDriver;
+    private final TimingWheel wheel = new TimingWheel(1, (name, e) -> {
+        if (plugin != null) {
+            plugin.getLogger().warn("Timer " + name + " failed: " + e.getMessage());
+        }
+    });
+
+    /**
+     * Advance the clock and run the timers that are due.
+     * Runs every tick.
+     */
+    @Scheduled(period = 1, async = false)
+    public void tick() {
+        if (stopRegionDriver != null) {
+            return;
+        }
+        advance();
+    }
+
+    private void advance() {
+        currentTick++;
+        wheel.advance(currentTick);
+    }
+
+    /**
+     * Advance the clock from the Folia global region instead of the main thread.
+     * Timers then run on the global region thread, which owns no entities or
+     * chunks; they hand such work to the owning regions. Later calls are ignored.
+     *
+     * @param bukkitPlugin plugin owning the scheduled task
+     */
+    public void driveFromGlobalRegion(Plugin bukkitPlugin) {
+        if (stopRegionDriver == null) {
+            stopRegionDriver = FoliaSchedulers.runGlobalAtFixedRate(bukkitPlugin, this::advance, 1, 1);
+        }
+    }
+
+    /**
+     * Stop the global region driver, if running.
+     */
+    public void stopRegionDriver() {
+        Runnable stop = stopRegionDriver;
+        stopRegionDriver = null;
+        if (stop != null) {
+            stop.run();
+        }
+    }
+
+    /**
+     * Check if the clock is driven by the Folia global region.
+     *
+     * @return true once {@link #driveFromGlobalRegion(Plugin)} has started it
+     */
+    public boolean isRegionDriven() {
+        return stopRegionDriver != null;
+    }
+
+    /**
+     * Get the number of ticks since the clock started.
+     *
+     * @return current tick
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Run a task every period ticks, first after one period.
+     *
+     * @param name   timer name used for cost accounting
+     * @param period ticks between runs
+     * @param task   task to run
+     * @return timer handle
+     */
+    public TimingWheel.Timer schedule(String name, long period, Runnable task) {
+        return wheel.schedule(name, period, task);
+    }
+
+    /**
+     * Run a task every period ticks, first after a delay.
+     * Different delays keep timers with the same period on different ticks.
+     *
+     * @param name   timer name used for cost accounting
+     * @param delay  ticks before the first run
+     * @param period ticks between runs
+     * @param task   task to run
+     * @return timer handle
+     */
+    public TimingWheel.Timer schedule(String name, long delay, long period, Runnable task) {
+        return wheel.schedule(name, delay, period, task);
+    }
+
+    /**
+     * Run a step every period ticks until it reports that it is done.
+     * A step that throws is logged and cancelled.
+     *
+     * @param name   timer name used for cost accounting
+     * @param period ticks between runs
+     * @param step   step returning true when finished
+     * @return timer handle
+     */
+    public TimingWheel.Timer scheduleUntil(String name, long period, BooleanSupplier step) {
+        return wheel.scheduleUntil(name, period, step);
+    }
+
+    /**
+     * Cancel every timer with a name.
+     *
+     * @param name timer name
+     * @return number of timers cancelled
+     */
+    public int cancel(String name) {
+        return wheel.cancel(name);
+    }
+
+    /**
+     * Get the timers that are still scheduled.
+     *
+     * @return active timers
+     */
+    public Collection<TimingWheel.Timer> getTimers() {
+        return wheel.getTimers();
+    }
+
+    /**
+     * Get the run time accounting of every timer.
+     *
+     * @return stats per timer name
+     */
+    public Collection<TimingWheel.TaskStats> getTimerStats() {
+        return wheel.getStats();
+    }
+}
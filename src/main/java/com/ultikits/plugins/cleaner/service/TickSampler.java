@@ -0,0 +1,167 @@
+package com.ultikits.plugins.cleaner.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Rolling record of tick intervals over the last 15 minutes.
+ * <p>
+ * An interval runs from the start of one tick to the start of the next, so
+ * it includes the time the server sleeps between ticks: a healthy server
+ * reads 50ms however little work a tick does, and only ticks that overrun
+ * the budget read longer. That is what TPS is made of, but it is not the
+ * work per tick (MSPT); the server's own tick time gives that where exposed.
+ * </p>
+ * <p>
+ * Intervals are kept as prefix sums in one ring, so the average over any
+ * window up to 15 minutes is two reads and a subtraction. Percentiles of the
+ * last minute come from a 1ms-bucket histogram that is updated as ticks
+ * enter and leave the window and republished once per second.
+ * </p>
+ * <p>
+ * Only the main thread records. Readers on any thread never lock: the ring
+ * is larger than the longest window, so a reader only has to retry if the
+ * writer lapped it while it was reading, which a tick of a few reads cannot
+ * realistically take.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class TickSampler {
+
+    /** Ticks in one minute. */
+    public static final int TICKS_1M = 1200;
+    /** Ticks in five minutes. */
+    public static final int TICKS_5M = 6000;
+    /** Ticks in fifteen minutes. */
+    public static final int TICKS_15M = 18000;
+
+    private static final int SLACK = 64;
+    private static final int CAPACITY = TICKS_15M + SLACK + 1;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final int BUCKETS = 1000;
+    private static final int PUBLISH_INTERVAL = 20;
+
+    // cumulative[k % CAPACITY] is the sum of the first k durations
+    private final AtomicLongArray cumulative = new AtomicLongArray(CAPACITY);
+    private volatile long count;
+
+    // Writer-only state
+    private final int[] histogram = new int[BUCKETS];
+    private long lastTickNanos = -1;
+
+    private volatile double[] percentiles = new double[3];
+
+    /**
+     * Record the tick that started at a time, measured from the previous one.
+     *
+     * @param nowNanos {@link System#nanoTime()} at the start of the tick
+     */
+    public void tick(long nowNanos) {
+        if (lastTickNanos >= 0) {
+            record(nowNanos - lastTickNanos);
+        }
+        lastTickNanos = nowNanos;
+    }
+
+    /**
+     * Record one tick duration.
+     *
+     * @param durationNanos tick duration in nanoseconds
+     */
+    public void record(long durationNanos) {
+        long duration = Math.max(0L, durationNanos);
+        long c = count;
+        long next = c + 1;
+        cumulative.set(slot(next), cumulative.get(slot(c)) + duration);
+        histogram[bucket(duration)]++;
+        if (next > TICKS_1M) {
+            long leaving = next - TICKS_1M;
+            histogram[bucket(cumulative.get(slot(leaving)) - cumulative.get(slot(leaving - 1)))]--;
+        }
+        count = next;
+        if (next % PUBLISH_INTERVAL == 0) {
+            publishPercentiles((int) Math.min(next, TICKS_1M));
+        }
+    }
+
+    /**
+     * Get the number of ticks recorded since creation.
+     *
+     * @return ticks recorded
+     */
+    public long getSampleCount() {
+        return count;
+    }
+
+    /**
+     * Get the average tick duration over the latest ticks.
+     *
+     * @param ticks window in ticks, at most {@link #TICKS_15M}
+     * @return milliseconds per tick, 0 before the first sample
+     */
+    public double getAverageMillis(int ticks) {
+        int window = Math.min(ticks, TICKS_15M);
+        while (true) {
+            long c = count;
+            int n = (int) Math.min(window, c);
+            if (n <= 0) {
+                return 0.0;
+            }
+            long sum = cumulative.get(slot(c)) - cumulative.get(slot(c - n));
+            if (count - c < SLACK) {
+                return sum / (double) n / NANOS_PER_MILLI;
+            }
+        }
+    }
+
+    /**
+     * Get the TPS over the latest ticks.
+     *
+     * @param ticks window in ticks, at most {@link #TICKS_15M}
+     * @return ticks per second capped at 20.0, or 20.0 before the first sample
+     */
+    public double getTps(int ticks) {
+        double millis = getAverageMillis(ticks);
+        if (millis <= 0) {
+            return 20.0;
+        }
+        return 1000.0 / Math.max(millis, 50.0);
+    }
+
+    /**
+     * Get the tick interval percentiles of the last minute.
+     * Updated once per second at 1ms resolution.
+     *
+     * @return p50, p95 and p99 in milliseconds
+     */
+    public double[] getPercentiles() {
+        return percentiles.clone();
+    }
+
+    private void publishPercentiles(int samples) {
+        double[] result = new double[3];
+        long[] ranks = {
+            (long) Math.ceil(samples * 0.50),
+            (long) Math.ceil(samples * 0.95),
+            (long) Math.ceil(samples * 0.99)
+        };
+        int found = 0;
+        long seen = 0;
+        for (int i = 0; i < BUCKETS && found < ranks.length; i++) {
+            seen += histogram[i];
+            while (found < ranks.length && seen >= ranks[found]) {
+                result[found++] = i;
+            }
+        }
+        percentiles = result;
+    }
+
+    private static int slot(long index) {
+        return (int) (index % CAPACITY);
+    }
+
+    private static int bucket(long durationNanos) {
+        return (int) Math.min(BUCKETS - 1, durationNanos / NANOS_PER_MILLI);
+    }
+}
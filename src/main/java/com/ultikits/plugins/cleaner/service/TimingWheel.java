@@ -0,0 +1,374 @@
+package com.ultikits.plugins.cleaner.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Hierarchical timing wheel for tick-based timers.
+ * <p>
+ * Four levels of 64 slots cover about 2^24 ticks. Scheduling, cancelling and
+ * changing a period are O(1); a timer placed on a coarse level is cascaded
+ * down to finer levels as its expiry approaches. Run time is accounted per
+ * timer name.
+ * </p>
+ * <p>
+ * A task that throws, even an {@link Error} such as a missing soft
+ * dependency class, is reported to the error handler, so the other timers
+ * of the same slot still run. Repeating timers
+ * keep their schedule and try again next period; steps scheduled with
+ * {@link #scheduleUntil(String, long, BooleanSupplier)} are finite, so a
+ * throwing step is cancelled instead of failing on every tick.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class TimingWheel {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELAY = (1L << (BITS * LEVELS)) - 1;
+
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<Timer>[][] wheels = new ArrayDeque[LEVELS][SLOTS];
+    private final Set<Timer> active = new LinkedHashSet<>();
+    private final Map<String, TaskStats> stats = new LinkedHashMap<>();
+    private final BiConsumer<String, Throwable> errorHandler;
+    private long base;
+
+    /**
+     * Create a new TimingWheel.
+     *
+     * @param startTick    first tick the wheel will process
+     * @param errorHandler receives the timer name and exception when a task throws; may be null
+     */
+    public TimingWheel(long startTick, BiConsumer<String, Throwable> errorHandler) {
+        this.base = startTick;
+        this.errorHandler = errorHandler;
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheels[level][slot] = new ArrayDeque<>();
+            }
+        }
+    }
+
+    /**
+     * Run a task every period ticks, first after one period.
+     *
+     * @param name   timer name used for cost accounting
+     * @param period ticks between runs, at least 1
+     * @param task   task to run
+     * @return timer handle
+     */
+    public Timer schedule(String name, long period, Runnable task) {
+        return schedule(name, period, period, task);
+    }
+
+    /**
+     * Run a task every period ticks, first after a delay.
+     *
+     * @param name   timer name used for cost accounting
+     * @param delay  ticks before the first run, at least 1
+     * @param period ticks between runs, at least 1
+     * @param task   task to run
+     * @return timer handle
+     */
+    public Timer schedule(String name, long delay, long period, Runnable task) {
+        return add(new Timer(name, period, () -> {
+            task.run();
+            return false;
+        }, true, statsFor(name)), delay);
+    }
+
+    /**
+     * Run a step every period ticks until it reports that it is done.
+     * A step that throws is cancelled.
+     *
+     * @param name   timer name used for cost accounting
+     * @param period ticks between runs, at least 1
+     * @param step   step returning true when finished
+     * @return timer handle
+     */
+    public Timer scheduleUntil(String name, long period, BooleanSupplier step) {
+        Timer timer = new Timer(name, period, step, false, statsFor(name));
+        return add(timer, timer.period);
+    }
+
+    /**
+     * Cancel every timer with a name.
+     *
+     * @param name timer name
+     * @return number of timers cancelled
+     */
+    public int cancel(String name) {
+        int cancelled = 0;
+        for (Timer timer : new ArrayList<>(active)) {
+            if (timer.name.equals(name)) {
+                timer.cancel();
+                cancelled++;
+            }
+        }
+        return cancelled;
+    }
+
+    /**
+     * Run every timer due up to and including a tick.
+     *
+     * @param tick current tick
+     */
+    public void advance(long tick) {
+        while (base <= tick) {
+            int index = (int) (base & MASK);
+            if (index == 0) {
+                cascadeFrom(1);
+            }
+            ArrayDeque<Timer> due = wheels[0][index];
+            wheels[0][index] = new ArrayDeque<>();
+            long now = base;
+            base++;
+            for (Timer timer : due) {
+                run(timer, now);
+            }
+        }
+    }
+
+    /**
+     * Get the timers that are still scheduled.
+     *
+     * @return unmodifiable view of active timers
+     */
+    public Collection<Timer> getTimers() {
+        return Collections.unmodifiableSet(active);
+    }
+
+    /**
+     * Get the run time accounting of every timer name seen so far.
+     *
+     * @return stats in first-scheduled order
+     */
+    public Collection<TaskStats> getStats() {
+        return Collections.unmodifiableCollection(stats.values());
+    }
+
+    private Timer add(Timer timer, long delay) {
+        timer.expiry = base + Math.max(1L, delay) - 1;
+        active.add(timer);
+        place(timer);
+        return timer;
+    }
+
+    private TaskStats statsFor(String name) {
+        return stats.computeIfAbsent(name, TaskStats::new);
+    }
+
+    private void run(Timer timer, long now) {
+        if (timer.cancelled) {
+            return;
+        }
+        long start = System.nanoTime();
+        boolean done;
+        try {
+            done = timer.step.getAsBoolean();
+        } catch (Throwable e) {
+            timer.stats.errors++;
+            if (errorHandler != null) {
+                errorHandler.accept(timer.name, e);
+            }
+            done = !timer.repeating;
+        }
+        timer.stats.record(System.nanoTime() - start);
+
+        if (done || timer.cancelled) {
+            timer.cancel();
+            return;
+        }
+        timer.expiry = now + timer.period;
+        place(timer);
+    }
+
+    /**
+     * Move the timers of the current slot on a level down, then continue upward if that level wrapped.
+     */
+    private void cascadeFrom(int level) {
+        if (level >= LEVELS) {
+            return;
+        }
+        int index = (int) ((base >> (BITS * level)) & MASK);
+        ArrayDeque<Timer> slot = wheels[level][index];
+        wheels[level][index] = new ArrayDeque<>();
+        for (Timer timer : slot) {
+            if (!timer.cancelled) {
+                place(timer);
+            }
+        }
+        if (index == 0) {
+            cascadeFrom(level + 1);
+        }
+    }
+
+    private void place(Timer timer) {
+        long delay = timer.expiry - base;
+        if (delay < 0) {
+            delay = 0;
+            timer.expiry = base;
+        } else if (delay > MAX_DELAY) {
+            delay = MAX_DELAY;
+            timer.expiry = base + MAX_DELAY;
+        }
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= (1L << (BITS * (level + 1)))) {
+            level++;
+        }
+        wheels[level][(int) ((timer.expiry >> (BITS * level)) & MASK)].add(timer);
+    }
+
+    /**
+     * Handle of a scheduled timer.
+     */
+    public final class Timer {
+        private final String name;
+        private final BooleanSupplier step;
+        private final boolean repeating;
+        private final TaskStats stats;
+        private long period;
+        private long expiry;
+        private boolean cancelled;
+
+        Timer(String name, long period, BooleanSupplier step, boolean repeating, TaskStats stats) {
+            this.name = name;
+            this.period = Math.max(1L, period);
+            this.step = step;
+            this.repeating = repeating;
+            this.stats = stats;
+        }
+
+        /**
+         * Get the timer name.
+         *
+         * @return name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Get the ticks between runs.
+         *
+         * @return period
+         */
+        public long getPeriod() {
+            return period;
+        }
+
+        /**
+         * Change the ticks between runs, effective after the next run.
+         *
+         * @param period new period, at least 1
+         */
+        public void setPeriod(long period) {
+            this.period = Math.max(1L, period);
+        }
+
+        /**
+         * Check if the timer was cancelled or finished.
+         *
+         * @return true if it will not run again
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Stop the timer. Its slot entry is skipped lazily.
+         */
+        public void cancel() {
+            cancelled = true;
+            active.remove(this);
+        }
+    }
+
+    /**
+     * Run time accounting for all timers sharing a name.
+     */
+    public static final class TaskStats {
+        private final String name;
+        private long runs;
+        private long totalNanos;
+        private long maxNanos;
+        private long errors;
+
+        TaskStats(String name) {
+            this.name = name;
+        }
+
+        void record(long nanos) {
+            runs++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        /**
+         * Get the timer name.
+         *
+         * @return name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Get how many times the task ran.
+         *
+         * @return run count
+         */
+        public long getRuns() {
+            return runs;
+        }
+
+        /**
+         * Get the total run time.
+         *
+         * @return nanoseconds
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * Get the longest single run.
+         *
+         * @return nanoseconds
+         */
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * Get the average run time.
+         *
+         * @return nanoseconds, 0 before the first run
+         */
+        public long getAverageNanos() {
+            return runs > 0 ? totalNanos / runs : 0L;
+        }
+
+        /**
+         * Get how many runs threw an exception.
+         *
+         * @return error count
+         */
+        public long getErrors() {
+            return errors;
+        }
+    }
+}
@@ -4,7 +4,6 @@ import com.ultikits.plugins.cleaner.config.CleanerConfig;
 import com.ultikits.plugins.cleaner.utils.ServerTypeUtil;
 import com.ultikits.ultitools.abstracts.UltiToolsPlugin;
 import com.ultikits.ultitools.annotations.Autowired;
-import com.ultikits.ultitools.annotations.Scheduled;
 import com.ultikits.ultitools.annotations.Service;
 
 /**
@@ -22,58 +21,86 @@ public class TpsAwareScheduler {
 
     @Autowired
     private CleanerConfig config;
+
+    @Autowired
+    private TickClock tickClock;
     
-    // Fallback TPS calculation
-    private long lastTickTime = System.currentTimeMillis();
-    private final double[] tpsHistory1m = new double[60];
-    private final double[] tpsHistory5m = new double[300];
-    private final double[] tpsHistory15m = new double[900];
-    private int historyIndex = 0;
-    private boolean fallbackMonitorEnabled = false;
+    private static final String TIMER_TPS_SAMPLE = "tps-sample";
+    private static final String TIMER_TICK_SAMPLE = "tick-sample";
+
+    // Tick intervals, also the TPS source when there is no native TPS
+    private final TickSampler tickSampler = new TickSampler();
+
+    // Figures shared by every reader within one tick
+    private volatile TpsSnapshot snapshot;
+
+    // MSPT feedback control
+    private MsptController msptController;
     
     /**
      * Initialize the TPS monitor.
      */
     public void init() {
-        // Enable fallback monitoring if native TPS is not available
-        fallbackMonitorEnabled = !ServerTypeUtil.hasTpsMethod();
-        if (fallbackMonitorEnabled) {
-            lastTickTime = System.currentTimeMillis();
+        boolean msptControl = config.isMsptControlEnabled();
+        if (msptControl && !ServerTypeUtil.hasTickTimeMethod()) {
+            // Spigot only shows tick intervals, which include idle time and never drop below 50ms
+            plugin.getLogger().info("MSPT control needs the server's tick time (Paper); using the TPS steps instead.");
+            msptControl = false;
+        }
+        msptController = msptControl
+            ? new MsptController(config.getTargetMspt(), config.getMsptMaxReduction())
+            : null;
+        if (tickClock != null) {
+            tickClock.cancel(TIMER_TICK_SAMPLE);
+            tickClock.cancel(TIMER_TPS_SAMPLE);
+            tickClock.schedule(TIMER_TICK_SAMPLE, 1, () -> tickSampler.tick(System.nanoTime()));
+            tickClock.schedule(TIMER_TPS_SAMPLE, 20, this::updateMspt);
         }
         plugin.getLogger().info("TPS monitor initialized. Server: " + ServerTypeUtil.getServerSoftware());
     }
 
     /**
      * Shutdown the TPS monitor.
-     * Note: @Scheduled tasks are automatically cancelled by the framework.
      */
     public void shutdown() {
-        // No manual task cancellation needed
+        if (tickClock != null) {
+            tickClock.cancel(TIMER_TICK_SAMPLE);
+            tickClock.cancel(TIMER_TPS_SAMPLE);
+        }
     }
     
     /**
-     * Update fallback TPS calculation.
-     * Runs every second (20 ticks) for servers without native TPS API.
+     * Feed the MSPT controller one sample of the server's own tick time.
+     * The controller only exists where the server reports it (Paper); a
+     * sample that cannot be read is skipped.
      */
-    @Scheduled(period = 20, async = false)
-    public void updateFallbackTps() {
-        if (!fallbackMonitorEnabled) {
+    public void updateMspt() {
+        if (msptController == null) {
             return;
         }
+        double mspt = getSnapshot().getAverageTickTime();
+        if (mspt >= 0) {
+            msptController.update(mspt);
+        }
+    }
 
-        long now = System.currentTimeMillis();
-        long diff = now - lastTickTime;
-        lastTickTime = now;
-        
-        // Calculate TPS (1000ms / actual ms per tick)
-        double tps = 1000.0 / Math.max(diff / 20.0, 50.0);
-        tps = Math.min(tps, 20.0);
-        
-        // Store in history
-        tpsHistory1m[historyIndex % 60] = tps;
-        tpsHistory5m[historyIndex % 300] = tps;
-        tpsHistory15m[historyIndex % 900] = tps;
-        historyIndex++;
+    /**
+     * Get the MSPT controller.
+     *
+     * @return controller, or null if MSPT control is disabled or the server has no tick time
+     */
+    public MsptController getMsptController() {
+        return msptController;
+    }
+
+    /**
+     * Get the tick interval sampler.
+     * Safe to read from any thread.
+     *
+     * @return tick sampler
+     */
+    public TickSampler getTickSampler() {
+        return tickSampler;
     }
     
     /**
@@ -86,53 +113,42 @@ public class TpsAwareScheduler {
             return 20.0; // Return perfect TPS if adaptive is disabled
         }
         
-        // Try native TPS first
-        double[] nativeTps = ServerTypeUtil.getServerTps();
-        if (nativeTps != null && nativeTps.length >= 3) {
-            return getTpsBySampleWindow(nativeTps);
-        }
-        
-        // Fallback to calculated TPS
-        return getTpsBySampleWindow(calculateFallbackTps());
+        return getSnapshot().getTps(config.getTpsSampleWindow());
     }
     
     /**
-     * Get TPS value based on configured sample window.
+     * Get the TPS figures of the current tick.
+     * Taken on the first call in a tick and shared by every later call in
+     * the same tick, so it is cheap to call as often as needed from any
+     * thread. Without a tick clock a fresh snapshot is taken on every call.
+     * 
+     * @return snapshot of the current tick
      */
-    private double getTpsBySampleWindow(double[] tps) {
-        String window = config.getTpsSampleWindow();
-        switch (window.toLowerCase()) {
-            case "5m":
-                return tps.length > 1 ? tps[1] : tps[0];
-            case "15m":
-                return tps.length > 2 ? tps[2] : tps[0];
-            case "1m":
-            default:
-                return tps[0];
+    public TpsSnapshot getSnapshot() {
+        long tick = tickClock != null ? tickClock.getCurrentTick() : -1;
+        TpsSnapshot cached = snapshot;
+        if (cached != null && tick >= 0 && cached.getTick() == tick) {
+            return cached;
         }
+        TpsSnapshot fresh = takeSnapshot(tick);
+        snapshot = fresh;
+        return fresh;
     }
     
     /**
-     * Calculate fallback TPS values.
-     */
-    private double[] calculateFallbackTps() {
-        double[] tps = new double[3];
-        tps[0] = calculateAverage(tpsHistory1m, Math.min(historyIndex, 60));
-        tps[1] = calculateAverage(tpsHistory5m, Math.min(historyIndex, 300));
-        tps[2] = calculateAverage(tpsHistory15m, Math.min(historyIndex, 900));
-        return tps;
-    }
-    
-    /**
-     * Calculate average from history array.
+     * Read native TPS if the server has it, otherwise the tick sampler.
      */
-    private double calculateAverage(double[] history, int count) {
-        if (count <= 0) return 20.0;
-        double sum = 0;
-        for (int i = 0; i < count; i++) {
-            sum += history[i];
+    private TpsSnapshot takeSnapshot(long tick) {
+        double averageTickTime = ServerTypeUtil.getAverageTickTime();
+        double[] nativeTps = ServerTypeUtil.getServerTps();
+        if (nativeTps != null && nativeTps.length >= 3) {
+            return new TpsSnapshot(tick, nativeTps[0], nativeTps[1], nativeTps[2], averageTickTime, true);
         }
-        return sum / count;
+        return new TpsSnapshot(tick,
+            tickSampler.getTps(TickSampler.TICKS_1M),
+            tickSampler.getTps(TickSampler.TICKS_5M),
+            tickSampler.getTps(TickSampler.TICKS_15M),
+            averageTickTime, false);
     }
     
     /**
@@ -163,6 +179,9 @@ public class TpsAwareScheduler {
         if (!config.isTpsAdaptiveEnabled()) {
             return 1.0;
         }
+        if (msptController != null) {
+            return msptController.getMultiplier();
+        }
         
         if (isCriticalTps()) {
             return 1.0 - (config.getCriticalTpsReduction() / 100.0);
@@ -182,6 +201,21 @@ public class TpsAwareScheduler {
         return (int) (originalThreshold * getThresholdMultiplier());
     }
     
+    /**
+     * Scale the chunk unload batch size with the MSPT controller.
+     * Unloading a chunk costs tick time itself, so under lag fewer chunks are
+     * unloaded per tick; the configured size is never exceeded.
+     *
+     * @param configured configured batch size
+     * @return scaled batch size, at least 1, or the configured one without MSPT control
+     */
+    public int scaleUnloadBatch(int configured) {
+        if (msptController == null || !config.isTpsAdaptiveEnabled()) {
+            return configured;
+        }
+        return Math.max(1, (int) (configured * msptController.getMultiplier()));
+    }
+
     /**
      * Get TPS status description.
      * 
@@ -0,0 +1,112 @@
+package com.ultikits.plugins.cleaner.service;
+
+/**
+ * Server performance figures taken once per tick.
+ * <p>
+ * Obtained from {@link TpsAwareScheduler#getSnapshot()}. Every caller in the
+ * same tick shares one instance, so reading TPS repeatedly costs nothing.
+ * Instances are immutable and safe to pass to other threads.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public final class TpsSnapshot {
+
+    private final long tick;
+    private final double tps1m;
+    private final double tps5m;
+    private final double tps15m;
+    private final double averageTickTime;
+    private final boolean nativeTps;
+
+    /**
+     * Create a new TpsSnapshot.
+     *
+     * @param tick            tick the snapshot was taken in
+     * @param tps1m           1 minute TPS
+     * @param tps5m           5 minute TPS
+     * @param tps15m          15 minute TPS
+     * @param averageTickTime server-reported milliseconds per tick, or -1 if not reported
+     * @param nativeTps       true if the TPS came from the server rather than the tick sampler
+     */
+    public TpsSnapshot(long tick, double tps1m, double tps5m, double tps15m,
+                       double averageTickTime, boolean nativeTps) {
+        this.tick = tick;
+        this.tps1m = tps1m;
+        this.tps5m = tps5m;
+        this.tps15m = tps15m;
+        this.averageTickTime = averageTickTime;
+        this.nativeTps = nativeTps;
+    }
+
+    /**
+     * Get the tick the snapshot was taken in.
+     *
+     * @return tick number, or -1 if taken without a tick clock
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Get the 1 minute TPS.
+     *
+     * @return ticks per second
+     */
+    public double getTps1m() {
+        return tps1m;
+    }
+
+    /**
+     * Get the 5 minute TPS.
+     *
+     * @return ticks per second
+     */
+    public double getTps5m() {
+        return tps5m;
+    }
+
+    /**
+     * Get the 15 minute TPS.
+     *
+     * @return ticks per second
+     */
+    public double getTps15m() {
+        return tps15m;
+    }
+
+    /**
+     * Get the TPS for a sample window name.
+     *
+     * @param window "1m", "5m" or "15m"; anything else means 1m
+     * @return ticks per second
+     */
+    public double getTps(String window) {
+        if ("5m".equalsIgnoreCase(window)) {
+            return tps5m;
+        }
+        if ("15m".equalsIgnoreCase(window)) {
+            return tps15m;
+        }
+        return tps1m;
+    }
+
+    /**
+     * Get the server-reported average tick time (Paper).
+     *
+     * @return milliseconds per tick, or -1 if the server does not report it
+     */
+    public double getAverageTickTime() {
+        return averageTickTime;
+    }
+
+    /**
+     * Check if the TPS came from the server's own counter.
+     *
+     * @return true for server TPS, false for the plugin's tick sampler
+     */
+    public boolean isNativeTps() {
+        return nativeTps;
+    }
+}
@@ -0,0 +1,178 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.config.CleanerConfig;
+import com.ultikits.plugins.cleaner.utils.FoliaSchedulers;
+import com.ultikits.plugins.cleaner.utils.ServerTypeUtil;
+import com.ultikits.ultitools.abstracts.UltiToolsPlugin;
+import com.ultikits.ultitools.annotations.Autowired;
+import com.ultikits.ultitools.annotations.Service;
+import org.bukkit.Bukkit;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.util.io.BukkitObjectInputStream;
+import org.bukkit.util.io.BukkitObjectOutputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Recycling bin for items removed by the cleaner.
+ * <p>
+ * The removal tick only queues the stacks; serialization into the
+ * {@link TrashStore} ring happens on an async task. Stacks are decoded again
+ * only when restored. The bin lives for one server run: the store starts
+ * empty on the first capture and evicts the oldest stacks when full.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+@Service
+public class TrashBin {
+
+    @Autowired
+    private UltiToolsPlugin plugin;
+
+    @Autowired
+    private CleanerConfig config;
+
+    /** Largest store, matching the upper bound of bin.size-mb. */
+    private static final long MAX_STORE_BYTES = 512L * 1024 * 1024;
+
+    private final Plugin bukkitPlugin = Bukkit.getPluginManager().getPlugin("UltiTools");
+
+    private final Queue<ItemStack> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private volatile TrashStore store;
+
+    /**
+     * Check if removed items are kept.
+     *
+     * @return true if the bin is enabled
+     */
+    public boolean isEnabled() {
+        return config.isBinEnabled();
+    }
+
+    /**
+     * Queue a removed stack for storage. Called from the removal tick, or on
+     * Folia from the region thread that owned the item; any thread may call it.
+     *
+     * @param stack removed item stack
+     */
+    public void capture(ItemStack stack) {
+        if (stack == null || !config.isBinEnabled()) {
+            return;
+        }
+        pending.add(stack);
+        if (flushScheduled.compareAndSet(false, true)) {
+            if (ServerTypeUtil.isFolia()) {
+                FoliaSchedulers.runAsync(bukkitPlugin, this::flush);
+            } else {
+                Bukkit.getScheduler().runTaskAsynchronously(bukkitPlugin, this::flush);
+            }
+        }
+    }
+
+    /**
+     * Serialize every queued stack into the store.
+     */
+    void flush() {
+        flushScheduled.set(false);
+        TrashStore target = getStore();
+        long now = System.currentTimeMillis();
+        ItemStack stack;
+        while ((stack = pending.poll()) != null) {
+            try {
+                target.append(encode(stack), stack.getType(), stack.getAmount(), now);
+            } catch (IOException | RuntimeException e) {
+                plugin.getLogger().warn("Failed to store removed item " + stack.getType() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * List one page of stored items, newest first.
+     *
+     * @param page     zero-based page number
+     * @param pageSize entries per page
+     * @return entries on the page
+     */
+    public List<TrashStore.Entry> page(int page, int pageSize) {
+        TrashStore current = store;
+        return current != null ? current.page(page, pageSize) : Collections.emptyList();
+    }
+
+    /**
+     * Get the number of stored items.
+     *
+     * @return entry count
+     */
+    public int size() {
+        TrashStore current = store;
+        return current != null ? current.size() : 0;
+    }
+
+    /**
+     * Take a stored item out of the bin.
+     *
+     * @param id entry id
+     * @return decoded stack, or null if it was evicted, taken or unreadable
+     */
+    public ItemStack restore(long id) {
+        TrashStore current = store;
+        if (current == null) {
+            return null;
+        }
+        byte[] data = current.read(id);
+        if (data == null) {
+            return null;
+        }
+        try {
+            ItemStack stack = decode(data);
+            // Another restore may have taken it while decoding
+            return current.remove(id) ? stack : null;
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            plugin.getLogger().warn("Failed to restore item #" + id + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private TrashStore getStore() {
+        if (store == null) {
+            synchronized (this) {
+                if (store == null) {
+                    long bytes = Math.max(1L, config.getBinSizeMb()) * 1024L * 1024L;
+                    int capacity = (int) Math.min(bytes, MAX_STORE_BYTES);
+                    store = TrashStore.open(new File(bukkitPlugin.getDataFolder(), "UltiCleaner/trash.bin"), capacity);
+                }
+            }
+        }
+        return store;
+    }
+
+    void setStore(TrashStore store) {
+        this.store = store;
+    }
+
+    private static byte[] encode(ItemStack stack) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (BukkitObjectOutputStream out = new BukkitObjectOutputStream(bytes)) {
+            out.writeObject(stack);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ItemStack decode(byte[] data) throws IOException, ClassNotFoundException {
+        try (BukkitObjectInputStream in = new BukkitObjectInputStream(new ByteArrayInputStream(data))) {
+            return (ItemStack) in.readObject();
+        }
+    }
+}
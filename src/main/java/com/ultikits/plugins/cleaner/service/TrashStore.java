@@ -0,0 +1,254 @@
+package com.ultikits.plugins.cleaner.service;
+
+import org.bukkit.Material;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed-size ring buffer of serialized item stacks.
+ * <p>
+ * Payloads live outside the heap, in a memory-mapped file or a direct buffer;
+ * only a small index of offsets, materials and amounts stays on the heap so
+ * pages can be listed without decoding anything. When the ring is full the
+ * oldest entries are overwritten first. Since restoring takes an entry out
+ * of the store, removal order is also use order, so this FIFO eviction is
+ * what an LRU would evict. The file only backs the mapping; the index is not
+ * written to it, so the store starts empty each time it is opened.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class TrashStore {
+
+    private final ByteBuffer buffer;
+    private final int capacity;
+    private final Deque<Entry> entries = new ArrayDeque<>();
+    private final Map<Long, Entry> byId = new HashMap<>();
+    private int writePos;
+    private long nextId = 1;
+    private int visible;
+
+    TrashStore(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.capacity = buffer.capacity();
+    }
+
+    /**
+     * Map a store onto a file, falling back to a direct buffer if mapping fails.
+     *
+     * @param file     backing file, overwritten
+     * @param capacity size in bytes
+     * @return new store
+     */
+    public static TrashStore open(File file, int capacity) {
+        try {
+            File parent = file.getParentFile();
+            if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+                throw new IOException("Cannot create " + parent);
+            }
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(capacity);
+                return new TrashStore(raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+            }
+        } catch (IOException | RuntimeException e) {
+            return new TrashStore(ByteBuffer.allocateDirect(capacity));
+        }
+    }
+
+    /**
+     * Append a serialized stack, evicting the oldest entries it overwrites.
+     *
+     * @param data     serialized item stack
+     * @param material item material, kept for listing
+     * @param amount   stack size, kept for listing
+     * @param time     removal time in epoch milliseconds
+     * @return entry id, or -1 if the payload is larger than the store
+     */
+    public synchronized long append(byte[] data, Material material, int amount, long time) {
+        int length = data.length;
+        if (length == 0 || length > capacity) {
+            return -1;
+        }
+        if (writePos + length > capacity) {
+            // Entries past the write position are the oldest; drop the tail gap and wrap
+            while (!entries.isEmpty() && entries.peekFirst().offset >= writePos) {
+                evictOldest();
+            }
+            writePos = 0;
+        }
+        while (!entries.isEmpty() && entries.peekFirst().offset >= writePos
+                && entries.peekFirst().offset < writePos + length) {
+            evictOldest();
+        }
+
+        ByteBuffer target = buffer.duplicate();
+        target.position(writePos);
+        target.put(data);
+
+        Entry entry = new Entry(nextId++, writePos, length, material, amount, time);
+        entries.addLast(entry);
+        byId.put(entry.id, entry);
+        visible++;
+        writePos += length;
+        return entry.id;
+    }
+
+    /**
+     * Read the payload of an entry.
+     *
+     * @param id entry id
+     * @return serialized stack, or null if evicted or taken
+     */
+    public synchronized byte[] read(long id) {
+        Entry entry = byId.get(id);
+        if (entry == null) {
+            return null;
+        }
+        byte[] data = new byte[entry.length];
+        ByteBuffer source = buffer.duplicate();
+        source.position(entry.offset);
+        source.get(data);
+        return data;
+    }
+
+    /**
+     * Hide an entry from listings; its space is reclaimed when the ring wraps over it.
+     *
+     * @param id entry id
+     * @return true if the entry was present
+     */
+    public synchronized boolean remove(long id) {
+        Entry entry = byId.remove(id);
+        if (entry == null) {
+            return false;
+        }
+        entry.removed = true;
+        visible--;
+        return true;
+    }
+
+    /**
+     * List one page of entries, newest first.
+     *
+     * @param page     zero-based page number
+     * @param pageSize entries per page
+     * @return entries on the page
+     */
+    public synchronized List<Entry> page(int page, int pageSize) {
+        if (page < 0 || pageSize <= 0) {
+            return Collections.emptyList();
+        }
+        List<Entry> result = new ArrayList<>(pageSize);
+        int skip = page * pageSize;
+        Iterator<Entry> it = entries.descendingIterator();
+        while (it.hasNext() && result.size() < pageSize) {
+            Entry entry = it.next();
+            if (entry.removed) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+            } else {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the number of entries that can still be restored.
+     *
+     * @return entry count
+     */
+    public synchronized int size() {
+        return visible;
+    }
+
+    /**
+     * Get the size of the ring.
+     *
+     * @return capacity in bytes
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private void evictOldest() {
+        Entry entry = entries.pollFirst();
+        if (!entry.removed) {
+            byId.remove(entry.id);
+            visible--;
+        }
+    }
+
+    /**
+     * Index record of one stored stack.
+     */
+    public static final class Entry {
+        private final long id;
+        private final int offset;
+        private final int length;
+        private final Material material;
+        private final int amount;
+        private final long time;
+        private boolean removed;
+
+        Entry(long id, int offset, int length, Material material, int amount, long time) {
+            this.id = id;
+            this.offset = offset;
+            this.length = length;
+            this.material = material;
+            this.amount = amount;
+            this.time = time;
+        }
+
+        /**
+         * Get the entry id used to restore it.
+         *
+         * @return entry id
+         */
+        public long getId() {
+            return id;
+        }
+
+        /**
+         * Get the item material.
+         *
+         * @return material
+         */
+        public Material getMaterial() {
+            return material;
+        }
+
+        /**
+         * Get the stack size.
+         *
+         * @return amount
+         */
+        public int getAmount() {
+            return amount;
+        }
+
+        /**
+         * Get when the item was removed.
+         *
+         * @return epoch milliseconds
+         */
+        public long getTime() {
+            return time;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.config.CleanerConfig;
+
+/**
+ * Cleanup schedule, thresholds and batch size of one world, with its countdowns.
+ * <p>
+ * Parsed from entries like {@code resource:item-interval=120,batch-size=100};
+ * settings that are left out fall back to the global config values.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public class WorldProfile {
+
+    private final String worldName;
+    private final int itemInterval;
+    private final int entityInterval;
+    private final int itemThreshold;
+    private final int mobThreshold;
+    private final int batchSize;
+
+    private int itemCountdown;
+    private int entityCountdown;
+    private long lastSmartCleanTime;
+
+    WorldProfile(String worldName, int itemInterval, int entityInterval,
+                 int itemThreshold, int mobThreshold, int batchSize) {
+        this.worldName = worldName;
+        this.itemInterval = itemInterval;
+        this.entityInterval = entityInterval;
+        this.itemThreshold = itemThreshold;
+        this.mobThreshold = mobThreshold;
+        this.batchSize = batchSize;
+        this.itemCountdown = itemInterval;
+        this.entityCountdown = entityInterval;
+    }
+
+    /**
+     * Parse a profile entry.
+     *
+     * @param entry  entry in WORLD:key=value,... form
+     * @param config global config supplying the defaults
+     * @return parsed profile
+     * @throws IllegalArgumentException if the entry is malformed
+     */
+    public static WorldProfile parse(String entry, CleanerConfig config) {
+        int colon = entry.indexOf(':');
+        if (colon <= 0) {
+            throw new IllegalArgumentException("missing world name");
+        }
+        String worldName = entry.substring(0, colon).trim();
+        int itemInterval = config.getItemCleanInterval();
+        int entityInterval = config.getEntityCleanInterval();
+        int itemThreshold = config.getItemMaxThreshold();
+        int mobThreshold = config.getMobMaxThreshold();
+        int batchSize = config.getCleanBatchSize();
+
+        for (String setting : entry.substring(colon + 1).split(",")) {
+            if (setting.trim().isEmpty()) {
+                continue;
+            }
+            String[] parts = setting.split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("expected key=value: " + setting.trim());
+            }
+            String key = parts[0].trim();
+            int value = Integer.parseInt(parts[1].trim());
+            if (value <= 0) {
+                throw new IllegalArgumentException(key + " must be positive");
+            }
+            switch (key) {
+                case "item-interval":
+                    itemInterval = value;
+                    break;
+                case "entity-interval":
+                    entityInterval = value;
+                    break;
+                case "item-threshold":
+                    itemThreshold = value;
+                    break;
+                case "mob-threshold":
+                    mobThreshold = value;
+                    break;
+                case "batch-size":
+                    batchSize = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown setting: " + key);
+            }
+        }
+        return new WorldProfile(worldName, itemInterval, entityInterval, itemThreshold, mobThreshold, batchSize);
+    }
+
+    /**
+     * Get the world this profile applies to.
+     *
+     * @return world name
+     */
+    public String getWorldName() {
+        return worldName;
+    }
+
+    /**
+     * Get the item cleanup interval.
+     *
+     * @return seconds
+     */
+    public int getItemInterval() {
+        return itemInterval;
+    }
+
+    /**
+     * Get the entity cleanup interval.
+     *
+     * @return seconds
+     */
+    public int getEntityInterval() {
+        return entityInterval;
+    }
+
+    /**
+     * Get the item count that triggers a smart clean of this world.
+     *
+     * @return item threshold
+     */
+    public int getItemThreshold() {
+        return itemThreshold;
+    }
+
+    /**
+     * Get the mob count that triggers a smart clean of this world.
+     *
+     * @return mob threshold
+     */
+    public int getMobThreshold() {
+        return mobThreshold;
+    }
+
+    /**
+     * Get the number of entities removed per tick.
+     *
+     * @return batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Get the seconds until the next item cleanup.
+     *
+     * @return item countdown
+     */
+    public int getItemCountdown() {
+        return itemCountdown;
+    }
+
+    /**
+     * Get the seconds until the next entity cleanup.
+     *
+     * @return entity countdown
+     */
+    public int getEntityCountdown() {
+        return entityCountdown;
+    }
+
+    int countDownItems() {
+        if (itemCountdown > 0) {
+            itemCountdown--;
+        }
+        return itemCountdown;
+    }
+
+    int countDownEntities() {
+        if (entityCountdown > 0) {
+            entityCountdown--;
+        }
+        return entityCountdown;
+    }
+
+    void resetItemCountdown() {
+        itemCountdown = itemInterval;
+    }
+
+    void resetEntityCountdown() {
+        entityCountdown = entityInterval;
+    }
+
+    long getLastSmartCleanTime() {
+        return lastSmartCleanTime;
+    }
+
+    void setLastSmartCleanTime(long lastSmartCleanTime) {
+        this.lastSmartCleanTime = lastSmartCleanTime;
+    }
+}
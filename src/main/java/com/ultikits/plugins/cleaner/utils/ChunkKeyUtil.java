@@ -0,0 +1,58 @@
+package com.ultikits.plugins.cleaner.utils;
+
+import org.bukkit.Location;
+
+/**
+ * Utility class for packing chunk coordinates into a single long key.
+ * The X coordinate occupies the low 32 bits and Z the high 32 bits.
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public final class ChunkKeyUtil {
+
+    private ChunkKeyUtil() {
+        // Utility class
+    }
+
+    /**
+     * Pack chunk coordinates into a long key.
+     *
+     * @param chunkX chunk X coordinate
+     * @param chunkZ chunk Z coordinate
+     * @return packed chunk key
+     */
+    public static long pack(int chunkX, int chunkZ) {
+        return (chunkX & 0xFFFFFFFFL) | ((chunkZ & 0xFFFFFFFFL) << 32);
+    }
+
+    /**
+     * Pack the chunk containing a location into a long key.
+     *
+     * @param location the location
+     * @return packed chunk key
+     */
+    public static long pack(Location location) {
+        return pack(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
+
+    /**
+     * Get chunk X coordinate from a packed key.
+     *
+     * @param key packed chunk key
+     * @return chunk X
+     */
+    public static int getX(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Get chunk Z coordinate from a packed key.
+     *
+     * @param key packed chunk key
+     * @return chunk Z
+     */
+    public static int getZ(long key) {
+        return (int) (key >>> 32);
+    }
+}
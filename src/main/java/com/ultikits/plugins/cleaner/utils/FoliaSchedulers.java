@@ -0,0 +1,199 @@
+package com.ultikits.plugins.cleaner.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.Consumer;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Bridge to the Folia region schedulers.
+ * <p>
+ * On Folia there is no main thread: every region ticks on its own thread and
+ * the Bukkit scheduler is unsupported. Work on entities and chunks must run
+ * on the region that owns them, and work that is not tied to a location runs
+ * on the global region. The scheduler API is not on the compile classpath,
+ * so it is called through method handles bound on first use, the same way
+ * {@link ServerTypeUtil} calls the optional Paper API.
+ * </p>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public final class FoliaSchedulers {
+
+    private static final String PACKAGE = "io.papermc.paper.threadedregions.scheduler.";
+
+    private FoliaSchedulers() {
+        // Utility class
+    }
+
+    /**
+     * Scheduler method handles with the scheduler lookup folded in.
+     * Null when the running API does not declare the method.
+     */
+    private static final class Handles {
+        static final MethodHandle GLOBAL_EXECUTE = adapt(
+            find("getGlobalRegionScheduler", "GlobalRegionScheduler", "execute", Plugin.class, Runnable.class),
+            MethodType.methodType(void.class, Plugin.class, Runnable.class));
+        static final MethodHandle GLOBAL_AT_FIXED_RATE = adapt(
+            find("getGlobalRegionScheduler", "GlobalRegionScheduler", "runAtFixedRate",
+                Plugin.class, Consumer.class, long.class, long.class),
+            MethodType.methodType(Object.class, Plugin.class, Consumer.class, long.class, long.class));
+        static final MethodHandle REGION_EXECUTE = adapt(
+            find("getRegionScheduler", "RegionScheduler", "execute",
+                Plugin.class, World.class, int.class, int.class, Runnable.class),
+            MethodType.methodType(void.class, Plugin.class, World.class, int.class, int.class, Runnable.class));
+        static final MethodHandle ASYNC_RUN_NOW = adapt(
+            find("getAsyncScheduler", "AsyncScheduler", "runNow", Plugin.class, Consumer.class),
+            MethodType.methodType(void.class, Plugin.class, Consumer.class));
+        static final MethodHandle CANCEL_TASK = adapt(
+            findTaskCancel(),
+            MethodType.methodType(void.class, Object.class));
+        static final MethodHandle IS_OWNED = findOwnership();
+
+        private static MethodHandle find(String getter, String scheduler, String name, Class<?>... params) {
+            try {
+                Class<?> type = Class.forName(PACKAGE + scheduler);
+                MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                MethodHandle instance = lookup.unreflect(Bukkit.class.getMethod(getter));
+                MethodHandle method = lookup.unreflect(type.getMethod(name, params));
+                return MethodHandles.collectArguments(method, 0, instance);
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return null;
+            }
+        }
+
+        private static MethodHandle findTaskCancel() {
+            try {
+                Class<?> type = Class.forName(PACKAGE + "ScheduledTask");
+                return MethodHandles.publicLookup().unreflect(type.getMethod("cancel"));
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return null;
+            }
+        }
+
+        private static MethodHandle findOwnership() {
+            try {
+                return MethodHandles.publicLookup().findStatic(Bukkit.class, "isOwnedByCurrentRegion",
+                    MethodType.methodType(boolean.class, World.class, int.class, int.class));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                return null;
+            }
+        }
+
+        private static MethodHandle adapt(MethodHandle handle, MethodType type) {
+            return handle != null ? handle.asType(type) : null;
+        }
+    }
+
+    /**
+     * Check if the region schedulers can be called.
+     *
+     * @return true if every scheduler method was bound
+     */
+    public static boolean isAvailable() {
+        return Handles.GLOBAL_EXECUTE != null
+            && Handles.GLOBAL_AT_FIXED_RATE != null
+            && Handles.REGION_EXECUTE != null
+            && Handles.ASYNC_RUN_NOW != null
+            && Handles.CANCEL_TASK != null;
+    }
+
+    /**
+     * Run a task on the global region on its next tick.
+     *
+     * @param plugin owning plugin
+     * @param task   task to run
+     */
+    public static void runGlobal(Plugin plugin, Runnable task) {
+        try {
+            Handles.GLOBAL_EXECUTE.invokeExact(plugin, task);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Global region scheduler unavailable", e);
+        }
+    }
+
+    /**
+     * Run a task on the global region every period ticks.
+     *
+     * @param plugin owning plugin
+     * @param task   task to run
+     * @param delay  ticks before the first run, at least 1
+     * @param period ticks between runs
+     * @return action that cancels the task
+     */
+    public static Runnable runGlobalAtFixedRate(Plugin plugin, Runnable task, long delay, long period) {
+        Consumer<Object> body = handle -> task.run();
+        Object scheduled;
+        try {
+            scheduled = (Object) Handles.GLOBAL_AT_FIXED_RATE.invokeExact(plugin, body,
+                Math.max(1L, delay), period);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Global region scheduler unavailable", e);
+        }
+        return () -> {
+            try {
+                Handles.CANCEL_TASK.invokeExact(scheduled);
+            } catch (Throwable e) {
+                // The server is shutting down and has dropped the task already
+            }
+        };
+    }
+
+    /**
+     * Run a task on the region that owns a chunk, on that region's next tick.
+     *
+     * @param plugin owning plugin
+     * @param world  world of the chunk
+     * @param chunkX chunk X coordinate
+     * @param chunkZ chunk Z coordinate
+     * @param task   task to run
+     */
+    public static void runAtChunk(Plugin plugin, World world, int chunkX, int chunkZ, Runnable task) {
+        try {
+            Handles.REGION_EXECUTE.invokeExact(plugin, world, chunkX, chunkZ, task);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Region scheduler unavailable", e);
+        }
+    }
+
+    /**
+     * Check if the current thread owns a chunk.
+     * A region can split or merge between scheduling and running a task, so
+     * tasks that touch several chunks check each one.
+     *
+     * @param world  world of the chunk
+     * @param chunkX chunk X coordinate
+     * @param chunkZ chunk Z coordinate
+     * @return true if owned, or if the server cannot tell
+     */
+    public static boolean isOwnedByCurrentRegion(World world, int chunkX, int chunkZ) {
+        if (Handles.IS_OWNED == null) {
+            return true;
+        }
+        try {
+            return (boolean) Handles.IS_OWNED.invokeExact(world, chunkX, chunkZ);
+        } catch (Throwable e) {
+            return true;
+        }
+    }
+
+    /**
+     * Run a task off every region thread.
+     *
+     * @param plugin owning plugin
+     * @param task   task to run
+     */
+    public static void runAsync(Plugin plugin, Runnable task) {
+        Consumer<Object> body = handle -> task.run();
+        try {
+            Handles.ASYNC_RUN_NOW.invokeExact(plugin, body);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Async scheduler unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.ultikits.plugins.cleaner.utils;
+
+/**
+ * What the running server supports beyond the Spigot API.
+ * <p>
+ * Resolved once by {@link ServerTypeUtil#init()} when the plugin enables.
+ * Each optional API is only reported as available if its method handle
+ * could be bound, so callers never need to handle a missing method.
+ * </p>
+ *
+ * <pre>
+ *            getTPS  getAverageTickTime  getChunkAtAsync  isEntitiesLoaded  region threads
+ * Spigot       -             -                 -                 -                -
+ * Paper        x             x                 x                 x                -
+ * Purpur       x             x                 x                 x                -
+ * Folia        x             x                 x                 x                x
+ * </pre>
+ *
+ * @author wisdomme
+ * @version 1.0.0
+ */
+public final class ServerCapabilities {
+
+    /**
+     * Server platform, most specific first. Purpur and Folia are Paper forks.
+     */
+    public enum Platform {
+        FOLIA,
+        PURPUR,
+        PAPER,
+        SPIGOT
+    }
+
+    private final Platform platform;
+    private final boolean modernPaper;
+    private final boolean tps;
+    private final boolean tickTime;
+    private final boolean asyncChunks;
+    private final boolean entityLoadState;
+
+    /**
+     * Create a new ServerCapabilities.
+     *
+     * @param platform        detected platform
+     * @param modernPaper     true for Paper 1.17+ (io.papermc configuration)
+     * @param tps             true if Server#getTPS is bound
+     * @param tickTime        true if Server#getAverageTickTime is bound
+     * @param asyncChunks     true if World#getChunkAtAsync is bound
+     * @param entityLoadState true if Chunk#isEntitiesLoaded is bound
+     */
+    public ServerCapabilities(Platform platform, boolean modernPaper, boolean tps, boolean tickTime,
+                              boolean asyncChunks, boolean entityLoadState) {
+        this.platform = platform;
+        this.modernPaper = modernPaper;
+        this.tps = tps;
+        this.tickTime = tickTime;
+        this.asyncChunks = asyncChunks;
+        this.entityLoadState = entityLoadState;
+    }
+
+    /**
+     * Get the detected platform.
+     *
+     * @return platform
+     */
+    public Platform getPlatform() {
+        return platform;
+    }
+
+    /**
+     * Check if the server is Paper or a Paper fork.
+     *
+     * @return true for Paper, Purpur and Folia
+     */
+    public boolean isPaper() {
+        return platform != Platform.SPIGOT;
+    }
+
+    /**
+     * Check if the server is modern Paper (1.17+).
+     *
+     * @return true if the io.papermc configuration is present
+     */
+    public boolean isModernPaper() {
+        return modernPaper;
+    }
+
+    /**
+     * Check if regions tick on their own threads.
+     *
+     * @return true on Folia
+     */
+    public boolean isFolia() {
+        return platform == Platform.FOLIA;
+    }
+
+    /**
+     * Check if the server reports its TPS.
+     *
+     * @return true if getTPS can be called
+     */
+    public boolean hasTps() {
+        return tps;
+    }
+
+    /**
+     * Check if the server reports its average tick time.
+     *
+     * @return true if getAverageTickTime can be called
+     */
+    public boolean hasTickTime() {
+        return tickTime;
+    }
+
+    /**
+     * Check if chunks can be loaded asynchronously.
+     *
+     * @return true if getChunkAtAsync can be called
+     */
+    public boolean hasAsyncChunks() {
+        return asyncChunks;
+    }
+
+    /**
+     * Check if the entity load state of a chunk can be queried.
+     *
+     * @return true if isEntitiesLoaded can be called
+     */
+    public boolean hasEntityLoadState() {
+        return entityLoadState;
+    }
+
+    /**
+     * Describe the capabilities for the startup log.
+     *
+     * @return one line summary
+     */
+    public String describe() {
+        return platform + " [tps=" + tps + ", tickTime=" + tickTime + ", asyncChunks=" + asyncChunks
+            + ", entityLoadState=" + entityLoadState + ", regionThreads=" + isFolia() + "]";
+    }
+}
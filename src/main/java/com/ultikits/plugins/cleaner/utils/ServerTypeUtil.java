@@ -1,88 +1,151 @@
 package com.ultikits.plugins.cleaner.utils;
 
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.concurrent.CompletableFuture;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
+import org.bukkit.Server;
 import org.bukkit.World;
 
 /**
  * Utility class for detecting server type and providing compatibility methods.
- * Supports Paper, Spigot, and other Bukkit-based servers.
+ * Supports Paper, Purpur, Folia, Spigot, and other Bukkit-based servers.
+ * <p>
+ * Optional Paper API is called through method handles bound once against the
+ * Bukkit interfaces and kept in static finals, so hot paths such as
+ * {@link #isEntitiesLoaded(Chunk)} avoid reflective invoke, argument arrays
+ * and boxing. Which of them may be used is decided by the
+ * {@link ServerCapabilities} detected in {@link #init()}.
+ * </p>
  *
  * @author wisdomme
  * @version 1.0.0
  */
 public final class ServerTypeUtil {
-    
-    private static Boolean isPaper = null;
-    private static Boolean isModernPaper = null;
-    private static Boolean hasTpsMethod = null;
-    private static Method getTpsMethod = null;
-    private static Method getChunkAtAsyncMethod = null;
-    private static Method isEntitiesLoadedMethod = null;
-    
+
+    private static volatile ServerCapabilities capabilities = null;
+
     private ServerTypeUtil() {
         // Utility class
     }
-    
+
     /**
-     * Check if the server is running Paper or a Paper fork.
-     * 
-     * @return true if Paper is detected
+     * Method handles of the optional API, bound on first use.
+     * Null when the running API does not declare the method.
      */
-    public static boolean isPaper() {
-        if (isPaper == null) {
+    private static final class Handles {
+        static final MethodHandle GET_TPS = find(Server.class, "getTPS",
+            MethodType.methodType(double[].class));
+        static final MethodHandle GET_AVERAGE_TICK_TIME = find(Server.class, "getAverageTickTime",
+            MethodType.methodType(double.class));
+        static final MethodHandle GET_CHUNK_AT_ASYNC = find(World.class, "getChunkAtAsync",
+            MethodType.methodType(CompletableFuture.class, int.class, int.class));
+        static final MethodHandle IS_ENTITIES_LOADED = find(Chunk.class, "isEntitiesLoaded",
+            MethodType.methodType(boolean.class));
+
+        private static MethodHandle find(Class<?> owner, String name, MethodType type) {
             try {
-                Class.forName("com.destroystokyo.paper.PaperConfig");
-                isPaper = true;
-            } catch (ClassNotFoundException e) {
-                isPaper = false;
+                return MethodHandles.publicLookup().findVirtual(owner, name, type);
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                return null;
             }
         }
-        return isPaper;
     }
-    
+
+    /**
+     * Detect the server platform and bind the optional API.
+     * Called once when the plugin enables; later calls detect again.
+     *
+     * @return detected capabilities
+     */
+    public static ServerCapabilities init() {
+        boolean paper = classExists("com.destroystokyo.paper.PaperConfig")
+            || classExists("io.papermc.paper.configuration.Configuration");
+        ServerCapabilities.Platform platform;
+        if (classExists("io.papermc.paper.threadedregions.RegionizedServer")) {
+            platform = ServerCapabilities.Platform.FOLIA;
+        } else if (classExists("org.purpurmc.purpur.PurpurConfig")) {
+            platform = ServerCapabilities.Platform.PURPUR;
+        } else if (paper) {
+            platform = ServerCapabilities.Platform.PAPER;
+        } else {
+            platform = ServerCapabilities.Platform.SPIGOT;
+        }
+        boolean paperFamily = platform != ServerCapabilities.Platform.SPIGOT;
+        capabilities = new ServerCapabilities(
+            platform,
+            classExists("io.papermc.paper.configuration.Configuration"),
+            Handles.GET_TPS != null,
+            Handles.GET_AVERAGE_TICK_TIME != null,
+            paperFamily && Handles.GET_CHUNK_AT_ASYNC != null,
+            paperFamily && Handles.IS_ENTITIES_LOADED != null
+        );
+        return capabilities;
+    }
+
+    /**
+     * Get the detected capabilities, detecting them if not done yet.
+     *
+     * @return server capabilities
+     */
+    public static ServerCapabilities getCapabilities() {
+        ServerCapabilities current = capabilities;
+        return current != null ? current : init();
+    }
+
+    private static boolean classExists(String name) {
+        try {
+            Class.forName(name);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Check if the server is running Paper or a Paper fork.
+     *
+     * @return true if Paper is detected
+     */
+    public static boolean isPaper() {
+        return getCapabilities().isPaper();
+    }
+
     /**
      * Check if the server is running modern Paper (1.17+).
      * Modern Paper uses io.papermc package structure.
-     * 
+     *
      * @return true if modern Paper is detected
      */
     public static boolean isModernPaper() {
-        if (isModernPaper == null) {
-            try {
-                Class.forName("io.papermc.paper.configuration.Configuration");
-                isModernPaper = true;
-            } catch (ClassNotFoundException e) {
-                isModernPaper = false;
-            }
-        }
-        return isModernPaper;
+        return getCapabilities().isModernPaper();
+    }
+
+    /**
+     * Check if the server is running Folia (regionised multithreading).
+     *
+     * @return true if Folia is detected
+     */
+    public static boolean isFolia() {
+        return getCapabilities().isFolia();
     }
-    
+
     /**
      * Check if the server supports getTPS() method.
-     * 
+     *
      * @return true if getTPS is available
      */
     public static boolean hasTpsMethod() {
-        if (hasTpsMethod == null) {
-            try {
-                getTpsMethod = Bukkit.getServer().getClass().getMethod("getTPS");
-                hasTpsMethod = true;
-            } catch (NoSuchMethodException e) {
-                hasTpsMethod = false;
-            }
-        }
-        return hasTpsMethod;
+        return getCapabilities().hasTps();
     }
-    
+
     /**
-     * Get server TPS using reflection.
+     * Get server TPS.
      * Returns [1m, 5m, 15m] TPS values if available.
-     * 
+     *
      * @return TPS array or null if not available
      */
     public static double[] getServerTps() {
@@ -90,73 +153,97 @@ public final class ServerTypeUtil {
             return null;
         }
         try {
-            return (double[]) getTpsMethod.invoke(Bukkit.getServer());
-        } catch (Exception e) {
+            return (double[]) Handles.GET_TPS.invokeExact(Bukkit.getServer());
+        } catch (Throwable e) {
             return null;
         }
     }
-    
+
+    /**
+     * Check if the server reports its average tick time (Paper).
+     *
+     * @return true if getAverageTickTime is available
+     */
+    public static boolean hasTickTimeMethod() {
+        return getCapabilities().hasTickTime();
+    }
+
+    /**
+     * Get the average tick duration.
+     *
+     * @return milliseconds per tick, or -1 if not available
+     */
+    public static double getAverageTickTime() {
+        if (!hasTickTimeMethod()) {
+            return -1;
+        }
+        try {
+            return (double) Handles.GET_AVERAGE_TICK_TIME.invokeExact(Bukkit.getServer());
+        } catch (Throwable e) {
+            return -1;
+        }
+    }
+
     /**
      * Get chunk asynchronously if Paper is available.
      * Falls back to sync loading on Spigot.
-     * 
+     *
      * @param world the world
      * @param x chunk X coordinate
      * @param z chunk Z coordinate
      * @return CompletableFuture with the chunk
      */
     public static CompletableFuture<Chunk> getChunkAtAsync(World world, int x, int z) {
-        if (isPaper()) {
+        if (getCapabilities().hasAsyncChunks()) {
             try {
-                if (getChunkAtAsyncMethod == null) {
-                    getChunkAtAsyncMethod = World.class.getMethod("getChunkAtAsync", int.class, int.class);
-                }
                 @SuppressWarnings("unchecked")
-                CompletableFuture<Chunk> future = (CompletableFuture<Chunk>) getChunkAtAsyncMethod.invoke(world, x, z);
+                CompletableFuture<Chunk> future = (CompletableFuture<Chunk>) (CompletableFuture<?>)
+                    Handles.GET_CHUNK_AT_ASYNC.invokeExact(world, x, z);
                 return future;
-            } catch (Exception e) {
+            } catch (Throwable e) {
                 // Fall through to sync loading
             }
         }
-        
+
         // Fallback: sync loading wrapped in CompletableFuture
         return CompletableFuture.completedFuture(world.getChunkAt(x, z));
     }
-    
+
     /**
      * Check if chunk has entities loaded (Paper only).
      * Returns true on Spigot (assume entities are loaded if chunk is loaded).
-     * 
+     *
      * @param chunk the chunk to check
      * @return true if entities are loaded
      */
     public static boolean isEntitiesLoaded(Chunk chunk) {
-        if (isPaper()) {
+        if (getCapabilities().hasEntityLoadState()) {
             try {
-                if (isEntitiesLoadedMethod == null) {
-                    isEntitiesLoadedMethod = Chunk.class.getMethod("isEntitiesLoaded");
-                }
-                return (boolean) isEntitiesLoadedMethod.invoke(chunk);
-            } catch (Exception e) {
+                return (boolean) Handles.IS_ENTITIES_LOADED.invokeExact(chunk);
+            } catch (Throwable e) {
                 // Fall through to default
             }
         }
         // Spigot: assume entities are loaded if chunk is loaded
         return chunk.isLoaded();
     }
-    
+
     /**
      * Get server software name for logging.
-     * 
+     *
      * @return server software name
      */
     public static String getServerSoftware() {
-        if (isModernPaper()) {
-            return "Paper (Modern)";
-        } else if (isPaper()) {
-            return "Paper (Legacy)";
-        } else {
-            return "Spigot/CraftBukkit";
+        ServerCapabilities current = getCapabilities();
+        switch (current.getPlatform()) {
+            case FOLIA:
+                return "Folia";
+            case PURPUR:
+                return "Purpur";
+            case PAPER:
+                return current.isModernPaper() ? "Paper (Modern)" : "Paper (Legacy)";
+            default:
+                return "Spigot/CraftBukkit";
         }
     }
 }
@@ -2,6 +2,7 @@ package com.ultikits.plugins.cleaner;
 
 import com.ultikits.plugins.cleaner.service.ChunkUnloadService;
 import com.ultikits.plugins.cleaner.service.CleanerService;
+import com.ultikits.plugins.cleaner.service.TickClock;
 import com.ultikits.plugins.cleaner.service.TpsAwareScheduler;
 import com.ultikits.ultitools.context.SimpleContainer;
 import com.ultikits.ultitools.interfaces.impl.logger.PluginLogger;
@@ -62,6 +63,69 @@ class UltiCleanerTest {
         verify(logger).info("cleaner_disabled");
     }
 
+    @Test
+    @DisplayName("unregisterSelf should stop the global region tick driver")
+    void unregisterSelfStopsRegionDriver() throws Exception {
+        UltiCleaner plugin = mock(UltiCleaner.class);
+        PluginLogger logger = mock(PluginLogger.class);
+        SimpleContainer mockContext = mock(SimpleContainer.class);
+        TickClock tickClock = mock(TickClock.class);
+
+        when(plugin.getLogger()).thenReturn(logger);
+        when(plugin.i18n(anyString())).thenReturn("cleaner_disabled");
+        when(plugin.getContext()).thenReturn(mockContext);
+        when(mockContext.getBean(TickClock.class)).thenReturn(tickClock);
+        doCallRealMethod().when(plugin).unregisterSelf();
+
+        plugin.unregisterSelf();
+
+        verify(tickClock).stopRegionDriver();
+    }
+
+    @Test
+    @DisplayName("unregisterSelf should shut down every service")
+    void unregisterSelfShutsDownServices() throws Exception {
+        UltiCleaner plugin = mock(UltiCleaner.class);
+        PluginLogger logger = mock(PluginLogger.class);
+        SimpleContainer mockContext = mock(SimpleContainer.class);
+        CleanerService mockCleanerService = mock(CleanerService.class);
+        ChunkUnloadService mockChunkService = mock(ChunkUnloadService.class);
+        TpsAwareScheduler mockTpsScheduler = mock(TpsAwareScheduler.class);
+
+        when(plugin.getLogger()).thenReturn(logger);
+        when(plugin.i18n(anyString())).thenReturn("cleaner_disabled");
+        when(plugin.getContext()).thenReturn(mockContext);
+        when(mockContext.getBean(CleanerService.class)).thenReturn(mockCleanerService);
+        when(mockContext.getBean(ChunkUnloadService.class)).thenReturn(mockChunkService);
+        when(mockContext.getBean(TpsAwareScheduler.class)).thenReturn(mockTpsScheduler);
+        doCallRealMethod().when(plugin).unregisterSelf();
+
+        plugin.unregisterSelf();
+
+        verify(mockChunkService).shutdown();
+        verify(mockTpsScheduler).shutdown();
+        verify(mockCleanerService).shutdown();
+    }
+
+    @Test
+    @DisplayName("registerSelf should keep the main thread tick outside Folia")
+    void registerSelfWithoutFolia() throws Exception {
+        UltiCleaner plugin = mock(UltiCleaner.class);
+        PluginLogger logger = mock(PluginLogger.class);
+        SimpleContainer mockContext = mock(SimpleContainer.class);
+        TickClock tickClock = mock(TickClock.class);
+
+        when(plugin.getLogger()).thenReturn(logger);
+        when(plugin.i18n(anyString())).thenReturn("cleaner_enabled");
+        when(plugin.getContext()).thenReturn(mockContext);
+        when(mockContext.getBean(TickClock.class)).thenReturn(tickClock);
+        when(plugin.registerSelf()).thenCallRealMethod();
+
+        plugin.registerSelf();
+
+        verify(tickClock, never()).driveFromGlobalRegion(any());
+    }
+
     @Test
     @DisplayName("reloadSelf should reload CleanerService and log message")
     void reloadSelf() throws Exception {
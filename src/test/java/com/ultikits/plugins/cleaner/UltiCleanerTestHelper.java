@@ -1,6 +1,8 @@
 package com.ultikits.plugins.cleaner;
 
 import com.ultikits.plugins.cleaner.config.CleanerConfig;
+import com.ultikits.plugins.cleaner.utils.ServerCapabilities;
+import com.ultikits.plugins.cleaner.utils.ServerTypeUtil;
 import com.ultikits.ultitools.interfaces.DataOperator;
 import com.ultikits.ultitools.interfaces.impl.logger.PluginLogger;
 
@@ -96,13 +98,9 @@ public final class UltiCleanerTestHelper {
         // Mock online players - empty list by default
         lenient().when(mockServer.getOnlinePlayers()).thenReturn(Collections.emptyList());
 
-        // Mock ServerTypeUtil to avoid reflection on getClass()
-        // Set hasTpsMethod to false so it uses fallback TPS calculation
-        try {
-            setStaticField(Class.forName("com.ultikits.plugins.cleaner.utils.ServerTypeUtil"), "hasTpsMethod", false);
-        } catch (ClassNotFoundException e) {
-            // Ignore if class not found
-        }
+        // Plain Spigot without optional API, so TPS falls back to the tick sampler
+        setCapabilities(new ServerCapabilities(ServerCapabilities.Platform.SPIGOT,
+                false, false, false, false, false));
     }
 
     /**
@@ -114,18 +112,26 @@ public final class UltiCleanerTestHelper {
         if (mockWorlds != null) {
             mockWorlds.clear();
         }
-        // Reset ServerTypeUtil cached fields
-        try {
-            Class<?> serverTypeUtil = Class.forName("com.ultikits.plugins.cleaner.utils.ServerTypeUtil");
-            setStaticField(serverTypeUtil, "hasTpsMethod", null);
-            setStaticField(serverTypeUtil, "getTpsMethod", null);
-            setStaticField(serverTypeUtil, "isPaper", null);
-            setStaticField(serverTypeUtil, "isModernPaper", null);
-            setStaticField(serverTypeUtil, "getChunkAtAsyncMethod", null);
-            setStaticField(serverTypeUtil, "isEntitiesLoadedMethod", null);
-        } catch (Exception e) {
-            // Ignore if class or field not found
-        }
+        // Reset ServerTypeUtil detection
+        setCapabilities(null);
+    }
+
+    /**
+     * Replace the detected server capabilities.
+     *
+     * @param capabilities capabilities to use, or null to detect again
+     */
+    public static void setCapabilities(ServerCapabilities capabilities) throws Exception {
+        setStaticField(ServerTypeUtil.class, "capabilities", capabilities);
+    }
+
+    /**
+     * Pretend to run on a platform without any optional API.
+     *
+     * @param platform platform to simulate
+     */
+    public static void setPlatform(ServerCapabilities.Platform platform) throws Exception {
+        setCapabilities(new ServerCapabilities(platform, false, false, false, false, false));
     }
 
     public static UltiCleaner getMockPlugin() {
@@ -2,13 +2,28 @@ package com.ultikits.plugins.cleaner.commands;
 
 import com.ultikits.plugins.cleaner.UltiCleanerTestHelper;
 import com.ultikits.plugins.cleaner.service.ChunkUnloadService;
+import com.ultikits.plugins.cleaner.service.CleanCoordinator;
+import com.ultikits.plugins.cleaner.service.CleanJob;
 import com.ultikits.plugins.cleaner.service.CleanerService;
+import com.ultikits.plugins.cleaner.service.GrowthPredictor;
+import com.ultikits.plugins.cleaner.service.HotspotIndex;
+import com.ultikits.plugins.cleaner.service.TickClock;
+import com.ultikits.plugins.cleaner.service.TickSampler;
 import com.ultikits.plugins.cleaner.service.TpsAwareScheduler;
+import com.ultikits.plugins.cleaner.service.TrashBin;
+import com.ultikits.plugins.cleaner.service.TrashStore;
+import com.ultikits.plugins.cleaner.service.WorldProfile;
+import com.ultikits.plugins.cleaner.utils.ChunkKeyUtil;
 
+import org.bukkit.Material;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.File;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -66,14 +81,15 @@ class CleanCommandTest {
         }
 
         @Test
-        @DisplayName("Should show message when cleaning in progress")
+        @DisplayName("Should queue items behind a running cleanup")
         void cleaningInProgress() {
             when(cleanerService.isCleaningInProgress()).thenReturn(true);
+            when(cleanerService.forceCleanItems()).thenReturn(100);
 
             command.cleanItems(sender);
 
-            verify(cleanerService, never()).forceCleanItems();
-            verify(sender).sendMessage(anyString());
+            verify(cleanerService).forceCleanItems();
+            verify(sender).sendMessage(contains("加入清理队列"));
         }
     }
 
@@ -96,14 +112,15 @@ class CleanCommandTest {
         }
 
         @Test
-        @DisplayName("Should show message when cleaning in progress")
+        @DisplayName("Should queue entities behind a running cleanup")
         void cleaningInProgress() {
             when(cleanerService.isCleaningInProgress()).thenReturn(true);
+            when(cleanerService.forceCleanEntities()).thenReturn(50);
 
             command.cleanEntities(sender);
 
-            verify(cleanerService, never()).forceCleanEntities();
-            verify(sender).sendMessage(anyString());
+            verify(cleanerService).forceCleanEntities();
+            verify(sender).sendMessage(contains("加入清理队列"));
         }
     }
 
@@ -128,14 +145,15 @@ class CleanCommandTest {
         }
 
         @Test
-        @DisplayName("Should show message when cleaning in progress")
+        @DisplayName("Should queue both cleanups behind a running one")
         void cleaningInProgress() {
             when(cleanerService.isCleaningInProgress()).thenReturn(true);
 
             command.cleanAll(sender);
 
-            verify(cleanerService, never()).forceCleanItems();
-            verify(cleanerService, never()).forceCleanEntities();
+            verify(cleanerService).forceCleanItems();
+            verify(cleanerService).forceCleanEntities();
+            verify(sender).sendMessage(contains("加入清理队列"));
         }
     }
 
@@ -156,6 +174,16 @@ class CleanCommandTest {
             verify(sender).sendMessage(anyString());
         }
 
+        @Test
+        @DisplayName("Should report that Folia does not let plugins unload chunks")
+        void cleanChunksOnFolia() {
+            when(chunkUnloadService.forceUnloadChunks()).thenReturn(-1);
+
+            command.cleanChunks(sender);
+
+            verify(sender).sendMessage(contains("Folia"));
+        }
+
         @Test
         @DisplayName("Should show error when service not available")
         void serviceNotAvailable() {
@@ -207,6 +235,65 @@ class CleanCommandTest {
 
             verify(sender, atLeast(3)).sendMessage(anyString());
         }
+
+        @Test
+        @DisplayName("Should show growth rates once enough samples exist")
+        void displayGrowth() {
+            Map<String, Integer> counts = new HashMap<>();
+            counts.put("items", 100);
+            counts.put("mobs", 50);
+            counts.put("total", 200);
+            GrowthPredictor items = new GrowthPredictor(12);
+            GrowthPredictor mobs = new GrowthPredictor(12);
+            for (int i = 0; i < 3; i++) {
+                items.record(i * 5000L, 100 + i * 50);
+                mobs.record(i * 5000L, 50);
+            }
+            when(cleanerService.getEntityCounts()).thenReturn(counts);
+            when(cleanerService.getItemGrowth()).thenReturn(items);
+            when(cleanerService.getMobGrowth()).thenReturn(mobs);
+
+            command.check(sender);
+
+            verify(sender).sendMessage(contains("物品 +600/分钟"));
+            verify(sender).sendMessage(contains("生物 +0/分钟"));
+        }
+
+        @Test
+        @DisplayName("Should list the densest chunks")
+        void displayHotspots() {
+            Map<String, Integer> counts = new HashMap<>();
+            counts.put("items", 100);
+            counts.put("mobs", 50);
+            counts.put("total", 200);
+            HotspotIndex index = new HotspotIndex();
+            for (int i = 0; i < 12; i++) {
+                index.addItem("world", ChunkKeyUtil.pack(3, -4));
+            }
+
+            when(cleanerService.getEntityCounts()).thenReturn(counts);
+            when(cleanerService.getHotspots()).thenReturn(index.top(5));
+
+            command.check(sender);
+
+            verify(sender).sendMessage(contains("world (3, -4): "));
+        }
+
+        @Test
+        @DisplayName("Should skip server-wide entity statistics on Folia")
+        void regionThreaded() {
+            when(cleanerService.isRegionThreaded()).thenReturn(true);
+            when(chunkUnloadService.getTotalLoadedChunks()).thenReturn(500);
+            when(chunkUnloadService.getUnloadableChunkCount()).thenReturn(-1);
+
+            command.check(sender);
+
+            verify(cleanerService, never()).getEntityCounts();
+            verify(sender).sendMessage(contains("按区域清理"));
+            verify(sender).sendMessage(contains("区块卸载已停用"));
+            verify(sender).sendMessage(contains("500"));
+            verify(sender, never()).sendMessage(contains("-1"));
+        }
     }
 
     // ==================== status ====================
@@ -274,6 +361,203 @@ class CleanCommandTest {
 
             verify(sender, atLeast(4)).sendMessage(anyString());
         }
+
+        @Test
+        @DisplayName("Should show tick interval percentiles once a minute is sampled")
+        void tickPercentiles() {
+            TickSampler sampler = new TickSampler();
+            for (int i = 0; i < TickSampler.TICKS_1M; i++) {
+                sampler.record(i < 1140 ? 50_000_000L : 120_000_000L);
+            }
+            when(tpsScheduler.getTpsStatus()).thenReturn("20.0 (Normal)");
+            when(tpsScheduler.getTickSampler()).thenReturn(sampler);
+
+            command.status(sender);
+
+            verify(sender).sendMessage(org.mockito.AdditionalMatchers.and(
+                    contains("Tick间隔"), contains("p50 50 ms, p95 50 ms, p99 120 ms")));
+        }
+
+        @Test
+        @DisplayName("Should show the countdowns of profiled worlds")
+        void worldProfiles() {
+            WorldProfile profile = WorldProfile.parse("resource:item-interval=120,entity-interval=240",
+                UltiCleanerTestHelper.createDefaultConfig());
+            when(cleanerService.getWorldProfiles()).thenReturn(Collections.singletonList(profile));
+
+            command.status(sender);
+
+            verify(sender).sendMessage(contains("resource"));
+            verify(sender).sendMessage(contains("物品 120 秒, 实体 240 秒"));
+        }
+    }
+
+    // ==================== bin / restore ====================
+
+    @Nested
+    @DisplayName("bin")
+    class Bin {
+
+        private TrashBin trashBin;
+
+        @BeforeEach
+        void setUpBin() {
+            trashBin = mock(TrashBin.class);
+            when(cleanerService.getTrashBin()).thenReturn(trashBin);
+            when(trashBin.isEnabled()).thenReturn(true);
+        }
+
+        @Test
+        @DisplayName("Should report a disabled bin")
+        void disabled() {
+            when(trashBin.isEnabled()).thenReturn(false);
+
+            command.bin(sender);
+
+            verify(sender).sendMessage(contains("回收站未启用"));
+        }
+
+        @Test
+        @DisplayName("Should list stored items on the requested page")
+        void listPage(@TempDir File dir) {
+            TrashStore store = TrashStore.open(new File(dir, "trash.bin"), 64);
+            long id = store.append(new byte[]{1, 2, 3}, Material.STONE, 32, System.currentTimeMillis());
+            when(trashBin.size()).thenReturn(11);
+            when(trashBin.page(1, 10)).thenReturn(store.page(0, 10));
+
+            command.bin(sender, "2");
+
+            verify(sender).sendMessage(contains("(2/2)"));
+            verify(sender).sendMessage(contains("#" + id));
+        }
+
+        @Test
+        @DisplayName("Should reject a non-numeric page")
+        void badPage() {
+            command.bin(sender, "abc");
+
+            verify(sender).sendMessage(contains("页码必须是数字"));
+            verify(trashBin, never()).page(anyInt(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should give a restored item to the player")
+        void restore() {
+            ItemStack stack = mock(ItemStack.class);
+            when(stack.getType()).thenReturn(Material.DIAMOND);
+            when(stack.getAmount()).thenReturn(3);
+            when(trashBin.restore(5L)).thenReturn(stack);
+
+            command.restore(player, "#5");
+
+            verify(player.getInventory()).addItem(stack);
+            verify(player).sendMessage(contains("DIAMOND x3"));
+        }
+
+        @Test
+        @DisplayName("Should report an evicted item")
+        void restoreMissing() {
+            command.restore(player, "7");
+
+            verify(player).sendMessage(contains("#7"));
+            verify(player.getInventory(), never()).addItem(any());
+        }
+
+        @Test
+        @DisplayName("Should reject a non-numeric id")
+        void restoreBadId() {
+            command.restore(player, "seven");
+
+            verify(trashBin, never()).restore(anyLong());
+        }
+    }
+
+    // ==================== timers ====================
+
+    @Nested
+    @DisplayName("timers")
+    class Timers {
+
+        @Test
+        @DisplayName("Should list run stats of each timer")
+        void listStats() {
+            TickClock clock = new TickClock();
+            clock.schedule("smart-check", 1, () -> { });
+            clock.tick();
+            when(cleanerService.getTickClock()).thenReturn(clock);
+
+            command.timers(sender);
+
+            verify(sender).sendMessage(contains("1 个运行中"));
+            verify(sender).sendMessage(contains("smart-check"));
+        }
+
+        @Test
+        @DisplayName("Should report a missing clock")
+        void noClock() {
+            command.timers(sender);
+
+            verify(sender).sendMessage(contains("计时器不可用"));
+        }
+    }
+
+    // ==================== jobs ====================
+
+    @Nested
+    @DisplayName("jobs")
+    class Jobs {
+
+        private CleanCoordinator coordinator;
+
+        @BeforeEach
+        void setUpCoordinator() {
+            coordinator = new CleanCoordinator((delay, task) -> { });
+            when(cleanerService.getCleanCoordinator()).thenReturn(coordinator);
+        }
+
+        @Test
+        @DisplayName("Should list running and queued jobs")
+        void listJobs() {
+            coordinator.submit("items", CleanJob.Priority.SCHEDULED, job -> { });
+            coordinator.submit("entities", CleanJob.Priority.MANUAL, job -> { });
+
+            command.jobs(sender);
+
+            verify(sender).sendMessage(contains("2 个任务"));
+            verify(sender).sendMessage(contains("#1"));
+            verify(sender).sendMessage(contains("COLLECTING"));
+            verify(sender).sendMessage(contains("手动"));
+        }
+
+        @Test
+        @DisplayName("Should report an empty queue")
+        void emptyQueue() {
+            command.jobs(sender);
+
+            verify(sender).sendMessage(contains("没有进行中的清理任务"));
+        }
+
+        @Test
+        @DisplayName("Should cancel a job by id")
+        void cancelJob() {
+            coordinator.submit("items", CleanJob.Priority.SCHEDULED, job -> { });
+            CleanJob queued = coordinator.submit("entities", CleanJob.Priority.SCHEDULED, job -> { });
+
+            command.cancel(sender, "#" + queued.getId());
+
+            assertThat(queued.getState()).isEqualTo(CleanJob.State.CANCELLED);
+            verify(sender).sendMessage(contains("已取消"));
+        }
+
+        @Test
+        @DisplayName("Should reject unknown and malformed ids")
+        void cancelInvalid() {
+            command.cancel(sender, "42");
+            command.cancel(sender, "abc");
+
+            verify(sender).sendMessage(contains("不存在或已结束"));
+            verify(sender).sendMessage(contains("编号必须是数字"));
+        }
     }
 
     // ==================== help ====================
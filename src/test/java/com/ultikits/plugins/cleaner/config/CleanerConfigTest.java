@@ -356,6 +356,216 @@ class CleanerConfigTest {
             CleanerConfig config = createRealConfig();
             assertThat(config.getCleanCancelledMessage()).isNotEmpty();
         }
+
+        @Test
+        @DisplayName("Should have item tracker disabled by default")
+        void itemTrackerEnabled() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.isItemTrackerEnabled()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should have 60 second item tracker reconcile interval")
+        void itemTrackerReconcileInterval() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.getItemTrackerReconcileInterval()).isEqualTo(60);
+        }
+
+        @Test
+        @DisplayName("Should have live mob counter enabled by default")
+        void mobCounterEnabled() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.isMobCounterEnabled()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should have 60 second mob counter reconcile interval")
+        void mobCounterReconcileInterval() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.getMobCounterReconcileInterval()).isEqualTo(60);
+        }
+
+        @Test
+        @DisplayName("Should have sliced collection disabled by default")
+        void slicedCollectEnabled() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.isSlicedCollectEnabled()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should have 2000 microsecond collection budget")
+        void collectBudgetMicros() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.getCollectBudgetMicros()).isEqualTo(2000);
+        }
+
+        @Test
+        @DisplayName("Remove budget should default to 0 (fixed batch size)")
+        void removeBudgetMsDefault() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.getRemoveBudgetMs()).isEqualTo(0.0);
+        }
+
+        @Test
+        @DisplayName("Parallel filter should be disabled by default")
+        void parallelFilterDefault() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.isParallelFilterEnabled()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Clean rules should default to empty")
+        void cleanRulesDefault() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.getCleanRules()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Density limits should be disabled by default")
+        void densityEnabledDefault() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.isDensityEnabled()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Density max items should default to 200")
+        void densityMaxItemsDefault() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.getDensityMaxItems()).isEqualTo(200);
+        }
+
+        @Test
+        @DisplayName("Density max mobs should default to 50")
+        void densityMaxMobsDefault() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.getDensityMaxMobs()).isEqualTo(50);
+        }
+
+        @Test
+        @DisplayName("Density type limits should default to empty")
+        void densityTypeLimitsDefault() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.getDensityTypeLimits()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Hotspot-only smart clean should be disabled by default")
+        void hotspotOnlyDefault() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.isHotspotOnly()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Hotspot count should default to 5")
+        void hotspotCountDefault() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.getHotspotCount()).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("Item merge should be disabled by default")
+        void itemMergeEnabledDefault() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.isItemMergeEnabled()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Item merge radius should default to 2 blocks")
+        void itemMergeRadiusDefault() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.getItemMergeRadius()).isEqualTo(2.0);
+        }
+
+        @Test
+        @DisplayName("Recycle bin should be disabled by default")
+        void binEnabledDefault() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.isBinEnabled()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Recycle bin size should default to 8 MB")
+        void binSizeMbDefault() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.getBinSizeMb()).isEqualTo(8);
+        }
+
+        @Test
+        @DisplayName("Item lifetime mode should be disabled by default")
+        void itemLifetimeEnabledDefault() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.isItemLifetimeEnabled()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Item default lifetime should be 300 seconds")
+        void itemLifetimeDefaultDefault() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.getItemLifetimeDefault()).isEqualTo(300);
+        }
+
+        @Test
+        @DisplayName("Item lifetimes should default to empty")
+        void itemLifetimesDefault() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.getItemLifetimes()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("World profiles should default to empty")
+        void worldProfilesDefault() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.getWorldProfiles()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("jobGapTicks should default to 10")
+        void shouldHaveDefaultJobGapTicks() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.getJobGapTicks()).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("predictEnabled should default to false")
+        void shouldHaveDefaultPredictEnabled() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.isPredictEnabled()).isFalse();
+        }
+
+        @Test
+        @DisplayName("predictSeconds should default to 30")
+        void shouldHaveDefaultPredictSeconds() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.getPredictSeconds()).isEqualTo(30);
+        }
+
+        @Test
+        @DisplayName("predictSamples should default to 12")
+        void shouldHaveDefaultPredictSamples() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.getPredictSamples()).isEqualTo(12);
+        }
+
+        @Test
+        @DisplayName("msptControlEnabled should default to false")
+        void shouldHaveDefaultMsptControlEnabled() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.isMsptControlEnabled()).isFalse();
+        }
+
+        @Test
+        @DisplayName("targetMspt should default to 40.0")
+        void shouldHaveDefaultTargetMspt() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.getTargetMspt()).isEqualTo(40.0);
+        }
+
+        @Test
+        @DisplayName("msptMaxReduction should default to 70")
+        void shouldHaveDefaultMsptMaxReduction() {
+            CleanerConfig config = createRealConfig();
+            assertThat(config.getMsptMaxReduction()).isEqualTo(70);
+        }
     }
 
     @Nested
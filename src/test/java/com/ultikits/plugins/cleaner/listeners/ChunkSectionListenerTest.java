@@ -0,0 +1,64 @@
+package com.ultikits.plugins.cleaner.listeners;
+
+import com.ultikits.plugins.cleaner.UltiCleanerTestHelper;
+import com.ultikits.plugins.cleaner.service.ChunkSectionIndex;
+
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.event.entity.EntitySpawnEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.junit.jupiter.api.*;
+
+import static org.mockito.Mockito.*;
+
+@DisplayName("ChunkSectionListener Tests")
+class ChunkSectionListenerTest {
+
+    private ChunkSectionListener listener;
+    private ChunkSectionIndex index;
+    private Chunk chunk;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = mock(ChunkSectionIndex.class);
+        listener = new ChunkSectionListener();
+        UltiCleanerTestHelper.setField(listener, "sectionIndex", index);
+        World world = UltiCleanerTestHelper.createMockWorld("world");
+        chunk = UltiCleanerTestHelper.createMockChunk(world, 3, -7);
+    }
+
+    @Test
+    @DisplayName("Should count loaded chunks")
+    void onChunkLoad() {
+        ChunkLoadEvent event = mock(ChunkLoadEvent.class);
+        when(event.getChunk()).thenReturn(chunk);
+
+        listener.onChunkLoad(event);
+
+        verify(index).onChunkLoad("world", 3, -7);
+    }
+
+    @Test
+    @DisplayName("Should uncount unloaded chunks")
+    void onChunkUnload() {
+        ChunkUnloadEvent event = mock(ChunkUnloadEvent.class);
+        when(event.getChunk()).thenReturn(chunk);
+
+        listener.onChunkUnload(event);
+
+        verify(index).onChunkUnload("world", 3, -7);
+    }
+
+    @Test
+    @DisplayName("Should mark the chunk of a spawn loaded")
+    void onEntitySpawn() {
+        EntitySpawnEvent event = mock(EntitySpawnEvent.class);
+        when(event.getLocation()).thenReturn(new Location(chunk.getWorld(), 50, 64, -100));
+
+        listener.onEntitySpawn(event);
+
+        verify(index).onChunkLoad("world", 3, -7);
+    }
+}
@@ -0,0 +1,149 @@
+package com.ultikits.plugins.cleaner.listeners;
+
+import com.ultikits.plugins.cleaner.UltiCleanerTestHelper;
+import com.ultikits.plugins.cleaner.service.ItemTracker;
+import com.ultikits.plugins.cleaner.utils.ServerCapabilities;
+
+import org.bukkit.Chunk;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.entity.ItemDespawnEvent;
+import org.bukkit.event.entity.ItemMergeEvent;
+import org.bukkit.event.entity.ItemSpawnEvent;
+import org.bukkit.event.inventory.InventoryPickupItemEvent;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+import org.junit.jupiter.api.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+@DisplayName("ItemTrackerListener Tests")
+class ItemTrackerListenerTest {
+
+    private ItemTrackerListener listener;
+    private ItemTracker tracker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        tracker = mock(ItemTracker.class);
+        listener = new ItemTrackerListener();
+        UltiCleanerTestHelper.setField(listener, "itemTracker", tracker);
+
+        item = mock(Item.class);
+        when(item.getUniqueId()).thenReturn(UUID.randomUUID());
+    }
+
+    @Test
+    @DisplayName("Should track spawned items")
+    void onItemSpawn() {
+        ItemSpawnEvent event = mock(ItemSpawnEvent.class);
+        when(event.getEntity()).thenReturn(item);
+
+        listener.onItemSpawn(event);
+
+        verify(tracker).track(item);
+    }
+
+    @Test
+    @DisplayName("Should untrack the merged source item")
+    void onItemMerge() {
+        ItemMergeEvent event = mock(ItemMergeEvent.class);
+        when(event.getEntity()).thenReturn(item);
+
+        listener.onItemMerge(event);
+
+        verify(tracker).untrack(item.getUniqueId());
+    }
+
+    @Test
+    @DisplayName("Should untrack fully picked up items only")
+    void onItemPickup() {
+        EntityPickupItemEvent event = mock(EntityPickupItemEvent.class);
+        when(event.getItem()).thenReturn(item);
+
+        when(event.getRemaining()).thenReturn(3);
+        listener.onItemPickup(event);
+        verify(tracker, never()).untrack(any());
+
+        when(event.getRemaining()).thenReturn(0);
+        listener.onItemPickup(event);
+        verify(tracker).untrack(item.getUniqueId());
+    }
+
+    @Test
+    @DisplayName("Should untrack items picked up by hoppers")
+    void onHopperPickup() {
+        InventoryPickupItemEvent event = mock(InventoryPickupItemEvent.class);
+        when(event.getItem()).thenReturn(item);
+
+        listener.onHopperPickup(event);
+
+        verify(tracker).untrack(item.getUniqueId());
+    }
+
+    @Test
+    @DisplayName("Should untrack despawned items")
+    void onItemDespawn() {
+        ItemDespawnEvent event = mock(ItemDespawnEvent.class);
+        when(event.getEntity()).thenReturn(item);
+
+        listener.onItemDespawn(event);
+
+        verify(tracker).untrack(item.getUniqueId());
+    }
+
+    @Test
+    @DisplayName("Should report hurt items and nothing else")
+    void onItemDamage() {
+        EntityDamageEvent itemDamage = mock(EntityDamageEvent.class);
+        when(itemDamage.getEntity()).thenReturn(item);
+        EntityDamageEvent mobDamage = mock(EntityDamageEvent.class);
+        when(mobDamage.getEntity()).thenReturn(mock(LivingEntity.class));
+
+        listener.onItemDamage(itemDamage);
+        listener.onItemDamage(mobDamage);
+
+        verify(tracker).markDamaged(item);
+        verifyNoMoreInteractions(tracker);
+    }
+
+    @Test
+    @DisplayName("Should forward chunk entity load and unload")
+    void onEntitiesLoadAndUnload() {
+        List<Entity> entities = Collections.<Entity>singletonList(mock(LivingEntity.class));
+        Chunk chunk = mock(Chunk.class);
+
+        listener.onEntitiesLoad(new EntitiesLoadEvent(chunk, entities));
+        listener.onEntitiesUnload(new EntitiesUnloadEvent(chunk, entities));
+
+        verify(tracker).trackAll(entities);
+        verify(tracker).untrackAll(entities);
+    }
+
+    @Test
+    @DisplayName("Should ignore item events on Folia")
+    void foliaIgnored() throws Exception {
+        UltiCleanerTestHelper.setPlatform(ServerCapabilities.Platform.FOLIA);
+        try {
+            ItemSpawnEvent spawn = mock(ItemSpawnEvent.class);
+            when(spawn.getEntity()).thenReturn(item);
+            ItemDespawnEvent despawn = mock(ItemDespawnEvent.class);
+            when(despawn.getEntity()).thenReturn(item);
+
+            listener.onItemSpawn(spawn);
+            listener.onItemDespawn(despawn);
+
+            verifyNoInteractions(tracker);
+        } finally {
+            UltiCleanerTestHelper.setCapabilities(null);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.ultikits.plugins.cleaner.listeners;
+
+import com.ultikits.plugins.cleaner.UltiCleanerTestHelper;
+import com.ultikits.plugins.cleaner.service.LoadedChunkTracker;
+
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.junit.jupiter.api.*;
+
+import static org.mockito.Mockito.*;
+
+@DisplayName("LoadedChunkListener Tests")
+class LoadedChunkListenerTest {
+
+    private LoadedChunkListener listener;
+    private LoadedChunkTracker tracker;
+    private World world;
+    private Chunk chunk;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        tracker = mock(LoadedChunkTracker.class);
+        listener = new LoadedChunkListener();
+        UltiCleanerTestHelper.setField(listener, "chunkTracker", tracker);
+        world = UltiCleanerTestHelper.createMockWorld("world");
+        chunk = UltiCleanerTestHelper.createMockChunk(world, 3, -7);
+    }
+
+    @Test
+    @DisplayName("Should track loaded chunks")
+    void onChunkLoad() {
+        ChunkLoadEvent event = mock(ChunkLoadEvent.class);
+        when(event.getChunk()).thenReturn(chunk);
+
+        listener.onChunkLoad(event);
+
+        verify(tracker).onChunkLoad("world", 3, -7);
+    }
+
+    @Test
+    @DisplayName("Should forget unloaded chunks")
+    void onChunkUnload() {
+        ChunkUnloadEvent event = mock(ChunkUnloadEvent.class);
+        when(event.getChunk()).thenReturn(chunk);
+
+        listener.onChunkUnload(event);
+
+        verify(tracker).onChunkUnload("world", 3, -7);
+    }
+
+    @Test
+    @DisplayName("Should forget unloaded worlds")
+    void onWorldUnload() {
+        WorldUnloadEvent event = mock(WorldUnloadEvent.class);
+        when(event.getWorld()).thenReturn(world);
+
+        listener.onWorldUnload(event);
+
+        verify(tracker).onWorldUnload("world");
+    }
+}
@@ -0,0 +1,93 @@
+package com.ultikits.plugins.cleaner.listeners;
+
+import com.ultikits.plugins.cleaner.UltiCleanerTestHelper;
+import com.ultikits.plugins.cleaner.service.MobCounter;
+import com.ultikits.plugins.cleaner.utils.ServerCapabilities;
+
+import org.bukkit.Chunk;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.entity.EntitySpawnEvent;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+import org.junit.jupiter.api.*;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@DisplayName("MobCounterListener Tests")
+class MobCounterListenerTest {
+
+    private MobCounterListener listener;
+    private MobCounter counter;
+    private LivingEntity zombie;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        counter = mock(MobCounter.class);
+        listener = new MobCounterListener();
+        UltiCleanerTestHelper.setField(listener, "mobCounter", counter);
+        zombie = mock(LivingEntity.class);
+    }
+
+    @Test
+    @DisplayName("Should count spawned entities")
+    void onEntitySpawn() {
+        EntitySpawnEvent event = mock(EntitySpawnEvent.class);
+        when(event.getEntity()).thenReturn(zombie);
+
+        listener.onEntitySpawn(event);
+
+        verify(counter).increment(zombie);
+    }
+
+    @Test
+    @DisplayName("Should uncount dead entities")
+    void onEntityDeath() {
+        EntityDeathEvent event = mock(EntityDeathEvent.class);
+        when(event.getEntity()).thenReturn(zombie);
+
+        listener.onEntityDeath(event);
+
+        verify(counter).decrement(zombie);
+    }
+
+    @Test
+    @DisplayName("Should forward chunk entity load and unload")
+    void onEntitiesLoadAndUnload() {
+        List<Entity> entities = Collections.<Entity>singletonList(zombie);
+        Chunk chunk = mock(Chunk.class);
+
+        listener.onEntitiesLoad(new EntitiesLoadEvent(chunk, entities));
+        listener.onEntitiesUnload(new EntitiesUnloadEvent(chunk, entities));
+
+        verify(counter).incrementAll(entities);
+        verify(counter).decrementAll(entities);
+    }
+
+    @Test
+    @DisplayName("Should ignore mob events on Folia")
+    void foliaIgnored() throws Exception {
+        UltiCleanerTestHelper.setPlatform(ServerCapabilities.Platform.FOLIA);
+        try {
+            EntitySpawnEvent spawn = mock(EntitySpawnEvent.class);
+            when(spawn.getEntity()).thenReturn(zombie);
+            EntityDeathEvent death = mock(EntityDeathEvent.class);
+            when(death.getEntity()).thenReturn(zombie);
+            List<Entity> entities = Collections.<Entity>singletonList(zombie);
+            Chunk chunk = mock(Chunk.class);
+
+            listener.onEntitySpawn(spawn);
+            listener.onEntityDeath(death);
+            listener.onEntitiesLoad(new EntitiesLoadEvent(chunk, entities));
+            listener.onEntitiesUnload(new EntitiesUnloadEvent(chunk, entities));
+
+            verifyNoInteractions(counter);
+        } finally {
+            UltiCleanerTestHelper.setCapabilities(null);
+        }
+    }
+}
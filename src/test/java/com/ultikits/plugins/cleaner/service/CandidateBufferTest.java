@@ -0,0 +1,251 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.utils.ChunkKeyUtil;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CandidateBuffer Tests")
+class CandidateBufferTest {
+
+    private CandidateBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new CandidateBuffer(2);
+    }
+
+    @Nested
+    @DisplayName("Storage")
+    class Storage {
+
+        @Test
+        @DisplayName("Should grow past initial capacity")
+        void grow() {
+            List<UUID> uuids = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                UUID uuid = UUID.randomUUID();
+                uuids.add(uuid);
+                buffer.add(uuid, "world", i);
+            }
+
+            assertThat(buffer.size()).isEqualTo(50);
+            assertThat(buffer.asList()).containsExactlyElementsOf(uuids);
+            assertThat(buffer.getChunkKey(49)).isEqualTo(49L);
+        }
+
+        @Test
+        @DisplayName("Should keep world and chunk per candidate")
+        void locations() {
+            UUID located = UUID.randomUUID();
+            UUID unknown = UUID.randomUUID();
+            buffer.add(located, "world_nether", ChunkKeyUtil.pack(3, -4));
+            buffer.add(unknown);
+
+            assertThat(buffer.getWorldName(0)).isEqualTo("world_nether");
+            assertThat(buffer.getChunkKey(0)).isEqualTo(ChunkKeyUtil.pack(3, -4));
+            assertThat(buffer.getWorldName(1)).isNull();
+        }
+
+        @Test
+        @DisplayName("Should record entity location")
+        void addEntity() {
+            World world = mock(World.class);
+            when(world.getName()).thenReturn("world");
+            Entity entity = mock(Entity.class);
+            UUID uuid = UUID.randomUUID();
+            when(entity.getUniqueId()).thenReturn(uuid);
+            when(entity.getLocation()).thenReturn(new Location(world, 40, 64, -20));
+
+            buffer.add(entity);
+
+            assertThat(buffer.getUuid(0)).isEqualTo(uuid);
+            assertThat(buffer.getWorldName(0)).isEqualTo("world");
+            assertThat(buffer.getChunkKey(0)).isEqualTo(ChunkKeyUtil.pack(2, -2));
+        }
+
+        @Test
+        @DisplayName("Should add entity without location")
+        void addEntityWithoutLocation() {
+            Entity entity = mock(Entity.class);
+            when(entity.getUniqueId()).thenReturn(UUID.randomUUID());
+
+            buffer.add(entity);
+
+            assertThat(buffer.size()).isEqualTo(1);
+            assertThat(buffer.getWorldName(0)).isNull();
+        }
+
+        @Test
+        @DisplayName("Should count types without zero entries")
+        void typeCounts() {
+            buffer.countType(EntityType.ZOMBIE);
+            buffer.countType(EntityType.ZOMBIE);
+            buffer.countType(EntityType.COW);
+            buffer.countType(null);
+
+            assertThat(buffer.getTypeCount(EntityType.ZOMBIE)).isEqualTo(2);
+            assertThat(buffer.getTypeCounts())
+                    .containsEntry(EntityType.ZOMBIE, 2)
+                    .containsEntry(EntityType.COW, 1)
+                    .hasSize(2);
+        }
+
+        @Test
+        @DisplayName("Should copy independently")
+        void copy() {
+            UUID uuid = UUID.randomUUID();
+            buffer.add(uuid, "world", 7L);
+            buffer.countType(EntityType.ZOMBIE);
+
+            CandidateBuffer copy = buffer.copy();
+            copy.asList().clear();
+
+            assertThat(buffer.asList()).containsExactly(uuid);
+            assertThat(copy.isEmpty()).isTrue();
+            assertThat(copy.getTypeCount(EntityType.ZOMBIE)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should build from UUID list")
+        void of() {
+            List<UUID> uuids = Arrays.asList(UUID.randomUUID(), UUID.randomUUID());
+
+            CandidateBuffer result = CandidateBuffer.of(uuids);
+
+            assertThat(result.asList()).containsExactlyElementsOf(uuids);
+            assertThat(result.getWorldName(0)).isNull();
+        }
+
+        @Test
+        @DisplayName("Should append another buffer with locations and type counts")
+        void addAll() {
+            UUID first = UUID.randomUUID();
+            UUID second = UUID.randomUUID();
+            UUID third = UUID.randomUUID();
+            buffer.add(first, "world", 1L);
+            buffer.countType(EntityType.ZOMBIE);
+            CandidateBuffer other = new CandidateBuffer();
+            other.add(second, "world_nether", 2L);
+            other.add(third);
+            other.countType(EntityType.ZOMBIE);
+            other.countType(EntityType.SKELETON);
+
+            buffer.addAll(other);
+
+            assertThat(buffer.asList()).containsExactly(first, second, third);
+            assertThat(buffer.getWorldName(1)).isEqualTo("world_nether");
+            assertThat(buffer.getChunkKey(1)).isEqualTo(2L);
+            assertThat(buffer.getWorldName(2)).isNull();
+            assertThat(buffer.getTypeCount(EntityType.ZOMBIE)).isEqualTo(2);
+            assertThat(buffer.getTypeCount(EntityType.SKELETON)).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("List View")
+    class ListView {
+
+        private UUID a;
+        private UUID b;
+        private UUID c;
+
+        @BeforeEach
+        void fill() {
+            a = UUID.randomUUID();
+            b = UUID.randomUUID();
+            c = UUID.randomUUID();
+            buffer.add(a, "world", 1L);
+            buffer.add(b, "world", 2L);
+            buffer.add(c, "world", 3L);
+        }
+
+        @Test
+        @DisplayName("Should find UUIDs by value")
+        void contains() {
+            assertThat(buffer.asList().contains(b)).isTrue();
+            assertThat(buffer.asList().contains(UUID.randomUUID())).isFalse();
+            assertThat(buffer.asList().indexOf(c)).isEqualTo(2);
+            assertThat(buffer.matches(0, a)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should write removals through to the buffer")
+        void remove() {
+            buffer.asList().remove(b);
+
+            assertThat(buffer.size()).isEqualTo(2);
+            assertThat(buffer.asList()).containsExactly(a, c);
+            assertThat(buffer.getChunkKey(1)).isEqualTo(3L);
+        }
+
+        @Test
+        @DisplayName("Should compact on removeIf")
+        void removeIf() {
+            boolean changed = buffer.asList().removeIf(uuid -> !uuid.equals(b));
+
+            assertThat(changed).isTrue();
+            assertThat(buffer.asList()).containsExactly(b);
+            assertThat(buffer.getChunkKey(0)).isEqualTo(2L);
+        }
+
+        @Test
+        @DisplayName("Should remove through iterator")
+        void iteratorRemove() {
+            Iterator<UUID> iterator = buffer.asList().iterator();
+            iterator.next();
+            iterator.remove();
+
+            assertThat(buffer.asList()).containsExactly(b, c);
+        }
+
+        @Test
+        @DisplayName("Should add UUIDs without location")
+        void add() {
+            UUID extra = UUID.randomUUID();
+            buffer.asList().add(extra);
+            buffer.asList().add(0, extra);
+
+            assertThat(buffer.size()).isEqualTo(5);
+            assertThat(buffer.getUuid(0)).isEqualTo(extra);
+            assertThat(buffer.getWorldName(0)).isNull();
+            assertThat(buffer.getWorldName(4)).isNull();
+            assertThat(buffer.getWorldName(1)).isEqualTo("world");
+        }
+
+        @Test
+        @DisplayName("Should clear location on set")
+        void set() {
+            UUID replacement = UUID.randomUUID();
+
+            UUID old = buffer.asList().set(1, replacement);
+
+            assertThat(old).isEqualTo(b);
+            assertThat(buffer.getUuid(1)).isEqualTo(replacement);
+            assertThat(buffer.getWorldName(1)).isNull();
+        }
+
+        @Test
+        @DisplayName("Should clear all")
+        void clear() {
+            buffer.asList().clear();
+
+            assertThat(buffer.isEmpty()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should reject out of range index")
+        void outOfRange() {
+            assertThatThrownBy(() -> buffer.asList().get(3))
+                    .isInstanceOf(IndexOutOfBoundsException.class);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.ultikits.plugins.cleaner.service;
+
+import org.bukkit.entity.EntityType;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ChunkDensity Tests")
+class ChunkDensityTest {
+
+    private ChunkDensity density;
+
+    @BeforeEach
+    void setUp() {
+        density = new ChunkDensity(Arrays.asList(EntityType.ZOMBIE, EntityType.COW));
+    }
+
+    private void add(String world, long chunk, EntityType type, int times) {
+        for (int i = 0; i < times; i++) {
+            density.add(world, chunk, type);
+        }
+    }
+
+    @Test
+    @DisplayName("Should count items and each mob type per chunk")
+    void counts() {
+        add("world", 1L, EntityType.ZOMBIE, 3);
+        add("world", 1L, EntityType.DROPPED_ITEM, 2);
+        add("world", 2L, EntityType.ZOMBIE, 1);
+
+        assertThat(density.getCount("world", 1L, EntityType.ZOMBIE)).isEqualTo(3);
+        assertThat(density.getCount("world", 1L, EntityType.DROPPED_ITEM)).isEqualTo(2);
+        assertThat(density.getCount("world", 2L, EntityType.ZOMBIE)).isEqualTo(1);
+        assertThat(density.getCount("world", 3L, EntityType.ZOMBIE)).isZero();
+        assertThat(density.getCount("nether", 1L, EntityType.ZOMBIE)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should ignore untracked types")
+    void untracked() {
+        density.add("world", 1L, EntityType.PIG);
+        density.add("world", 1L, null);
+
+        assertThat(density.getCount("world", 1L, EntityType.PIG)).isZero();
+        assertThat(density.findExcess(0, 0, Collections.emptyMap())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should report excess over limits")
+    void findExcess() {
+        add("world", 1L, EntityType.ZOMBIE, 10);
+        add("world", 2L, EntityType.ZOMBIE, 4);
+        add("world", 1L, EntityType.DROPPED_ITEM, 7);
+
+        List<ChunkDensity.Excess> excess = density.findExcess(5, 4, Collections.emptyMap());
+
+        assertThat(excess).hasSize(2);
+        assertThat(excess).anySatisfy(e -> {
+            assertThat(e.getType()).isEqualTo(EntityType.ZOMBIE);
+            assertThat(e.getChunkKey()).isEqualTo(1L);
+            assertThat(e.getWorldName()).isEqualTo("world");
+            assertThat(e.getCount()).isEqualTo(6);
+        });
+        assertThat(excess).anySatisfy(e -> {
+            assertThat(e.getType()).isEqualTo(EntityType.DROPPED_ITEM);
+            assertThat(e.getCount()).isEqualTo(2);
+        });
+    }
+
+    @Test
+    @DisplayName("Should apply per-type overrides and treat zero as unlimited")
+    void typeLimits() {
+        add("world", 1L, EntityType.ZOMBIE, 10);
+        add("world", 1L, EntityType.COW, 10);
+
+        Map<EntityType, Integer> overrides = new EnumMap<>(EntityType.class);
+        overrides.put(EntityType.COW, 0);
+        List<ChunkDensity.Excess> excess = density.findExcess(0, 8, overrides);
+
+        assertThat(excess).hasSize(1);
+        assertThat(excess.get(0).getType()).isEqualTo(EntityType.ZOMBIE);
+        assertThat(excess.get(0).getCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,138 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.UltiCleanerTestHelper;
+
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.junit.jupiter.api.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ChunkSectionIndex Tests")
+class ChunkSectionIndexTest {
+
+    private ChunkSectionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ChunkSectionIndex();
+    }
+
+    @Test
+    @DisplayName("Should ignore chunk events until enabled")
+    void disabled() {
+        index.onChunkLoad("world", 0, 0);
+
+        assertThat(index.isEnabled()).isFalse();
+        assertThat(index.getSections("world")).isEmpty();
+        assertThat(index.getLoadedChunkCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should group chunks into 16x16 sections")
+    void sections() {
+        index.enable(Collections.emptyList());
+
+        index.onChunkLoad("world", 0, 0);
+        index.onChunkLoad("world", 15, 15);
+        index.onChunkLoad("world", 16, 0);
+        index.onChunkLoad("world", -1, 0);
+
+        assertThat(index.getSections("world")).containsExactlyInAnyOrder(
+            ChunkSectionIndex.sectionKey(0, 0),
+            ChunkSectionIndex.sectionKey(16, 0),
+            ChunkSectionIndex.sectionKey(-16, 0));
+        assertThat(index.getLoadedChunkCount()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should drop a section once its last chunk unloads")
+    void unload() {
+        index.enable(Collections.emptyList());
+        index.onChunkLoad("world", 1, 1);
+        index.onChunkLoad("world", 2, 2);
+
+        index.onChunkUnload("world", 1, 1);
+        assertThat(index.getSections("world")).hasSize(1);
+
+        index.onChunkUnload("world", 2, 2);
+        index.onChunkUnload("world", 3, 3);
+        assertThat(index.getSections("world")).isEmpty();
+        assertThat(index.getLoadedChunkCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should index a chunk once however often it is seen")
+    void idempotent() {
+        index.enable(Collections.emptyList());
+        index.onChunkLoad("world", 1, 1);
+        index.onChunkLoad("world", 1, 1);
+
+        assertThat(index.getLoadedChunkCount()).isEqualTo(1);
+
+        index.onChunkUnload("world", 1, 1);
+        assertThat(index.getSections("world")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep worlds apart")
+    void worlds() {
+        index.enable(Collections.emptyList());
+        index.onChunkLoad("world", 0, 0);
+        index.onChunkLoad("world_nether", 0, 0);
+
+        index.onChunkUnload("world_nether", 0, 0);
+
+        assertThat(index.getSections("world")).hasSize(1);
+        assertThat(index.getSections("world_nether")).isEmpty();
+        assertThat(index.getSections("unknown")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should seed from the chunks already loaded")
+    void seed() {
+        World world = UltiCleanerTestHelper.createMockWorld("world");
+        Chunk first = UltiCleanerTestHelper.createMockChunk(world, 0, 0);
+        Chunk second = UltiCleanerTestHelper.createMockChunk(world, 40, 40);
+        when(world.getLoadedChunks()).thenReturn(new Chunk[]{first, second});
+
+        index.enable(Collections.singletonList(world));
+
+        assertThat(index.getSections("world")).hasSize(2);
+        assertThat(index.getLoadedChunkCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should return the worlds that cannot list their chunks")
+    void seedUnsupported() {
+        World broken = UltiCleanerTestHelper.createMockWorld("broken");
+        when(broken.getLoadedChunks()).thenThrow(new UnsupportedOperationException());
+        World world = UltiCleanerTestHelper.createMockWorld("world");
+        Chunk chunk = UltiCleanerTestHelper.createMockChunk(world, 0, 0);
+        when(world.getLoadedChunks()).thenReturn(new Chunk[]{chunk});
+
+        List<World> unseeded = index.enable(Arrays.asList(broken, world));
+
+        assertThat(unseeded).containsExactly(broken);
+        assertThat(index.isEnabled()).isTrue();
+        assertThat(index.getSections("world")).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should forget everything when disabled")
+    void disable() {
+        index.enable(Collections.emptyList());
+        index.onChunkLoad("world", 0, 0);
+
+        index.disable();
+
+        assertThat(index.getSections("world")).isEmpty();
+        index.onChunkLoad("world", 0, 0);
+        assertThat(index.getLoadedChunkCount()).isZero();
+    }
+}
@@ -3,6 +3,7 @@ package com.ultikits.plugins.cleaner.service;
 import com.ultikits.plugins.cleaner.UltiCleanerTestHelper;
 import com.ultikits.plugins.cleaner.config.CleanerConfig;
 import com.ultikits.plugins.cleaner.events.PreChunkUnloadEvent;
+import com.ultikits.plugins.cleaner.utils.ServerCapabilities;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
@@ -35,6 +36,7 @@ class ChunkUnloadServiceTest {
 
         config = UltiCleanerTestHelper.createDefaultConfig();
         tpsScheduler = mock(TpsAwareScheduler.class);
+        lenient().when(tpsScheduler.scaleUnloadBatch(anyInt())).thenAnswer(inv -> inv.getArgument(0));
 
         service = new ChunkUnloadService();
 
@@ -798,9 +800,7 @@ class ChunkUnloadServiceTest {
         @DisplayName("Should handle unloadChunkAsync on non-Paper server")
         void unloadChunkAsyncOnSpigot() throws Exception {
             // Ensure isPaper is false
-            UltiCleanerTestHelper.setStaticField(
-                    Class.forName("com.ultikits.plugins.cleaner.utils.ServerTypeUtil"),
-                    "isPaper", false);
+            UltiCleanerTestHelper.setPlatform(ServerCapabilities.Platform.SPIGOT);
 
             // The unloadChunkAsync is private, tested indirectly through batch unloading
             // We just verify the service handles it
@@ -877,9 +877,7 @@ class ChunkUnloadServiceTest {
         @DisplayName("Should handle exception in unloadChunkAsync gracefully")
         void handleExceptionGracefully() throws Exception {
             // Set isPaper to true to enter the Paper path
-            UltiCleanerTestHelper.setStaticField(
-                    Class.forName("com.ultikits.plugins.cleaner.utils.ServerTypeUtil"),
-                    "isPaper", true);
+            UltiCleanerTestHelper.setPlatform(ServerCapabilities.Platform.PAPER);
 
             World world = UltiCleanerTestHelper.createMockWorld("world");
             Chunk chunk = createSafeChunk(world, 50, 50);
@@ -957,4 +955,163 @@ class ChunkUnloadServiceTest {
             assertThat(chunks).hasSize(2);
         }
     }
+
+    // ==================== Loaded Chunk Tracker ====================
+
+    @Nested
+    @DisplayName("Loaded Chunk Tracker")
+    class TrackedChunks {
+
+        private World world;
+        private TickClock clock;
+        private LoadedChunkTracker tracker;
+
+        @BeforeEach
+        void setUpTracker() throws Exception {
+            world = UltiCleanerTestHelper.createMockWorld("world");
+            UltiCleanerTestHelper.addMockWorld(world);
+            when(config.getMaxChunkDistance()).thenReturn(10);
+
+            clock = new TickClock();
+            tracker = new LoadedChunkTracker();
+            UltiCleanerTestHelper.setField(tracker, "tickClock", clock);
+            UltiCleanerTestHelper.setField(service, "tickClock", clock);
+            UltiCleanerTestHelper.setField(service, "chunkTracker", tracker);
+        }
+
+        private Chunk loadChunk(int x, int z) {
+            Chunk chunk = createSafeChunk(world, x, z);
+            when(chunk.unload(true)).thenReturn(true);
+            when(world.isChunkLoaded(x, z)).thenReturn(true);
+            when(world.getChunkAt(x, z)).thenReturn(chunk);
+            tracker.onChunkLoad("world", x, z);
+            return chunk;
+        }
+
+        @Test
+        @DisplayName("Should enable the tracker on init and clear it on shutdown")
+        void lifecycle() {
+            service.init();
+            assertThat(tracker.isEnabled()).isTrue();
+
+            service.shutdown();
+            assertThat(tracker.isEnabled()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should unload far tracked chunks without listing the world")
+        void unloadsFarChunks() {
+            tracker.enable(Collections.emptyList());
+            Chunk near = loadChunk(0, 0);
+            Chunk far = loadChunk(100, 100);
+            Player player = createPlayerAtChunk(world, 1, 1);
+            when(world.getPlayers()).thenReturn(Collections.singletonList(player));
+            clock.tick();
+
+            assertThat(service.forceUnloadChunks()).isEqualTo(1);
+            verify(far).unload(true);
+            verify(near, never()).unload(anyBoolean());
+            verify(world, never()).getLoadedChunks();
+        }
+
+        @Test
+        @DisplayName("Should drop tracked chunks the world no longer has loaded")
+        void dropsStaleChunks() {
+            tracker.enable(Collections.emptyList());
+            tracker.onChunkLoad("world", 7, 7);
+            when(world.getPlayers()).thenReturn(Collections.emptyList());
+            clock.tick();
+
+            assertThat(service.getUnloadableChunkCount()).isZero();
+            assertThat(tracker.isLoaded("world", 7, 7)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should count loaded chunks from the tracker")
+        void counts() {
+            tracker.enable(Collections.emptyList());
+            loadChunk(0, 0);
+            loadChunk(1, 0);
+
+            assertThat(service.getTotalLoadedChunks()).isEqualTo(2);
+            verify(world, never()).getLoadedChunks();
+        }
+    }
+
+    // ==================== Folia ====================
+
+    @Nested
+    @DisplayName("Folia")
+    class Folia {
+
+        private World world;
+        private ChunkSectionIndex index;
+        private TickClock tickClock;
+
+        @BeforeEach
+        void setUpFolia() throws Exception {
+            UltiCleanerTestHelper.setPlatform(ServerCapabilities.Platform.FOLIA);
+            world = UltiCleanerTestHelper.createMockWorld("world");
+            UltiCleanerTestHelper.addMockWorld(world);
+            when(config.isChunkUnloadEnabled()).thenReturn(true);
+            lenient().when(config.getMaxChunkDistance()).thenReturn(10);
+
+            index = new ChunkSectionIndex();
+            index.enable(Collections.emptyList());
+            tickClock = mock(TickClock.class);
+            UltiCleanerTestHelper.setField(service, "sectionIndex", index);
+            UltiCleanerTestHelper.setField(service, "tickClock", tickClock);
+            service.init();
+        }
+
+        private Chunk loadChunk(int x, int z) {
+            Chunk chunk = createSafeChunk(world, x, z);
+            lenient().when(chunk.unload(true)).thenReturn(true);
+            lenient().when(world.isChunkLoaded(x, z)).thenReturn(true);
+            lenient().when(world.getChunkAt(x, z)).thenReturn(chunk);
+            index.onChunkLoad("world", x, z);
+            return chunk;
+        }
+
+        @Test
+        @DisplayName("Should not schedule the unload check and say why")
+        void checkNotScheduled() {
+            verify(tickClock, never()).schedule(anyString(), anyLong(), any(Runnable.class));
+            verify(UltiCleanerTestHelper.getMockLogger()).info(contains("Folia"));
+        }
+
+        @Test
+        @DisplayName("Should neither fire events nor unload on a check")
+        void checkDoesNothing() {
+            Chunk far = loadChunk(100, 100);
+            when(world.getPlayers()).thenReturn(Collections.emptyList());
+
+            service.checkAndUnloadChunks();
+
+            verify(far, never()).unload(anyBoolean());
+            verify(Bukkit.getPluginManager(), never()).callEvent(any(PreChunkUnloadEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should refuse a forced unload without firing events")
+        void forceUnload() {
+            Chunk chunk = loadChunk(5, 5);
+            when(world.getPlayers()).thenReturn(Collections.emptyList());
+
+            assertThat(service.forceUnloadChunks()).isEqualTo(-1);
+            verify(chunk, never()).unload(anyBoolean());
+            verify(Bukkit.getPluginManager(), never()).callEvent(any(PreChunkUnloadEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should read loaded chunks from the section index")
+        void counts() {
+            loadChunk(0, 0);
+            loadChunk(1, 0);
+
+            assertThat(service.getTotalLoadedChunks()).isEqualTo(2);
+            assertThat(service.getUnloadableChunkCount()).isEqualTo(-1);
+            verify(world, never()).getLoadedChunks();
+        }
+    }
 }
@@ -0,0 +1,346 @@
+package com.ultikits.plugins.cleaner.service;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CleanCoordinator Tests")
+class CleanCoordinatorTest {
+
+    private CleanCoordinator coordinator;
+    private final List<Long> delays = new ArrayList<>();
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private final List<String> started = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        coordinator = new CleanCoordinator((delay, task) -> {
+            delays.add(delay);
+            scheduled.add(task);
+        });
+    }
+
+    private CleanJob submitHeld(String name) {
+        return submitHeld(name, CleanJob.Priority.SCHEDULED);
+    }
+
+    private CleanJob submitHeld(String name, CleanJob.Priority priority) {
+        return coordinator.submit(name, priority, job -> started.add(name));
+    }
+
+    private void runScheduled() {
+        List<Runnable> tasks = new ArrayList<>(scheduled);
+        scheduled.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    @Nested
+    @DisplayName("Queueing")
+    class Queueing {
+
+        @Test
+        @DisplayName("Should start a job at once when idle")
+        void startsWhenIdle() {
+            CleanJob job = submitHeld("items");
+
+            assertThat(started).containsExactly("items");
+            assertThat(coordinator.isBusy()).isTrue();
+            assertThat(coordinator.getCurrent()).isSameAs(job);
+            assertThat(job.getState()).isEqualTo(CleanJob.State.COLLECTING);
+        }
+
+        @Test
+        @DisplayName("Should queue jobs submitted while busy")
+        void queuesWhileBusy() {
+            submitHeld("items");
+            CleanJob entities = submitHeld("entities");
+            submitHeld("world-items:resource");
+
+            assertThat(started).containsExactly("items");
+            assertThat(entities.getState()).isEqualTo(CleanJob.State.QUEUED);
+            assertThat(coordinator.getPending()).extracting(CleanJob::getName)
+                .containsExactly("entities", "world-items:resource");
+            assertThat(coordinator.getJobs()).extracting(CleanJob::getName)
+                .containsExactly("items", "entities", "world-items:resource");
+        }
+
+        @Test
+        @DisplayName("Should start the next job after the gap")
+        void nextAfterGap() {
+            coordinator.setGapTicks(10);
+            CleanJob items = submitHeld("items");
+            submitHeld("entities");
+
+            items.complete();
+
+            assertThat(items.getState()).isEqualTo(CleanJob.State.DONE);
+            assertThat(coordinator.isBusy()).isFalse();
+            assertThat(started).containsExactly("items");
+            assertThat(delays).containsExactly(10L);
+
+            runScheduled();
+
+            assertThat(started).containsExactly("items", "entities");
+            assertThat(coordinator.getPending()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should not schedule anything when the queue is empty")
+        void idleAfterLastJob() {
+            submitHeld("items").complete();
+
+            assertThat(coordinator.isBusy()).isFalse();
+            assertThat(scheduled).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should wait for the gap even when a job arrives during it")
+        void submitDuringGap() {
+            CleanJob items = submitHeld("items");
+            submitHeld("entities");
+            items.complete();
+
+            submitHeld("world-items:resource");
+
+            assertThat(started).containsExactly("items");
+            runScheduled();
+            assertThat(started).containsExactly("items", "entities");
+            assertThat(coordinator.getPending()).extracting(CleanJob::getName)
+                .containsExactly("world-items:resource");
+        }
+
+        @Test
+        @DisplayName("Should keep the gap at least one tick")
+        void minimumGap() {
+            coordinator.setGapTicks(0);
+            CleanJob items = submitHeld("items");
+            submitHeld("entities");
+
+            items.complete();
+
+            assertThat(delays).containsExactly(1L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Priorities")
+    class Priorities {
+
+        @Test
+        @DisplayName("Should start manual before smart before scheduled")
+        void priorityOrder() {
+            CleanJob blocker = submitHeld("blocker");
+            submitHeld("scheduled", CleanJob.Priority.SCHEDULED);
+            submitHeld("smart", CleanJob.Priority.SMART);
+            submitHeld("manual", CleanJob.Priority.MANUAL);
+
+            assertThat(coordinator.getPending()).extracting(CleanJob::getName)
+                .containsExactly("manual", "smart", "scheduled");
+
+            blocker.complete();
+            runScheduled();
+            assertThat(started).containsExactly("blocker", "manual");
+        }
+
+        @Test
+        @DisplayName("Should keep submission order within a priority")
+        void fifoWithinPriority() {
+            submitHeld("blocker");
+            submitHeld("a", CleanJob.Priority.SMART);
+            submitHeld("b", CleanJob.Priority.SMART);
+
+            assertThat(coordinator.getPending()).extracting(CleanJob::getName).containsExactly("a", "b");
+        }
+    }
+
+    @Nested
+    @DisplayName("Coalescing")
+    class Coalescing {
+
+        @Test
+        @DisplayName("Should merge a duplicate into the queued job")
+        void mergesDuplicate() {
+            submitHeld("blocker");
+            CleanJob first = submitHeld("items");
+            CleanJob second = submitHeld("items");
+
+            assertThat(second).isSameAs(first);
+            assertThat(coordinator.getPending()).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("Should raise the queued job to the higher priority and newer body")
+        void raisesPriority() {
+            CleanJob blocker = submitHeld("blocker");
+            submitHeld("smart", CleanJob.Priority.SMART);
+            CleanJob items = coordinator.submit("items", CleanJob.Priority.SCHEDULED, job -> started.add("scheduled"));
+            coordinator.submit("items", CleanJob.Priority.MANUAL, job -> started.add("manual"));
+
+            assertThat(items.getPriority()).isEqualTo(CleanJob.Priority.MANUAL);
+            blocker.complete();
+            runScheduled();
+            assertThat(started).containsExactly("blocker", "manual");
+        }
+
+        @Test
+        @DisplayName("Should keep the higher priority when a lower one coalesces")
+        void keepsHigherPriority() {
+            submitHeld("blocker");
+            CleanJob items = submitHeld("items", CleanJob.Priority.MANUAL);
+            submitHeld("items", CleanJob.Priority.SCHEDULED);
+
+            assertThat(items.getPriority()).isEqualTo(CleanJob.Priority.MANUAL);
+        }
+
+        @Test
+        @DisplayName("Should queue a new job when the same name is already running")
+        void runningNotCoalesced() {
+            CleanJob running = submitHeld("items");
+            CleanJob queued = submitHeld("items");
+
+            assertThat(queued).isNotSameAs(running);
+            assertThat(coordinator.getPending()).containsExactly(queued);
+        }
+    }
+
+    @Nested
+    @DisplayName("Cancellation")
+    class Cancellation {
+
+        @Test
+        @DisplayName("Should drop a queued job")
+        void cancelQueued() {
+            submitHeld("blocker");
+            CleanJob items = submitHeld("items");
+
+            assertThat(coordinator.cancel(items.getId())).isTrue();
+
+            assertThat(items.getState()).isEqualTo(CleanJob.State.CANCELLED);
+            assertThat(coordinator.getPending()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should flag a running job and finish it as cancelled")
+        void cancelRunning() {
+            CleanJob items = submitHeld("items");
+
+            assertThat(coordinator.cancel(items.getId())).isTrue();
+            assertThat(items.isCancelled()).isTrue();
+            assertThat(coordinator.isBusy()).isTrue();
+
+            items.complete();
+            assertThat(items.getState()).isEqualTo(CleanJob.State.CANCELLED);
+            assertThat(coordinator.isBusy()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should return false for an unknown id")
+        void cancelUnknown() {
+            submitHeld("items");
+
+            assertThat(coordinator.cancel(999L)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should cancel everything")
+        void cancelAll() {
+            CleanJob running = submitHeld("items");
+            CleanJob queued = submitHeld("entities");
+
+            coordinator.cancelAll();
+
+            assertThat(running.isCancelled()).isTrue();
+            assertThat(queued.getState()).isEqualTo(CleanJob.State.CANCELLED);
+            assertThat(coordinator.getPending()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should keep the queue consistent with submits and cancels from many threads")
+        void concurrent() throws Exception {
+            submitHeld("blocker");
+            int threads = 4;
+            int perThread = 500;
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        CleanJob job = submitHeld("job-" + thread + "-" + i);
+                        if (i % 2 == 0) {
+                            coordinator.cancel(job.getId());
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+            pool.shutdown();
+
+            assertThat(coordinator.getPending()).hasSize(threads * perThread / 2)
+                .allMatch(job -> job.getState() != CleanJob.State.CANCELLED);
+            assertThat(coordinator.getCurrent().getName()).isEqualTo("blocker");
+        }
+    }
+
+    @Nested
+    @DisplayName("Completion")
+    class Completion {
+
+        @Test
+        @DisplayName("Should handle a job that completes synchronously")
+        void synchronousDone() {
+            CleanJob items = submitHeld("items");
+            coordinator.submit("empty", CleanJob.Priority.SCHEDULED, CleanJob::complete);
+            submitHeld("entities");
+            items.complete();
+
+            runScheduled();
+
+            assertThat(coordinator.isBusy()).isFalse();
+            assertThat(started).containsExactly("items");
+
+            runScheduled();
+            assertThat(started).containsExactly("items", "entities");
+        }
+
+        @Test
+        @DisplayName("Should ignore a second completion call")
+        void doubleDone() {
+            CleanJob items = submitHeld("items");
+            submitHeld("entities");
+
+            items.complete();
+            runScheduled();
+            items.complete();
+
+            assertThat(coordinator.getCurrent().getName()).isEqualTo("entities");
+            assertThat(scheduled).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should finish a job whose body throws")
+        void bodyThrows() {
+            CleanJob items = submitHeld("items");
+            coordinator.submit("broken", CleanJob.Priority.SCHEDULED, job -> {
+                throw new IllegalStateException("boom");
+            });
+            submitHeld("entities");
+            items.complete();
+
+            assertThatThrownBy(() -> runScheduled()).isInstanceOf(IllegalStateException.class);
+            assertThat(coordinator.isBusy()).isFalse();
+
+            runScheduled();
+            assertThat(started).containsExactly("items", "entities");
+        }
+    }
+}
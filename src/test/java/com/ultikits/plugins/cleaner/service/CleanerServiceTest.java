@@ -92,6 +92,7 @@ class CleanerServiceTest {
         lenient().when(meta.hasDisplayName()).thenReturn(hasCustomName);
         lenient().when(itemStack.hasItemMeta()).thenReturn(hasCustomName);
         lenient().when(itemStack.getItemMeta()).thenReturn(meta);
+        stubLocationInto(item);
 
         return item;
     }
@@ -108,6 +109,7 @@ class CleanerServiceTest {
         lenient().when(entity.getWorld()).thenReturn(world);
         lenient().when(entity.getCustomName()).thenReturn(customName);
         lenient().when(entity.isLeashed()).thenReturn(isLeashed);
+        stubLocationInto(entity);
         return entity;
     }
 
@@ -124,9 +126,28 @@ class CleanerServiceTest {
         lenient().when(entity.getCustomName()).thenReturn(customName);
         lenient().when(entity.isTamed()).thenReturn(isTamed);
         lenient().when(entity.isLeashed()).thenReturn(false);
+        stubLocationInto(entity);
         return entity;
     }
 
+    /**
+     * Make getLocation(Location) fill in whatever getLocation() is stubbed to, as Bukkit does.
+     */
+    private static void stubLocationInto(Entity entity) {
+        lenient().when(entity.getLocation(any(Location.class))).thenAnswer(invocation -> {
+            Location location = entity.getLocation();
+            if (location == null) {
+                return null;
+            }
+            Location target = invocation.getArgument(0);
+            target.setWorld(location.getWorld());
+            target.setX(location.getX());
+            target.setY(location.getY());
+            target.setZ(location.getZ());
+            return target;
+        });
+    }
+
     // ==================== Initialization ====================
 
     @Nested
@@ -446,11 +467,10 @@ class CleanerServiceTest {
             when(config.isItemIgnoreNamed()).thenReturn(false);
             initServiceWithEmptyConfig();
 
-            Method method = CleanerService.class.getDeclaredMethod("collectItemsToClean");
+            Method method = CleanerService.class.getDeclaredMethod("collectItemCandidates");
             method.setAccessible(true);
 
-            @SuppressWarnings("unchecked")
-            List<UUID> items = (List<UUID>) method.invoke(service);
+            List<UUID> items = ((CandidateBuffer) method.invoke(service)).asList();
 
             assertThat(items).hasSize(1);
         }
@@ -468,11 +488,10 @@ class CleanerServiceTest {
             when(config.isItemIgnoreNamed()).thenReturn(false);
             initServiceWithConfig(Arrays.asList("DIAMOND"), Collections.emptyList(), Collections.emptyList());
 
-            Method method = CleanerService.class.getDeclaredMethod("collectItemsToClean");
+            Method method = CleanerService.class.getDeclaredMethod("collectItemCandidates");
             method.setAccessible(true);
 
-            @SuppressWarnings("unchecked")
-            List<UUID> items = (List<UUID>) method.invoke(service);
+            List<UUID> items = ((CandidateBuffer) method.invoke(service)).asList();
 
             assertThat(items).isEmpty();
         }
@@ -490,11 +509,10 @@ class CleanerServiceTest {
             when(config.getItemIgnoreRecentSeconds()).thenReturn(0);
             initServiceWithEmptyConfig();
 
-            Method method = CleanerService.class.getDeclaredMethod("collectItemsToClean");
+            Method method = CleanerService.class.getDeclaredMethod("collectItemCandidates");
             method.setAccessible(true);
 
-            @SuppressWarnings("unchecked")
-            List<UUID> items = (List<UUID>) method.invoke(service);
+            List<UUID> items = ((CandidateBuffer) method.invoke(service)).asList();
 
             assertThat(items).isEmpty();
         }
@@ -513,11 +531,10 @@ class CleanerServiceTest {
             when(config.getItemIgnoreRecentSeconds()).thenReturn(30);
             initServiceWithEmptyConfig();
 
-            Method method = CleanerService.class.getDeclaredMethod("collectItemsToClean");
+            Method method = CleanerService.class.getDeclaredMethod("collectItemCandidates");
             method.setAccessible(true);
 
-            @SuppressWarnings("unchecked")
-            List<UUID> items = (List<UUID>) method.invoke(service);
+            List<UUID> items = ((CandidateBuffer) method.invoke(service)).asList();
 
             assertThat(items).isEmpty();
         }
@@ -536,11 +553,10 @@ class CleanerServiceTest {
             when(config.getItemIgnoreRecentSeconds()).thenReturn(30);
             initServiceWithEmptyConfig();
 
-            Method method = CleanerService.class.getDeclaredMethod("collectItemsToClean");
+            Method method = CleanerService.class.getDeclaredMethod("collectItemCandidates");
             method.setAccessible(true);
 
-            @SuppressWarnings("unchecked")
-            List<UUID> items = (List<UUID>) method.invoke(service);
+            List<UUID> items = ((CandidateBuffer) method.invoke(service)).asList();
 
             assertThat(items).hasSize(1);
         }
@@ -558,11 +574,10 @@ class CleanerServiceTest {
             when(config.getItemIgnoreRecentSeconds()).thenReturn(0);
             initServiceWithConfig(Collections.emptyList(), Collections.emptyList(), Arrays.asList("world_creative"));
 
-            Method method = CleanerService.class.getDeclaredMethod("collectItemsToClean");
+            Method method = CleanerService.class.getDeclaredMethod("collectItemCandidates");
             method.setAccessible(true);
 
-            @SuppressWarnings("unchecked")
-            List<UUID> items = (List<UUID>) method.invoke(service);
+            List<UUID> items = ((CandidateBuffer) method.invoke(service)).asList();
 
             assertThat(items).isEmpty();
         }
@@ -584,11 +599,10 @@ class CleanerServiceTest {
             when(config.getItemIgnoreRecentSeconds()).thenReturn(0);
             initServiceWithConfig(Collections.emptyList(), Collections.emptyList(), Arrays.asList("world_creative"));
 
-            Method method = CleanerService.class.getDeclaredMethod("collectItemsToClean");
+            Method method = CleanerService.class.getDeclaredMethod("collectItemCandidates");
             method.setAccessible(true);
 
-            @SuppressWarnings("unchecked")
-            List<UUID> items = (List<UUID>) method.invoke(service);
+            List<UUID> items = ((CandidateBuffer) method.invoke(service)).asList();
 
             assertThat(items).hasSize(1);
         }
@@ -606,11 +620,10 @@ class CleanerServiceTest {
             when(config.getItemIgnoreRecentSeconds()).thenReturn(0);
             initServiceWithEmptyConfig();
 
-            Method method = CleanerService.class.getDeclaredMethod("collectItemsToClean");
+            Method method = CleanerService.class.getDeclaredMethod("collectItemCandidates");
             method.setAccessible(true);
 
-            @SuppressWarnings("unchecked")
-            List<UUID> items = (List<UUID>) method.invoke(service);
+            List<UUID> items = ((CandidateBuffer) method.invoke(service)).asList();
 
             assertThat(items).isEmpty();
         }
@@ -631,11 +644,10 @@ class CleanerServiceTest {
             when(config.getItemIgnoreRecentSeconds()).thenReturn(0);
             initServiceWithEmptyConfig();
 
-            Method method = CleanerService.class.getDeclaredMethod("collectItemsToClean");
+            Method method = CleanerService.class.getDeclaredMethod("collectItemCandidates");
             method.setAccessible(true);
 
-            @SuppressWarnings("unchecked")
-            List<UUID> items = (List<UUID>) method.invoke(service);
+            List<UUID> items = ((CandidateBuffer) method.invoke(service)).asList();
 
             // Item with null stack should still be collected (since whitelist/name checks skip on null)
             assertThat(items).hasSize(1);
@@ -662,12 +674,12 @@ class CleanerServiceTest {
             when(config.isEntityWhitelistTamed()).thenReturn(false);
             initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE"), Collections.emptyList());
 
-            Method method = CleanerService.class.getDeclaredMethod("collectEntitiesToClean", Map.class);
+            Method method = CleanerService.class.getDeclaredMethod("collectMobCandidates");
             method.setAccessible(true);
 
-            Map<EntityType, Integer> typeCounts = new HashMap<>();
-            @SuppressWarnings("unchecked")
-            List<UUID> entities = (List<UUID>) method.invoke(service, typeCounts);
+            CandidateBuffer candidates = (CandidateBuffer) method.invoke(service);
+            List<UUID> entities = candidates.asList();
+            Map<EntityType, Integer> typeCounts = candidates.getTypeCounts();
 
             assertThat(entities).hasSize(1);
             assertThat(typeCounts).containsEntry(EntityType.ZOMBIE, 1);
@@ -687,12 +699,12 @@ class CleanerServiceTest {
             when(config.isEntityWhitelistTamed()).thenReturn(false);
             initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE"), Collections.emptyList());
 
-            Method method = CleanerService.class.getDeclaredMethod("collectEntitiesToClean", Map.class);
+            Method method = CleanerService.class.getDeclaredMethod("collectMobCandidates");
             method.setAccessible(true);
 
-            Map<EntityType, Integer> typeCounts = new HashMap<>();
-            @SuppressWarnings("unchecked")
-            List<UUID> entities = (List<UUID>) method.invoke(service, typeCounts);
+            CandidateBuffer candidates = (CandidateBuffer) method.invoke(service);
+            List<UUID> entities = candidates.asList();
+            Map<EntityType, Integer> typeCounts = candidates.getTypeCounts();
 
             assertThat(entities).isEmpty();
             assertThat(typeCounts).isEmpty();
@@ -712,12 +724,12 @@ class CleanerServiceTest {
             when(config.isEntityWhitelistTamed()).thenReturn(false);
             initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE"), Collections.emptyList());
 
-            Method method = CleanerService.class.getDeclaredMethod("collectEntitiesToClean", Map.class);
+            Method method = CleanerService.class.getDeclaredMethod("collectMobCandidates");
             method.setAccessible(true);
 
-            Map<EntityType, Integer> typeCounts = new HashMap<>();
-            @SuppressWarnings("unchecked")
-            List<UUID> entities = (List<UUID>) method.invoke(service, typeCounts);
+            CandidateBuffer candidates = (CandidateBuffer) method.invoke(service);
+            List<UUID> entities = candidates.asList();
+            Map<EntityType, Integer> typeCounts = candidates.getTypeCounts();
 
             assertThat(entities).isEmpty();
         }
@@ -736,12 +748,12 @@ class CleanerServiceTest {
             when(config.isEntityWhitelistTamed()).thenReturn(false);
             initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE"), Collections.emptyList());
 
-            Method method = CleanerService.class.getDeclaredMethod("collectEntitiesToClean", Map.class);
+            Method method = CleanerService.class.getDeclaredMethod("collectMobCandidates");
             method.setAccessible(true);
 
-            Map<EntityType, Integer> typeCounts = new HashMap<>();
-            @SuppressWarnings("unchecked")
-            List<UUID> entities = (List<UUID>) method.invoke(service, typeCounts);
+            CandidateBuffer candidates = (CandidateBuffer) method.invoke(service);
+            List<UUID> entities = candidates.asList();
+            Map<EntityType, Integer> typeCounts = candidates.getTypeCounts();
 
             assertThat(entities).hasSize(1);
         }
@@ -760,12 +772,12 @@ class CleanerServiceTest {
             when(config.isEntityWhitelistTamed()).thenReturn(false);
             initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE"), Collections.emptyList());
 
-            Method method = CleanerService.class.getDeclaredMethod("collectEntitiesToClean", Map.class);
+            Method method = CleanerService.class.getDeclaredMethod("collectMobCandidates");
             method.setAccessible(true);
 
-            Map<EntityType, Integer> typeCounts = new HashMap<>();
-            @SuppressWarnings("unchecked")
-            List<UUID> entities = (List<UUID>) method.invoke(service, typeCounts);
+            CandidateBuffer candidates = (CandidateBuffer) method.invoke(service);
+            List<UUID> entities = candidates.asList();
+            Map<EntityType, Integer> typeCounts = candidates.getTypeCounts();
 
             assertThat(entities).isEmpty();
         }
@@ -784,12 +796,12 @@ class CleanerServiceTest {
             when(config.isEntityWhitelistTamed()).thenReturn(false);
             initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE"), Collections.emptyList());
 
-            Method method = CleanerService.class.getDeclaredMethod("collectEntitiesToClean", Map.class);
+            Method method = CleanerService.class.getDeclaredMethod("collectMobCandidates");
             method.setAccessible(true);
 
-            Map<EntityType, Integer> typeCounts = new HashMap<>();
-            @SuppressWarnings("unchecked")
-            List<UUID> entities = (List<UUID>) method.invoke(service, typeCounts);
+            CandidateBuffer candidates = (CandidateBuffer) method.invoke(service);
+            List<UUID> entities = candidates.asList();
+            Map<EntityType, Integer> typeCounts = candidates.getTypeCounts();
 
             assertThat(entities).hasSize(1);
         }
@@ -808,12 +820,12 @@ class CleanerServiceTest {
             when(config.isEntityWhitelistTamed()).thenReturn(true);
             initServiceWithConfig(Collections.emptyList(), Arrays.asList("WOLF"), Collections.emptyList());
 
-            Method method = CleanerService.class.getDeclaredMethod("collectEntitiesToClean", Map.class);
+            Method method = CleanerService.class.getDeclaredMethod("collectMobCandidates");
             method.setAccessible(true);
 
-            Map<EntityType, Integer> typeCounts = new HashMap<>();
-            @SuppressWarnings("unchecked")
-            List<UUID> entities = (List<UUID>) method.invoke(service, typeCounts);
+            CandidateBuffer candidates = (CandidateBuffer) method.invoke(service);
+            List<UUID> entities = candidates.asList();
+            Map<EntityType, Integer> typeCounts = candidates.getTypeCounts();
 
             assertThat(entities).isEmpty();
         }
@@ -832,12 +844,12 @@ class CleanerServiceTest {
             when(config.isEntityWhitelistTamed()).thenReturn(true);
             initServiceWithConfig(Collections.emptyList(), Arrays.asList("WOLF"), Collections.emptyList());
 
-            Method method = CleanerService.class.getDeclaredMethod("collectEntitiesToClean", Map.class);
+            Method method = CleanerService.class.getDeclaredMethod("collectMobCandidates");
             method.setAccessible(true);
 
-            Map<EntityType, Integer> typeCounts = new HashMap<>();
-            @SuppressWarnings("unchecked")
-            List<UUID> entities = (List<UUID>) method.invoke(service, typeCounts);
+            CandidateBuffer candidates = (CandidateBuffer) method.invoke(service);
+            List<UUID> entities = candidates.asList();
+            Map<EntityType, Integer> typeCounts = candidates.getTypeCounts();
 
             assertThat(entities).hasSize(1);
         }
@@ -856,12 +868,12 @@ class CleanerServiceTest {
             when(config.isEntityWhitelistTamed()).thenReturn(false);
             initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE"), Arrays.asList("world_creative"));
 
-            Method method = CleanerService.class.getDeclaredMethod("collectEntitiesToClean", Map.class);
+            Method method = CleanerService.class.getDeclaredMethod("collectMobCandidates");
             method.setAccessible(true);
 
-            Map<EntityType, Integer> typeCounts = new HashMap<>();
-            @SuppressWarnings("unchecked")
-            List<UUID> entities = (List<UUID>) method.invoke(service, typeCounts);
+            CandidateBuffer candidates = (CandidateBuffer) method.invoke(service);
+            List<UUID> entities = candidates.asList();
+            Map<EntityType, Integer> typeCounts = candidates.getTypeCounts();
 
             assertThat(entities).isEmpty();
         }
@@ -882,12 +894,12 @@ class CleanerServiceTest {
             when(config.isEntityWhitelistTamed()).thenReturn(false);
             initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE", "SKELETON"), Collections.emptyList());
 
-            Method method = CleanerService.class.getDeclaredMethod("collectEntitiesToClean", Map.class);
+            Method method = CleanerService.class.getDeclaredMethod("collectMobCandidates");
             method.setAccessible(true);
 
-            Map<EntityType, Integer> typeCounts = new HashMap<>();
-            @SuppressWarnings("unchecked")
-            List<UUID> entities = (List<UUID>) method.invoke(service, typeCounts);
+            CandidateBuffer candidates = (CandidateBuffer) method.invoke(service);
+            List<UUID> entities = candidates.asList();
+            Map<EntityType, Integer> typeCounts = candidates.getTypeCounts();
 
             assertThat(entities).hasSize(3);
             assertThat(typeCounts).containsEntry(EntityType.ZOMBIE, 2);
@@ -996,7 +1008,7 @@ class CleanerServiceTest {
             when(config.isSmartCleanEnabled()).thenReturn(true);
             initServiceWithEmptyConfig();
 
-            UltiCleanerTestHelper.setField(service, "isCleaningInProgress", true);
+            service.getCleanCoordinator().submit("blocker", CleanJob.Priority.MANUAL, job -> { });
 
             Method method = CleanerService.class.getDeclaredMethod("checkSmartClean");
             method.setAccessible(true);
@@ -1178,17 +1190,17 @@ class CleanerServiceTest {
     class CleanItemsWithBatch {
 
         @Test
-        @DisplayName("Should not clean when cleaning is in progress")
-        void skipWhenCleaningInProgress() throws Exception {
+        @DisplayName("Should queue behind a running cleanup")
+        void queueWhileBusy() throws Exception {
             initServiceWithEmptyConfig();
-
-            UltiCleanerTestHelper.setField(service, "isCleaningInProgress", true);
+            service.getCleanCoordinator().submit("blocker", CleanJob.Priority.MANUAL, job -> { });
 
             Method method = CleanerService.class.getDeclaredMethod("cleanItemsWithBatch", PreItemCleanEvent.CleanTrigger.class);
             method.setAccessible(true);
+            method.invoke(service, PreItemCleanEvent.CleanTrigger.MANUAL);
 
-            assertThatCode(() -> method.invoke(service, PreItemCleanEvent.CleanTrigger.MANUAL))
-                    .doesNotThrowAnyException();
+            verify(Bukkit.getPluginManager(), never()).callEvent(any(PreItemCleanEvent.class));
+            assertThat(service.getCleanCoordinator().getPending()).extracting(CleanJob::getName).containsExactly("items");
         }
 
         @Test
@@ -1265,17 +1277,17 @@ class CleanerServiceTest {
     class CleanEntitiesWithBatch {
 
         @Test
-        @DisplayName("Should not clean when cleaning is in progress")
-        void skipWhenCleaningInProgress() throws Exception {
+        @DisplayName("Should queue behind a running cleanup")
+        void queueWhileBusy() throws Exception {
             initServiceWithEmptyConfig();
-
-            UltiCleanerTestHelper.setField(service, "isCleaningInProgress", true);
+            service.getCleanCoordinator().submit("blocker", CleanJob.Priority.MANUAL, job -> { });
 
             Method method = CleanerService.class.getDeclaredMethod("cleanEntitiesWithBatch", PreEntityCleanEvent.CleanTrigger.class);
             method.setAccessible(true);
+            method.invoke(service, PreEntityCleanEvent.CleanTrigger.MANUAL);
 
-            assertThatCode(() -> method.invoke(service, PreEntityCleanEvent.CleanTrigger.MANUAL))
-                    .doesNotThrowAnyException();
+            verify(Bukkit.getPluginManager(), never()).callEvent(any(PreEntityCleanEvent.class));
+            assertThat(service.getCleanCoordinator().getPending()).extracting(CleanJob::getName).containsExactly("entities");
         }
 
         @Test
@@ -1542,11 +1554,14 @@ class CleanerServiceTest {
         }
 
         @Test
-        @DisplayName("Should return true when set via reflection")
-        void trueWhenSet() throws Exception {
-            UltiCleanerTestHelper.setField(service, "isCleaningInProgress", true);
+        @DisplayName("Should return true while a cleanup job is running")
+        void trueWhileJobRuns() {
+            CleanJob job = service.getCleanCoordinator().submit("blocker", CleanJob.Priority.MANUAL, j -> { });
 
             assertThat(service.isCleaningInProgress()).isTrue();
+
+            job.complete();
+            assertThat(service.isCleaningInProgress()).isFalse();
         }
     }
 
@@ -1626,6 +1641,32 @@ class CleanerServiceTest {
             assertThat(count).isEqualTo(2);
         }
 
+        @Test
+        @DisplayName("forceCleanItems should collect from the tracker once and clean those items")
+        void forceCleanItemsFromTracker() throws Exception {
+            when(config.isItemTrackerEnabled()).thenReturn(true);
+            when(config.getItemIgnoreRecentSeconds()).thenReturn(0);
+            ItemTracker tracker = spy(new ItemTracker());
+            UltiCleanerTestHelper.setField(tracker, "config", config);
+            UltiCleanerTestHelper.setField(service, "itemTracker", tracker);
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            Item item = createMockItem(world, "STONE", false, 1000);
+            when(item.isValid()).thenReturn(true);
+            when(world.getEntitiesByClass(Item.class)).thenReturn(Collections.singletonList(item));
+            UltiCleanerTestHelper.addMockWorld(world);
+            initServiceWithEmptyConfig();
+
+            int count = service.forceCleanItems();
+
+            assertThat(count).isEqualTo(1);
+            verify(tracker, times(1)).collectCandidates(any(), any());
+            org.mockito.ArgumentCaptor<PreItemCleanEvent> captor =
+                    org.mockito.ArgumentCaptor.forClass(PreItemCleanEvent.class);
+            verify(Bukkit.getPluginManager()).callEvent(captor.capture());
+            assertThat(captor.getValue().getItemUuids()).containsExactly(item.getUniqueId());
+            assertThat(captor.getValue().getTrigger()).isEqualTo(PreItemCleanEvent.CleanTrigger.MANUAL);
+        }
+
         @Test
         @DisplayName("forceCleanEntities should return count of matching entities")
         void forceCleanEntitiesWithWorldEntities() {
@@ -1722,34 +1763,200 @@ class CleanerServiceTest {
             initServiceWithEmptyConfig();
 
             Method method = CleanerService.class.getDeclaredMethod("removeEntitiesInBatches",
-                    List.class, int.class, java.util.function.Consumer.class);
+                    CandidateBuffer.class, int.class, CleanJob.class, java.util.function.Consumer.class);
             method.setAccessible(true);
 
             final int[] callbackCount = {-1};
             java.util.function.Consumer<Integer> callback = count -> callbackCount[0] = count;
 
-            method.invoke(service, Collections.emptyList(), 50, callback);
+            method.invoke(service, new CandidateBuffer(), 50, null, callback);
 
             assertThat(callbackCount[0]).isEqualTo(0);
         }
 
         @Test
-        @DisplayName("Should set cleaning in progress when batch starts")
-        void setsCleaningInProgress() throws Exception {
+        @DisplayName("Should keep the job removing until the timer task completes")
+        void setsCleaningInProgress() {
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            Item item = createMockItem(world, "STONE", false, 1000);
+            when(world.getEntities()).thenReturn(Collections.singletonList(item));
+            UltiCleanerTestHelper.addMockWorld(world);
+            initServiceWithEmptyConfig();
+
+            service.forceCleanItems();
+
+            assertThat(service.getCleanCoordinator().getCurrent().getState()).isEqualTo(CleanJob.State.REMOVING);
+            assertThat(service.isCleaningInProgress()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should remove past batch size within the time budget")
+        void budgetRemovesPastBatchSize() throws Exception {
+            when(config.getRemoveBudgetMs()).thenReturn(1000.0);
+            when(tpsScheduler.getThresholdMultiplier()).thenReturn(1.0);
             initServiceWithEmptyConfig();
 
-            List<UUID> uuids = Arrays.asList(UUID.randomUUID());
+            List<UUID> uuids = new ArrayList<>();
+            List<Entity> entities = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                Entity entity = mock(Entity.class);
+                UUID uuid = UUID.randomUUID();
+                when(entity.isValid()).thenReturn(true);
+                when(UltiCleanerTestHelper.getMockServer().getEntity(uuid)).thenReturn(entity);
+                uuids.add(uuid);
+                entities.add(entity);
+            }
 
             Method method = CleanerService.class.getDeclaredMethod("removeEntitiesInBatches",
-                    List.class, int.class, java.util.function.Consumer.class);
+                    CandidateBuffer.class, int.class, CleanJob.class, java.util.function.Consumer.class);
             method.setAccessible(true);
+            final int[] removed = {-1};
+            method.invoke(service, CandidateBuffer.of(uuids), 1, null,
+                    (java.util.function.Consumer<Integer>) count -> removed[0] = count);
 
-            java.util.function.Consumer<Integer> callback = count -> {};
+            @SuppressWarnings("unchecked")
+            org.mockito.ArgumentCaptor<java.util.function.Consumer<BukkitTask>> captor =
+                    org.mockito.ArgumentCaptor.forClass(java.util.function.Consumer.class);
+            verify(UltiCleanerTestHelper.getMockScheduler()).runTaskTimer(any(), captor.capture(), anyLong(), anyLong());
+            BukkitTask task = mock(BukkitTask.class);
+            captor.getValue().accept(task);
+
+            for (Entity entity : entities) {
+                verify(entity).remove();
+            }
+            verify(task).cancel();
+            assertThat(removed[0]).isEqualTo(3);
+        }
 
-            method.invoke(service, uuids, 50, callback);
+        @Test
+        @DisplayName("Should report what was removed when a step throws")
+        void stepThrows() throws Exception {
+            when(config.getRemoveBudgetMs()).thenReturn(1000.0);
+            when(tpsScheduler.getThresholdMultiplier()).thenReturn(1.0);
+            initServiceWithEmptyConfig();
+            Entity entity = mock(Entity.class);
+            UUID uuid = UUID.randomUUID();
+            when(entity.isValid()).thenReturn(true);
+            doThrow(new IllegalStateException("boom")).when(entity).remove();
+            when(UltiCleanerTestHelper.getMockServer().getEntity(uuid)).thenReturn(entity);
 
-            // isCleaningInProgress should be true until the timer task completes
-            assertThat(service.isCleaningInProgress()).isTrue();
+            Method method = CleanerService.class.getDeclaredMethod("removeEntitiesInBatches",
+                    CandidateBuffer.class, int.class, CleanJob.class, java.util.function.Consumer.class);
+            method.setAccessible(true);
+            final int[] removed = {-1};
+            method.invoke(service, CandidateBuffer.of(Collections.singletonList(uuid)), 10, null,
+                    (java.util.function.Consumer<Integer>) count -> removed[0] = count);
+
+            @SuppressWarnings("unchecked")
+            org.mockito.ArgumentCaptor<java.util.function.Consumer<BukkitTask>> captor =
+                    org.mockito.ArgumentCaptor.forClass(java.util.function.Consumer.class);
+            verify(UltiCleanerTestHelper.getMockScheduler()).runTaskTimer(any(), captor.capture(), anyLong(), anyLong());
+            BukkitTask task = mock(BukkitTask.class);
+            assertThatThrownBy(() -> captor.getValue().accept(task)).isInstanceOf(IllegalStateException.class);
+
+            verify(task).cancel();
+            assertThat(removed[0]).isZero();
+        }
+
+        @Test
+        @DisplayName("Should resolve census candidates through their chunk")
+        void resolveThroughChunk() throws Exception {
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            Item item = createMockItem(world, "STONE", false, 1000);
+            when(item.getLocation()).thenReturn(new Location(world, 20, 64, 5));
+            when(item.isValid()).thenReturn(true);
+            when(world.getEntities()).thenReturn(Collections.singletonList(item));
+            org.bukkit.Chunk chunk = UltiCleanerTestHelper.createMockChunk(world, 1, 0);
+            when(chunk.getEntities()).thenReturn(new Entity[]{item});
+            when(world.isChunkLoaded(1, 0)).thenReturn(true);
+            when(world.getChunkAt(1, 0)).thenReturn(chunk);
+            when(UltiCleanerTestHelper.getMockServer().getWorld("world")).thenReturn(world);
+            UltiCleanerTestHelper.addMockWorld(world);
+            when(config.getItemIgnoreRecentSeconds()).thenReturn(0);
+            when(config.getCleanBatchSize()).thenReturn(50);
+            initServiceWithEmptyConfig();
+
+            Method method = CleanerService.class.getDeclaredMethod("cleanItemsWithBatch", PreItemCleanEvent.CleanTrigger.class);
+            method.setAccessible(true);
+            method.invoke(service, PreItemCleanEvent.CleanTrigger.SCHEDULED);
+
+            @SuppressWarnings("unchecked")
+            org.mockito.ArgumentCaptor<java.util.function.Consumer<BukkitTask>> captor =
+                    org.mockito.ArgumentCaptor.forClass(java.util.function.Consumer.class);
+            verify(UltiCleanerTestHelper.getMockScheduler()).runTaskTimer(any(), captor.capture(), anyLong(), anyLong());
+            captor.getValue().accept(mock(BukkitTask.class));
+
+            verify(item).remove();
+            verify(UltiCleanerTestHelper.getMockServer(), never()).getEntity(any(UUID.class));
+        }
+
+        @Test
+        @DisplayName("Should split a dense chunk across ticks at the batch size")
+        void splitDenseChunk() throws Exception {
+            when(config.getRemoveBudgetMs()).thenReturn(0.0);
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            when(UltiCleanerTestHelper.getMockServer().getWorld("world")).thenReturn(world);
+            initServiceWithEmptyConfig();
+
+            CandidateBuffer candidates = new CandidateBuffer();
+            Entity[] entities = new Entity[3];
+            for (int i = 0; i < entities.length; i++) {
+                entities[i] = mock(Entity.class);
+                when(entities[i].getUniqueId()).thenReturn(UUID.randomUUID());
+                when(entities[i].isValid()).thenReturn(true);
+                candidates.add(entities[i].getUniqueId(), "world", 0L);
+            }
+            org.bukkit.Chunk chunk = UltiCleanerTestHelper.createMockChunk(world, 0, 0);
+            when(chunk.getEntities()).thenReturn(entities);
+            when(world.isChunkLoaded(0, 0)).thenReturn(true);
+            when(world.getChunkAt(0, 0)).thenReturn(chunk);
+
+            Method method = CleanerService.class.getDeclaredMethod("removeEntitiesInBatches",
+                    CandidateBuffer.class, int.class, CleanJob.class, java.util.function.Consumer.class);
+            method.setAccessible(true);
+            final int[] removed = {-1};
+            method.invoke(service, candidates, 2, null,
+                    (java.util.function.Consumer<Integer>) count -> removed[0] = count);
+
+            @SuppressWarnings("unchecked")
+            org.mockito.ArgumentCaptor<java.util.function.Consumer<BukkitTask>> captor =
+                    org.mockito.ArgumentCaptor.forClass(java.util.function.Consumer.class);
+            verify(UltiCleanerTestHelper.getMockScheduler()).runTaskTimer(any(), captor.capture(), anyLong(), anyLong());
+            BukkitTask task = mock(BukkitTask.class);
+
+            captor.getValue().accept(task);
+            verify(entities[0]).remove();
+            verify(entities[1]).remove();
+            verify(entities[2], never()).remove();
+            verify(task, never()).cancel();
+
+            captor.getValue().accept(task);
+            verify(entities[2]).remove();
+            verify(task).cancel();
+            assertThat(removed[0]).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should scale the time budget by the TPS multiplier")
+        void budgetScalesWithTps() throws Exception {
+            when(config.getRemoveBudgetMs()).thenReturn(2.0);
+            when(tpsScheduler.getThresholdMultiplier()).thenReturn(0.5);
+
+            Method method = CleanerService.class.getDeclaredMethod("getRemovalBudgetNanos");
+            method.setAccessible(true);
+
+            assertThat((long) method.invoke(service)).isEqualTo(1_000_000L);
+        }
+
+        @Test
+        @DisplayName("Should use fixed batch size when budget is disabled")
+        void budgetDisabled() throws Exception {
+            when(config.getRemoveBudgetMs()).thenReturn(0.0);
+
+            Method method = CleanerService.class.getDeclaredMethod("getRemovalBudgetNanos");
+            method.setAccessible(true);
+
+            assertThat((long) method.invoke(service)).isZero();
         }
     }
 
@@ -1832,112 +2039,1548 @@ class CleanerServiceTest {
         }
     }
 
-    // ==================== Smart Clean - Both Thresholds Exceeded ====================
+    // ==================== Entity Census ====================
 
     @Nested
-    @DisplayName("Smart Clean - Both Thresholds")
-    class SmartCleanBothThresholds {
+    @DisplayName("Entity Census")
+    class EntityCensusSharing {
 
         @Test
-        @DisplayName("Should trigger item clean when both thresholds exceeded")
-        void smartCleanBothThresholds() throws Exception {
-            when(config.isSmartCleanEnabled()).thenReturn(true);
-            when(config.getSmartCleanCooldown()).thenReturn(0);
-            when(config.getItemMaxThreshold()).thenReturn(1);
-            when(config.getMobMaxThreshold()).thenReturn(1);
+        @DisplayName("Should walk each world only once per tick")
+        void singleSweepPerTick() {
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            Item item = createMockItem(world, "STONE", false, 1000);
+            LivingEntity zombie = createMockLivingEntity(world, EntityType.ZOMBIE, null, false);
+            when(world.getEntities()).thenReturn(Arrays.asList(item, zombie));
+            UltiCleanerTestHelper.addMockWorld(world);
+
+            when(config.getItemIgnoreRecentSeconds()).thenReturn(0);
+            when(config.isItemIgnoreNamed()).thenReturn(false);
+            initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE"), Collections.emptyList());
+
+            service.forceCleanItems();
+            service.getEntityCounts();
 
+            verify(world, times(1)).getEntities();
+        }
+
+        @Test
+        @DisplayName("Should produce candidates, type counts and chunk counts together")
+        void combinedSnapshot() {
             World world = UltiCleanerTestHelper.createMockWorld("world");
-            List<Entity> entities = new ArrayList<>();
-            // 5 items (exceeds threshold of 1)
-            for (int i = 0; i < 5; i++) {
-                entities.add(createMockItem(world, "STONE", false, 1000));
-            }
-            // 5 zombies (exceeds threshold of 1)
-            for (int i = 0; i < 5; i++) {
-                entities.add(createMockLivingEntity(world, EntityType.ZOMBIE, null, false));
-            }
-            when(world.getEntities()).thenReturn(entities);
+            Item item = createMockItem(world, "STONE", false, 1000);
+            LivingEntity zombie = createMockLivingEntity(world, EntityType.ZOMBIE, null, false);
+            when(item.getLocation()).thenReturn(new Location(world, 5, 64, 5));
+            when(zombie.getLocation()).thenReturn(new Location(world, 10, 64, 12));
+            when(world.getEntities()).thenReturn(Arrays.asList(item, zombie));
             UltiCleanerTestHelper.addMockWorld(world);
 
             when(config.getItemIgnoreRecentSeconds()).thenReturn(0);
             when(config.isItemIgnoreNamed()).thenReturn(false);
-            when(config.isEntityWhitelistNamed()).thenReturn(false);
-            when(config.isEntityWhitelistLeashed()).thenReturn(false);
-            when(config.isEntityWhitelistTamed()).thenReturn(false);
-            when(tpsScheduler.applyThresholdReduction(1)).thenReturn(1);
+            initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE"), Collections.emptyList());
+
+            EntityCensus census = service.getCandidateCensus();
+
+            assertThat(census.getItemCandidates()).containsExactly(item.getUniqueId());
+            assertThat(census.getMobCandidates()).containsExactly(zombie.getUniqueId());
+            assertThat(census.getMobCandidateCounts()).containsEntry(EntityType.ZOMBIE, 1);
+            assertThat(census.getTypeCounts()).containsEntry(EntityType.ZOMBIE, 1);
+            assertThat(census.getChunkCounts().get("world")).containsEntry(0L, 2);
+        }
 
+        @Test
+        @DisplayName("Should only count when the smart check takes the census")
+        void countOnlyPass() {
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            Item item = createMockItem(world, "STONE", false, 1000);
+            LivingEntity zombie = createMockLivingEntity(world, EntityType.ZOMBIE, null, false);
+            when(world.getEntities()).thenReturn(Arrays.asList(item, zombie));
+            UltiCleanerTestHelper.addMockWorld(world);
             initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE"), Collections.emptyList());
 
-            UltiCleanerTestHelper.setField(service, "lastSmartCleanTime", 0L);
+            EntityCensus census = service.getCensus();
 
-            Method method = CleanerService.class.getDeclaredMethod("checkSmartClean");
-            method.setAccessible(true);
-            method.invoke(service);
+            assertThat(census.getItemCount()).isEqualTo(1);
+            assertThat(census.getMobCount()).isEqualTo(1);
+            assertThat(census.hasCandidates()).isFalse();
+            assertThat(census.getItemCandidates()).isEmpty();
+            verify(item, never()).getItemStack();
+        }
 
-            // Item clean should have triggered (fires PreItemCleanEvent)
-            // Note: cleanItemsWithBatch sets isCleaningInProgress=true, which blocks
-            // the subsequent cleanEntitiesWithBatch call — this is expected behavior
-            verify(Bukkit.getPluginManager(), atLeastOnce()).callEvent(any(PreItemCleanEvent.class));
+        @Test
+        @DisplayName("Should add candidates to a counted census when a cleanup needs them")
+        void candidatesOnDemand() {
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            Item item = createMockItem(world, "STONE", false, 1000);
+            when(world.getEntities()).thenReturn(Collections.singletonList(item));
+            UltiCleanerTestHelper.addMockWorld(world);
+            when(config.getItemIgnoreRecentSeconds()).thenReturn(0);
+            initServiceWithEmptyConfig();
+
+            EntityCensus counted = service.getCensus();
+            EntityCensus withCandidates = service.getCandidateCensus();
+
+            assertThat(withCandidates).isSameAs(counted);
+            assertThat(withCandidates.getItemCandidates()).containsExactly(item.getUniqueId());
+            assertThat(withCandidates.getItemCount()).isEqualTo(1);
+            verify(world, times(2)).getEntities();
         }
 
         @Test
-        @DisplayName("Should trigger only entity clean when only mob threshold exceeded")
-        void smartCleanOnlyMobThreshold() throws Exception {
+        @DisplayName("Should take a fresh census on the next tick without scheduling a task")
+        void invalidatesNextTick() throws Exception {
+            TickClock clock = new TickClock();
+            UltiCleanerTestHelper.setField(service, "tickClock", clock);
+            initServiceWithEmptyConfig();
+
+            EntityCensus first = service.getCensus();
+            assertThat(service.getCensus()).isSameAs(first);
+            clock.tick();
+
+            assertThat(service.getCensus()).isNotSameAs(first);
+            verify(UltiCleanerTestHelper.getMockScheduler(), never()).runTask(any(), any(Runnable.class));
+        }
+
+        @Test
+        @DisplayName("Should rebuild the census after reload")
+        void reloadDropsCensus() {
+            initServiceWithEmptyConfig();
+
+            EntityCensus first = service.getCensus();
+            service.reload();
+
+            assertThat(service.getCensus()).isNotSameAs(first);
+        }
+    }
+
+    // ==================== Smart Clean - Live Mob Counter ====================
+
+    @Nested
+    @DisplayName("Smart Clean - Live Mob Counter")
+    class SmartCleanMobCounter {
+
+        private MobCounter mobCounter;
+
+        @BeforeEach
+        void setUpCounter() throws Exception {
+            mobCounter = mock(MobCounter.class);
+            when(mobCounter.isEnabled()).thenReturn(true);
+            UltiCleanerTestHelper.setField(service, "mobCounter", mobCounter);
+
             when(config.isSmartCleanEnabled()).thenReturn(true);
             when(config.getSmartCleanCooldown()).thenReturn(0);
-            when(config.getItemMaxThreshold()).thenReturn(10000); // high threshold, not exceeded
-            when(config.getMobMaxThreshold()).thenReturn(1);
+            when(config.getItemMaxThreshold()).thenReturn(10000);
+            when(config.getMobMaxThreshold()).thenReturn(100);
+            when(config.getMobCounterReconcileInterval()).thenReturn(60);
+            when(tpsScheduler.applyThresholdReduction(10000)).thenReturn(10000);
+            when(tpsScheduler.applyThresholdReduction(100)).thenReturn(100);
+        }
 
-            World world = UltiCleanerTestHelper.createMockWorld("world");
-            List<Entity> entities = new ArrayList<>();
-            // 5 zombies (exceeds threshold of 1)
-            for (int i = 0; i < 5; i++) {
-                entities.add(createMockLivingEntity(world, EntityType.ZOMBIE, null, false));
-            }
-            when(world.getEntities()).thenReturn(entities);
-            UltiCleanerTestHelper.addMockWorld(world);
+        @Test
+        @DisplayName("Should configure the counter from caches")
+        void configureOnInit() {
+            initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE"), Arrays.asList("world_creative"));
 
-            when(config.isEntityWhitelistNamed()).thenReturn(false);
-            when(config.isEntityWhitelistLeashed()).thenReturn(false);
-            when(config.isEntityWhitelistTamed()).thenReturn(false);
-            when(tpsScheduler.applyThresholdReduction(10000)).thenReturn(10000);
-            when(tpsScheduler.applyThresholdReduction(1)).thenReturn(1);
+            verify(mobCounter).configure(
+                    eq(Collections.singleton(EntityType.ZOMBIE)),
+                    eq(Collections.singleton("world_creative")));
+        }
 
+        @Test
+        @DisplayName("Should trigger entity clean once a scan confirms the live count")
+        void triggerFromCounter() throws Exception {
+            when(mobCounter.isReconcileDue(anyLong(), anyLong())).thenReturn(false);
+            when(mobCounter.getMobCount()).thenReturn(500);
             initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE"), Collections.emptyList());
-
             UltiCleanerTestHelper.setField(service, "lastSmartCleanTime", 0L);
 
-            Method method = CleanerService.class.getDeclaredMethod("checkSmartClean");
-            method.setAccessible(true);
-            method.invoke(service);
+            service.checkSmartClean();
 
-            // Entity clean should have triggered
+            verify(mobCounter, times(1)).reconcile(anyMap(), anyLong());
             verify(Bukkit.getPluginManager(), atLeastOnce()).callEvent(any(PreEntityCleanEvent.class));
         }
-    }
 
-    // ==================== Broadcast Methods - Multiple Players ====================
+        @Test
+        @DisplayName("Should not clean for mobs that despawned without an event")
+        void despawnWithoutEvent() throws Exception {
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            LivingEntity zombie = createMockLivingEntity(world, EntityType.ZOMBIE, null, false);
+            when(world.getEntities()).thenReturn(Arrays.asList(zombie));
+            UltiCleanerTestHelper.addMockWorld(world);
 
-    @Nested
-    @DisplayName("Broadcast to Multiple Players")
-    class BroadcastMultiplePlayers {
+            MobCounter liveCounter = new MobCounter();
+            UltiCleanerTestHelper.setField(liveCounter, "config", config);
+            when(config.isMobCounterEnabled()).thenReturn(true);
+            UltiCleanerTestHelper.setField(service, "mobCounter", liveCounter);
+            initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE"), Collections.emptyList());
+            UltiCleanerTestHelper.setField(service, "lastSmartCleanTime", 0L);
+            service.checkSmartClean();
+
+            // 200 spawns counted, then the mobs despawn without firing any event
+            for (int i = 0; i < 200; i++) {
+                liveCounter.increment(createMockLivingEntity(world, EntityType.ZOMBIE, null, false));
+            }
+            assertThat(liveCounter.getMobCount()).isEqualTo(201);
+
+            service.checkSmartClean();
+
+            assertThat(liveCounter.getMobCount()).isEqualTo(1);
+            verify(Bukkit.getPluginManager(), never()).callEvent(any(PreEntityCleanEvent.class));
+        }
 
         @Test
-        @DisplayName("Should broadcast to all online players")
-        void broadcastToAll() throws Exception {
-            Player player1 = UltiCleanerTestHelper.createMockPlayer("Player1", UUID.randomUUID());
-            Player player2 = UltiCleanerTestHelper.createMockPlayer("Player2", UUID.randomUUID());
-            Collection<Player> players = Arrays.asList(player1, player2);
-            lenient().when(UltiCleanerTestHelper.getMockServer().getOnlinePlayers()).thenReturn((Collection) players);
+        @DisplayName("Should reconcile against a real scan when due")
+        void reconcileWhenDue() throws Exception {
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            LivingEntity zombie = createMockLivingEntity(world, EntityType.ZOMBIE, null, false);
+            when(world.getEntities()).thenReturn(Arrays.asList(zombie));
+            UltiCleanerTestHelper.addMockWorld(world);
 
-            initServiceWithEmptyConfig();
+            when(mobCounter.isReconcileDue(anyLong(), eq(60000L))).thenReturn(true);
+            when(mobCounter.getMobCount()).thenReturn(1);
+            initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE"), Collections.emptyList());
+            UltiCleanerTestHelper.setField(service, "lastSmartCleanTime", 0L);
 
-            Method method = CleanerService.class.getDeclaredMethod("broadcastMessage", String.class);
-            method.setAccessible(true);
-            method.invoke(service, "&aTest message");
+            service.checkSmartClean();
 
-            verify(player1).sendMessage(anyString());
-            verify(player2).sendMessage(anyString());
+            verify(mobCounter).reconcile(eq(Collections.singletonMap(EntityType.ZOMBIE, 1)), anyLong());
+            verify(Bukkit.getPluginManager(), never()).callEvent(any(PreEntityCleanEvent.class));
+        }
+    }
+
+    // ==================== Sliced Collection ====================
+
+    @Nested
+    @DisplayName("Sliced Collection")
+    class SlicedCollection {
+
+        @SuppressWarnings("unchecked")
+        private java.util.function.Consumer<BukkitTask> captureTimerTask() {
+            org.mockito.ArgumentCaptor<java.util.function.Consumer<BukkitTask>> captor =
+                    org.mockito.ArgumentCaptor.forClass(java.util.function.Consumer.class);
+            verify(UltiCleanerTestHelper.getMockScheduler(), atLeastOnce())
+                    .runTaskTimer(any(), captor.capture(), anyLong(), anyLong());
+            return captor.getAllValues().get(0);
+        }
+
+        @Test
+        @DisplayName("Should fire PreItemCleanEvent only after collection finishes")
+        void fireEventAfterCollection() throws Exception {
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            Item item = createMockItem(world, "STONE", false, 1000);
+            org.bukkit.Chunk chunk = UltiCleanerTestHelper.createMockChunk(world, 0, 0);
+            when(chunk.getEntities()).thenReturn(new Entity[]{item});
+            when(world.getLoadedChunks()).thenReturn(new org.bukkit.Chunk[]{chunk});
+            UltiCleanerTestHelper.addMockWorld(world);
+
+            when(config.isSlicedCollectEnabled()).thenReturn(true);
+            when(config.getCollectBudgetMicros()).thenReturn(2000);
+            when(config.getItemIgnoreRecentSeconds()).thenReturn(0);
+            when(config.isItemIgnoreNamed()).thenReturn(false);
+            initServiceWithEmptyConfig();
+
+            Method method = CleanerService.class.getDeclaredMethod("cleanItemsWithBatch", PreItemCleanEvent.CleanTrigger.class);
+            method.setAccessible(true);
+            method.invoke(service, PreItemCleanEvent.CleanTrigger.SCHEDULED);
+
+            verify(Bukkit.getPluginManager(), never()).callEvent(any(PreItemCleanEvent.class));
+            verify(world, never()).getEntities();
+            assertThat(service.isCleaningInProgress()).isTrue();
+
+            BukkitTask task = mock(BukkitTask.class);
+            captureTimerTask().accept(task);
+
+            verify(task).cancel();
+            org.mockito.ArgumentCaptor<PreItemCleanEvent> eventCaptor =
+                    org.mockito.ArgumentCaptor.forClass(PreItemCleanEvent.class);
+            verify(Bukkit.getPluginManager(), atLeastOnce()).callEvent(eventCaptor.capture());
+            assertThat(eventCaptor.getValue().getItemUuids()).containsExactly(item.getUniqueId());
+        }
+
+        @Test
+        @DisplayName("Should collect entities with type counts across ticks")
+        void collectEntitiesSliced() throws Exception {
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            LivingEntity zombie = createMockLivingEntity(world, EntityType.ZOMBIE, null, false);
+            org.bukkit.Chunk chunk = UltiCleanerTestHelper.createMockChunk(world, 0, 0);
+            when(chunk.getEntities()).thenReturn(new Entity[]{zombie});
+            when(world.getLoadedChunks()).thenReturn(new org.bukkit.Chunk[]{chunk});
+            UltiCleanerTestHelper.addMockWorld(world);
+
+            when(config.isSlicedCollectEnabled()).thenReturn(true);
+            when(config.getCollectBudgetMicros()).thenReturn(2000);
+            when(config.isEntityWhitelistNamed()).thenReturn(false);
+            when(config.isEntityWhitelistLeashed()).thenReturn(false);
+            when(config.isEntityWhitelistTamed()).thenReturn(false);
+            initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE"), Collections.emptyList());
+
+            Method method = CleanerService.class.getDeclaredMethod("cleanEntitiesWithBatch", PreEntityCleanEvent.CleanTrigger.class);
+            method.setAccessible(true);
+            method.invoke(service, PreEntityCleanEvent.CleanTrigger.SCHEDULED);
+
+            captureTimerTask().accept(mock(BukkitTask.class));
+
+            org.mockito.ArgumentCaptor<PreEntityCleanEvent> eventCaptor =
+                    org.mockito.ArgumentCaptor.forClass(PreEntityCleanEvent.class);
+            verify(Bukkit.getPluginManager(), atLeastOnce()).callEvent(eventCaptor.capture());
+            assertThat(eventCaptor.getValue().getEntityUuids()).containsExactly(zombie.getUniqueId());
+            assertThat(eventCaptor.getValue().getEntityTypeCounts()).containsEntry(EntityType.ZOMBIE, 1);
+        }
+    }
+
+    // ==================== Parallel Filter ====================
+
+    @Nested
+    @DisplayName("Parallel Filter")
+    class ParallelFilter {
+
+        private void runHandBack() {
+            // The filter runs in the worker pool and hands back with a single sync task
+            org.mockito.ArgumentCaptor<Runnable> syncCaptor = org.mockito.ArgumentCaptor.forClass(Runnable.class);
+            verify(UltiCleanerTestHelper.getMockScheduler(), timeout(5000)).runTask(any(), syncCaptor.capture());
+            syncCaptor.getValue().run();
+            verify(UltiCleanerTestHelper.getMockScheduler(), never()).runTaskAsynchronously(any(), any(Runnable.class));
+        }
+
+        @Test
+        @DisplayName("Should filter items off the main thread before firing the event")
+        void filterItems() throws Exception {
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            Item keep = createMockItem(world, "DIAMOND", false, 1000);
+            Item clean = createMockItem(world, "STONE", false, 1000);
+            when(world.getEntities()).thenReturn(Arrays.asList(keep, clean));
+            UltiCleanerTestHelper.addMockWorld(world);
+            when(config.isParallelFilterEnabled()).thenReturn(true);
+            when(config.getItemIgnoreRecentSeconds()).thenReturn(0);
+            initServiceWithConfig(Arrays.asList("DIAMOND"), Collections.emptyList(), Collections.emptyList());
+
+            Method method = CleanerService.class.getDeclaredMethod("cleanItemsWithBatch", PreItemCleanEvent.CleanTrigger.class);
+            method.setAccessible(true);
+            method.invoke(service, PreItemCleanEvent.CleanTrigger.SCHEDULED);
+
+            verify(Bukkit.getPluginManager(), never()).callEvent(any(PreItemCleanEvent.class));
+            assertThat(service.isCleaningInProgress()).isTrue();
+
+            runHandBack();
+
+            org.mockito.ArgumentCaptor<PreItemCleanEvent> eventCaptor =
+                    org.mockito.ArgumentCaptor.forClass(PreItemCleanEvent.class);
+            verify(Bukkit.getPluginManager(), atLeastOnce()).callEvent(eventCaptor.capture());
+            assertThat(eventCaptor.getValue().getItemUuids()).containsExactly(clean.getUniqueId());
+            service.shutdown();
+        }
+
+        @Test
+        @DisplayName("Should filter mobs with type counts off the main thread")
+        void filterMobs() throws Exception {
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            LivingEntity named = createMockLivingEntity(world, EntityType.ZOMBIE, "Bob", false);
+            LivingEntity plain = createMockLivingEntity(world, EntityType.ZOMBIE, null, false);
+            when(world.getEntities()).thenReturn(Arrays.asList(named, plain));
+            UltiCleanerTestHelper.addMockWorld(world);
+            when(config.isParallelFilterEnabled()).thenReturn(true);
+            when(config.isEntityWhitelistNamed()).thenReturn(true);
+            initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE"), Collections.emptyList());
+
+            Method method = CleanerService.class.getDeclaredMethod("cleanEntitiesWithBatch", PreEntityCleanEvent.CleanTrigger.class);
+            method.setAccessible(true);
+            method.invoke(service, PreEntityCleanEvent.CleanTrigger.SCHEDULED);
+
+            runHandBack();
+
+            org.mockito.ArgumentCaptor<PreEntityCleanEvent> eventCaptor =
+                    org.mockito.ArgumentCaptor.forClass(PreEntityCleanEvent.class);
+            verify(Bukkit.getPluginManager(), atLeastOnce()).callEvent(eventCaptor.capture());
+            assertThat(eventCaptor.getValue().getEntityUuids()).containsExactly(plain.getUniqueId());
+            assertThat(eventCaptor.getValue().getEntityTypeCounts()).containsEntry(EntityType.ZOMBIE, 1);
+            assertThat(service.isCleaningInProgress()).isTrue();
+            service.shutdown();
+        }
+    }
+
+    // ==================== Clean Rules ====================
+
+    @Nested
+    @DisplayName("Clean Rules")
+    class CleanRules {
+
+        @Test
+        @DisplayName("Should collect items using compiled rules")
+        void itemRules() throws Exception {
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            Item stone = createMockItem(world, "STONE", false, 1000);
+            Item dirt = createMockItem(world, "DIRT", false, 1000);
+            when(world.getEntities()).thenReturn(Arrays.asList(stone, dirt));
+            UltiCleanerTestHelper.addMockWorld(world);
+            when(config.getCleanRules()).thenReturn(Collections.singletonList("keep item material=STONE"));
+            initServiceWithEmptyConfig();
+
+            Method method = CleanerService.class.getDeclaredMethod("collectItemCandidates");
+            method.setAccessible(true);
+            List<UUID> result = ((CandidateBuffer) method.invoke(service)).asList();
+
+            assertThat(result).containsExactly(dirt.getUniqueId());
+        }
+
+        @Test
+        @DisplayName("Should apply per-world mob rules")
+        @SuppressWarnings("unchecked")
+        void mobWorldRules() throws Exception {
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            World farm = UltiCleanerTestHelper.createMockWorld("farm");
+            LivingEntity zombie = createMockLivingEntity(world, EntityType.ZOMBIE, null, false);
+            LivingEntity farmZombie = createMockLivingEntity(farm, EntityType.ZOMBIE, null, false);
+            when(world.getEntities()).thenReturn(Collections.singletonList(zombie));
+            when(farm.getEntities()).thenReturn(Collections.singletonList(farmZombie));
+            UltiCleanerTestHelper.addMockWorld(world);
+            UltiCleanerTestHelper.addMockWorld(farm);
+            when(config.getCleanRules()).thenReturn(Collections.singletonList("keep mob world=farm"));
+            initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE"), Collections.emptyList());
+
+            Method method = CleanerService.class.getDeclaredMethod("collectMobCandidates");
+            method.setAccessible(true);
+            List<UUID> result = ((CandidateBuffer) method.invoke(service)).asList();
+
+            assertThat(result).containsExactly(zombie.getUniqueId());
+        }
+
+        @Test
+        @DisplayName("Should warn about invalid rules")
+        void invalidRule() {
+            when(config.getCleanRules()).thenReturn(Collections.singletonList("explode item"));
+
+            initServiceWithEmptyConfig();
+
+            verify(UltiCleanerTestHelper.getMockLogger()).warn(contains("explode item"));
+        }
+    }
+
+    // ==================== Density Limits ====================
+
+    @Nested
+    @DisplayName("Density Limits")
+    class DensityLimits {
+
+        private World denseWorld(int... ticksLived) {
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            List<Entity> zombies = new ArrayList<>();
+            for (int i = 0; i < ticksLived.length; i++) {
+                LivingEntity zombie = createMockLivingEntity(world, EntityType.ZOMBIE, null, false);
+                when(zombie.getLocation()).thenReturn(new Location(world, 20 + i, 64, 5));
+                when(zombie.getTicksLived()).thenReturn(ticksLived[i]);
+                zombies.add(zombie);
+            }
+            when(world.getEntities()).thenReturn(zombies);
+            org.bukkit.Chunk chunk = UltiCleanerTestHelper.createMockChunk(world, 1, 0);
+            when(chunk.getEntities()).thenReturn(zombies.toArray(new Entity[0]));
+            when(world.isChunkLoaded(1, 0)).thenReturn(true);
+            when(world.getChunkAt(1, 0)).thenReturn(chunk);
+            when(UltiCleanerTestHelper.getMockServer().getWorld("world")).thenReturn(world);
+            UltiCleanerTestHelper.addMockWorld(world);
+            return world;
+        }
+
+        private void enableDensity(int maxMobs) {
+            when(config.isSmartCleanEnabled()).thenReturn(true);
+            when(config.getSmartCleanCooldown()).thenReturn(0);
+            when(config.getItemMaxThreshold()).thenReturn(1000);
+            when(config.getMobMaxThreshold()).thenReturn(1000);
+            when(tpsScheduler.applyThresholdReduction(1000)).thenReturn(1000);
+            when(config.isDensityEnabled()).thenReturn(true);
+            when(config.getDensityMaxMobs()).thenReturn(maxMobs);
+        }
+
+        @Test
+        @DisplayName("Should cull only the oldest excess in a dense chunk")
+        void cullOldestExcess() {
+            World world = denseWorld(100, 400, 200, 300);
+            enableDensity(2);
+            initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE"), Collections.emptyList());
+
+            service.checkSmartClean();
+
+            org.mockito.ArgumentCaptor<PreEntityCleanEvent> captor =
+                    org.mockito.ArgumentCaptor.forClass(PreEntityCleanEvent.class);
+            verify(Bukkit.getPluginManager()).callEvent(captor.capture());
+            List<Entity> zombies = world.getEntities();
+            assertThat(captor.getValue().getEntityUuids())
+                    .containsExactly(zombies.get(1).getUniqueId(), zombies.get(3).getUniqueId());
+            assertThat(captor.getValue().getEntityTypeCounts()).containsEntry(EntityType.ZOMBIE, 2);
+        }
+
+        @Test
+        @DisplayName("Should apply per-type limits")
+        void typeLimit() {
+            World world = denseWorld(100, 400, 200, 300);
+            enableDensity(2);
+            when(config.getDensityTypeLimits()).thenReturn(Arrays.asList("ZOMBIE:3", "BOGUS:1"));
+            initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE"), Collections.emptyList());
+
+            service.checkSmartClean();
+
+            org.mockito.ArgumentCaptor<PreEntityCleanEvent> captor =
+                    org.mockito.ArgumentCaptor.forClass(PreEntityCleanEvent.class);
+            verify(Bukkit.getPluginManager()).callEvent(captor.capture());
+            assertThat(captor.getValue().getEntityUuids())
+                    .containsExactly(world.getEntities().get(1).getUniqueId());
+            verify(UltiCleanerTestHelper.getMockLogger()).warn("Invalid density limit: BOGUS:1");
+        }
+
+        @Test
+        @DisplayName("Should do nothing when chunks are under their limits")
+        void underLimit() {
+            denseWorld(100, 400);
+            enableDensity(2);
+            initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE"), Collections.emptyList());
+
+            service.checkSmartClean();
+
+            verify(Bukkit.getPluginManager(), never()).callEvent(any(PreEntityCleanEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should not cull when density limits are disabled")
+        void disabled() {
+            denseWorld(100, 400, 200, 300);
+            enableDensity(2);
+            when(config.isDensityEnabled()).thenReturn(false);
+            initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE"), Collections.emptyList());
+
+            service.checkSmartClean();
+
+            verify(Bukkit.getPluginManager(), never()).callEvent(any(PreEntityCleanEvent.class));
+        }
+    }
+
+    // ==================== Hotspots ====================
+
+    @Nested
+    @DisplayName("Hotspots")
+    class Hotspots {
+
+        private LivingEntity zombieAt(World world, int x, int z) {
+            LivingEntity zombie = createMockLivingEntity(world, EntityType.ZOMBIE, null, false);
+            when(zombie.getLocation()).thenReturn(new Location(world, x, 64, z));
+            return zombie;
+        }
+
+        private List<Entity> setUpFarm(World world) {
+            List<Entity> dense = Arrays.asList(zombieAt(world, 16, 0), zombieAt(world, 17, 0), zombieAt(world, 18, 0));
+            List<Entity> all = new ArrayList<>(dense);
+            all.add(zombieAt(world, 80, 80));
+            when(world.getEntities()).thenReturn(all);
+            org.bukkit.Chunk chunk = UltiCleanerTestHelper.createMockChunk(world, 1, 0);
+            when(chunk.getEntities()).thenReturn(dense.toArray(new Entity[0]));
+            when(world.isChunkLoaded(1, 0)).thenReturn(true);
+            when(world.getChunkAt(1, 0)).thenReturn(chunk);
+            when(UltiCleanerTestHelper.getMockServer().getWorld("world")).thenReturn(world);
+            UltiCleanerTestHelper.addMockWorld(world);
+            return dense;
+        }
+
+        @Test
+        @DisplayName("Should rank the densest chunks")
+        void getHotspots() {
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            setUpFarm(world);
+            when(config.getHotspotCount()).thenReturn(1);
+            initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE"), Collections.emptyList());
+
+            List<HotspotIndex.Hotspot> hotspots = service.getHotspots();
+
+            assertThat(hotspots).hasSize(1);
+            assertThat(hotspots.get(0).getChunkX()).isEqualTo(1);
+            assertThat(hotspots.get(0).getChunkZ()).isZero();
+            assertThat(hotspots.get(0).getCount()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should smart clean only the hotspot chunks")
+        void smartCleanHotspots() {
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            List<Entity> dense = setUpFarm(world);
+            when(config.isSmartCleanEnabled()).thenReturn(true);
+            when(config.getSmartCleanCooldown()).thenReturn(0);
+            when(config.getItemMaxThreshold()).thenReturn(1000);
+            when(config.getMobMaxThreshold()).thenReturn(1);
+            when(tpsScheduler.applyThresholdReduction(1000)).thenReturn(1000);
+            when(tpsScheduler.applyThresholdReduction(1)).thenReturn(1);
+            when(config.isHotspotOnly()).thenReturn(true);
+            when(config.getHotspotCount()).thenReturn(1);
+            initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE"), Collections.emptyList());
+
+            service.checkSmartClean();
+
+            org.mockito.ArgumentCaptor<PreEntityCleanEvent> captor =
+                    org.mockito.ArgumentCaptor.forClass(PreEntityCleanEvent.class);
+            verify(Bukkit.getPluginManager()).callEvent(captor.capture());
+            assertThat(captor.getValue().getEntityUuids()).containsExactly(
+                    dense.get(0).getUniqueId(), dense.get(1).getUniqueId(), dense.get(2).getUniqueId());
+            assertThat(captor.getValue().getEntityTypeCounts()).containsEntry(EntityType.ZOMBIE, 3);
+        }
+
+        @Test
+        @DisplayName("Should not let blacklisted worlds or other categories take the hotspot slots")
+        void skipBlacklistedHotspots() {
+            World creative = UltiCleanerTestHelper.createMockWorld("creative");
+            List<Entity> crowd = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                crowd.add(zombieAt(creative, 0, 0));
+            }
+            when(creative.getEntities()).thenReturn(crowd);
+            UltiCleanerTestHelper.addMockWorld(creative);
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            List<Entity> dense = setUpFarm(world);
+            List<Entity> all = new ArrayList<>(world.getEntities());
+            for (int i = 0; i < 4; i++) {
+                Item item = createMockItem(world, "STONE", false, 1000);
+                when(item.getLocation()).thenReturn(new Location(world, 100, 64, 100));
+                all.add(item);
+            }
+            when(world.getEntities()).thenReturn(all);
+            when(config.isSmartCleanEnabled()).thenReturn(true);
+            when(config.getSmartCleanCooldown()).thenReturn(0);
+            when(config.getItemMaxThreshold()).thenReturn(1000);
+            when(config.getMobMaxThreshold()).thenReturn(1);
+            when(tpsScheduler.applyThresholdReduction(1000)).thenReturn(1000);
+            when(tpsScheduler.applyThresholdReduction(1)).thenReturn(1);
+            when(config.isHotspotOnly()).thenReturn(true);
+            when(config.getHotspotCount()).thenReturn(1);
+            initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE"), Arrays.asList("creative"));
+
+            service.checkSmartClean();
+
+            org.mockito.ArgumentCaptor<PreEntityCleanEvent> captor =
+                    org.mockito.ArgumentCaptor.forClass(PreEntityCleanEvent.class);
+            verify(Bukkit.getPluginManager()).callEvent(captor.capture());
+            assertThat(captor.getValue().getEntityUuids()).containsExactly(
+                    dense.get(0).getUniqueId(), dense.get(1).getUniqueId(), dense.get(2).getUniqueId());
+        }
+    }
+
+    // ==================== Item Merge ====================
+
+    @Nested
+    @DisplayName("Item Merge")
+    class ItemMerge {
+
+        private Item createMergeableItem(World world) {
+            Item item = createMockItem(world, "COBBLESTONE", false, 1000);
+            ItemStack stack = item.getItemStack();
+            when(stack.getAmount()).thenReturn(10);
+            when(stack.getMaxStackSize()).thenReturn(64);
+            when(stack.isSimilar(any())).thenReturn(true);
+            when(item.isValid()).thenReturn(true);
+            when(item.getLocation(any(Location.class))).thenReturn(new Location(world, 0.5, 64, 0.5));
+            return item;
+        }
+
+        private void cleanItems() throws Exception {
+            Method method = CleanerService.class.getDeclaredMethod("cleanItemsWithBatch", PreItemCleanEvent.CleanTrigger.class);
+            method.setAccessible(true);
+            method.invoke(service, PreItemCleanEvent.CleanTrigger.SCHEDULED);
+        }
+
+        @Test
+        @DisplayName("Should merge candidate stacks through their chunk without another world sweep")
+        void mergeCandidates() throws Exception {
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            Item head = createMergeableItem(world);
+            Item other = createMergeableItem(world);
+            when(world.getEntities()).thenReturn(Arrays.asList(head, other));
+            org.bukkit.Chunk chunk = UltiCleanerTestHelper.createMockChunk(world, 0, 0);
+            when(chunk.getEntities()).thenReturn(new Entity[]{head, other});
+            when(world.isChunkLoaded(0, 0)).thenReturn(true);
+            when(world.getChunkAt(0, 0)).thenReturn(chunk);
+            when(UltiCleanerTestHelper.getMockServer().getWorld("world")).thenReturn(world);
+            UltiCleanerTestHelper.addMockWorld(world);
+            when(config.isItemMergeEnabled()).thenReturn(true);
+            when(config.getItemMergeRadius()).thenReturn(2.0);
+            initServiceWithEmptyConfig();
+
+            cleanItems();
+
+            verify(head).setItemStack(head.getItemStack());
+            // Only the census walk lists the world
+            verify(world, times(1)).getEntities();
+        }
+
+        @Test
+        @DisplayName("Should skip blacklisted worlds and disabled merging")
+        void skipWhenDisabled() throws Exception {
+            World world = UltiCleanerTestHelper.createMockWorld("world_creative");
+            Item head = createMergeableItem(world);
+            Item other = createMergeableItem(world);
+            when(world.getEntities()).thenReturn(Arrays.asList(head, other));
+            UltiCleanerTestHelper.addMockWorld(world);
+            when(config.isItemMergeEnabled()).thenReturn(true);
+            when(config.getItemMergeRadius()).thenReturn(2.0);
+            initServiceWithConfig(Collections.emptyList(), Collections.emptyList(), Arrays.asList("world_creative"));
+
+            cleanItems();
+
+            verify(head, never()).setItemStack(any());
+        }
+    }
+
+    // ==================== Recycle Bin ====================
+
+    @Nested
+    @DisplayName("Recycle Bin")
+    class RecycleBin {
+
+        @Test
+        @DisplayName("Should hand removed items to the bin before removing them")
+        void captureRemovedItems() throws Exception {
+            TrashBin trashBin = mock(TrashBin.class);
+            UltiCleanerTestHelper.setField(service, "trashBin", trashBin);
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            Item item = createMockItem(world, "DIAMOND", false, 1000);
+            LivingEntity zombie = createMockLivingEntity(world, EntityType.ZOMBIE, null, false);
+            when(item.isValid()).thenReturn(true);
+            when(zombie.isValid()).thenReturn(true);
+            when(UltiCleanerTestHelper.getMockServer().getEntity(item.getUniqueId())).thenReturn(item);
+            when(UltiCleanerTestHelper.getMockServer().getEntity(zombie.getUniqueId())).thenReturn(zombie);
+            initServiceWithEmptyConfig();
+
+            Method method = CleanerService.class.getDeclaredMethod("removeEntitiesInBatches",
+                    CandidateBuffer.class, int.class, CleanJob.class, java.util.function.Consumer.class);
+            method.setAccessible(true);
+            method.invoke(service, CandidateBuffer.of(Arrays.asList(item.getUniqueId(), zombie.getUniqueId())), 10, null,
+                    (java.util.function.Consumer<Integer>) count -> { });
+
+            @SuppressWarnings("unchecked")
+            org.mockito.ArgumentCaptor<java.util.function.Consumer<BukkitTask>> captor =
+                    org.mockito.ArgumentCaptor.forClass(java.util.function.Consumer.class);
+            verify(UltiCleanerTestHelper.getMockScheduler()).runTaskTimer(any(), captor.capture(), anyLong(), anyLong());
+            captor.getValue().accept(mock(BukkitTask.class));
+
+            org.mockito.InOrder order = inOrder(trashBin, item);
+            order.verify(trashBin).capture(item.getItemStack());
+            order.verify(item).remove();
+            verify(trashBin, times(1)).capture(any());
+            verify(zombie).remove();
+        }
+    }
+
+    // ==================== Item Lifetimes ====================
+
+    @Nested
+    @DisplayName("Item Lifetimes")
+    class ItemLifetimes {
+
+        private ItemTracker tracker;
+
+        @SuppressWarnings("unchecked")
+        private void runRemoval() {
+            org.mockito.ArgumentCaptor<java.util.function.Consumer<BukkitTask>> captor =
+                    org.mockito.ArgumentCaptor.forClass(java.util.function.Consumer.class);
+            verify(UltiCleanerTestHelper.getMockScheduler()).runTaskTimer(any(), captor.capture(), anyLong(), anyLong());
+            captor.getValue().accept(mock(BukkitTask.class));
+        }
+
+        @BeforeEach
+        void enableLifetimes() throws Exception {
+            when(config.isItemCleanEnabled()).thenReturn(true);
+            when(config.isItemTrackerEnabled()).thenReturn(true);
+            when(config.isItemLifetimeEnabled()).thenReturn(true);
+            when(config.getItemLifetimeDefault()).thenReturn(10);
+            when(config.getCleanBatchSize()).thenReturn(50);
+            tracker = new ItemTracker();
+            UltiCleanerTestHelper.setField(tracker, "config", config);
+            UltiCleanerTestHelper.setField(service, "itemTracker", tracker);
+        }
+
+        @Test
+        @DisplayName("Should remove only expired eligible items")
+        void removeExpired() {
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            Item expired = createMockItem(world, "STONE", false, 1000);
+            Item kept = createMockItem(world, "DIAMOND", false, 1000);
+            Item young = createMockItem(world, "STONE", false, 0);
+            for (Item item : Arrays.asList(expired, kept, young)) {
+                when(item.isValid()).thenReturn(true);
+                when(UltiCleanerTestHelper.getMockServer().getEntity(item.getUniqueId())).thenReturn(item);
+            }
+            when(world.getEntitiesByClass(Item.class)).thenReturn(Arrays.asList(expired, kept, young));
+            UltiCleanerTestHelper.addMockWorld(world);
+            initServiceWithConfig(Arrays.asList("DIAMOND"), Collections.emptyList(), Collections.emptyList());
+
+            service.tickItemLifetimes();
+            runRemoval();
+
+            verify(expired).remove();
+            verify(kept, never()).remove();
+            verify(young, never()).remove();
+            assertThat(tracker.get(expired.getUniqueId())).isNull();
+            // The whitelisted item gets another lifetime instead of leaving the heap
+            assertThat(tracker.getPendingExpiries()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should requeue expired items a cancelled cleanup left behind")
+        void requeueSurvivors() {
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            Item expired = createMockItem(world, "STONE", false, 1000);
+            when(expired.isValid()).thenReturn(true);
+            when(UltiCleanerTestHelper.getMockServer().getEntity(expired.getUniqueId())).thenReturn(expired);
+            when(world.getEntitiesByClass(Item.class)).thenReturn(Collections.singletonList(expired));
+            UltiCleanerTestHelper.addMockWorld(world);
+            doAnswer(invocation -> {
+                ((PreItemCleanEvent) invocation.getArgument(0)).setCancelled(true);
+                return null;
+            }).when(Bukkit.getPluginManager()).callEvent(any(PreItemCleanEvent.class));
+            initServiceWithEmptyConfig();
+
+            service.tickItemLifetimes();
+            assertThat(tracker.getPendingExpiries()).isZero();
+
+            // The cancelled batch has finished; the next tick puts its items back
+            service.tickItemLifetimes();
+
+            verify(expired, never()).remove();
+            assertThat(tracker.getPendingExpiries()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should requeue items dropped too recently until they are old enough")
+        void requeueRecent() {
+            when(config.getItemIgnoreRecentSeconds()).thenReturn(100);
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            Item young = createMockItem(world, "STONE", false, 1000);
+            when(young.isValid()).thenReturn(true);
+            when(UltiCleanerTestHelper.getMockServer().getEntity(young.getUniqueId())).thenReturn(young);
+            when(world.getEntitiesByClass(Item.class)).thenReturn(Collections.singletonList(young));
+            UltiCleanerTestHelper.addMockWorld(world);
+            initServiceWithEmptyConfig();
+
+            service.tickItemLifetimes();
+
+            verify(young, never()).remove();
+            assertThat(tracker.getPendingExpiries()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should clean expired items through the events and the recycle bin")
+        void throughPipeline() throws Exception {
+            TrashBin trashBin = mock(TrashBin.class);
+            UltiCleanerTestHelper.setField(service, "trashBin", trashBin);
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            Item expired = createMockItem(world, "STONE", false, 1000);
+            when(expired.isValid()).thenReturn(true);
+            when(UltiCleanerTestHelper.getMockServer().getEntity(expired.getUniqueId())).thenReturn(expired);
+            when(world.getEntitiesByClass(Item.class)).thenReturn(Collections.singletonList(expired));
+            UltiCleanerTestHelper.addMockWorld(world);
+            initServiceWithEmptyConfig();
+
+            service.tickItemLifetimes();
+
+            org.mockito.ArgumentCaptor<PreItemCleanEvent> preCaptor =
+                    org.mockito.ArgumentCaptor.forClass(PreItemCleanEvent.class);
+            verify(Bukkit.getPluginManager()).callEvent(preCaptor.capture());
+            assertThat(preCaptor.getValue().getItemUuids()).containsExactly(expired.getUniqueId());
+            assertThat(preCaptor.getValue().getTrigger()).isEqualTo(PreItemCleanEvent.CleanTrigger.SCHEDULED);
+
+            runRemoval();
+            verify(trashBin).capture(expired.getItemStack());
+            verify(expired).remove();
+
+            org.mockito.ArgumentCaptor<Runnable> async = org.mockito.ArgumentCaptor.forClass(Runnable.class);
+            verify(UltiCleanerTestHelper.getMockScheduler()).runTaskAsynchronously(any(), async.capture());
+            async.getValue().run();
+            verify(Bukkit.getPluginManager()).callEvent(
+                    any(com.ultikits.plugins.cleaner.events.CleanCompleteEvent.class));
+            verify(UltiCleanerTestHelper.getMockServer(), never()).getOnlinePlayers();
+        }
+
+        @Test
+        @DisplayName("Should leave expiries queued while another cleanup runs")
+        void waitWhileBusy() {
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            Item expired = createMockItem(world, "STONE", false, 1000);
+            when(expired.isValid()).thenReturn(true);
+            when(UltiCleanerTestHelper.getMockServer().getEntity(expired.getUniqueId())).thenReturn(expired);
+            when(world.getEntitiesByClass(Item.class)).thenReturn(Collections.singletonList(expired));
+            UltiCleanerTestHelper.addMockWorld(world);
+            initServiceWithEmptyConfig();
+            service.getCleanCoordinator().submit("blocker", CleanJob.Priority.MANUAL, job -> { });
+
+            service.tickItemLifetimes();
+
+            assertThat(tracker.getPendingExpiries()).isEqualTo(1);
+            verify(Bukkit.getPluginManager(), never()).callEvent(any(PreItemCleanEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should pause the global countdown")
+        void skipCountdown() throws Exception {
+            initServiceWithEmptyConfig();
+            UltiCleanerTestHelper.setField(service, "itemCountdown", 50);
+
+            service.tickItemClean();
+
+            assertThat(service.getItemCountdown()).isEqualTo(50);
+        }
+
+        @Test
+        @DisplayName("Should do nothing when lifetime mode is off")
+        void disabled() {
+            when(config.isItemLifetimeEnabled()).thenReturn(false);
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            Item item = createMockItem(world, "STONE", false, 100000);
+            when(item.isValid()).thenReturn(true);
+            when(world.getEntitiesByClass(Item.class)).thenReturn(Collections.singletonList(item));
+            UltiCleanerTestHelper.addMockWorld(world);
+            initServiceWithEmptyConfig();
+
+            service.tickItemLifetimes();
+
+            verify(item, never()).remove();
+        }
+    }
+
+    // ==================== Timing Wheel ====================
+
+    @Nested
+    @DisplayName("Timing Wheel")
+    class TimingWheelTimers {
+
+        private TickClock clock;
+
+        @BeforeEach
+        void setUpClock() throws Exception {
+            clock = new TickClock();
+            UltiCleanerTestHelper.setField(service, "tickClock", clock);
+        }
+
+        @Test
+        @DisplayName("Should register the cleaner timers on init")
+        void registersTimers() {
+            initServiceWithEmptyConfig();
+
+            assertThat(clock.getTimers()).extracting(TimingWheel.Timer::getName)
+                .containsExactlyInAnyOrder("smart-check", "item-countdown", "item-lifetimes", "entity-countdown");
+        }
+
+        @Test
+        @DisplayName("Should not duplicate timers when re-initialized")
+        void reinit() {
+            initServiceWithEmptyConfig();
+            service.init();
+
+            assertThat(clock.getTimers()).hasSize(4);
+        }
+
+        @Test
+        @DisplayName("Should cancel the cleaner timers on shutdown")
+        void shutdown() {
+            initServiceWithEmptyConfig();
+
+            service.shutdown();
+
+            assertThat(clock.getTimers()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should remove batches on the wheel instead of a Bukkit timer")
+        void batchesOnWheel() throws Exception {
+            initServiceWithEmptyConfig();
+            List<UUID> uuids = new ArrayList<>();
+            List<Entity> entities = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                Entity entity = mock(Entity.class);
+                UUID uuid = UUID.randomUUID();
+                when(entity.isValid()).thenReturn(true);
+                when(UltiCleanerTestHelper.getMockServer().getEntity(uuid)).thenReturn(entity);
+                uuids.add(uuid);
+                entities.add(entity);
+            }
+
+            Method method = CleanerService.class.getDeclaredMethod("removeEntitiesInBatches",
+                    CandidateBuffer.class, int.class, CleanJob.class, java.util.function.Consumer.class);
+            method.setAccessible(true);
+            final int[] removed = {-1};
+            method.invoke(service, CandidateBuffer.of(uuids), 1, null,
+                    (java.util.function.Consumer<Integer>) count -> removed[0] = count);
+            clock.tick();
+
+            verify(UltiCleanerTestHelper.getMockScheduler(), never())
+                .runTaskTimer(any(), any(java.util.function.Consumer.class), anyLong(), anyLong());
+            for (Entity entity : entities) {
+                verify(entity).remove();
+            }
+            assertThat(removed[0]).isEqualTo(3);
+            assertThat(clock.getTimers()).extracting(TimingWheel.Timer::getName).doesNotContain("remove");
+        }
+    }
+
+    // ==================== World Profiles ====================
+
+    @Nested
+    @DisplayName("World Profiles")
+    class WorldProfiles {
+
+        private World resource;
+        private Item resourceItem;
+        private final List<PreItemCleanEvent> itemEvents = new ArrayList<>();
+
+        @BeforeEach
+        void setUpWorlds() {
+            resource = UltiCleanerTestHelper.createMockWorld("resource");
+            resourceItem = createMockItem(resource, "STONE", false, 1000);
+            when(resource.getEntities()).thenReturn(new ArrayList<>(Collections.singletonList(resourceItem)));
+            when(resource.getPlayers()).thenReturn(Collections.emptyList());
+            when(UltiCleanerTestHelper.getMockServer().getWorld("resource")).thenReturn(resource);
+            UltiCleanerTestHelper.addMockWorld(resource);
+            when(config.isEntityCleanEnabled()).thenReturn(false);
+            doAnswer(invocation -> {
+                Object event = invocation.getArgument(0);
+                if (event instanceof PreItemCleanEvent) {
+                    itemEvents.add((PreItemCleanEvent) event);
+                }
+                return null;
+            }).when(Bukkit.getPluginManager()).callEvent(any());
+        }
+
+        private WorldProfile initWithProfiles(String... entries) {
+            when(config.getWorldProfiles()).thenReturn(Arrays.asList(entries));
+            initServiceWithEmptyConfig();
+            return service.getWorldProfiles().iterator().next();
+        }
+
+        @Test
+        @DisplayName("Should leave profiled worlds out of the global pass")
+        void excludedFromGlobal() {
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            Item worldItem = createMockItem(world, "STONE", false, 1000);
+            when(world.getEntities()).thenReturn(Collections.singletonList(worldItem));
+            UltiCleanerTestHelper.addMockWorld(world);
+            initWithProfiles("resource:item-interval=2");
+
+            assertThat(service.getCandidateCensus().getItemCandidates())
+                .containsExactly(worldItem.getUniqueId());
+        }
+
+        @Test
+        @DisplayName("Should clean a profiled world when its own countdown ends")
+        void ownCountdown() {
+            WorldProfile profile = initWithProfiles("resource:item-interval=2,batch-size=7");
+
+            service.tickWorldClean(profile);
+            assertThat(itemEvents).isEmpty();
+            service.tickWorldClean(profile);
+
+            assertThat(itemEvents).hasSize(1);
+            assertThat(itemEvents.get(0).getWorld()).isSameAs(resource);
+            assertThat(itemEvents.get(0).getItemUuids()).containsExactly(resourceItem.getUniqueId());
+            assertThat(profile.getItemCountdown()).isEqualTo(2);
+            assertThat(service.getItemCountdown()).isEqualTo(300);
+        }
+
+        @Test
+        @DisplayName("Should queue behind a running cleanup instead of skipping")
+        void waitsWhileBusy() {
+            WorldProfile profile = initWithProfiles("resource:item-interval=1");
+            CleanJob blocker = service.getCleanCoordinator().submit("blocker", CleanJob.Priority.MANUAL, job -> { });
+
+            service.tickWorldClean(profile);
+
+            assertThat(itemEvents).isEmpty();
+            assertThat(profile.getItemCountdown()).isEqualTo(1);
+            assertThat(service.getCleanCoordinator().getPending()).extracting(CleanJob::getName)
+                .containsExactly("world-items:resource");
+
+            blocker.complete();
+            org.mockito.ArgumentCaptor<Runnable> next = org.mockito.ArgumentCaptor.forClass(Runnable.class);
+            verify(UltiCleanerTestHelper.getMockScheduler()).runTaskLater(any(), next.capture(), eq(1L));
+            next.getValue().run();
+
+            assertThat(itemEvents).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("Should smart clean a world over its own threshold")
+        void ownThreshold() {
+            when(config.isSmartCleanEnabled()).thenReturn(true);
+            when(tpsScheduler.applyThresholdReduction(anyInt())).thenAnswer(inv -> inv.getArgument(0));
+            Item second = createMockItem(resource, "STONE", false, 1000);
+            resource.getEntities().add(second);
+            WorldProfile profile = initWithProfiles("resource:item-threshold=1");
+
+            service.checkWorldSmartClean(profile);
+
+            assertThat(itemEvents).hasSize(1);
+            assertThat(itemEvents.get(0).getTrigger()).isEqualTo(PreItemCleanEvent.CleanTrigger.SMART);
+            assertThat(itemEvents.get(0).getItemUuids()).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("Should read world counts from the shared census")
+        void sharedCensus() {
+            when(config.isSmartCleanEnabled()).thenReturn(true);
+            when(tpsScheduler.applyThresholdReduction(anyInt())).thenAnswer(inv -> inv.getArgument(0));
+            WorldProfile profile = initWithProfiles("resource:item-threshold=5");
+
+            service.getEntityCounts();
+            service.checkWorldSmartClean(profile);
+
+            verify(resource, times(1)).getEntities();
+            assertThat(service.getCensus().getWorldItemCount("resource")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should not smart clean a world under its threshold")
+        void underThreshold() {
+            when(config.isSmartCleanEnabled()).thenReturn(true);
+            when(tpsScheduler.applyThresholdReduction(anyInt())).thenAnswer(inv -> inv.getArgument(0));
+            WorldProfile profile = initWithProfiles("resource:item-threshold=5");
+
+            service.checkWorldSmartClean(profile);
+
+            assertThat(itemEvents).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should include profiled worlds in manual cleanups")
+        void manualIncludesProfiles() {
+            initWithProfiles("resource:item-interval=2");
+
+            service.forceCleanItems();
+
+            assertThat(itemEvents).hasSize(1);
+            assertThat(itemEvents.get(0).getWorld()).isNull();
+            assertThat(itemEvents.get(0).getItemUuids()).containsExactly(resourceItem.getUniqueId());
+        }
+
+        @Test
+        @DisplayName("Should skip invalid and blacklisted profiles")
+        void invalidProfiles() {
+            when(config.getWorldProfiles()).thenReturn(Arrays.asList("broken", "nether:batch-size=5"));
+            initServiceWithConfig(Collections.emptyList(), Collections.emptyList(), Arrays.asList("nether"));
+
+            assertThat(service.getWorldProfiles()).isEmpty();
+            verify(UltiCleanerTestHelper.getMockLogger()).warn(contains("broken"));
+        }
+
+        @Test
+        @DisplayName("Should register staggered timers for each profiled world")
+        void staggeredTimers() throws Exception {
+            TickClock clock = new TickClock();
+            UltiCleanerTestHelper.setField(service, "tickClock", clock);
+            initWithProfiles("resource:item-interval=2", "event:item-interval=2");
+
+            assertThat(clock.getTimers()).extracting(TimingWheel.Timer::getName).contains(
+                "world-countdown:resource", "world-smart-check:resource",
+                "world-countdown:event", "world-smart-check:event");
+
+            service.reload();
+            assertThat(clock.getTimers()).hasSize(8);
+        }
+
+        @Test
+        @DisplayName("Should give each world a distinct phase inside the period")
+        void phases() {
+            Set<Long> phases = new HashSet<>();
+            for (int i = 1; i <= 19; i++) {
+                phases.add(CleanerService.phase(i, 19, 20));
+            }
+
+            assertThat(phases).hasSize(19).allMatch(phase -> phase >= 1 && phase < 20);
+        }
+    }
+
+    // ==================== Clean Queue ====================
+
+    @Nested
+    @DisplayName("Clean Queue")
+    class CleanQueue {
+
+        private TickClock clock;
+
+        @BeforeEach
+        void setUpQueue() throws Exception {
+            clock = new TickClock();
+            UltiCleanerTestHelper.setField(service, "tickClock", clock);
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            Item item = createMockItem(world, "STONE", false, 1000);
+            LivingEntity zombie = createMockLivingEntity(world, EntityType.ZOMBIE, null, false);
+            when(world.getEntities()).thenReturn(Arrays.asList(item, zombie));
+            UltiCleanerTestHelper.addMockWorld(world);
+            initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE"), Collections.emptyList());
+        }
+
+        @Test
+        @DisplayName("Should queue a second cleanup instead of dropping it")
+        void queuesSecondCleanup() {
+            service.forceCleanItems();
+            service.forceCleanEntities();
+
+            verify(Bukkit.getPluginManager()).callEvent(any(PreItemCleanEvent.class));
+            verify(Bukkit.getPluginManager(), never()).callEvent(any(PreEntityCleanEvent.class));
+            assertThat(service.getCleanCoordinator().getCurrent().getName()).isEqualTo("items");
+            assertThat(service.getCleanCoordinator().getPending()).extracting(CleanJob::getName).containsExactly("entities");
+            assertThat(service.isCleaningInProgress()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should start the queued cleanup after the previous removal and the gap")
+        void runsAfterGap() {
+            service.forceCleanItems();
+            service.forceCleanEntities();
+
+            clock.tick();
+            verify(Bukkit.getPluginManager(), never()).callEvent(any(PreEntityCleanEvent.class));
+            assertThat(service.getCleanCoordinator().isBusy()).isFalse();
+
+            clock.tick();
+            verify(Bukkit.getPluginManager()).callEvent(any(PreEntityCleanEvent.class));
+            assertThat(service.getCleanCoordinator().getCurrent().getName()).isEqualTo("entities");
+
+            clock.tick();
+            assertThat(service.getCleanCoordinator().isBusy()).isFalse();
+            assertThat(service.isCleaningInProgress()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should coalesce a manual clean into the queued scheduled one")
+        void coalesce() throws Exception {
+            service.getCleanCoordinator().submit("blocker", CleanJob.Priority.SCHEDULED, job -> { });
+            Method method = CleanerService.class.getDeclaredMethod("cleanItemsWithBatch", PreItemCleanEvent.CleanTrigger.class);
+            method.setAccessible(true);
+            method.invoke(service, PreItemCleanEvent.CleanTrigger.SCHEDULED);
+
+            service.forceCleanItems();
+
+            assertThat(service.getCleanCoordinator().getPending()).singleElement()
+                .satisfies(job -> {
+                    assertThat(job.getName()).isEqualTo("items");
+                    assertThat(job.getPriority()).isEqualTo(CleanJob.Priority.MANUAL);
+                });
+        }
+
+        @Test
+        @DisplayName("Should stop removing when the running job is cancelled")
+        void cancelRunning() {
+            service.forceCleanItems();
+            CleanJob job = service.getCleanCoordinator().getCurrent();
+            assertThat(job.getState()).isEqualTo(CleanJob.State.REMOVING);
+
+            assertThat(service.getCleanCoordinator().cancel(job.getId())).isTrue();
+            clock.tick();
+
+            assertThat(job.getState()).isEqualTo(CleanJob.State.CANCELLED);
+            assertThat(service.isCleaningInProgress()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should cancel queued jobs on shutdown")
+        void cancelOnShutdown() {
+            service.forceCleanItems();
+            service.forceCleanEntities();
+            CleanJob queued = service.getCleanCoordinator().getPending().get(0);
+
+            service.shutdown();
+
+            assertThat(queued.getState()).isEqualTo(CleanJob.State.CANCELLED);
+            assertThat(service.getCleanCoordinator().getPending()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should skip the smart check while a cleanup is queued or running")
+        void smartCheckWaits() {
+            when(config.isSmartCleanEnabled()).thenReturn(true);
+            service.forceCleanItems();
+
+            service.checkSmartClean();
+
+            verify(Bukkit.getPluginManager(), times(1)).callEvent(any());
+        }
+    }
+
+    // ==================== Predictive Smart Clean ====================
+
+    @Nested
+    @DisplayName("Predictive Smart Clean")
+    class PredictiveSmartClean {
+
+        private long now;
+
+        @BeforeEach
+        void setUpGrowth() {
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            List<Entity> items = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                items.add(createMockItem(world, "STONE", false, 1000));
+            }
+            when(world.getEntities()).thenReturn(items);
+            UltiCleanerTestHelper.addMockWorld(world);
+            when(config.isSmartCleanEnabled()).thenReturn(true);
+            when(config.getItemMaxThreshold()).thenReturn(5);
+            when(config.getMobMaxThreshold()).thenReturn(1000);
+            when(config.getPredictSeconds()).thenReturn(30);
+            when(config.getPredictSamples()).thenReturn(12);
+            when(tpsScheduler.applyThresholdReduction(anyInt())).thenAnswer(inv -> inv.getArgument(0));
+            now = System.currentTimeMillis();
+        }
+
+        @Test
+        @DisplayName("Should clean early when growth will cross the threshold")
+        void cleansBeforeThreshold() {
+            when(config.isPredictEnabled()).thenReturn(true);
+            initServiceWithEmptyConfig();
+            service.getItemGrowth().record(now - 10000, 1);
+            service.getItemGrowth().record(now - 5000, 2);
+
+            service.checkSmartClean();
+
+            verify(Bukkit.getPluginManager()).callEvent(any(PreItemCleanEvent.class));
+            assertThat(service.getItemGrowth().getSampleCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should not clean a flat count under the threshold")
+        void flatCount() {
+            when(config.isPredictEnabled()).thenReturn(true);
+            initServiceWithEmptyConfig();
+            service.getItemGrowth().record(now - 10000, 3);
+            service.getItemGrowth().record(now - 5000, 3);
+
+            service.checkSmartClean();
+
+            verify(Bukkit.getPluginManager(), never()).callEvent(any(PreItemCleanEvent.class));
+            assertThat(service.getItemGrowth().getSampleCount()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should only react to the threshold when prediction is disabled")
+        void disabled() {
+            initServiceWithEmptyConfig();
+            service.getItemGrowth().record(now - 10000, 1);
+            service.getItemGrowth().record(now - 5000, 2);
+
+            service.checkSmartClean();
+
+            verify(Bukkit.getPluginManager(), never()).callEvent(any(PreItemCleanEvent.class));
+            assertThat(service.getItemGrowth().getSampleCount()).isEqualTo(2);
+        }
+    }
+
+    // ==================== Smart Clean - Both Thresholds Exceeded ====================
+
+    @Nested
+    @DisplayName("Smart Clean - Both Thresholds")
+    class SmartCleanBothThresholds {
+
+        @Test
+        @DisplayName("Should trigger item clean when both thresholds exceeded")
+        void smartCleanBothThresholds() throws Exception {
+            when(config.isSmartCleanEnabled()).thenReturn(true);
+            when(config.getSmartCleanCooldown()).thenReturn(0);
+            when(config.getItemMaxThreshold()).thenReturn(1);
+            when(config.getMobMaxThreshold()).thenReturn(1);
+
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            List<Entity> entities = new ArrayList<>();
+            // 5 items (exceeds threshold of 1)
+            for (int i = 0; i < 5; i++) {
+                entities.add(createMockItem(world, "STONE", false, 1000));
+            }
+            // 5 zombies (exceeds threshold of 1)
+            for (int i = 0; i < 5; i++) {
+                entities.add(createMockLivingEntity(world, EntityType.ZOMBIE, null, false));
+            }
+            when(world.getEntities()).thenReturn(entities);
+            UltiCleanerTestHelper.addMockWorld(world);
+
+            when(config.getItemIgnoreRecentSeconds()).thenReturn(0);
+            when(config.isItemIgnoreNamed()).thenReturn(false);
+            when(config.isEntityWhitelistNamed()).thenReturn(false);
+            when(config.isEntityWhitelistLeashed()).thenReturn(false);
+            when(config.isEntityWhitelistTamed()).thenReturn(false);
+            when(tpsScheduler.applyThresholdReduction(1)).thenReturn(1);
+
+            initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE"), Collections.emptyList());
+
+            UltiCleanerTestHelper.setField(service, "lastSmartCleanTime", 0L);
+
+            Method method = CleanerService.class.getDeclaredMethod("checkSmartClean");
+            method.setAccessible(true);
+            method.invoke(service);
+
+            // Item clean should have triggered (fires PreItemCleanEvent)
+            // The entity clean is queued until the item removal has finished
+            verify(Bukkit.getPluginManager(), atLeastOnce()).callEvent(any(PreItemCleanEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should trigger only entity clean when only mob threshold exceeded")
+        void smartCleanOnlyMobThreshold() throws Exception {
+            when(config.isSmartCleanEnabled()).thenReturn(true);
+            when(config.getSmartCleanCooldown()).thenReturn(0);
+            when(config.getItemMaxThreshold()).thenReturn(10000); // high threshold, not exceeded
+            when(config.getMobMaxThreshold()).thenReturn(1);
+
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            List<Entity> entities = new ArrayList<>();
+            // 5 zombies (exceeds threshold of 1)
+            for (int i = 0; i < 5; i++) {
+                entities.add(createMockLivingEntity(world, EntityType.ZOMBIE, null, false));
+            }
+            when(world.getEntities()).thenReturn(entities);
+            UltiCleanerTestHelper.addMockWorld(world);
+
+            when(config.isEntityWhitelistNamed()).thenReturn(false);
+            when(config.isEntityWhitelistLeashed()).thenReturn(false);
+            when(config.isEntityWhitelistTamed()).thenReturn(false);
+            when(tpsScheduler.applyThresholdReduction(10000)).thenReturn(10000);
+            when(tpsScheduler.applyThresholdReduction(1)).thenReturn(1);
+
+            initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE"), Collections.emptyList());
+
+            UltiCleanerTestHelper.setField(service, "lastSmartCleanTime", 0L);
+
+            Method method = CleanerService.class.getDeclaredMethod("checkSmartClean");
+            method.setAccessible(true);
+            method.invoke(service);
+
+            // Entity clean should have triggered
+            verify(Bukkit.getPluginManager(), atLeastOnce()).callEvent(any(PreEntityCleanEvent.class));
+        }
+    }
+
+    // ==================== Broadcast Methods - Multiple Players ====================
+
+    @Nested
+    @DisplayName("Broadcast to Multiple Players")
+    class BroadcastMultiplePlayers {
+
+        @Test
+        @DisplayName("Should broadcast to all online players")
+        void broadcastToAll() throws Exception {
+            Player player1 = UltiCleanerTestHelper.createMockPlayer("Player1", UUID.randomUUID());
+            Player player2 = UltiCleanerTestHelper.createMockPlayer("Player2", UUID.randomUUID());
+            Collection<Player> players = Arrays.asList(player1, player2);
+            lenient().when(UltiCleanerTestHelper.getMockServer().getOnlinePlayers()).thenReturn((Collection) players);
+
+            initServiceWithEmptyConfig();
+
+            Method method = CleanerService.class.getDeclaredMethod("broadcastMessage", String.class);
+            method.setAccessible(true);
+            method.invoke(service, "&aTest message");
+
+            verify(player1).sendMessage(anyString());
+            verify(player2).sendMessage(anyString());
+        }
+    }
+
+    // ==================== Folia ====================
+
+    @Nested
+    @DisplayName("Folia Regions")
+    class FoliaRegions {
+
+        private World world;
+        private ChunkSectionIndex index;
+        private int regionTasks;
+
+        @BeforeEach
+        void setUpRegions() throws Exception {
+            world = UltiCleanerTestHelper.createMockWorld("world");
+            UltiCleanerTestHelper.addMockWorld(world);
+            when(UltiCleanerTestHelper.getMockServer().getWorld("world")).thenReturn(world);
+            when(config.isEntityWhitelistNamed()).thenReturn(false);
+            when(config.isEntityWhitelistLeashed()).thenReturn(false);
+            when(config.isEntityWhitelistTamed()).thenReturn(false);
+            initServiceWithConfig(Collections.emptyList(), Arrays.asList("ZOMBIE"), Collections.emptyList());
+
+            index = new ChunkSectionIndex();
+            index.enable(Collections.emptyList());
+            UltiCleanerTestHelper.setField(service, "sectionIndex", index);
+            UltiCleanerTestHelper.setField(service, "regionCleaner", new RegionCleaner(index,
+                new RegionCleaner.RegionExecutor() {
+                    @Override
+                    public void runAtChunk(World w, int chunkX, int chunkZ, Runnable task) {
+                        regionTasks++;
+                        task.run();
+                    }
+
+                    @Override
+                    public void runGlobal(Runnable task) {
+                        task.run();
+                    }
+
+                    @Override
+                    public boolean owns(World w, int chunkX, int chunkZ) {
+                        return true;
+                    }
+                }));
+        }
+
+        private void loadChunk(int x, int z, Entity... entities) {
+            org.bukkit.Chunk chunk = UltiCleanerTestHelper.createMockChunk(world, x, z);
+            when(chunk.getEntities()).thenReturn(entities);
+            when(world.isChunkLoaded(x, z)).thenReturn(true);
+            when(world.getChunkAt(x, z)).thenReturn(chunk);
+            index.onChunkLoad("world", x, z);
+        }
+
+        @Test
+        @DisplayName("Should collect and remove items on their regions")
+        void cleanItems() throws Exception {
+            TrashBin trashBin = mock(TrashBin.class);
+            UltiCleanerTestHelper.setField(service, "trashBin", trashBin);
+            Item item = createMockItem(world, "STONE", false, 1000);
+            when(item.isValid()).thenReturn(true);
+            loadChunk(2, 3, item);
+
+            int count = service.forceCleanItems();
+
+            assertThat(count).isEqualTo(-1);
+            assertThat(regionTasks).isEqualTo(2);
+            org.mockito.InOrder order = inOrder(trashBin, item);
+            order.verify(trashBin).capture(item.getItemStack());
+            order.verify(item).remove();
+            verify(world, never()).getEntities();
+            assertThat(service.isCleaningInProgress()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should count mob types for the pre-clean event")
+        void cleanEntities() throws Exception {
+            LivingEntity zombie = createMockLivingEntity(world, EntityType.ZOMBIE, null, false);
+            LivingEntity cow = createMockLivingEntity(world, EntityType.COW, null, false);
+            when(zombie.isValid()).thenReturn(true);
+            loadChunk(0, 0, zombie, cow);
+
+            assertThat(service.forceCleanEntities()).isEqualTo(-1);
+
+            org.mockito.ArgumentCaptor<PreEntityCleanEvent> captor =
+                    org.mockito.ArgumentCaptor.forClass(PreEntityCleanEvent.class);
+            verify(Bukkit.getPluginManager()).callEvent(captor.capture());
+            assertThat(captor.getValue().getEntityUuids()).containsExactly(zombie.getUniqueId());
+            assertThat(captor.getValue().getEntityTypeCounts()).containsEntry(EntityType.ZOMBIE, 1);
+            verify(zombie).remove();
+            verify(cow, never()).remove();
+        }
+
+        @Test
+        @DisplayName("Should skip the world-wide smart check")
+        void skipsSmartCheck() {
+            when(config.isSmartCleanEnabled()).thenReturn(true);
+
+            service.checkSmartClean();
+
+            verify(world, never()).getEntities();
+            assertThat(service.isRegionThreaded()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should stop region cleaning on shutdown")
+        void shutdown() {
+            service.shutdown();
+
+            assertThat(service.isRegionThreaded()).isFalse();
+            assertThat(index.isEnabled()).isFalse();
         }
     }
 }
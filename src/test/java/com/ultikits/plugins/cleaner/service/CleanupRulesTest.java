@@ -0,0 +1,216 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.UltiCleanerTestHelper;
+import com.ultikits.plugins.cleaner.config.CleanerConfig;
+
+import org.bukkit.Material;
+import org.bukkit.entity.EntityType;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static com.ultikits.plugins.cleaner.service.CleanupRules.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CleanupRules Tests")
+class CleanupRulesTest {
+
+    private static final int STONE = Material.STONE.ordinal();
+    private static final int DIAMOND = Material.DIAMOND.ordinal();
+    private static final int ITEM = EntityType.DROPPED_ITEM.ordinal();
+    private static final int ZOMBIE = EntityType.ZOMBIE.ordinal();
+    private static final int COW = EntityType.COW.ordinal();
+
+    private CleanerConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = UltiCleanerTestHelper.createDefaultConfig();
+    }
+
+    private CleanupRules compile(String... lines) {
+        return CleanupRules.compile(Arrays.asList(lines), config, Collections.emptySet());
+    }
+
+    private boolean item(CleanupRules rules, int worldId, int material, int ageTicks, int flags) {
+        return rules.isCandidate(TARGET_ITEM, worldId, ITEM, material, ageTicks, flags, 0L);
+    }
+
+    private boolean mob(CleanupRules rules, int type, int flags, long chunkKey) {
+        return rules.isCandidate(TARGET_MOB, -1, type, -1, 0, flags, chunkKey);
+    }
+
+    @Nested
+    @DisplayName("Compilation")
+    class Compilation {
+
+        @Test
+        @DisplayName("Should clean everything with no rules")
+        void noRules() {
+            CleanupRules rules = compile();
+
+            assertThat(rules.size()).isZero();
+            assertThat(item(rules, -1, STONE, 0, 0)).isTrue();
+            assertThat(mob(rules, ZOMBIE, FLAG_NAMED, 0L)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should report and skip invalid lines")
+        void invalidLines() {
+            CleanupRules rules = compile("keep", "destroy item", "keep item material=NOPE",
+                    "keep item age~5", "keep item shiny", "keep item");
+
+            assertThat(rules.getErrors()).hasSize(5);
+            assertThat(rules.size()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should ignore blank and null lines")
+        void blankLines() {
+            CleanupRules rules = CleanupRules.compile(Arrays.asList("", "   ", null), config, Collections.emptySet());
+
+            assertThat(rules.size()).isZero();
+            assertThat(rules.getErrors()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should resolve world ids only for named worlds")
+        void worldIds() {
+            CleanupRules rules = compile("keep item world=world_creative,lobby");
+
+            assertThat(rules.worldId("world_creative")).isGreaterThanOrEqualTo(0);
+            assertThat(rules.worldId("lobby")).isGreaterThanOrEqualTo(0);
+            assertThat(rules.worldId("world")).isEqualTo(-1);
+        }
+
+        @Test
+        @DisplayName("Should report which flags are used per target")
+        void usesFlag() {
+            CleanupRules rules = compile("keep mob leashed", "keep item !named");
+
+            assertThat(rules.usesFlag(TARGET_MOB, FLAG_LEASHED)).isTrue();
+            assertThat(rules.usesFlag(TARGET_MOB, FLAG_NAMED)).isFalse();
+            assertThat(rules.usesFlag(TARGET_ITEM, FLAG_NAMED)).isTrue();
+            assertThat(rules.usesChunks()).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Evaluation")
+    class Evaluation {
+
+        @Test
+        @DisplayName("Should apply the first matching rule")
+        void firstMatchWins() {
+            CleanupRules rules = compile("clean item material=DIAMOND", "keep item");
+
+            assertThat(item(rules, -1, DIAMOND, 0, 0)).isTrue();
+            assertThat(item(rules, -1, STONE, 0, 0)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should match per-world rules")
+        void perWorld() {
+            CleanupRules rules = compile("keep item world=world_creative");
+            int creative = rules.worldId("world_creative");
+
+            assertThat(item(rules, creative, STONE, 0, 0)).isFalse();
+            assertThat(item(rules, rules.worldId("world"), STONE, 0, 0)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should compare age in seconds")
+        void age() {
+            CleanupRules rules = compile("keep item material=STONE age<60", "keep item age<=10");
+
+            assertThat(item(rules, -1, STONE, 60 * 20 - 1, 0)).isFalse();
+            assertThat(item(rules, -1, STONE, 60 * 20, 0)).isTrue();
+            assertThat(item(rules, -1, DIAMOND, 10 * 20, 0)).isFalse();
+            assertThat(item(rules, -1, DIAMOND, 10 * 20 + 1, 0)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should match required and negated flags")
+        void flags() {
+            CleanupRules rules = compile("keep mob type=ZOMBIE named !leashed");
+
+            assertThat(mob(rules, ZOMBIE, FLAG_NAMED, 0L)).isFalse();
+            assertThat(mob(rules, ZOMBIE, FLAG_NAMED | FLAG_LEASHED, 0L)).isTrue();
+            assertThat(mob(rules, ZOMBIE, 0, 0L)).isTrue();
+            assertThat(mob(rules, COW, FLAG_NAMED, 0L)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should apply any-target rules to items and mobs")
+        void anyTarget() {
+            CleanupRules rules = compile("keep any named");
+
+            assertThat(item(rules, -1, STONE, 0, FLAG_NAMED)).isFalse();
+            assertThat(mob(rules, ZOMBIE, FLAG_NAMED, 0L)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should keep the first N per chunk and reset on a new pass")
+        void keepPerChunk() {
+            CleanupRules rules = compile("keep-per-chunk:2 mob type=COW");
+
+            assertThat(rules.usesChunks()).isTrue();
+            assertThat(mob(rules, COW, 0, 1L)).isFalse();
+            assertThat(mob(rules, COW, 0, 1L)).isFalse();
+            assertThat(mob(rules, COW, 0, 1L)).isTrue();
+            assertThat(mob(rules, COW, 0, 2L)).isFalse();
+
+            rules.beginPass();
+            assertThat(mob(rules, COW, 0, 1L)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should track many chunks without losing counts")
+        void keepPerChunkGrows() {
+            CleanupRules rules = compile("keep-per-chunk:1 mob");
+
+            for (long chunk = 0; chunk < 500; chunk++) {
+                assertThat(mob(rules, ZOMBIE, 0, chunk)).isFalse();
+            }
+            for (long chunk = 0; chunk < 500; chunk++) {
+                assertThat(mob(rules, ZOMBIE, 0, chunk)).isTrue();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Legacy Options")
+    class LegacyOptions {
+
+        @Test
+        @DisplayName("Should keep whitelisted materials after custom rules")
+        void whitelist() {
+            CleanupRules rules = CleanupRules.compile(Collections.singletonList("clean item material=DIAMOND age>=10"),
+                    config, new HashSet<>(Arrays.asList("DIAMOND", "NOT_A_MATERIAL")));
+
+            assertThat(item(rules, -1, DIAMOND, 10 * 20, 0)).isTrue();
+            assertThat(item(rules, -1, DIAMOND, 0, 0)).isFalse();
+            assertThat(item(rules, -1, STONE, 0, 0)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should compile named, recent, leashed and tamed options")
+        void options() {
+            when(config.isItemIgnoreNamed()).thenReturn(true);
+            when(config.getItemIgnoreRecentSeconds()).thenReturn(5);
+            when(config.isEntityWhitelistNamed()).thenReturn(true);
+            when(config.isEntityWhitelistLeashed()).thenReturn(true);
+            when(config.isEntityWhitelistTamed()).thenReturn(true);
+            CleanupRules rules = compile();
+
+            assertThat(item(rules, -1, STONE, 1000, FLAG_NAMED)).isFalse();
+            assertThat(item(rules, -1, STONE, 99, 0)).isFalse();
+            assertThat(item(rules, -1, STONE, 100, 0)).isTrue();
+            assertThat(mob(rules, ZOMBIE, FLAG_NAMED, 0L)).isFalse();
+            assertThat(mob(rules, ZOMBIE, FLAG_LEASHED, 0L)).isFalse();
+            assertThat(mob(rules, ZOMBIE, FLAG_TAMED, 0L)).isFalse();
+            assertThat(mob(rules, ZOMBIE, 0, 0L)).isTrue();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.ultikits.plugins.cleaner.service;
+
+import org.bukkit.entity.EntityType;
+import org.junit.jupiter.api.*;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("EntityCensus Tests")
+class EntityCensusTest {
+
+    private EntityCensus census;
+
+    @BeforeEach
+    void setUp() {
+        census = new EntityCensus();
+    }
+
+    @Nested
+    @DisplayName("Counts")
+    class Counts {
+
+        @Test
+        @DisplayName("Should start empty")
+        void emptyCensus() {
+            assertThat(census.getItemCount()).isZero();
+            assertThat(census.getMobCount()).isZero();
+            assertThat(census.getTotalEntities()).isZero();
+            assertThat(census.getItemCandidates()).isEmpty();
+            assertThat(census.getMobCandidates()).isEmpty();
+            assertThat(census.getChunkCounts()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should exclude blacklisted worlds from cleanable counts only")
+        void blacklistedCounts() {
+            census.addItem(false);
+            census.addItem(true);
+            census.addMob(EntityType.ZOMBIE, true);
+            census.addMob(EntityType.SKELETON, false);
+
+            assertThat(census.getItemCount()).isEqualTo(1);
+            assertThat(census.getTotalItems()).isEqualTo(2);
+            assertThat(census.getMobCount()).isEqualTo(1);
+            assertThat(census.getTotalMobs()).isEqualTo(2);
+            assertThat(census.getMobTypeCounts()).containsEntry(EntityType.SKELETON, 1).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("Should count entity types and ignore null types")
+        void typeCounts() {
+            census.addEntity(EntityType.ZOMBIE);
+            census.addEntity(EntityType.ZOMBIE);
+            census.addEntity(null);
+
+            assertThat(census.getTotalEntities()).isEqualTo(3);
+            assertThat(census.getTypeCounts()).containsEntry(EntityType.ZOMBIE, 2).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("Should keep counts per world")
+        void worldCounts() {
+            census.setWorldCounts("world", 3, 2);
+
+            assertThat(census.getWorldItemCount("world")).isEqualTo(3);
+            assertThat(census.getWorldMobCount("world")).isEqualTo(2);
+            assertThat(census.getWorldItemCount("world_nether")).isZero();
+        }
+
+        @Test
+        @DisplayName("Should count entities per chunk")
+        void chunkCounts() {
+            census.addChunkEntity("world", 1L, true);
+            census.addChunkEntity("world", 1L, false);
+            census.addChunkEntity("world_nether", 1L, true);
+
+            assertThat(census.getChunkCounts().get("world")).containsEntry(1L, 2);
+            assertThat(census.getChunkCounts().get("world_nether")).containsEntry(1L, 1);
+            assertThat(census.getHotspots().getCount("world", 1L, HotspotIndex.Category.MOBS)).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Candidates")
+    class Candidates {
+
+        @Test
+        @DisplayName("Should track mob candidates with type counts")
+        void mobCandidates() {
+            census.addMobCandidate(UUID.randomUUID(), EntityType.ZOMBIE);
+            census.addMobCandidate(UUID.randomUUID(), EntityType.SKELETON);
+            census.addMobCandidate(UUID.randomUUID(), EntityType.ZOMBIE);
+
+            assertThat(census.getMobCandidates()).hasSize(3);
+            assertThat(census.getMobCandidateCounts())
+                    .containsEntry(EntityType.ZOMBIE, 2)
+                    .containsEntry(EntityType.SKELETON, 1);
+        }
+
+        @Test
+        @DisplayName("Should expose candidates as read-only")
+        void readOnlyCandidates() {
+            census.addItemCandidate(UUID.randomUUID());
+
+            assertThatThrownBy(() -> census.getItemCandidates().clear())
+                    .isInstanceOf(UnsupportedOperationException.class);
+        }
+
+        @Test
+        @DisplayName("Should record candidate locations")
+        void locateCandidate() {
+            UUID uuid = UUID.randomUUID();
+            census.addItemCandidate(uuid, "world", 42L);
+
+            CandidateBuffer copy = census.copyItemCandidates();
+            assertThat(copy.asList()).containsExactly(uuid);
+            assertThat(copy.getWorldName(0)).isEqualTo("world");
+            assertThat(copy.getChunkKey(0)).isEqualTo(42L);
+        }
+    }
+}
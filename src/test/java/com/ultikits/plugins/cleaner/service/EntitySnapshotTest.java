@@ -0,0 +1,86 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.utils.ChunkKeyUtil;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.Wolf;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.junit.jupiter.api.*;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("EntitySnapshot Tests")
+class EntitySnapshotTest {
+
+    private Item createItem(boolean named) {
+        Item item = mock(Item.class);
+        when(item.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(item.getType()).thenReturn(EntityType.DROPPED_ITEM);
+        when(item.getTicksLived()).thenReturn(300);
+        ItemStack stack = mock(ItemStack.class);
+        ItemMeta meta = mock(ItemMeta.class);
+        when(stack.getType()).thenReturn(Material.STONE);
+        lenient().when(stack.hasItemMeta()).thenReturn(true);
+        lenient().when(stack.getItemMeta()).thenReturn(meta);
+        lenient().when(meta.hasDisplayName()).thenReturn(named);
+        when(item.getItemStack()).thenReturn(stack);
+        return item;
+    }
+
+    @Test
+    @DisplayName("Should capture item state")
+    void captureItem() {
+        World world = mock(World.class);
+        Item item = createItem(true);
+        when(item.getLocation()).thenReturn(new Location(world, 33, 64, 17));
+
+        EntitySnapshot snapshot = EntitySnapshot.ofItem(item, "world", true);
+
+        assertThat(snapshot.getUuid()).isEqualTo(item.getUniqueId());
+        assertThat(snapshot.getMaterial()).isEqualTo(Material.STONE);
+        assertThat(snapshot.hasDisplayName()).isTrue();
+        assertThat(snapshot.getTicksLived()).isEqualTo(300);
+        assertThat(snapshot.getWorldName()).isEqualTo("world");
+        assertThat(snapshot.isLocated()).isTrue();
+        assertThat(snapshot.getChunkKey()).isEqualTo(ChunkKeyUtil.pack(2, 1));
+    }
+
+    @Test
+    @DisplayName("Should skip item meta when display name is not needed")
+    void skipDisplayName() {
+        Item item = createItem(true);
+
+        EntitySnapshot snapshot = EntitySnapshot.ofItem(item, "world", false);
+
+        assertThat(snapshot.hasDisplayName()).isFalse();
+        assertThat(snapshot.isLocated()).isFalse();
+        verify(item.getItemStack(), never()).getItemMeta();
+    }
+
+    @Test
+    @DisplayName("Should capture mob state")
+    void captureMob() {
+        Wolf wolf = mock(Wolf.class);
+        when(wolf.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(wolf.getType()).thenReturn(EntityType.WOLF);
+        when(wolf.isLeashed()).thenReturn(true);
+        when(wolf.isTamed()).thenReturn(true);
+        when(wolf.getCustomName()).thenReturn("Rex");
+
+        EntitySnapshot snapshot = EntitySnapshot.ofMob(wolf, "world");
+
+        assertThat(snapshot.getType()).isEqualTo(EntityType.WOLF);
+        assertThat(snapshot.getMaterial()).isNull();
+        assertThat(snapshot.isLeashed()).isTrue();
+        assertThat(snapshot.isTamed()).isTrue();
+        assertThat(snapshot.getCustomName()).isEqualTo("Rex");
+    }
+}
@@ -0,0 +1,152 @@
+package com.ultikits.plugins.cleaner.service;
+
+import org.junit.jupiter.api.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("GrowthPredictor Tests")
+class GrowthPredictorTest {
+
+    private GrowthPredictor predictor;
+
+    @BeforeEach
+    void setUp() {
+        predictor = new GrowthPredictor(4);
+    }
+
+    @Nested
+    @DisplayName("Rate")
+    class Rate {
+
+        @Test
+        @DisplayName("Should report no rate below the minimum sample count")
+        void tooFewSamples() {
+            predictor.record(0L, 100);
+            predictor.record(5000L, 200);
+
+            assertThat(predictor.getRatePerSecond()).isZero();
+            assertThat(predictor.willExceed(150, 60)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should fit a steady rise exactly")
+        void linearGrowth() {
+            for (int i = 0; i < 4; i++) {
+                predictor.record(i * 5000L, 100 + i * 50);
+            }
+
+            assertThat(predictor.getRatePerSecond()).isCloseTo(10.0, within(1e-9));
+        }
+
+        @Test
+        @DisplayName("Should fit a falling count as negative")
+        void decline() {
+            for (int i = 0; i < 3; i++) {
+                predictor.record(i * 1000L, 300 - i * 20);
+            }
+
+            assertThat(predictor.getRatePerSecond()).isCloseTo(-20.0, within(1e-9));
+        }
+
+        @Test
+        @DisplayName("Should smooth noise with least squares")
+        void noisy() {
+            predictor.record(0L, 100);
+            predictor.record(1000L, 120);
+            predictor.record(2000L, 110);
+            predictor.record(3000L, 130);
+
+            assertThat(predictor.getRatePerSecond()).isCloseTo(8.0, within(1e-9));
+        }
+
+        @Test
+        @DisplayName("Should report no rate when every sample shares a timestamp")
+        void sameTime() {
+            for (int i = 0; i < 3; i++) {
+                predictor.record(1000L, 100 + i);
+            }
+
+            assertThat(predictor.getRatePerSecond()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should only fit the newest samples once the window is full")
+        void rollingWindow() {
+            predictor.record(0L, 1000);
+            predictor.record(1000L, 0);
+            for (int i = 2; i < 6; i++) {
+                predictor.record(i * 1000L, i * 10);
+            }
+
+            assertThat(predictor.getSampleCount()).isEqualTo(4);
+            assertThat(predictor.getRatePerSecond()).isCloseTo(10.0, within(1e-9));
+        }
+
+        @Test
+        @DisplayName("Should forget samples on reset")
+        void reset() {
+            for (int i = 0; i < 3; i++) {
+                predictor.record(i * 1000L, i * 10);
+            }
+
+            predictor.reset();
+
+            assertThat(predictor.getSampleCount()).isZero();
+            assertThat(predictor.getRatePerSecond()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should keep at least the minimum capacity")
+        void minimumCapacity() {
+            GrowthPredictor small = new GrowthPredictor(1);
+            for (int i = 0; i < 3; i++) {
+                small.record(i * 1000L, i * 10);
+            }
+
+            assertThat(small.getSampleCount()).isEqualTo(GrowthPredictor.MIN_SAMPLES);
+            assertThat(small.getRatePerSecond()).isCloseTo(10.0, within(1e-9));
+        }
+    }
+
+    @Nested
+    @DisplayName("Projection")
+    class Projection {
+
+        @Test
+        @DisplayName("Should project from the latest sample")
+        void projectFromLatest() {
+            for (int i = 0; i < 3; i++) {
+                predictor.record(i * 5000L, 100 + i * 50);
+            }
+
+            assertThat(predictor.project(30)).isCloseTo(500.0, within(1e-9));
+        }
+
+        @Test
+        @DisplayName("Should predict a crossing within the horizon")
+        void willExceed() {
+            for (int i = 0; i < 3; i++) {
+                predictor.record(i * 5000L, 100 + i * 50);
+            }
+
+            assertThat(predictor.willExceed(450, 30)).isTrue();
+            assertThat(predictor.willExceed(550, 30)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should not predict a crossing for a flat count already above the threshold")
+        void flatAboveThreshold() {
+            for (int i = 0; i < 3; i++) {
+                predictor.record(i * 5000L, 500);
+            }
+
+            assertThat(predictor.willExceed(400, 30)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should project zero with no samples")
+        void empty() {
+            assertThat(predictor.project(30)).isZero();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.utils.ChunkKeyUtil;
+
+import org.junit.jupiter.api.*;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("HotspotIndex Tests")
+class HotspotIndexTest {
+
+    private HotspotIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new HotspotIndex();
+    }
+
+    private void add(String world, int chunkX, int chunkZ, int times) {
+        for (int i = 0; i < times; i++) {
+            index.addItem(world, ChunkKeyUtil.pack(chunkX, chunkZ));
+        }
+    }
+
+    @Test
+    @DisplayName("Should count entities per chunk")
+    void counts() {
+        add("world", 1, 2, 3);
+        add("nether", 1, 2, 1);
+
+        assertThat(index.getCount("world", ChunkKeyUtil.pack(1, 2))).isEqualTo(3);
+        assertThat(index.getCount("nether", ChunkKeyUtil.pack(1, 2))).isEqualTo(1);
+        assertThat(index.getCount("world", ChunkKeyUtil.pack(0, 0))).isZero();
+        assertThat(index.getCount("end", ChunkKeyUtil.pack(1, 2))).isZero();
+        assertThat(index.asMap()).containsOnlyKeys("world", "nether");
+    }
+
+    @Test
+    @DisplayName("Should return the densest chunks, densest first")
+    void top() {
+        add("world", 0, 0, 2);
+        add("world", 1, 0, 9);
+        add("world", -3, 4, 5);
+        add("nether", 7, 7, 7);
+        add("nether", 8, 8, 1);
+
+        List<HotspotIndex.Hotspot> top = index.top(3);
+
+        assertThat(top).extracting(HotspotIndex.Hotspot::getCount).containsExactly(9, 7, 5);
+        assertThat(top.get(0).getWorldName()).isEqualTo("world");
+        assertThat(top.get(1).getWorldName()).isEqualTo("nether");
+        assertThat(top.get(2).getChunkX()).isEqualTo(-3);
+        assertThat(top.get(2).getChunkZ()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should return every chunk when fewer than the limit")
+    void topFewerThanLimit() {
+        add("world", 0, 0, 1);
+        add("world", 1, 0, 2);
+
+        assertThat(index.top(10)).extracting(HotspotIndex.Hotspot::getCount).containsExactly(2, 1);
+    }
+
+    @Test
+    @DisplayName("Should rank by the requested category")
+    void topByCategory() {
+        add("world", 0, 0, 5);
+        for (int i = 0; i < 3; i++) {
+            index.addMob("world", ChunkKeyUtil.pack(1, 0));
+        }
+        index.addMob("world", ChunkKeyUtil.pack(0, 0));
+
+        assertThat(index.top(1)).extracting(HotspotIndex.Hotspot::getChunkX).containsExactly(0);
+        List<HotspotIndex.Hotspot> mobs = index.top(2, HotspotIndex.Category.MOBS, Collections.emptySet());
+        assertThat(mobs).extracting(HotspotIndex.Hotspot::getChunkX).containsExactly(1, 0);
+        assertThat(mobs).extracting(HotspotIndex.Hotspot::getCount).containsExactly(3, 1);
+        assertThat(index.getCount("world", ChunkKeyUtil.pack(0, 0))).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should leave excluded worlds out before taking the top")
+    void topExcludesWorlds() {
+        add("creative", 0, 0, 50);
+        add("world", 1, 0, 2);
+
+        assertThat(index.top(1, HotspotIndex.Category.ITEMS, Collections.singleton("creative")))
+            .extracting(HotspotIndex.Hotspot::getWorldName).containsExactly("world");
+        assertThat(index.top(1, HotspotIndex.Category.MOBS, Collections.emptySet())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return nothing for a non-positive limit or empty index")
+    void topEmpty() {
+        assertThat(index.top(5)).isEmpty();
+        add("world", 0, 0, 1);
+        assertThat(index.top(0)).isEmpty();
+    }
+}
@@ -0,0 +1,179 @@
+package com.ultikits.plugins.cleaner.service;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Item;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ItemCompactor Tests")
+class ItemCompactorTest {
+
+    private ItemCompactor compactor;
+
+    @BeforeEach
+    void setUp() {
+        compactor = new ItemCompactor(2.0);
+    }
+
+    /**
+     * Create a mock stack whose amount follows setAmount.
+     */
+    private ItemStack createStack(Material material, int amount) {
+        ItemStack stack = mock(ItemStack.class);
+        AtomicInteger current = new AtomicInteger(amount);
+        lenient().when(stack.getType()).thenReturn(material);
+        lenient().when(stack.getMaxStackSize()).thenReturn(64);
+        lenient().when(stack.getAmount()).thenAnswer(inv -> current.get());
+        lenient().doAnswer(inv -> {
+            current.set(inv.getArgument(0));
+            return null;
+        }).when(stack).setAmount(anyInt());
+        lenient().when(stack.isSimilar(any())).thenAnswer(inv -> {
+            ItemStack other = inv.getArgument(0);
+            return other != null && other.getType() == material;
+        });
+        return stack;
+    }
+
+    private Item createItem(Material material, int amount, double x, double z) {
+        Item item = mock(Item.class);
+        ItemStack stack = createStack(material, amount);
+        lenient().when(item.isValid()).thenReturn(true);
+        lenient().when(item.getItemStack()).thenReturn(stack);
+        lenient().when(item.getLocation(any(Location.class))).thenReturn(new Location(null, x, 64, z));
+        return item;
+    }
+
+    @Test
+    @DisplayName("Should merge small stacks into one and remove the rest")
+    void mergeIntoOne() {
+        Item first = createItem(Material.COBBLESTONE, 20, 0.5, 0.5);
+        Item second = createItem(Material.COBBLESTONE, 20, 1.0, 0.5);
+        Item third = createItem(Material.COBBLESTONE, 20, 0.5, 1.5);
+
+        int merged = compactor.compact(Arrays.asList(first, second, third));
+
+        assertThat(merged).isEqualTo(2);
+        assertThat(first.getItemStack().getAmount()).isEqualTo(60);
+        verify(first, never()).remove();
+        verify(second).remove();
+        verify(third).remove();
+    }
+
+    @Test
+    @DisplayName("Should report each item it merges away")
+    void reportMerged() {
+        List<Item> reported = new ArrayList<>();
+        Item first = createItem(Material.COBBLESTONE, 20, 0.5, 0.5);
+        Item second = createItem(Material.COBBLESTONE, 20, 1.0, 0.5);
+
+        new ItemCompactor(2.0, reported::add).compact(Arrays.asList(first, second));
+
+        assertThat(reported).containsExactly(second);
+    }
+
+    @Test
+    @DisplayName("Should keep the overflow as its own stack")
+    void overflow() {
+        Item first = createItem(Material.COBBLESTONE, 40, 0.5, 0.5);
+        Item second = createItem(Material.COBBLESTONE, 40, 0.5, 0.5);
+
+        int merged = compactor.compact(Arrays.asList(first, second));
+
+        assertThat(merged).isZero();
+        assertThat(first.getItemStack().getAmount()).isEqualTo(64);
+        assertThat(second.getItemStack().getAmount()).isEqualTo(16);
+        verify(second, never()).remove();
+        verify(second).setItemStack(second.getItemStack());
+    }
+
+    @Test
+    @DisplayName("Should not merge different materials or distant items")
+    void keepApart() {
+        Item stone = createItem(Material.COBBLESTONE, 10, 0.5, 0.5);
+        Item dirt = createItem(Material.DIRT, 10, 0.5, 0.5);
+        Item farStone = createItem(Material.COBBLESTONE, 10, 30.5, 0.5);
+
+        int merged = compactor.compact(Arrays.asList(stone, dirt, farStone));
+
+        assertThat(merged).isZero();
+        verify(stone, never()).setItemStack(any());
+        verify(farStone, never()).remove();
+    }
+
+    @Test
+    @DisplayName("Should only merge stacks with the same owner and thrower")
+    void keepOwnersApart() {
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        Item owned = createItem(Material.COBBLESTONE, 10, 0.5, 0.5);
+        when(owned.getOwner()).thenReturn(alice);
+        Item otherOwner = createItem(Material.COBBLESTONE, 10, 0.5, 0.5);
+        when(otherOwner.getOwner()).thenReturn(bob);
+        Item thrown = createItem(Material.COBBLESTONE, 10, 0.5, 0.5);
+        when(thrown.getThrower()).thenReturn(alice);
+        Item unowned = createItem(Material.COBBLESTONE, 10, 0.5, 0.5);
+
+        int merged = compactor.compact(Arrays.asList(owned, otherOwner, thrown, unowned));
+
+        assertThat(merged).isZero();
+        verify(owned, never()).setItemStack(any());
+        verify(unowned, never()).remove();
+    }
+
+    @Test
+    @DisplayName("Should skip items that can never be picked up and keep the longer pickup delay")
+    void pickupDelay() {
+        Item display = createItem(Material.COBBLESTONE, 10, 0.5, 0.5);
+        when(display.getPickupDelay()).thenReturn(Short.MAX_VALUE);
+        Item first = createItem(Material.COBBLESTONE, 10, 0.5, 0.5);
+        when(first.getPickupDelay()).thenReturn(5);
+        Item second = createItem(Material.COBBLESTONE, 10, 0.5, 0.5);
+        when(second.getPickupDelay()).thenReturn(40);
+
+        int merged = compactor.compact(Arrays.asList(display, first, second));
+
+        assertThat(merged).isEqualTo(1);
+        verify(display, never()).remove();
+        verify(second).remove();
+        verify(first).setPickupDelay(40);
+    }
+
+    @Test
+    @DisplayName("Should skip full stacks, invalid items and non-items")
+    void skipIneligible() {
+        Item full = createItem(Material.COBBLESTONE, 64, 0.5, 0.5);
+        Item invalid = createItem(Material.COBBLESTONE, 10, 0.5, 0.5);
+        when(invalid.isValid()).thenReturn(false);
+        Item open = createItem(Material.COBBLESTONE, 10, 0.5, 0.5);
+        Entity zombie = mock(Entity.class);
+
+        int merged = compactor.compact(Arrays.asList(full, invalid, open, zombie));
+
+        assertThat(merged).isZero();
+        verify(invalid, never()).remove();
+        assertThat(full.getItemStack().getAmount()).isEqualTo(64);
+    }
+
+    @Test
+    @DisplayName("Should do nothing with a zero radius")
+    void zeroRadius() {
+        Item first = createItem(Material.COBBLESTONE, 20, 0.5, 0.5);
+        Item second = createItem(Material.COBBLESTONE, 20, 0.5, 0.5);
+
+        assertThat(new ItemCompactor(0).compact(Arrays.asList(first, second))).isZero();
+        verify(second, never()).remove();
+    }
+}
@@ -0,0 +1,435 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.UltiCleanerTestHelper;
+import com.ultikits.plugins.cleaner.config.CleanerConfig;
+
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ItemTracker Tests")
+class ItemTrackerTest {
+
+    private ItemTracker tracker;
+    private CleanerConfig config;
+    private TickClock tickClock;
+    private World world;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        UltiCleanerTestHelper.setUp();
+
+        config = UltiCleanerTestHelper.createDefaultConfig();
+        when(config.isItemTrackerEnabled()).thenReturn(true);
+        tickClock = mock(TickClock.class);
+        world = UltiCleanerTestHelper.createMockWorld("world");
+
+        tracker = new ItemTracker();
+        UltiCleanerTestHelper.setField(tracker, "config", config);
+        UltiCleanerTestHelper.setField(tracker, "tickClock", tickClock);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        UltiCleanerTestHelper.tearDown();
+    }
+
+    private Item createItem(World itemWorld, int ticksLived) {
+        Item item = mock(Item.class);
+        UUID uuid = UUID.randomUUID();
+        lenient().when(item.getUniqueId()).thenReturn(uuid);
+        lenient().when(item.getWorld()).thenReturn(itemWorld);
+        lenient().when(item.getTicksLived()).thenReturn(ticksLived);
+        lenient().when(item.isValid()).thenReturn(true);
+        return item;
+    }
+
+    @Nested
+    @DisplayName("Tracking")
+    class Tracking {
+
+        @Test
+        @DisplayName("Should record spawn tick and world")
+        void trackRecordsSpawnTick() {
+            when(tickClock.getCurrentTick()).thenReturn(1000L);
+            Item item = createItem(world, 200);
+
+            tracker.track(item);
+
+            ItemTracker.TrackedItem tracked = tracker.get(item.getUniqueId());
+            assertThat(tracked).isNotNull();
+            assertThat(tracked.getSpawnTick()).isEqualTo(800L);
+            assertThat(tracked.getWorldName()).isEqualTo("world");
+            assertThat(tracked.getUniqueId()).isEqualTo(item.getUniqueId());
+        }
+
+        @Test
+        @DisplayName("Should not count the same item twice")
+        void trackTwice() {
+            Item item = createItem(world, 0);
+
+            tracker.track(item);
+            tracker.track(item);
+
+            assertThat(tracker.size()).isEqualTo(1);
+            assertThat(tracker.getItemCount(Collections.emptySet())).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should ignore items when disabled")
+        void disabled() {
+            when(config.isItemTrackerEnabled()).thenReturn(false);
+
+            tracker.track(createItem(world, 0));
+
+            assertThat(tracker.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should untrack items")
+        void untrack() {
+            Item item = createItem(world, 0);
+            tracker.track(item);
+
+            tracker.untrack(item.getUniqueId());
+
+            assertThat(tracker.size()).isZero();
+            assertThat(tracker.getItemCount(Collections.emptySet())).isZero();
+        }
+
+        @Test
+        @DisplayName("Should only track items from loaded entity batches")
+        void trackAllSkipsNonItems() {
+            LivingEntity zombie = mock(LivingEntity.class);
+            Item item = createItem(world, 0);
+
+            tracker.trackAll(Arrays.<Entity>asList(zombie, item));
+
+            assertThat(tracker.size()).isEqualTo(1);
+
+            tracker.untrackAll(Arrays.<Entity>asList(zombie, item));
+
+            assertThat(tracker.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should seed from loaded worlds on init")
+        void initSeedsWorlds() {
+            Item item = createItem(world, 0);
+            when(world.getEntitiesByClass(Item.class)).thenReturn(Collections.singletonList(item));
+            UltiCleanerTestHelper.addMockWorld(world);
+
+            tracker.init();
+
+            assertThat(tracker.get(item.getUniqueId())).isNotNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Queries")
+    class Queries {
+
+        @Test
+        @DisplayName("Should exclude blacklisted worlds from item count")
+        void itemCountExcludesWorlds() {
+            World creative = UltiCleanerTestHelper.createMockWorld("world_creative");
+            tracker.track(createItem(world, 0));
+            tracker.track(createItem(creative, 0));
+
+            assertThat(tracker.getItemCount(Collections.singleton("world_creative"))).isEqualTo(1);
+            assertThat(tracker.getItemCount(Collections.emptySet())).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should collect candidates passing the filter")
+        void collectCandidates() {
+            Item keep = createItem(world, 10);
+            Item clean = createItem(world, 1000);
+            tracker.track(keep);
+            tracker.track(clean);
+
+            List<UUID> candidates = tracker.collectCandidates(
+                    item -> item.getTicksLived() > 100, Collections.emptySet()).asList();
+
+            assertThat(candidates).containsExactly(clean.getUniqueId());
+        }
+
+        @Test
+        @DisplayName("Should drop invalid items while collecting")
+        void dropInvalidItems() {
+            Item gone = createItem(world, 1000);
+            tracker.track(gone);
+            when(gone.isValid()).thenReturn(false);
+
+            List<UUID> candidates = tracker.collectCandidates(item -> true, Collections.emptySet()).asList();
+
+            assertThat(candidates).isEmpty();
+            assertThat(tracker.size()).isZero();
+            assertThat(tracker.getItemCount(Collections.emptySet())).isZero();
+        }
+
+        @Test
+        @DisplayName("Should drop items that no longer resolve")
+        void dropRemovedItems() {
+            Item burnt = createItem(world, 1000);
+            tracker.track(burnt);
+            when(burnt.isValid()).thenReturn(false);
+
+            assertThat(tracker.collectCandidates(item -> true, Collections.emptySet()).isEmpty()).isTrue();
+            assertThat(tracker.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should uncount hurt items that did not survive")
+        void dropDestroyed() {
+            Item burnt = createItem(world, 1000);
+            Item singed = createItem(world, 1000);
+            tracker.track(burnt);
+            tracker.track(singed);
+            tracker.markDamaged(burnt);
+            tracker.markDamaged(singed);
+            when(burnt.isValid()).thenReturn(false);
+
+            assertThat(tracker.getItemCount(Collections.emptySet())).isEqualTo(1);
+            assertThat(tracker.get(burnt.getUniqueId())).isNull();
+            assertThat(tracker.get(singed.getUniqueId())).isNotNull();
+        }
+
+        @Test
+        @DisplayName("Should ignore hurt items that are not tracked")
+        void damageUntracked() {
+            Item item = createItem(world, 1000);
+
+            tracker.markDamaged(item);
+
+            assertThat(tracker.getItemCount(Collections.emptySet())).isZero();
+            verify(item, never()).isValid();
+        }
+
+        @Test
+        @DisplayName("Should read candidates without a global entity lookup")
+        void noGlobalLookup() {
+            Item item = createItem(world, 1000);
+            tracker.track(item);
+
+            assertThat(tracker.collectCandidates(i -> true, Collections.emptySet()).size()).isEqualTo(1);
+            verify(UltiCleanerTestHelper.getMockServer(), never()).getEntity(any(UUID.class));
+        }
+
+        @Test
+        @DisplayName("Should replace a stale entity when its item is tracked again")
+        void retrackStale() {
+            Item stale = createItem(world, 1000);
+            tracker.track(stale);
+            when(stale.isValid()).thenReturn(false);
+            Item reloaded = mock(Item.class);
+            when(reloaded.getUniqueId()).thenReturn(stale.getUniqueId());
+            when(reloaded.getWorld()).thenReturn(world);
+            when(reloaded.isValid()).thenReturn(true);
+
+            tracker.track(reloaded);
+
+            assertThat(tracker.size()).isEqualTo(1);
+            assertThat(tracker.getItemCount(Collections.emptySet())).isEqualTo(1);
+            CandidateBuffer candidates = tracker.collectCandidates(i -> true, Collections.emptySet());
+            assertThat(candidates.asList()).containsExactly(stale.getUniqueId());
+        }
+    }
+
+    @Nested
+    @DisplayName("Reconcile")
+    class Reconcile {
+
+        @Test
+        @DisplayName("Should be due once the interval has passed since init")
+        void due() {
+            tracker.init();
+            long now = System.currentTimeMillis();
+
+            assertThat(tracker.isReconcileDue(now, 60000L)).isFalse();
+            assertThat(tracker.isReconcileDue(now + 60000L, 60000L)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should drop entries the census no longer sees")
+        void pruneStale() {
+            UltiCleanerTestHelper.addMockWorld(world);
+            Item kept = createItem(world, 0);
+            Item gone = createItem(world, 0);
+            tracker.track(kept);
+            tracker.track(gone);
+            when(gone.isValid()).thenReturn(false);
+            EntityCensus census = new EntityCensus();
+            census.setWorldCounts("world", 1, 0);
+
+            assertThat(tracker.reconcile(census, 1000L)).isEqualTo(-1);
+            assertThat(tracker.get(kept.getUniqueId())).isNotNull();
+            assertThat(tracker.getItemCount(Collections.emptySet())).isEqualTo(1);
+            assertThat(tracker.isReconcileDue(1000L, 60000L)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should seed worlds with items the index missed")
+        void seedMissing() {
+            Item missed = createItem(world, 0);
+            when(world.getEntitiesByClass(Item.class)).thenReturn(Collections.singletonList(missed));
+            UltiCleanerTestHelper.addMockWorld(world);
+            when(UltiCleanerTestHelper.getMockServer().getWorld("world")).thenReturn(world);
+            EntityCensus census = new EntityCensus();
+            census.setWorldCounts("world", 1, 0);
+
+            assertThat(tracker.reconcile(census, 1000L)).isEqualTo(1);
+            assertThat(tracker.get(missed.getUniqueId())).isNotNull();
+        }
+
+        @Test
+        @DisplayName("Should forget worlds that are no longer loaded")
+        void unloadedWorld() {
+            World gone = UltiCleanerTestHelper.createMockWorld("world_gone");
+            Item item = createItem(gone, 0);
+            tracker.track(item);
+            when(item.isValid()).thenReturn(false);
+
+            tracker.reconcile(new EntityCensus(), 1000L);
+
+            assertThat(tracker.size()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Lifetimes")
+    class Lifetimes {
+
+        private Item createItem(Material material, int ticksLived) {
+            Item item = ItemTrackerTest.this.createItem(world, ticksLived);
+            ItemStack stack = mock(ItemStack.class);
+            lenient().when(stack.getType()).thenReturn(material);
+            lenient().when(item.getItemStack()).thenReturn(stack);
+            return item;
+        }
+
+        @BeforeEach
+        void enableLifetimes() throws Exception {
+            when(config.isItemLifetimeEnabled()).thenReturn(true);
+            when(config.getItemLifetimeDefault()).thenReturn(10);
+            when(config.getItemLifetimes()).thenReturn(Arrays.asList("COBBLESTONE:2", "BOGUS:1", "DIAMOND:0"));
+            UltiCleanerTestHelper.setField(tracker, "plugin", UltiCleanerTestHelper.getMockPlugin());
+            tracker.init();
+        }
+
+        @Test
+        @DisplayName("Should expire items by their material lifetime, earliest first")
+        void expireInOrder() {
+            when(tickClock.getCurrentTick()).thenReturn(0L);
+            Item stone = createItem(Material.STONE, 0);
+            Item cobble = createItem(Material.COBBLESTONE, 0);
+            tracker.track(stone);
+            tracker.track(cobble);
+
+            when(tickClock.getCurrentTick()).thenReturn(39L);
+            assertThat(tracker.pollExpired(10)).isEmpty();
+
+            when(tickClock.getCurrentTick()).thenReturn(40L);
+            assertThat(tracker.pollExpired(10)).containsExactly(cobble);
+
+            when(tickClock.getCurrentTick()).thenReturn(200L);
+            assertThat(tracker.pollExpired(10)).containsExactly(stone);
+            assertThat(tracker.getPendingExpiries()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should count age from the item's spawn tick")
+        void ageFromSpawn() {
+            when(tickClock.getCurrentTick()).thenReturn(100L);
+            Item old = createItem(Material.COBBLESTONE, 50);
+            tracker.track(old);
+
+            when(tickClock.getCurrentTick()).thenReturn(90L);
+            assertThat(tracker.pollExpired(10)).containsExactly(old);
+        }
+
+        @Test
+        @DisplayName("Should never expire materials with a zero lifetime")
+        void zeroLifetime() {
+            tracker.track(createItem(Material.DIAMOND, 0));
+
+            assertThat(tracker.getPendingExpiries()).isZero();
+            verify(UltiCleanerTestHelper.getMockLogger()).warn("Invalid item lifetime: BOGUS:1");
+        }
+
+        @Test
+        @DisplayName("Should respect the poll limit")
+        void pollLimit() {
+            for (int i = 0; i < 5; i++) {
+                tracker.track(createItem(Material.COBBLESTONE, 100));
+            }
+
+            assertThat(tracker.pollExpired(3)).hasSize(3);
+            assertThat(tracker.pollExpired(3)).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("Should skip untracked and invalid items")
+        void skipStale() {
+            Item picked = createItem(Material.COBBLESTONE, 100);
+            Item dead = createItem(Material.COBBLESTONE, 100);
+            tracker.track(picked);
+            tracker.track(dead);
+            tracker.untrack(picked.getUniqueId());
+            when(dead.isValid()).thenReturn(false);
+
+            assertThat(tracker.pollExpired(10)).isEmpty();
+            assertThat(tracker.get(dead.getUniqueId())).isNull();
+        }
+
+        @Test
+        @DisplayName("Should requeue an expired item after a delay or another lifetime")
+        void requeue() {
+            when(tickClock.getCurrentTick()).thenReturn(0L);
+            Item cobble = createItem(Material.COBBLESTONE, 0);
+            tracker.track(cobble);
+            when(tickClock.getCurrentTick()).thenReturn(40L);
+            assertThat(tracker.pollExpired(10)).containsExactly(cobble);
+
+            tracker.requeue(cobble, 5);
+            when(tickClock.getCurrentTick()).thenReturn(44L);
+            assertThat(tracker.pollExpired(10)).isEmpty();
+            when(tickClock.getCurrentTick()).thenReturn(45L);
+            assertThat(tracker.pollExpired(10)).containsExactly(cobble);
+
+            tracker.requeue(cobble, 0);
+            when(tickClock.getCurrentTick()).thenReturn(84L);
+            assertThat(tracker.pollExpired(10)).isEmpty();
+            when(tickClock.getCurrentTick()).thenReturn(85L);
+            assertThat(tracker.pollExpired(10)).containsExactly(cobble);
+        }
+
+        @Test
+        @DisplayName("Should not requeue untracked items")
+        void requeueUntracked() {
+            Item cobble = createItem(Material.COBBLESTONE, 100);
+            tracker.requeue(cobble, 5);
+
+            assertThat(tracker.getPendingExpiries()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should not queue expiries when lifetime mode is off")
+        void disabled() {
+            when(config.isItemLifetimeEnabled()).thenReturn(false);
+            tracker.track(createItem(Material.COBBLESTONE, 100));
+
+            assertThat(tracker.getPendingExpiries()).isZero();
+            assertThat(tracker.isLifetimeEnabled()).isFalse();
+        }
+    }
+}
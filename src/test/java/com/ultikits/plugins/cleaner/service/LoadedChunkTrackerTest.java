@@ -0,0 +1,199 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.UltiCleanerTestHelper;
+import com.ultikits.plugins.cleaner.utils.ChunkKeyUtil;
+
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("LoadedChunkTracker Tests")
+class LoadedChunkTrackerTest {
+
+    private LoadedChunkTracker tracker;
+    private TickClock clock;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        clock = new TickClock();
+        tracker = new LoadedChunkTracker();
+        UltiCleanerTestHelper.setField(tracker, "tickClock", clock);
+    }
+
+    private void advance(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            clock.tick();
+        }
+    }
+
+    @Nested
+    @DisplayName("Tracking")
+    class Tracking {
+
+        @Test
+        @DisplayName("Should ignore chunk events until enabled")
+        void disabled() {
+            tracker.onChunkLoad("world", 0, 0);
+
+            assertThat(tracker.isEnabled()).isFalse();
+            assertThat(tracker.getLoadedChunkCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should seed from the chunks already loaded")
+        void seed() {
+            World world = UltiCleanerTestHelper.createMockWorld("world");
+            Chunk first = UltiCleanerTestHelper.createMockChunk(world, 1, 2);
+            Chunk second = UltiCleanerTestHelper.createMockChunk(world, -3, 4);
+            when(world.getLoadedChunks()).thenReturn(new Chunk[]{first, second});
+
+            tracker.enable(Collections.singletonList(world));
+
+            assertThat(tracker.isEnabled()).isTrue();
+            assertThat(tracker.getLoadedChunkCount("world")).isEqualTo(2);
+            assertThat(tracker.isLoaded("world", -3, 4)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should count loads and unloads per world")
+        void loadAndUnload() {
+            tracker.enable(Collections.emptyList());
+
+            tracker.onChunkLoad("world", 0, 0);
+            tracker.onChunkLoad("world", 0, 0);
+            tracker.onChunkLoad("world", 5, 5);
+            tracker.onChunkLoad("world_nether", 0, 0);
+            tracker.onChunkUnload("world", 5, 5);
+            tracker.onChunkUnload("world", 9, 9);
+
+            assertThat(tracker.getLoadedChunkCount("world")).isEqualTo(1);
+            assertThat(tracker.getLoadedChunkCount()).isEqualTo(2);
+            assertThat(tracker.isLoaded("world", 5, 5)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should keep every other chunk findable through growth and removals")
+        void manyChunks() {
+            tracker.enable(Collections.emptyList());
+            for (int x = -50; x < 50; x++) {
+                for (int z = -50; z < 50; z++) {
+                    tracker.onChunkLoad("world", x, z);
+                }
+            }
+            for (int x = -50; x < 50; x += 2) {
+                for (int z = -50; z < 50; z++) {
+                    tracker.onChunkUnload("world", x, z);
+                }
+            }
+
+            assertThat(tracker.getLoadedChunkCount("world")).isEqualTo(5000);
+            for (int x = -50; x < 50; x++) {
+                for (int z = -50; z < 50; z++) {
+                    assertThat(tracker.isLoaded("world", x, z)).isEqualTo((x & 1) != 0);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Should forget unloaded worlds and clear on disable")
+        void worldUnloadAndDisable() {
+            tracker.enable(Collections.emptyList());
+            tracker.onChunkLoad("world", 0, 0);
+            tracker.onChunkLoad("world_nether", 0, 0);
+
+            tracker.onWorldUnload("world_nether");
+            assertThat(tracker.getLoadedChunkCount()).isEqualTo(1);
+
+            tracker.disable();
+            assertThat(tracker.isEnabled()).isFalse();
+            assertThat(tracker.getLoadedChunkCount()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Far Chunks")
+    class FarChunks {
+
+        @BeforeEach
+        void enable() {
+            tracker.enable(Collections.emptyList());
+        }
+
+        @Test
+        @DisplayName("Should return chunks far from every player and stamp the rest")
+        void farFromPlayers() {
+            tracker.onChunkLoad("world", 0, 0);
+            tracker.onChunkLoad("world", 3, -3);
+            tracker.onChunkLoad("world", 10, 0);
+            tracker.onChunkLoad("world", -40, 40);
+            advance(20);
+
+            long[] far = tracker.collectFarChunks("world", new long[]{ChunkKeyUtil.pack(0, 0)}, 5);
+
+            assertThat(far).containsExactlyInAnyOrder(ChunkKeyUtil.pack(10, 0), ChunkKeyUtil.pack(-40, 40));
+            assertThat(tracker.getLastNearTick("world", 3, -3)).isEqualTo(20);
+            assertThat(tracker.getLastNearTick("world", 10, 0)).isZero();
+        }
+
+        @Test
+        @DisplayName("Should give the same result when walking the table instead")
+        void walkTable() {
+            for (int x = 0; x < 10; x++) {
+                tracker.onChunkLoad("world", x, 0);
+            }
+            advance(1);
+
+            // A 41x41 square per player is larger than the table, so the table is walked
+            long[] far = tracker.collectFarChunks("world",
+                new long[]{ChunkKeyUtil.pack(-20, 0), ChunkKeyUtil.pack(-20, 0)}, 20);
+
+            assertThat(far).hasSize(9).doesNotContain(ChunkKeyUtil.pack(0, 0));
+        }
+
+        @Test
+        @DisplayName("Should stamp the squares around players when they are small")
+        void stampSquares() {
+            for (int x = 0; x < 20; x++) {
+                tracker.onChunkLoad("world", x, 0);
+            }
+            advance(1);
+
+            long[] far = tracker.collectFarChunks("world", new long[]{ChunkKeyUtil.pack(0, 0)}, 1);
+
+            assertThat(far).hasSize(18).doesNotContain(ChunkKeyUtil.pack(0, 0), ChunkKeyUtil.pack(1, 0));
+            assertThat(tracker.getLastNearTick("world", 1, 0)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should treat every chunk as far without players")
+        void noPlayers() {
+            tracker.onChunkLoad("world", 0, 0);
+            tracker.onChunkLoad("world", 1, 1);
+            advance(1);
+
+            assertThat(tracker.collectFarChunks("world", new long[0], 5)).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("Should leave chunks loaded on the tick of the check")
+        void justLoaded() {
+            advance(5);
+            tracker.onChunkLoad("world", 100, 100);
+
+            assertThat(tracker.collectFarChunks("world", new long[0], 5)).isEmpty();
+            assertThat(tracker.getLastNearTick("world", 100, 100)).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("Should return nothing for untracked worlds")
+        void unknownWorld() {
+            assertThat(tracker.collectFarChunks("world", new long[0], 5)).isEmpty();
+            assertThat(tracker.getLastNearTick("world", 0, 0)).isEqualTo(-1);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.UltiCleanerTestHelper;
+import com.ultikits.plugins.cleaner.config.CleanerConfig;
+
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("MobCounter Tests")
+class MobCounterTest {
+
+    private MobCounter counter;
+    private World world;
+    private World creative;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        CleanerConfig config = UltiCleanerTestHelper.createDefaultConfig();
+        counter = new MobCounter();
+        UltiCleanerTestHelper.setField(counter, "config", config);
+
+        world = UltiCleanerTestHelper.createMockWorld("world");
+        creative = UltiCleanerTestHelper.createMockWorld("world_creative");
+        counter.configure(
+                new HashSet<>(Arrays.asList(EntityType.ZOMBIE, EntityType.SKELETON)),
+                Collections.singleton("world_creative"));
+    }
+
+    private LivingEntity createMob(World mobWorld, EntityType type) {
+        LivingEntity entity = mock(LivingEntity.class);
+        lenient().when(entity.getType()).thenReturn(type);
+        lenient().when(entity.getWorld()).thenReturn(mobWorld);
+        return entity;
+    }
+
+    @Nested
+    @DisplayName("Counting")
+    class Counting {
+
+        @Test
+        @DisplayName("Should count configured types per type and in total")
+        void countConfiguredTypes() {
+            counter.increment(createMob(world, EntityType.ZOMBIE));
+            counter.increment(createMob(world, EntityType.ZOMBIE));
+            counter.increment(createMob(world, EntityType.SKELETON));
+
+            assertThat(counter.getMobCount()).isEqualTo(3);
+            assertThat(counter.getCount(EntityType.ZOMBIE)).isEqualTo(2);
+            assertThat(counter.getCount(EntityType.SKELETON)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should ignore other types and excluded worlds")
+        void ignoreOthers() {
+            counter.increment(createMob(world, EntityType.COW));
+            counter.increment(createMob(creative, EntityType.ZOMBIE));
+
+            assertThat(counter.getMobCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should never go below zero")
+        void neverNegative() {
+            counter.decrement(createMob(world, EntityType.ZOMBIE));
+
+            assertThat(counter.getMobCount()).isZero();
+            assertThat(counter.getCount(EntityType.ZOMBIE)).isZero();
+        }
+
+        @Test
+        @DisplayName("Should add and remove chunk entity batches")
+        void batches() {
+            List<Entity> loaded = Arrays.<Entity>asList(
+                    createMob(world, EntityType.ZOMBIE), createMob(world, EntityType.SKELETON));
+
+            counter.incrementAll(loaded);
+            assertThat(counter.getMobCount()).isEqualTo(2);
+
+            counter.decrementAll(loaded);
+            assertThat(counter.getMobCount()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Reconcile")
+    class Reconcile {
+
+        @Test
+        @DisplayName("Should be due right after configure")
+        void dueAfterConfigure() {
+            assertThat(counter.isReconcileDue(0L, 60000L)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should replace counts and report drift")
+        void replaceCounts() {
+            counter.increment(createMob(world, EntityType.ZOMBIE));
+            Map<EntityType, Integer> actual = new HashMap<>();
+            actual.put(EntityType.ZOMBIE, 4);
+            actual.put(EntityType.COW, 10);
+
+            int drift = counter.reconcile(actual, 1000L);
+
+            assertThat(drift).isEqualTo(3);
+            assertThat(counter.getMobCount()).isEqualTo(4);
+            assertThat(counter.getCount(EntityType.COW)).isZero();
+        }
+
+        @Test
+        @DisplayName("Should wait for the interval after reconciling")
+        void waitForInterval() {
+            counter.reconcile(Collections.emptyMap(), 1000L);
+
+            assertThat(counter.isReconcileDue(30000L, 60000L)).isFalse();
+            assertThat(counter.isReconcileDue(61000L, 60000L)).isTrue();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.ultikits.plugins.cleaner.service;
+
+import org.junit.jupiter.api.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("MsptController Tests")
+class MsptControllerTest {
+
+    private MsptController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new MsptController(40.0, 70);
+    }
+
+    @Test
+    @DisplayName("Should start at full thresholds")
+    void initialMultiplier() {
+        assertThat(controller.getMultiplier()).isEqualTo(1.0);
+        assertThat(controller.getLastMspt()).isZero();
+        assertThat(controller.getTargetMspt()).isEqualTo(40.0);
+    }
+
+    @Test
+    @DisplayName("Should cut the multiplier when over the target")
+    void decreaseOverTarget() {
+        controller.update(45.0);
+
+        assertThat(controller.getMultiplier()).isCloseTo(0.8, within(1e-9));
+        assertThat(controller.getLastMspt()).isEqualTo(45.0);
+
+        controller.update(45.0);
+
+        assertThat(controller.getMultiplier()).isCloseTo(0.64, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should not drop below the configured maximum reduction")
+    void floor() {
+        for (int i = 0; i < 20; i++) {
+            controller.update(80.0);
+        }
+
+        assertThat(controller.getMultiplier()).isCloseTo(0.3, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should keep a positive floor even with a full reduction")
+    void minimumFloor() {
+        MsptController full = new MsptController(40.0, 100);
+
+        for (int i = 0; i < 30; i++) {
+            full.update(80.0);
+        }
+
+        assertThat(full.getMultiplier()).isCloseTo(MsptController.MIN_FLOOR, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should recover step by step while there is slack")
+    void recoverWithSlack() {
+        controller.update(60.0);
+        controller.update(20.0);
+
+        assertThat(controller.getMultiplier()).isCloseTo(0.85, within(1e-9));
+
+        for (int i = 0; i < 10; i++) {
+            controller.update(20.0);
+        }
+
+        assertThat(controller.getMultiplier()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should hold inside the dead band below the target")
+    void holdInDeadBand() {
+        controller.update(60.0);
+        controller.update(38.0);
+
+        assertThat(controller.getMultiplier()).isCloseTo(0.8, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should never reduce with a zero maximum reduction")
+    void zeroReduction() {
+        MsptController fixed = new MsptController(40.0, 0);
+
+        fixed.update(100.0);
+
+        assertThat(fixed.getMultiplier()).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,292 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.UltiCleanerTestHelper;
+import com.ultikits.plugins.cleaner.utils.ChunkKeyUtil;
+
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Zombie;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RegionCleaner Tests")
+class RegionCleanerTest {
+
+    private ChunkSectionIndex index;
+    private DirectExecutor executor;
+    private RegionCleaner cleaner;
+    private World world;
+
+    /**
+     * Runs region and global tasks at once, on the calling thread.
+     */
+    private static class DirectExecutor implements RegionCleaner.RegionExecutor {
+        final List<Long> regionTasks = new ArrayList<>();
+        final Set<Long> foreign = new HashSet<>();
+        int globalTasks = 0;
+
+        @Override
+        public void runAtChunk(World world, int chunkX, int chunkZ, Runnable task) {
+            regionTasks.add(ChunkKeyUtil.pack(chunkX, chunkZ));
+            task.run();
+        }
+
+        @Override
+        public void runGlobal(Runnable task) {
+            globalTasks++;
+            task.run();
+        }
+
+        @Override
+        public boolean owns(World world, int chunkX, int chunkZ) {
+            // A foreign chunk belongs to another region once, then to the task sent to it
+            return !foreign.remove(ChunkKeyUtil.pack(chunkX, chunkZ));
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        UltiCleanerTestHelper.setUp();
+        index = new ChunkSectionIndex();
+        index.enable(Collections.emptyList());
+        executor = new DirectExecutor();
+        cleaner = new RegionCleaner(index, executor);
+        world = UltiCleanerTestHelper.createMockWorld("world");
+        when(UltiCleanerTestHelper.getMockServer().getWorld("world")).thenReturn(world);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        UltiCleanerTestHelper.tearDown();
+    }
+
+    private Chunk loadChunk(int x, int z, Entity... entities) {
+        Chunk chunk = UltiCleanerTestHelper.createMockChunk(world, x, z);
+        when(chunk.getEntities()).thenReturn(entities);
+        when(world.isChunkLoaded(x, z)).thenReturn(true);
+        when(world.getChunkAt(x, z)).thenReturn(chunk);
+        index.onChunkLoad("world", x, z);
+        return chunk;
+    }
+
+    private <T extends Entity> T entity(Class<T> type, EntityType entityType) {
+        T entity = mock(type);
+        when(entity.getUniqueId()).thenReturn(UUID.randomUUID());
+        lenient().when(entity.getType()).thenReturn(entityType);
+        lenient().when(entity.isValid()).thenReturn(true);
+        return entity;
+    }
+
+    @Nested
+    @DisplayName("Collect")
+    class Collect {
+
+        @Test
+        @DisplayName("Should send one task per section and merge once on the global region")
+        void perSection() {
+            Item near = entity(Item.class, EntityType.DROPPED_ITEM);
+            Item far = entity(Item.class, EntityType.DROPPED_ITEM);
+            loadChunk(1, 2, near);
+            loadChunk(40, 2, far);
+            AtomicReference<CandidateBuffer> result = new AtomicReference<>();
+
+            cleaner.collect(Collections.singletonList(world), e -> e instanceof Item, false, result::set);
+
+            assertThat(executor.regionTasks).containsExactlyInAnyOrder(
+                ChunkKeyUtil.pack(0, 0), ChunkKeyUtil.pack(32, 0));
+            assertThat(executor.globalTasks).isEqualTo(1);
+            assertThat(result.get().asList()).containsExactlyInAnyOrder(near.getUniqueId(), far.getUniqueId());
+        }
+
+        @Test
+        @DisplayName("Should record chunks and count types when asked")
+        void chunksAndTypes() {
+            Zombie zombie = entity(Zombie.class, EntityType.ZOMBIE);
+            Item item = entity(Item.class, EntityType.DROPPED_ITEM);
+            loadChunk(-3, 5, zombie, item);
+            AtomicReference<CandidateBuffer> result = new AtomicReference<>();
+
+            cleaner.collect(Collections.singletonList(world), e -> e instanceof Zombie, true, result::set);
+
+            assertThat(result.get().asList()).containsExactly(zombie.getUniqueId());
+            assertThat(result.get().getWorldName(0)).isEqualTo("world");
+            assertThat(result.get().getChunkKey(0)).isEqualTo(ChunkKeyUtil.pack(-3, 5));
+            assertThat(result.get().getTypeCount(EntityType.ZOMBIE)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should complete with nothing when no section is loaded")
+        void empty() {
+            AtomicReference<CandidateBuffer> result = new AtomicReference<>();
+
+            cleaner.collect(Collections.singletonList(world), e -> true, false, result::set);
+
+            assertThat(executor.regionTasks).isEmpty();
+            assertThat(executor.globalTasks).isEqualTo(1);
+            assertThat(result.get().isEmpty()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should send a chunk owned by another region to that region")
+        void foreignChunk() {
+            Item item = entity(Item.class, EntityType.DROPPED_ITEM);
+            loadChunk(1, 2, item);
+            executor.foreign.add(ChunkKeyUtil.pack(1, 2));
+            AtomicReference<CandidateBuffer> result = new AtomicReference<>();
+
+            cleaner.collect(Collections.singletonList(world), e -> true, false, result::set);
+
+            assertThat(executor.regionTasks).containsExactly(ChunkKeyUtil.pack(0, 0), ChunkKeyUtil.pack(1, 2));
+            assertThat(executor.globalTasks).isEqualTo(1);
+            assertThat(result.get().asList()).containsExactly(item.getUniqueId());
+        }
+    }
+
+    @Nested
+    @DisplayName("Remove")
+    class Remove {
+
+        @Test
+        @DisplayName("Should remove candidates found in their chunks")
+        void removes() {
+            Item item = entity(Item.class, EntityType.DROPPED_ITEM);
+            Zombie zombie = entity(Zombie.class, EntityType.ZOMBIE);
+            Item kept = entity(Item.class, EntityType.DROPPED_ITEM);
+            loadChunk(1, 2, item, kept);
+            loadChunk(50, 2, zombie);
+            CandidateBuffer candidates = new CandidateBuffer();
+            candidates.add(item.getUniqueId(), "world", ChunkKeyUtil.pack(1, 2));
+            candidates.add(zombie.getUniqueId(), "world", ChunkKeyUtil.pack(50, 2));
+            AtomicReference<List<Entity>> removed = new AtomicReference<>();
+
+            cleaner.remove(candidates, () -> false, removed::set);
+
+            assertThat(removed.get()).containsExactlyInAnyOrder(item, zombie);
+            verify(item).remove();
+            verify(zombie).remove();
+            verify(kept, never()).remove();
+            assertThat(executor.globalTasks).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should hand each entity to the hook before removing it")
+        void beforeRemove() {
+            Item item = entity(Item.class, EntityType.DROPPED_ITEM);
+            loadChunk(1, 2, item);
+            CandidateBuffer candidates = new CandidateBuffer();
+            candidates.add(item.getUniqueId(), "world", ChunkKeyUtil.pack(1, 2));
+            List<Entity> seen = new ArrayList<>();
+
+            cleaner.remove(candidates, () -> false, entity -> {
+                verify(item, never()).remove();
+                seen.add(entity);
+            }, removed -> { });
+
+            assertThat(seen).containsExactly(item);
+            verify(item).remove();
+        }
+
+        @Test
+        @DisplayName("Should never remove players or invalid entities")
+        void skipsPlayersAndInvalid() {
+            Player player = entity(Player.class, EntityType.PLAYER);
+            Item dead = entity(Item.class, EntityType.DROPPED_ITEM);
+            when(dead.isValid()).thenReturn(false);
+            loadChunk(0, 0, player, dead);
+            CandidateBuffer candidates = new CandidateBuffer();
+            candidates.add(player.getUniqueId(), "world", ChunkKeyUtil.pack(0, 0));
+            candidates.add(dead.getUniqueId(), "world", ChunkKeyUtil.pack(0, 0));
+            AtomicReference<List<Entity>> removed = new AtomicReference<>();
+
+            cleaner.remove(candidates, () -> false, removed::set);
+
+            assertThat(removed.get()).isEmpty();
+            verify(player, never()).remove();
+            verify(dead, never()).remove();
+        }
+
+        @Test
+        @DisplayName("Should skip candidates without a location")
+        void skipsUnlocated() {
+            CandidateBuffer candidates = CandidateBuffer.of(Collections.singletonList(UUID.randomUUID()));
+            AtomicReference<List<Entity>> removed = new AtomicReference<>();
+
+            cleaner.remove(candidates, () -> false, removed::set);
+
+            assertThat(executor.regionTasks).isEmpty();
+            assertThat(removed.get()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should stop before removing once cancelled")
+        void cancelled() {
+            Item item = entity(Item.class, EntityType.DROPPED_ITEM);
+            loadChunk(1, 2, item);
+            CandidateBuffer candidates = new CandidateBuffer();
+            candidates.add(item.getUniqueId(), "world", ChunkKeyUtil.pack(1, 2));
+            AtomicReference<List<Entity>> removed = new AtomicReference<>();
+
+            cleaner.remove(candidates, () -> true, removed::set);
+
+            assertThat(removed.get()).isEmpty();
+            verify(item, never()).remove();
+        }
+    }
+
+    @Nested
+    @DisplayName("Seed")
+    class Seed {
+
+        private void loadUnindexed(int x, int z) {
+            Chunk chunk = UltiCleanerTestHelper.createMockChunk(world, x, z);
+            when(world.isChunkLoaded(x, z)).thenReturn(true);
+            when(world.getChunkAt(x, z)).thenReturn(chunk);
+        }
+
+        @Test
+        @DisplayName("Should index the loaded chunks around spawn and players on their regions")
+        void aroundSpawnAndPlayers() {
+            when(world.getSpawnLocation()).thenReturn(new Location(world, 0, 64, 0));
+            Player player = mock(Player.class);
+            when(player.getLocation()).thenReturn(new Location(world, 1600, 64, 1600));
+            when(world.getPlayers()).thenReturn(Collections.singletonList(player));
+            loadUnindexed(1, 1);
+            loadUnindexed(-2, 0);
+            loadUnindexed(101, 99);
+            loadUnindexed(500, 500);
+
+            cleaner.seed(Collections.singletonList(world), 2);
+
+            assertThat(index.getSections("world")).containsExactlyInAnyOrder(
+                ChunkSectionIndex.sectionKey(1, 1),
+                ChunkSectionIndex.sectionKey(-2, 0),
+                ChunkSectionIndex.sectionKey(101, 99));
+            assertThat(index.getLoadedChunkCount()).isEqualTo(3);
+            // Four sections around spawn, one around the player at chunk 100,100
+            assertThat(executor.regionTasks).hasSize(5);
+        }
+
+        @Test
+        @DisplayName("Should hand chunks of another region to that region")
+        void foreignChunk() {
+            when(world.getSpawnLocation()).thenReturn(new Location(world, 0, 64, 0));
+            loadUnindexed(3, 3);
+            executor.foreign.add(ChunkKeyUtil.pack(3, 3));
+
+            cleaner.seed(Collections.singletonList(world), 1);
+
+            assertThat(executor.regionTasks).contains(ChunkKeyUtil.pack(3, 3));
+            assertThat(index.getLoadedChunkCount()).isEqualTo(1);
+        }
+    }
+}
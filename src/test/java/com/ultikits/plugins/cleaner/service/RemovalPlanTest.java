@@ -0,0 +1,201 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.UltiCleanerTestHelper;
+import com.ultikits.plugins.cleaner.utils.ChunkKeyUtil;
+
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RemovalPlan Tests")
+class RemovalPlanTest {
+
+    private World world;
+    private CandidateBuffer candidates;
+    private List<Entity> removed;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        UltiCleanerTestHelper.setUp();
+        world = UltiCleanerTestHelper.createMockWorld("world");
+        when(UltiCleanerTestHelper.getMockServer().getWorld("world")).thenReturn(world);
+        candidates = new CandidateBuffer();
+        removed = new ArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        UltiCleanerTestHelper.tearDown();
+    }
+
+    private Entity createEntity() {
+        Entity entity = mock(Entity.class);
+        UUID uuid = UUID.randomUUID();
+        lenient().when(entity.getUniqueId()).thenReturn(uuid);
+        return entity;
+    }
+
+    private Chunk loadChunk(int x, int z, Entity... entities) {
+        Chunk chunk = UltiCleanerTestHelper.createMockChunk(world, x, z);
+        when(chunk.getEntities()).thenReturn(entities);
+        when(world.isChunkLoaded(x, z)).thenReturn(true);
+        when(world.getChunkAt(x, z)).thenReturn(chunk);
+        return chunk;
+    }
+
+    @Test
+    @DisplayName("Should be done immediately for empty list")
+    void empty() {
+        RemovalPlan plan = new RemovalPlan(candidates);
+
+        assertThat(plan.isDone()).isTrue();
+        assertThat(plan.step(removed::add, 10)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should resolve every candidate in a chunk within the limit with one step")
+    void resolveByChunk() {
+        Entity a = createEntity();
+        Entity b = createEntity();
+        Entity bystander = createEntity();
+        loadChunk(1, 2, a, bystander, b);
+        candidates.add(a.getUniqueId(), "world", ChunkKeyUtil.pack(1, 2));
+        candidates.add(b.getUniqueId(), "world", ChunkKeyUtil.pack(1, 2));
+
+        RemovalPlan plan = new RemovalPlan(candidates);
+
+        assertThat(plan.step(removed::add, 10)).isEqualTo(2);
+        assertThat(removed).containsExactly(a, b);
+        assertThat(plan.isDone()).isTrue();
+        assertThat(plan.getProcessed()).isEqualTo(2);
+        verify(UltiCleanerTestHelper.getMockServer(), never()).getEntity(any());
+    }
+
+    @Test
+    @DisplayName("Should split a dense chunk across steps at the limit")
+    void splitDenseChunk() {
+        Entity a = createEntity();
+        Entity b = createEntity();
+        Entity c = createEntity();
+        Chunk chunk = loadChunk(0, 0, a, b, c);
+        for (Entity entity : Arrays.asList(a, b, c)) {
+            candidates.add(entity.getUniqueId(), "world", ChunkKeyUtil.pack(0, 0));
+        }
+
+        RemovalPlan plan = new RemovalPlan(candidates);
+
+        assertThat(plan.step(removed::add, 2)).isEqualTo(2);
+        assertThat(removed).containsExactly(a, b);
+        assertThat(plan.isDone()).isFalse();
+
+        assertThat(plan.step(removed::add, 2)).isEqualTo(1);
+        assertThat(removed).containsExactly(a, b, c);
+        assertThat(plan.isDone()).isTrue();
+        assertThat(plan.getProcessed()).isEqualTo(3);
+        // The chunk is listed once, not once per step
+        verify(chunk, times(1)).getEntities();
+    }
+
+    @Test
+    @DisplayName("Should hand out nothing with no allowance left")
+    void zeroLimit() {
+        Entity a = createEntity();
+        loadChunk(0, 0, a);
+        candidates.add(a.getUniqueId(), "world", ChunkKeyUtil.pack(0, 0));
+
+        RemovalPlan plan = new RemovalPlan(candidates);
+
+        assertThat(plan.step(removed::add, 0)).isZero();
+        assertThat(removed).isEmpty();
+        assertThat(plan.isDone()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should visit one chunk per step")
+    void oneChunkPerStep() {
+        Entity a = createEntity();
+        Entity b = createEntity();
+        loadChunk(0, 0, a);
+        loadChunk(5, 0, b);
+        candidates.add(a.getUniqueId(), "world", ChunkKeyUtil.pack(0, 0));
+        candidates.add(b.getUniqueId(), "world", ChunkKeyUtil.pack(5, 0));
+
+        RemovalPlan plan = new RemovalPlan(candidates);
+
+        plan.step(removed::add, 10);
+        assertThat(removed).containsExactly(a);
+        assertThat(plan.isDone()).isFalse();
+
+        plan.step(removed::add, 10);
+        assertThat(removed).containsExactly(a, b);
+        assertThat(plan.isDone()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should skip chunks that have unloaded")
+    void skipUnloadedChunk() {
+        Entity a = createEntity();
+        candidates.add(a.getUniqueId(), "world", ChunkKeyUtil.pack(7, 7));
+        when(world.isChunkLoaded(7, 7)).thenReturn(false);
+
+        RemovalPlan plan = new RemovalPlan(candidates);
+        plan.step(removed::add, 10);
+
+        assertThat(removed).isEmpty();
+        assertThat(plan.isDone()).isTrue();
+        verify(world, never()).getChunkAt(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should fall back to UUID lookup for candidates without location")
+    void fallbackWithoutLocation() {
+        Entity a = createEntity();
+        when(UltiCleanerTestHelper.getMockServer().getEntity(a.getUniqueId())).thenReturn(a);
+        candidates.add(a.getUniqueId());
+
+        RemovalPlan plan = new RemovalPlan(candidates);
+
+        assertThat(plan.step(removed::add, 10)).isEqualTo(1);
+        assertThat(removed).containsExactly(a);
+        assertThat(plan.isDone()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should fall back to UUID lookup for candidates that left their chunk")
+    void fallbackAfterMove() {
+        Entity moved = createEntity();
+        loadChunk(0, 0);
+        candidates.add(moved.getUniqueId(), "world", ChunkKeyUtil.pack(0, 0));
+        when(UltiCleanerTestHelper.getMockServer().getEntity(moved.getUniqueId())).thenReturn(moved);
+
+        RemovalPlan plan = new RemovalPlan(candidates);
+
+        plan.step(removed::add, 10);
+        assertThat(removed).isEmpty();
+        assertThat(plan.isDone()).isFalse();
+
+        plan.step(removed::add, 10);
+        assertThat(removed).containsExactly(moved);
+        assertThat(plan.isDone()).isTrue();
+        assertThat(plan.getProcessed()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should skip candidates in unknown worlds")
+    void unknownWorld() {
+        Entity a = createEntity();
+        candidates.add(a.getUniqueId(), "missing", ChunkKeyUtil.pack(0, 0));
+
+        RemovalPlan plan = new RemovalPlan(candidates);
+        plan.step(removed::add, 10);
+
+        assertThat(removed).isEmpty();
+        assertThat(plan.isDone()).isTrue();
+    }
+}
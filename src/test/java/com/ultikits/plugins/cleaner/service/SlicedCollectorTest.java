@@ -0,0 +1,107 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.UltiCleanerTestHelper;
+
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("SlicedCollector Tests")
+class SlicedCollectorTest {
+
+    private World world;
+
+    @BeforeEach
+    void setUp() {
+        world = UltiCleanerTestHelper.createMockWorld("world");
+    }
+
+    private Entity createEntity(EntityType type) {
+        Entity entity = mock(Entity.class);
+        UUID uuid = UUID.randomUUID();
+        lenient().when(entity.getUniqueId()).thenReturn(uuid);
+        lenient().when(entity.getType()).thenReturn(type);
+        return entity;
+    }
+
+    private Chunk createChunk(int x, Entity... entities) {
+        Chunk chunk = UltiCleanerTestHelper.createMockChunk(world, x, 0);
+        lenient().when(chunk.getEntities()).thenReturn(entities);
+        return chunk;
+    }
+
+    @Test
+    @DisplayName("Should finish immediately with no worlds")
+    void noWorlds() {
+        SlicedCollector collector = new SlicedCollector(Collections.emptyList(), e -> true, 1_000_000L);
+
+        assertThat(collector.step()).isTrue();
+        assertThat(collector.getCandidates().asList()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should record the chunk each candidate was collected from")
+    void recordsLocations() {
+        Entity zombie = createEntity(EntityType.ZOMBIE);
+        when(world.getLoadedChunks()).thenReturn(new Chunk[]{createChunk(3, zombie)});
+
+        SlicedCollector collector = new SlicedCollector(Collections.singletonList(world), e -> true, 10_000_000_000L);
+        collector.step();
+
+        assertThat(collector.getCandidates().getWorldName(0)).isEqualTo("world");
+        assertThat(collector.getCandidates().getChunkKey(0))
+                .isEqualTo(com.ultikits.plugins.cleaner.utils.ChunkKeyUtil.pack(3, 0));
+    }
+
+    @Test
+    @DisplayName("Should collect every chunk in one step with a large budget")
+    void largeBudget() {
+        Entity zombie = createEntity(EntityType.ZOMBIE);
+        Entity cow = createEntity(EntityType.COW);
+        when(world.getLoadedChunks()).thenReturn(new Chunk[]{createChunk(0, zombie), createChunk(1, cow)});
+
+        SlicedCollector collector = new SlicedCollector(Collections.singletonList(world),
+                e -> e.getType() == EntityType.ZOMBIE, 10_000_000_000L);
+
+        assertThat(collector.step()).isTrue();
+        assertThat(collector.getCandidates().asList()).containsExactly(zombie.getUniqueId());
+        assertThat(collector.getCandidates().getTypeCounts()).containsEntry(EntityType.ZOMBIE, 1).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should resume across steps with an exhausted budget")
+    void resumeAcrossSteps() {
+        Entity first = createEntity(EntityType.ZOMBIE);
+        Entity second = createEntity(EntityType.ZOMBIE);
+        when(world.getLoadedChunks()).thenReturn(new Chunk[]{createChunk(0, first), createChunk(1, second)});
+
+        SlicedCollector collector = new SlicedCollector(Collections.singletonList(world), e -> true, 0L);
+
+        assertThat(collector.step()).isFalse();
+        assertThat(collector.getCandidates().asList()).containsExactly(first.getUniqueId());
+
+        assertThat(collector.step()).isTrue();
+        assertThat(collector.getCandidates().asList()).containsExactly(first.getUniqueId(), second.getUniqueId());
+    }
+
+    @Test
+    @DisplayName("Should skip chunks that unloaded between steps")
+    void skipUnloadedChunks() {
+        Entity zombie = createEntity(EntityType.ZOMBIE);
+        Chunk chunk = createChunk(0, zombie);
+        when(chunk.isLoaded()).thenReturn(false);
+        when(world.getLoadedChunks()).thenReturn(new Chunk[]{chunk});
+
+        SlicedCollector collector = new SlicedCollector(Collections.singletonList(world), e -> true, 0L);
+
+        assertThat(collector.step()).isTrue();
+        assertThat(collector.getCandidates().asList()).isEmpty();
+    }
+}
@@ -0,0 +1,123 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.UltiCleanerTestHelper;
+import com.ultikits.plugins.cleaner.config.CleanerConfig;
+
+import org.bukkit.Material;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("SnapshotFilter Tests")
+class SnapshotFilterTest {
+
+    private CleanerConfig config;
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        config = UltiCleanerTestHelper.createDefaultConfig();
+        pool = new ForkJoinPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    private EntitySnapshot item(Material material, int ticksLived) {
+        Item item = mock(Item.class);
+        when(item.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(item.getTicksLived()).thenReturn(ticksLived);
+        ItemStack stack = mock(ItemStack.class);
+        when(stack.getType()).thenReturn(material);
+        when(item.getItemStack()).thenReturn(stack);
+        return EntitySnapshot.ofItem(item, "world", false);
+    }
+
+    private EntitySnapshot mob(String customName, boolean leashed) {
+        LivingEntity entity = mock(LivingEntity.class);
+        when(entity.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(entity.getType()).thenReturn(EntityType.ZOMBIE);
+        when(entity.getCustomName()).thenReturn(customName);
+        when(entity.isLeashed()).thenReturn(leashed);
+        return EntitySnapshot.ofMob(entity, "world");
+    }
+
+    @Test
+    @DisplayName("Should keep whitelisted materials")
+    void itemWhitelist() {
+        SnapshotFilter filter = new SnapshotFilter(config, Collections.singleton("DIAMOND"));
+
+        assertThat(filter.isItemCandidate(item(Material.DIAMOND, 1000))).isFalse();
+        assertThat(filter.isItemCandidate(item(Material.STONE, 1000))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep recently dropped items")
+    void itemRecent() {
+        when(config.getItemIgnoreRecentSeconds()).thenReturn(10);
+        SnapshotFilter filter = new SnapshotFilter(config, Collections.emptySet());
+
+        assertThat(filter.isItemCandidate(item(Material.STONE, 100))).isFalse();
+        assertThat(filter.isItemCandidate(item(Material.STONE, 200))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep named and leashed mobs when configured")
+    void mobWhitelist() {
+        when(config.isEntityWhitelistNamed()).thenReturn(true);
+        when(config.isEntityWhitelistLeashed()).thenReturn(true);
+        SnapshotFilter filter = new SnapshotFilter(config, Collections.emptySet());
+
+        assertThat(filter.isMobCandidate(mob("Bob", false))).isFalse();
+        assertThat(filter.isMobCandidate(mob(null, true))).isFalse();
+        assertThat(filter.isMobCandidate(mob(null, false))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not see config changes after creation")
+    void copiesConfig() {
+        SnapshotFilter filter = new SnapshotFilter(config, Collections.emptySet());
+        when(config.getItemIgnoreRecentSeconds()).thenReturn(10);
+
+        assertThat(filter.isItemCandidate(item(Material.STONE, 0))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should filter in parallel and keep capture order")
+    void applyParallel() throws Exception {
+        SnapshotFilter filter = new SnapshotFilter(config, Collections.singleton("DIAMOND"));
+        List<EntitySnapshot> snapshots = new ArrayList<>();
+        List<UUID> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            EntitySnapshot snapshot = item(i % 2 == 0 ? Material.STONE : Material.DIAMOND, 1000);
+            snapshots.add(snapshot);
+            if (i % 2 == 0) {
+                expected.add(snapshot.getUuid());
+            }
+        }
+
+        CandidateBuffer result = pool.submit(() -> filter.apply(snapshots, true)).get();
+
+        assertThat(result.asList()).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("Should count mob types")
+    void applyMobs() {
+        SnapshotFilter filter = new SnapshotFilter(config, Collections.emptySet());
+
+        CandidateBuffer result = filter.apply(Arrays.asList(mob(null, false), mob(null, false)), false);
+
+        assertThat(result.getTypeCount(EntityType.ZOMBIE)).isEqualTo(2);
+    }
+}
@@ -0,0 +1,94 @@
+package com.ultikits.plugins.cleaner.service;
+
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TickClock Tests")
+class TickClockTest {
+
+    @Test
+    @DisplayName("Should start at zero")
+    void startsAtZero() {
+        assertThat(new TickClock().getCurrentTick()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should advance once per tick")
+    void advances() {
+        TickClock clock = new TickClock();
+
+        clock.tick();
+        clock.tick();
+
+        assertThat(clock.getCurrentTick()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should run scheduled timers as it ticks")
+    void runsTimers() {
+        TickClock clock = new TickClock();
+        AtomicInteger runs = new AtomicInteger();
+        clock.schedule("test", 2, runs::incrementAndGet);
+
+        for (int i = 0; i < 6; i++) {
+            clock.tick();
+        }
+
+        assertThat(runs.get()).isEqualTo(3);
+        assertThat(clock.getTimerStats()).extracting(TimingWheel.TaskStats::getName).containsExactly("test");
+    }
+
+    @Test
+    @DisplayName("Should cancel timers by name")
+    void cancels() {
+        TickClock clock = new TickClock();
+        AtomicInteger runs = new AtomicInteger();
+        clock.schedule("test", 1, runs::incrementAndGet);
+
+        assertThat(clock.cancel("test")).isEqualTo(1);
+        clock.tick();
+
+        assertThat(runs.get()).isZero();
+        assertThat(clock.getTimers()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep a failing timer when no plugin is injected")
+    void failingTimer() {
+        TickClock clock = new TickClock();
+        clock.schedule("bad", 1, () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        clock.tick();
+
+        assertThat(clock.getTimers()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should tick from the main thread unless driven by the global region")
+    void notRegionDriven() {
+        TickClock clock = new TickClock();
+
+        clock.tick();
+
+        assertThat(clock.isRegionDriven()).isFalse();
+        assertThat(clock.getCurrentTick()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep ticking from the main thread when the region schedulers are missing")
+    void regionDriverUnavailable() {
+        TickClock clock = new TickClock();
+
+        assertThatThrownBy(() -> clock.driveFromGlobalRegion(null))
+            .isInstanceOf(IllegalStateException.class);
+        clock.tick();
+
+        assertThat(clock.isRegionDriven()).isFalse();
+        assertThat(clock.getCurrentTick()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,137 @@
+package com.ultikits.plugins.cleaner.service;
+
+import org.junit.jupiter.api.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TickSampler Tests")
+class TickSamplerTest {
+
+    private static final long MS = 1_000_000L;
+
+    private TickSampler sampler;
+
+    @BeforeEach
+    void setUp() {
+        sampler = new TickSampler();
+    }
+
+    private void record(long millis, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            sampler.record(millis * MS);
+        }
+    }
+
+    @Nested
+    @DisplayName("Averages")
+    class Averages {
+
+        @Test
+        @DisplayName("Should report nothing before the first sample")
+        void empty() {
+            assertThat(sampler.getSampleCount()).isZero();
+            assertThat(sampler.getAverageMillis(TickSampler.TICKS_1M)).isZero();
+            assertThat(sampler.getTps(TickSampler.TICKS_1M)).isEqualTo(20.0);
+        }
+
+        @Test
+        @DisplayName("Should measure ticks from the previous tick start")
+        void tickIntervals() {
+            sampler.tick(0L);
+            sampler.tick(50 * MS);
+            sampler.tick(150 * MS);
+
+            assertThat(sampler.getSampleCount()).isEqualTo(2);
+            assertThat(sampler.getAverageMillis(2)).isCloseTo(75.0, within(1e-9));
+        }
+
+        @Test
+        @DisplayName("Should average only the requested window")
+        void windowed() {
+            record(100, 100);
+            record(50, 20);
+
+            assertThat(sampler.getAverageMillis(20)).isCloseTo(50.0, within(1e-9));
+            assertThat(sampler.getAverageMillis(120)).isCloseTo(1100.0 / 12, within(1e-9));
+        }
+
+        @Test
+        @DisplayName("Should average every sample while fewer than the window exist")
+        void partialWindow() {
+            record(80, 10);
+
+            assertThat(sampler.getAverageMillis(TickSampler.TICKS_15M)).isCloseTo(80.0, within(1e-9));
+        }
+
+        @Test
+        @DisplayName("Should stay exact after the ring wraps")
+        void wraps() {
+            record(200, TickSampler.TICKS_15M);
+            record(100, TickSampler.TICKS_5M);
+
+            assertThat(sampler.getSampleCount()).isEqualTo(TickSampler.TICKS_15M + TickSampler.TICKS_5M);
+            assertThat(sampler.getAverageMillis(TickSampler.TICKS_5M)).isCloseTo(100.0, within(1e-9));
+            assertThat(sampler.getAverageMillis(TickSampler.TICKS_15M)).isCloseTo(500.0 / 3, within(1e-9));
+        }
+
+        @Test
+        @DisplayName("Should turn tick length into TPS capped at 20")
+        void tps() {
+            record(100, 20);
+            assertThat(sampler.getTps(20)).isCloseTo(10.0, within(1e-9));
+
+            record(30, 20);
+            assertThat(sampler.getTps(20)).isEqualTo(20.0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Percentiles")
+    class Percentiles {
+
+        @Test
+        @DisplayName("Should report zeros before the first publication")
+        void beforePublish() {
+            record(50, 19);
+
+            assertThat(sampler.getPercentiles()).containsExactly(0.0, 0.0, 0.0);
+        }
+
+        @Test
+        @DisplayName("Should find p50, p95 and p99 of the last minute")
+        void percentiles() {
+            record(40, 1000);
+            record(70, 180);
+            record(300, 20);
+
+            assertThat(sampler.getPercentiles()).containsExactly(40.0, 70.0, 300.0);
+        }
+
+        @Test
+        @DisplayName("Should forget spikes older than a minute")
+        void evictsOldTicks() {
+            record(500, 100);
+            record(50, TickSampler.TICKS_1M);
+
+            assertThat(sampler.getPercentiles()).containsExactly(50.0, 50.0, 50.0);
+        }
+
+        @Test
+        @DisplayName("Should put very long ticks in the last bucket")
+        void longTicks() {
+            record(5000, 20);
+
+            assertThat(sampler.getPercentiles()).containsExactly(999.0, 999.0, 999.0);
+        }
+
+        @Test
+        @DisplayName("Should return a copy")
+        void copy() {
+            record(50, 20);
+
+            sampler.getPercentiles()[0] = 1.0;
+
+            assertThat(sampler.getPercentiles()[0]).isEqualTo(50.0);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.ultikits.plugins.cleaner.service;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TimingWheel Tests")
+class TimingWheelTest {
+
+    private TimingWheel wheel;
+    private long tick;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new TimingWheel(1, null);
+        tick = 0;
+    }
+
+    private void runTicks(long ticks) {
+        for (long i = 0; i < ticks; i++) {
+            tick++;
+            wheel.advance(tick);
+        }
+    }
+
+    @Nested
+    @DisplayName("Scheduling")
+    class Scheduling {
+
+        @Test
+        @DisplayName("Should run once per period, first after one period")
+        void periodic() {
+            List<Long> fired = new ArrayList<>();
+            wheel.schedule("a", 20, () -> fired.add(tick));
+
+            runTicks(60);
+
+            assertThat(fired).containsExactly(20L, 40L, 60L);
+        }
+
+        @Test
+        @DisplayName("Should run first after the delay, then every period")
+        void delayed() {
+            List<Long> fired = new ArrayList<>();
+            wheel.schedule("a", 7, 20, () -> fired.add(tick));
+
+            runTicks(50);
+
+            assertThat(fired).containsExactly(7L, 27L, 47L);
+        }
+
+        @Test
+        @DisplayName("Should run every tick with a period of one")
+        void everyTick() {
+            List<Long> fired = new ArrayList<>();
+            wheel.schedule("a", 1, () -> fired.add(tick));
+
+            runTicks(3);
+
+            assertThat(fired).containsExactly(1L, 2L, 3L);
+        }
+
+        @Test
+        @DisplayName("Should cascade long delays down to the tick they are due")
+        void longDelay() {
+            List<Long> fired = new ArrayList<>();
+            wheel.schedule("a", 5000, () -> fired.add(tick));
+
+            runTicks(10000);
+
+            assertThat(fired).containsExactly(5000L, 10000L);
+        }
+
+        @Test
+        @DisplayName("Should catch up on skipped ticks")
+        void catchUp() {
+            AtomicInteger runs = new AtomicInteger();
+            wheel.schedule("a", 10, runs::incrementAndGet);
+
+            wheel.advance(100);
+
+            assertThat(runs.get()).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("Should apply a new period after the next run")
+        void setPeriod() {
+            List<Long> fired = new ArrayList<>();
+            TimingWheel.Timer timer = wheel.schedule("a", 10, () -> fired.add(tick));
+            timer.setPeriod(5);
+
+            runTicks(20);
+
+            assertThat(fired).containsExactly(10L, 15L, 20L);
+        }
+
+        @Test
+        @DisplayName("Should stop a step once it reports done")
+        void scheduleUntil() {
+            AtomicInteger steps = new AtomicInteger();
+            TimingWheel.Timer timer = wheel.scheduleUntil("a", 1, () -> steps.incrementAndGet() >= 3);
+
+            runTicks(10);
+
+            assertThat(steps.get()).isEqualTo(3);
+            assertThat(timer.isCancelled()).isTrue();
+            assertThat(wheel.getTimers()).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Cancelling")
+    class Cancelling {
+
+        @Test
+        @DisplayName("Should not run a cancelled timer")
+        void cancelHandle() {
+            AtomicInteger runs = new AtomicInteger();
+            TimingWheel.Timer timer = wheel.schedule("a", 5, runs::incrementAndGet);
+
+            timer.cancel();
+            wheel.advance(100);
+
+            assertThat(runs.get()).isZero();
+            assertThat(wheel.getTimers()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should cancel every timer with a name")
+        void cancelByName() {
+            AtomicInteger runs = new AtomicInteger();
+            wheel.schedule("world", 5, runs::incrementAndGet);
+            wheel.schedule("world", 7, runs::incrementAndGet);
+            wheel.schedule("other", 5, runs::incrementAndGet);
+
+            assertThat(wheel.cancel("world")).isEqualTo(2);
+            wheel.advance(5);
+
+            assertThat(runs.get()).isEqualTo(1);
+            assertThat(wheel.getTimers()).extracting(TimingWheel.Timer::getName).containsExactly("other");
+        }
+    }
+
+    @Nested
+    @DisplayName("Accounting")
+    class Accounting {
+
+        @Test
+        @DisplayName("Should count runs per timer name")
+        void runs() {
+            wheel.schedule("a", 2, () -> { });
+            wheel.schedule("b", 5, () -> { });
+
+            wheel.advance(10);
+
+            assertThat(wheel.getStats())
+                .extracting(TimingWheel.TaskStats::getName, TimingWheel.TaskStats::getRuns)
+                .containsExactly(tuple("a", 5L), tuple("b", 2L));
+        }
+
+        @Test
+        @DisplayName("Should count errors, report them and keep the timer")
+        void errors() {
+            List<String> reported = new ArrayList<>();
+            wheel = new TimingWheel(1, (name, e) -> reported.add(name + ": " + e.getMessage()));
+            TimingWheel.Timer timer = wheel.schedule("bad", 1, () -> {
+                throw new IllegalStateException("boom");
+            });
+
+            wheel.advance(2);
+
+            TimingWheel.TaskStats stats = wheel.getStats().iterator().next();
+            assertThat(stats.getErrors()).isEqualTo(2);
+            assertThat(stats.getRuns()).isEqualTo(2);
+            assertThat(reported).containsExactly("bad: boom", "bad: boom");
+            assertThat(timer.isCancelled()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should report an error and still run the rest of its slot")
+        void errorKeepsSlot() {
+            List<String> reported = new ArrayList<>();
+            wheel = new TimingWheel(1, (name, e) -> reported.add(name + ": " + e.getMessage()));
+            TimingWheel.Timer bad = wheel.schedule("bad", 2, () -> {
+                throw new NoClassDefFoundError("soft/Dependency");
+            });
+            AtomicInteger runs = new AtomicInteger();
+            wheel.schedule("good", 2, runs::incrementAndGet);
+
+            wheel.advance(4);
+
+            assertThat(reported).containsExactly("bad: soft/Dependency", "bad: soft/Dependency");
+            assertThat(runs.get()).isEqualTo(2);
+            assertThat(bad.isCancelled()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should report and cancel a step that throws")
+        void stepErrors() {
+            List<String> reported = new ArrayList<>();
+            wheel = new TimingWheel(1, (name, e) -> reported.add(name + ": " + e.getMessage()));
+            TimingWheel.Timer timer = wheel.scheduleUntil("once", 1, () -> {
+                throw new IllegalStateException("boom");
+            });
+
+            wheel.advance(5);
+
+            assertThat(reported).containsExactly("once: boom");
+            assertThat(timer.isCancelled()).isTrue();
+            assertThat(wheel.getTimers()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should report zero average before the first run")
+        void noRuns() {
+            wheel.schedule("a", 10, () -> { });
+
+            assertThat(wheel.getStats().iterator().next().getAverageNanos()).isZero();
+        }
+    }
+}
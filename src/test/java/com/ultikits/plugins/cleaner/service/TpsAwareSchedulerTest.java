@@ -2,6 +2,7 @@ package com.ultikits.plugins.cleaner.service;
 
 import com.ultikits.plugins.cleaner.UltiCleanerTestHelper;
 import com.ultikits.plugins.cleaner.config.CleanerConfig;
+import com.ultikits.plugins.cleaner.utils.ServerCapabilities;
 
 import org.junit.jupiter.api.*;
 
@@ -198,74 +199,61 @@ class TpsAwareSchedulerTest {
     class FallbackTpsCalculation {
 
         @Test
-        @DisplayName("Should enable fallback monitor when no native TPS")
-        void enableFallbackMonitor() throws Exception {
-            // hasTpsMethod is false in test setup
+        @DisplayName("Should sample every tick once initialized")
+        void samplesEveryTick() throws Exception {
+            TickClock tickClock = new TickClock();
+            UltiCleanerTestHelper.setField(scheduler, "tickClock", tickClock);
             scheduler.init();
 
-            boolean fallbackEnabled = (boolean) getField(scheduler, "fallbackMonitorEnabled");
-            assertThat(fallbackEnabled).isTrue();
-        }
-
-        @Test
-        @DisplayName("Should skip updateFallbackTps when fallback disabled")
-        void skipWhenFallbackDisabled() throws Exception {
-            UltiCleanerTestHelper.setField(scheduler, "fallbackMonitorEnabled", false);
+            for (int i = 0; i < 3; i++) {
+                tickClock.tick();
+            }
 
-            // Should not throw and should not update history
-            assertThatCode(() -> scheduler.updateFallbackTps()).doesNotThrowAnyException();
+            // The first tick only sets the baseline
+            assertThat(scheduler.getTickSampler().getSampleCount()).isEqualTo(2);
         }
 
         @Test
-        @DisplayName("Should update TPS history on fallback tick")
-        void updateTpsHistory() throws Exception {
-            UltiCleanerTestHelper.setField(scheduler, "fallbackMonitorEnabled", true);
-            UltiCleanerTestHelper.setField(scheduler, "lastTickTime", System.currentTimeMillis() - 1000);
+        @DisplayName("Should stop sampling on shutdown")
+        void stopsOnShutdown() throws Exception {
+            TickClock tickClock = new TickClock();
+            UltiCleanerTestHelper.setField(scheduler, "tickClock", tickClock);
+            scheduler.init();
 
-            scheduler.updateFallbackTps();
+            scheduler.shutdown();
+            tickClock.tick();
+            tickClock.tick();
 
-            int historyIndex = (int) getField(scheduler, "historyIndex");
-            assertThat(historyIndex).isEqualTo(1);
+            assertThat(scheduler.getTickSampler().getSampleCount()).isZero();
         }
 
         @Test
-        @DisplayName("Should calculate TPS from history after multiple ticks")
-        void calculateTpsFromHistory() throws Exception {
-            UltiCleanerTestHelper.setField(scheduler, "fallbackMonitorEnabled", true);
-
-            // Simulate multiple ticks (each ~1 second apart)
-            for (int i = 0; i < 5; i++) {
-                UltiCleanerTestHelper.setField(scheduler, "lastTickTime", System.currentTimeMillis() - 1000);
-                scheduler.updateFallbackTps();
-            }
+        @DisplayName("Should calculate TPS from sampled ticks")
+        void calculateTpsFromHistory() {
+            fillTps(12.5, 5);
 
             when(config.isTpsAdaptiveEnabled()).thenReturn(true);
             when(config.getTpsSampleWindow()).thenReturn("1m");
 
-            double tps = scheduler.getCurrentTps();
-            assertThat(tps).isBetween(0.0, 20.0);
+            assertThat(scheduler.getCurrentTps()).isCloseTo(12.5, within(1e-9));
         }
 
         @Test
         @DisplayName("Should cap TPS at 20.0")
-        void capTpsAt20() throws Exception {
-            UltiCleanerTestHelper.setField(scheduler, "fallbackMonitorEnabled", true);
-
-            // Simulate very fast tick (< 50ms per tick => cap at 20.0)
-            UltiCleanerTestHelper.setField(scheduler, "lastTickTime", System.currentTimeMillis() - 10);
-            scheduler.updateFallbackTps();
+        void capTpsAt20() {
+            for (int i = 0; i < 20; i++) {
+                scheduler.getTickSampler().record(10_000_000L);
+            }
 
             when(config.isTpsAdaptiveEnabled()).thenReturn(true);
             when(config.getTpsSampleWindow()).thenReturn("1m");
 
-            double tps = scheduler.getCurrentTps();
-            assertThat(tps).isLessThanOrEqualTo(20.0);
+            assertThat(scheduler.getCurrentTps()).isEqualTo(20.0);
         }
 
         @Test
         @DisplayName("Should return 20.0 when no history entries yet")
         void noHistoryReturns20() throws Exception {
-            // historyIndex is 0 by default, calculateAverage returns 20.0 for count=0
             when(config.isTpsAdaptiveEnabled()).thenReturn(true);
             when(config.getTpsSampleWindow()).thenReturn("1m");
 
@@ -280,54 +268,46 @@ class TpsAwareSchedulerTest {
     @DisplayName("Sample Window")
     class SampleWindow {
 
+        @BeforeEach
+        void fillWindows() {
+            // Five slow minutes followed by one normal minute
+            fillTps(10.0, TickSampler.TICKS_5M);
+            fillTps(20.0, TickSampler.TICKS_1M);
+            when(config.isTpsAdaptiveEnabled()).thenReturn(true);
+        }
+
         @Test
-        @DisplayName("Should use 5m window when configured")
-        void use5mWindow() throws Exception {
-            // Populate some history
-            UltiCleanerTestHelper.setField(scheduler, "fallbackMonitorEnabled", true);
-            for (int i = 0; i < 3; i++) {
-                UltiCleanerTestHelper.setField(scheduler, "lastTickTime", System.currentTimeMillis() - 1000);
-                scheduler.updateFallbackTps();
-            }
+        @DisplayName("Should use 1m window when configured")
+        void use1mWindow() {
+            when(config.getTpsSampleWindow()).thenReturn("1m");
 
-            when(config.isTpsAdaptiveEnabled()).thenReturn(true);
+            assertThat(scheduler.getCurrentTps()).isCloseTo(20.0, within(1e-9));
+        }
+
+        @Test
+        @DisplayName("Should use 5m window when configured")
+        void use5mWindow() {
             when(config.getTpsSampleWindow()).thenReturn("5m");
 
-            double tps = scheduler.getCurrentTps();
-            assertThat(tps).isBetween(0.0, 20.0);
+            // 1200 ticks at 50ms and 4800 at 100ms
+            assertThat(scheduler.getCurrentTps()).isCloseTo(6000 / 540.0, within(1e-9));
         }
 
         @Test
         @DisplayName("Should use 15m window when configured")
-        void use15mWindow() throws Exception {
-            // Populate some history
-            UltiCleanerTestHelper.setField(scheduler, "fallbackMonitorEnabled", true);
-            for (int i = 0; i < 3; i++) {
-                UltiCleanerTestHelper.setField(scheduler, "lastTickTime", System.currentTimeMillis() - 1000);
-                scheduler.updateFallbackTps();
-            }
-
-            when(config.isTpsAdaptiveEnabled()).thenReturn(true);
+        void use15mWindow() {
             when(config.getTpsSampleWindow()).thenReturn("15m");
 
-            double tps = scheduler.getCurrentTps();
-            assertThat(tps).isBetween(0.0, 20.0);
+            // Every sample counts while fewer than 15 minutes are recorded
+            assertThat(scheduler.getCurrentTps()).isCloseTo(7200 / 660.0, within(1e-9));
         }
 
         @Test
         @DisplayName("Should default to 1m window for unknown value")
-        void defaultTo1mForUnknown() throws Exception {
-            UltiCleanerTestHelper.setField(scheduler, "fallbackMonitorEnabled", true);
-            for (int i = 0; i < 3; i++) {
-                UltiCleanerTestHelper.setField(scheduler, "lastTickTime", System.currentTimeMillis() - 1000);
-                scheduler.updateFallbackTps();
-            }
-
-            when(config.isTpsAdaptiveEnabled()).thenReturn(true);
+        void defaultTo1mForUnknown() {
             when(config.getTpsSampleWindow()).thenReturn("unknown");
 
-            double tps = scheduler.getCurrentTps();
-            assertThat(tps).isBetween(0.0, 20.0);
+            assertThat(scheduler.getCurrentTps()).isCloseTo(20.0, within(1e-9));
         }
     }
 
@@ -341,11 +321,7 @@ class TpsAwareSchedulerTest {
         @DisplayName("Should return critical reduction when TPS is critical")
         void criticalTpsMultiplier() throws Exception {
             // Fill history with very low TPS values
-            UltiCleanerTestHelper.setField(scheduler, "fallbackMonitorEnabled", true);
-            double[] lowHistory = new double[60];
-            java.util.Arrays.fill(lowHistory, 10.0); // Very low TPS
-            UltiCleanerTestHelper.setField(scheduler, "tpsHistory1m", lowHistory);
-            UltiCleanerTestHelper.setField(scheduler, "historyIndex", 60);
+            fillTps(10.0);
 
             when(config.isTpsAdaptiveEnabled()).thenReturn(true);
             when(config.getTpsSampleWindow()).thenReturn("1m");
@@ -362,11 +338,7 @@ class TpsAwareSchedulerTest {
         @Test
         @DisplayName("Should return low reduction when TPS is low but not critical")
         void lowTpsMultiplier() throws Exception {
-            UltiCleanerTestHelper.setField(scheduler, "fallbackMonitorEnabled", true);
-            double[] lowHistory = new double[60];
-            java.util.Arrays.fill(lowHistory, 16.0); // Low but not critical
-            UltiCleanerTestHelper.setField(scheduler, "tpsHistory1m", lowHistory);
-            UltiCleanerTestHelper.setField(scheduler, "historyIndex", 60);
+            fillTps(16.0);
 
             when(config.isTpsAdaptiveEnabled()).thenReturn(true);
             when(config.getTpsSampleWindow()).thenReturn("1m");
@@ -383,11 +355,7 @@ class TpsAwareSchedulerTest {
         @Test
         @DisplayName("Should return 1.0 when TPS is normal")
         void normalTpsMultiplier() throws Exception {
-            UltiCleanerTestHelper.setField(scheduler, "fallbackMonitorEnabled", true);
-            double[] normalHistory = new double[60];
-            java.util.Arrays.fill(normalHistory, 19.5); // Normal TPS
-            UltiCleanerTestHelper.setField(scheduler, "tpsHistory1m", normalHistory);
-            UltiCleanerTestHelper.setField(scheduler, "historyIndex", 60);
+            fillTps(19.5);
 
             when(config.isTpsAdaptiveEnabled()).thenReturn(true);
             when(config.getTpsSampleWindow()).thenReturn("1m");
@@ -401,11 +369,7 @@ class TpsAwareSchedulerTest {
         @Test
         @DisplayName("applyThresholdReduction should reduce by critical amount")
         void applyReductionCritical() throws Exception {
-            UltiCleanerTestHelper.setField(scheduler, "fallbackMonitorEnabled", true);
-            double[] criticalHistory = new double[60];
-            java.util.Arrays.fill(criticalHistory, 10.0);
-            UltiCleanerTestHelper.setField(scheduler, "tpsHistory1m", criticalHistory);
-            UltiCleanerTestHelper.setField(scheduler, "historyIndex", 60);
+            fillTps(10.0);
 
             when(config.isTpsAdaptiveEnabled()).thenReturn(true);
             when(config.getTpsSampleWindow()).thenReturn("1m");
@@ -429,11 +393,7 @@ class TpsAwareSchedulerTest {
         @Test
         @DisplayName("Should show Critical status for very low TPS")
         void criticalStatus() throws Exception {
-            UltiCleanerTestHelper.setField(scheduler, "fallbackMonitorEnabled", true);
-            double[] criticalHistory = new double[60];
-            java.util.Arrays.fill(criticalHistory, 10.0);
-            UltiCleanerTestHelper.setField(scheduler, "tpsHistory1m", criticalHistory);
-            UltiCleanerTestHelper.setField(scheduler, "historyIndex", 60);
+            fillTps(10.0);
 
             when(config.isTpsAdaptiveEnabled()).thenReturn(true);
             when(config.getTpsSampleWindow()).thenReturn("1m");
@@ -448,11 +408,7 @@ class TpsAwareSchedulerTest {
         @Test
         @DisplayName("Should show Low status for moderately low TPS")
         void lowStatus() throws Exception {
-            UltiCleanerTestHelper.setField(scheduler, "fallbackMonitorEnabled", true);
-            double[] lowHistory = new double[60];
-            java.util.Arrays.fill(lowHistory, 16.0);
-            UltiCleanerTestHelper.setField(scheduler, "tpsHistory1m", lowHistory);
-            UltiCleanerTestHelper.setField(scheduler, "historyIndex", 60);
+            fillTps(16.0);
 
             when(config.isTpsAdaptiveEnabled()).thenReturn(true);
             when(config.getTpsSampleWindow()).thenReturn("1m");
@@ -474,11 +430,7 @@ class TpsAwareSchedulerTest {
         @Test
         @DisplayName("isLowTps should return true when TPS is below low threshold")
         void isLowTpsTrue() throws Exception {
-            UltiCleanerTestHelper.setField(scheduler, "fallbackMonitorEnabled", true);
-            double[] lowHistory = new double[60];
-            java.util.Arrays.fill(lowHistory, 16.0);
-            UltiCleanerTestHelper.setField(scheduler, "tpsHistory1m", lowHistory);
-            UltiCleanerTestHelper.setField(scheduler, "historyIndex", 60);
+            fillTps(16.0);
 
             when(config.isTpsAdaptiveEnabled()).thenReturn(true);
             when(config.getTpsSampleWindow()).thenReturn("1m");
@@ -490,11 +442,7 @@ class TpsAwareSchedulerTest {
         @Test
         @DisplayName("isLowTps should return false when TPS is above threshold")
         void isLowTpsFalse() throws Exception {
-            UltiCleanerTestHelper.setField(scheduler, "fallbackMonitorEnabled", true);
-            double[] normalHistory = new double[60];
-            java.util.Arrays.fill(normalHistory, 19.5);
-            UltiCleanerTestHelper.setField(scheduler, "tpsHistory1m", normalHistory);
-            UltiCleanerTestHelper.setField(scheduler, "historyIndex", 60);
+            fillTps(19.5);
 
             when(config.isTpsAdaptiveEnabled()).thenReturn(true);
             when(config.getTpsSampleWindow()).thenReturn("1m");
@@ -506,11 +454,7 @@ class TpsAwareSchedulerTest {
         @Test
         @DisplayName("isCriticalTps should return true when TPS is below critical threshold")
         void isCriticalTpsTrue() throws Exception {
-            UltiCleanerTestHelper.setField(scheduler, "fallbackMonitorEnabled", true);
-            double[] criticalHistory = new double[60];
-            java.util.Arrays.fill(criticalHistory, 10.0);
-            UltiCleanerTestHelper.setField(scheduler, "tpsHistory1m", criticalHistory);
-            UltiCleanerTestHelper.setField(scheduler, "historyIndex", 60);
+            fillTps(10.0);
 
             when(config.isTpsAdaptiveEnabled()).thenReturn(true);
             when(config.getTpsSampleWindow()).thenReturn("1m");
@@ -522,11 +466,7 @@ class TpsAwareSchedulerTest {
         @Test
         @DisplayName("isCriticalTps should return false when TPS is above critical threshold")
         void isCriticalTpsFalse() throws Exception {
-            UltiCleanerTestHelper.setField(scheduler, "fallbackMonitorEnabled", true);
-            double[] normalHistory = new double[60];
-            java.util.Arrays.fill(normalHistory, 16.0);
-            UltiCleanerTestHelper.setField(scheduler, "tpsHistory1m", normalHistory);
-            UltiCleanerTestHelper.setField(scheduler, "historyIndex", 60);
+            fillTps(16.0);
 
             when(config.isTpsAdaptiveEnabled()).thenReturn(true);
             when(config.getTpsSampleWindow()).thenReturn("1m");
@@ -536,11 +476,189 @@ class TpsAwareSchedulerTest {
         }
     }
 
+    // ==================== Snapshot ====================
+
+    @Nested
+    @DisplayName("Snapshot")
+    class Snapshot {
+
+        @Test
+        @DisplayName("Should share one snapshot within a tick")
+        void cachedWithinTick() throws Exception {
+            TickClock tickClock = new TickClock();
+            UltiCleanerTestHelper.setField(scheduler, "tickClock", tickClock);
+            fillTps(16.0);
+
+            TpsSnapshot first = scheduler.getSnapshot();
+            fillTps(10.0);
+
+            assertThat(scheduler.getSnapshot()).isSameAs(first);
+            assertThat(first.getTps1m()).isCloseTo(16.0, within(1e-9));
+            assertThat(first.isNativeTps()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should take a new snapshot in the next tick")
+        void refreshedNextTick() throws Exception {
+            TickClock tickClock = new TickClock();
+            UltiCleanerTestHelper.setField(scheduler, "tickClock", tickClock);
+            fillTps(16.0);
+            TpsSnapshot first = scheduler.getSnapshot();
+
+            fillTps(10.0);
+            tickClock.tick();
+
+            TpsSnapshot second = scheduler.getSnapshot();
+            assertThat(second).isNotSameAs(first);
+            assertThat(second.getTick()).isEqualTo(1L);
+            assertThat(second.getTps1m()).isCloseTo(10.0, within(1e-9));
+        }
+
+        @Test
+        @DisplayName("Should take a fresh snapshot on every call without a tick clock")
+        void noTickClock() {
+            TpsSnapshot first = scheduler.getSnapshot();
+
+            assertThat(scheduler.getSnapshot()).isNotSameAs(first);
+            assertThat(first.getTick()).isEqualTo(-1L);
+            assertThat(first.getAverageTickTime()).isEqualTo(-1.0);
+        }
+
+        @Test
+        @DisplayName("Should serve every TPS check in a tick from the snapshot")
+        void checksUseSnapshot() throws Exception {
+            TickClock tickClock = new TickClock();
+            UltiCleanerTestHelper.setField(scheduler, "tickClock", tickClock);
+            when(config.isTpsAdaptiveEnabled()).thenReturn(true);
+            when(config.getTpsSampleWindow()).thenReturn("1m");
+            when(config.getLowTpsThreshold()).thenReturn(18.0);
+            when(config.getCriticalTpsThreshold()).thenReturn(15.0);
+            fillTps(16.0);
+            scheduler.getSnapshot();
+
+            fillTps(10.0);
+
+            assertThat(scheduler.isLowTps()).isTrue();
+            assertThat(scheduler.isCriticalTps()).isFalse();
+        }
+    }
+
+    // ==================== MSPT Control ====================
+
+    @Nested
+    @DisplayName("MSPT Control")
+    class MsptControl {
+
+        private void enableMsptControl() {
+            setTickTimeApi();
+            when(config.isTpsAdaptiveEnabled()).thenReturn(true);
+            when(config.isMsptControlEnabled()).thenReturn(true);
+            when(config.getTargetMspt()).thenReturn(40.0);
+            when(config.getMsptMaxReduction()).thenReturn(70);
+            scheduler.init();
+        }
+
+        @Test
+        @DisplayName("Should not create a controller when disabled")
+        void disabledByDefault() {
+            scheduler.init();
+
+            assertThat(scheduler.getMsptController()).isNull();
+            assertThat(scheduler.scaleUnloadBatch(10)).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("Should create a controller from the config")
+        void createdOnInit() {
+            enableMsptControl();
+
+            MsptController controller = scheduler.getMsptController();
+            assertThat(controller).isNotNull();
+            assertThat(controller.getTargetMspt()).isEqualTo(40.0);
+            assertThat(controller.getMultiplier()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should use the controller multiplier instead of the TPS bands")
+        void multiplierFromController() {
+            enableMsptControl();
+            scheduler.getMsptController().update(60.0);
+
+            assertThat(scheduler.getThresholdMultiplier()).isCloseTo(0.8, within(1e-9));
+            assertThat(scheduler.applyThresholdReduction(1000)).isEqualTo(800);
+        }
+
+        @Test
+        @DisplayName("Should unload fewer chunks per batch as the multiplier drops")
+        void scalesUnloadBatch() {
+            enableMsptControl();
+            scheduler.getMsptController().update(60.0);
+            scheduler.getMsptController().update(60.0);
+
+            assertThat(scheduler.scaleUnloadBatch(10)).isEqualTo(6);
+            assertThat(scheduler.scaleUnloadBatch(1)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should ignore the controller when adaptive mode is off")
+        void adaptiveDisabled() {
+            enableMsptControl();
+            scheduler.getMsptController().update(60.0);
+            when(config.isTpsAdaptiveEnabled()).thenReturn(false);
+
+            assertThat(scheduler.getThresholdMultiplier()).isEqualTo(1.0);
+            assertThat(scheduler.scaleUnloadBatch(10)).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("Should fall back to the TPS steps without a tick time API")
+        void spigotFallsBack() throws Exception {
+            UltiCleanerTestHelper.setPlatform(ServerCapabilities.Platform.SPIGOT);
+            when(config.isTpsAdaptiveEnabled()).thenReturn(true);
+            when(config.isMsptControlEnabled()).thenReturn(true);
+            when(config.getLowTpsThreshold()).thenReturn(18.0);
+            when(config.getCriticalTpsThreshold()).thenReturn(15.0);
+            when(config.getLowTpsReduction()).thenReturn(30);
+            when(config.getTpsSampleWindow()).thenReturn("1m");
+            scheduler.init();
+            fillTps(17.0);
+
+            assertThat(scheduler.getMsptController()).isNull();
+            assertThat(scheduler.getThresholdMultiplier()).isCloseTo(0.7, within(1e-9));
+            verify(UltiCleanerTestHelper.getMockLogger()).info(contains("TPS steps"));
+        }
+
+        @Test
+        @DisplayName("Should skip a sample when the tick time cannot be read")
+        void unreadableTickTime() {
+            enableMsptControl();
+            scheduler.getMsptController().update(60.0);
+
+            scheduler.updateMspt();
+
+            assertThat(scheduler.getMsptController().getLastMspt()).isEqualTo(60.0);
+        }
+
+        private void setTickTimeApi() {
+            try {
+                UltiCleanerTestHelper.setCapabilities(new ServerCapabilities(
+                    ServerCapabilities.Platform.PAPER, false, false, true, false, false));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
     // ==================== Helper Methods ====================
 
-    private Object getField(Object target, String fieldName) throws Exception {
-        java.lang.reflect.Field field = target.getClass().getDeclaredField(fieldName);
-        field.setAccessible(true);
-        return field.get(target);
+    private void fillTps(double tps) {
+        fillTps(tps, TickSampler.TICKS_1M);
+    }
+
+    private void fillTps(double tps, int ticks) {
+        long nanos = Math.round(1_000_000_000L / tps);
+        for (int i = 0; i < ticks; i++) {
+            scheduler.getTickSampler().record(nanos);
+        }
     }
 }
@@ -0,0 +1,37 @@
+package com.ultikits.plugins.cleaner.service;
+
+import org.junit.jupiter.api.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TpsSnapshot Tests")
+class TpsSnapshotTest {
+
+    private final TpsSnapshot snapshot = new TpsSnapshot(42L, 19.5, 18.0, 17.0, 35.0, true);
+
+    @Test
+    @DisplayName("Should expose the captured values")
+    void values() {
+        assertThat(snapshot.getTick()).isEqualTo(42L);
+        assertThat(snapshot.getTps1m()).isEqualTo(19.5);
+        assertThat(snapshot.getTps5m()).isEqualTo(18.0);
+        assertThat(snapshot.getTps15m()).isEqualTo(17.0);
+        assertThat(snapshot.getAverageTickTime()).isEqualTo(35.0);
+        assertThat(snapshot.isNativeTps()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should pick the TPS of a sample window")
+    void tpsByWindow() {
+        assertThat(snapshot.getTps("1m")).isEqualTo(19.5);
+        assertThat(snapshot.getTps("5M")).isEqualTo(18.0);
+        assertThat(snapshot.getTps("15m")).isEqualTo(17.0);
+    }
+
+    @Test
+    @DisplayName("Should default to the 1m TPS for unknown windows")
+    void unknownWindow() {
+        assertThat(snapshot.getTps("unknown")).isEqualTo(19.5);
+        assertThat(snapshot.getTps(null)).isEqualTo(19.5);
+    }
+}
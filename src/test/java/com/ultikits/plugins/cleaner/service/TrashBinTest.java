@@ -0,0 +1,94 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.UltiCleanerTestHelper;
+import com.ultikits.plugins.cleaner.config.CleanerConfig;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.*;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("TrashBin Tests")
+class TrashBinTest {
+
+    private TrashBin bin;
+    private CleanerConfig config;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        UltiCleanerTestHelper.setUp();
+        config = UltiCleanerTestHelper.createDefaultConfig();
+        bin = new TrashBin();
+        UltiCleanerTestHelper.setField(bin, "config", config);
+        UltiCleanerTestHelper.setField(bin, "plugin", UltiCleanerTestHelper.getMockPlugin());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        UltiCleanerTestHelper.tearDown();
+    }
+
+    @Test
+    @DisplayName("Should ignore captures while disabled")
+    void captureDisabled() {
+        bin.capture(mock(ItemStack.class));
+
+        verify(UltiCleanerTestHelper.getMockScheduler(), never()).runTaskAsynchronously(any(), any(Runnable.class));
+        assertThat(bin.isEnabled()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should schedule one async flush for a burst of captures")
+    void captureSchedulesOnce() {
+        when(config.isBinEnabled()).thenReturn(true);
+
+        bin.capture(mock(ItemStack.class));
+        bin.capture(mock(ItemStack.class));
+        bin.capture(null);
+
+        verify(UltiCleanerTestHelper.getMockScheduler(), times(1)).runTaskAsynchronously(any(), any(Runnable.class));
+    }
+
+    @Test
+    @DisplayName("Should warn and skip stacks that cannot be serialized")
+    void flushUnserializable() {
+        when(config.isBinEnabled()).thenReturn(true);
+        TrashStore store = new TrashStore(ByteBuffer.allocate(1024));
+        bin.setStore(store);
+        ItemStack stack = mock(ItemStack.class);
+        when(stack.getType()).thenReturn(Material.STONE);
+        when(stack.serialize()).thenThrow(new IllegalStateException("no item factory"));
+        bin.capture(stack);
+
+        bin.flush();
+
+        assertThat(store.size()).isZero();
+        verify(UltiCleanerTestHelper.getMockLogger()).warn(startsWith("Failed to store removed item STONE"));
+    }
+
+    @Test
+    @DisplayName("Should return nothing before anything was stored")
+    void emptyBin() {
+        assertThat(bin.page(0, 10)).isEmpty();
+        assertThat(bin.size()).isZero();
+        assertThat(bin.restore(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep entries that fail to decode")
+    void restoreCorrupt() {
+        TrashStore store = new TrashStore(ByteBuffer.allocate(1024));
+        long id = store.append(new byte[]{1, 2, 3}, Material.STONE, 1, 0L);
+        bin.setStore(store);
+
+        assertThat(bin.restore(id)).isNull();
+        assertThat(bin.restore(id + 1)).isNull();
+        assertThat(bin.size()).isEqualTo(1);
+        verify(UltiCleanerTestHelper.getMockLogger()).warn(startsWith("Failed to restore item #" + id));
+    }
+}
@@ -0,0 +1,117 @@
+package com.ultikits.plugins.cleaner.service;
+
+import org.bukkit.Material;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TrashStore Tests")
+class TrashStoreTest {
+
+    private TrashStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new TrashStore(ByteBuffer.allocate(100));
+    }
+
+    private static byte[] payload(int length, int fill) {
+        byte[] data = new byte[length];
+        java.util.Arrays.fill(data, (byte) fill);
+        return data;
+    }
+
+    @Test
+    @DisplayName("Should read back appended payloads")
+    void appendAndRead() {
+        long first = store.append(payload(10, 1), Material.STONE, 64, 1000L);
+        long second = store.append(payload(20, 2), Material.DIAMOND, 3, 2000L);
+
+        assertThat(store.read(first)).isEqualTo(payload(10, 1));
+        assertThat(store.read(second)).isEqualTo(payload(20, 2));
+        assertThat(store.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reject empty and oversized payloads")
+    void rejectSize() {
+        assertThat(store.append(new byte[0], Material.STONE, 1, 0L)).isEqualTo(-1);
+        assertThat(store.append(payload(101, 1), Material.STONE, 1, 0L)).isEqualTo(-1);
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should overwrite the oldest entries when the ring wraps")
+    void evictOldest() {
+        long a = store.append(payload(40, 1), Material.STONE, 1, 0L);
+        long b = store.append(payload(40, 2), Material.DIRT, 1, 0L);
+        long c = store.append(payload(30, 3), Material.SAND, 1, 0L);
+
+        assertThat(store.read(a)).isNull();
+        assertThat(store.read(b)).isEqualTo(payload(40, 2));
+        assertThat(store.read(c)).isEqualTo(payload(30, 3));
+        assertThat(store.size()).isEqualTo(2);
+
+        long d = store.append(payload(40, 4), Material.GRAVEL, 1, 0L);
+        assertThat(store.read(b)).isNull();
+        assertThat(store.read(c)).isEqualTo(payload(30, 3));
+        assertThat(store.read(d)).isEqualTo(payload(40, 4));
+    }
+
+    @Test
+    @DisplayName("Should drop entries in the tail gap when wrapping")
+    void evictTailGap() {
+        store.append(payload(30, 1), Material.STONE, 1, 0L);
+        store.append(payload(30, 2), Material.STONE, 1, 0L);
+        store.append(payload(30, 3), Material.STONE, 1, 0L);
+        long tail = store.append(payload(8, 4), Material.STONE, 1, 0L);
+        store.append(payload(30, 5), Material.STONE, 1, 0L);
+        assertThat(store.read(tail)).isEqualTo(payload(8, 4));
+        assertThat(store.size()).isEqualTo(4);
+
+        long last = store.append(payload(75, 6), Material.STONE, 1, 0L);
+
+        assertThat(store.read(tail)).isNull();
+        assertThat(store.read(last)).isEqualTo(payload(75, 6));
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should list pages newest first and hide removed entries")
+    void pages() {
+        long[] ids = new long[5];
+        for (int i = 0; i < 5; i++) {
+            ids[i] = store.append(payload(5, i + 1), Material.STONE, i + 1, i);
+        }
+        assertThat(store.remove(ids[3])).isTrue();
+        assertThat(store.remove(ids[3])).isFalse();
+
+        List<TrashStore.Entry> first = store.page(0, 2);
+        List<TrashStore.Entry> second = store.page(1, 2);
+
+        assertThat(first).extracting(TrashStore.Entry::getId).containsExactly(ids[4], ids[2]);
+        assertThat(second).extracting(TrashStore.Entry::getId).containsExactly(ids[1], ids[0]);
+        assertThat(first.get(0).getAmount()).isEqualTo(5);
+        assertThat(first.get(0).getMaterial()).isEqualTo(Material.STONE);
+        assertThat(store.read(ids[3])).isNull();
+        assertThat(store.size()).isEqualTo(4);
+        assertThat(store.page(-1, 2)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should map a backing file")
+    void openFile(@TempDir File dir) {
+        TrashStore mapped = TrashStore.open(new File(dir, "bin/trash.bin"), 64);
+
+        long id = mapped.append(payload(8, 7), Material.STONE, 1, 0L);
+
+        assertThat(mapped.getCapacity()).isEqualTo(64);
+        assertThat(mapped.read(id)).isEqualTo(payload(8, 7));
+        assertThat(new File(dir, "bin/trash.bin")).hasSize(64);
+    }
+}
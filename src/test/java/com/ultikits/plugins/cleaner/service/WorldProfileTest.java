@@ -0,0 +1,103 @@
+package com.ultikits.plugins.cleaner.service;
+
+import com.ultikits.plugins.cleaner.config.CleanerConfig;
+import org.junit.jupiter.api.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("WorldProfile Tests")
+class WorldProfileTest {
+
+    private CleanerConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = mock(CleanerConfig.class);
+        when(config.getItemCleanInterval()).thenReturn(300);
+        when(config.getEntityCleanInterval()).thenReturn(600);
+        when(config.getItemMaxThreshold()).thenReturn(2000);
+        when(config.getMobMaxThreshold()).thenReturn(1000);
+        when(config.getCleanBatchSize()).thenReturn(50);
+    }
+
+    @Nested
+    @DisplayName("Parsing")
+    class Parsing {
+
+        @Test
+        @DisplayName("Should read every setting")
+        void allSettings() {
+            WorldProfile profile = WorldProfile.parse(
+                "resource:item-interval=120,entity-interval=240,item-threshold=500,mob-threshold=300,batch-size=100",
+                config);
+
+            assertThat(profile.getWorldName()).isEqualTo("resource");
+            assertThat(profile.getItemInterval()).isEqualTo(120);
+            assertThat(profile.getEntityInterval()).isEqualTo(240);
+            assertThat(profile.getItemThreshold()).isEqualTo(500);
+            assertThat(profile.getMobThreshold()).isEqualTo(300);
+            assertThat(profile.getBatchSize()).isEqualTo(100);
+        }
+
+        @Test
+        @DisplayName("Should fall back to the global values")
+        void defaults() {
+            WorldProfile profile = WorldProfile.parse("event: batch-size = 10", config);
+
+            assertThat(profile.getItemInterval()).isEqualTo(300);
+            assertThat(profile.getEntityInterval()).isEqualTo(600);
+            assertThat(profile.getItemThreshold()).isEqualTo(2000);
+            assertThat(profile.getMobThreshold()).isEqualTo(1000);
+            assertThat(profile.getBatchSize()).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("Should accept a profile without settings")
+        void empty() {
+            assertThat(WorldProfile.parse("event:", config).getItemInterval()).isEqualTo(300);
+        }
+
+        @Test
+        @DisplayName("Should reject malformed entries")
+        void malformed() {
+            assertThatThrownBy(() -> WorldProfile.parse("no-colon", config))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> WorldProfile.parse("w:item-interval", config))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> WorldProfile.parse("w:item-interval=abc", config))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> WorldProfile.parse("w:item-interval=0", config))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> WorldProfile.parse("w:speed=3", config))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Countdowns")
+    class Countdowns {
+
+        @Test
+        @DisplayName("Should start at the intervals")
+        void start() {
+            WorldProfile profile = WorldProfile.parse("w:item-interval=2,entity-interval=3", config);
+
+            assertThat(profile.getItemCountdown()).isEqualTo(2);
+            assertThat(profile.getEntityCountdown()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should stop at zero until reset")
+        void countDown() {
+            WorldProfile profile = WorldProfile.parse("w:item-interval=2", config);
+
+            assertThat(profile.countDownItems()).isEqualTo(1);
+            assertThat(profile.countDownItems()).isZero();
+            assertThat(profile.countDownItems()).isZero();
+
+            profile.resetItemCountdown();
+            assertThat(profile.getItemCountdown()).isEqualTo(2);
+        }
+    }
+}
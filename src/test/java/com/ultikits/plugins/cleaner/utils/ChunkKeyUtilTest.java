@@ -0,0 +1,52 @@
+package com.ultikits.plugins.cleaner.utils;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.jupiter.api.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ChunkKeyUtil Tests")
+class ChunkKeyUtilTest {
+
+    @Nested
+    @DisplayName("Pack and Unpack")
+    class PackAndUnpack {
+
+        @Test
+        @DisplayName("Should round-trip positive coordinates")
+        void positiveCoordinates() {
+            long key = ChunkKeyUtil.pack(12, 34);
+
+            assertThat(ChunkKeyUtil.getX(key)).isEqualTo(12);
+            assertThat(ChunkKeyUtil.getZ(key)).isEqualTo(34);
+        }
+
+        @Test
+        @DisplayName("Should round-trip negative coordinates")
+        void negativeCoordinates() {
+            long key = ChunkKeyUtil.pack(-5, -1875000);
+
+            assertThat(ChunkKeyUtil.getX(key)).isEqualTo(-5);
+            assertThat(ChunkKeyUtil.getZ(key)).isEqualTo(-1875000);
+        }
+
+        @Test
+        @DisplayName("Should produce distinct keys for swapped coordinates")
+        void distinctKeys() {
+            assertThat(ChunkKeyUtil.pack(1, 2)).isNotEqualTo(ChunkKeyUtil.pack(2, 1));
+        }
+
+        @Test
+        @DisplayName("Should pack the chunk containing a location")
+        void packLocation() {
+            Location location = new Location(mock(World.class), -17.5, 64.0, 33.0);
+
+            long key = ChunkKeyUtil.pack(location);
+
+            assertThat(ChunkKeyUtil.getX(key)).isEqualTo(-2);
+            assertThat(ChunkKeyUtil.getZ(key)).isEqualTo(2);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.ultikits.plugins.cleaner.utils;
+
+import com.ultikits.plugins.cleaner.UltiCleanerTestHelper;
+
+import org.bukkit.World;
+import org.junit.jupiter.api.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("FoliaSchedulers Tests")
+class FoliaSchedulersTest {
+
+    private World world;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        UltiCleanerTestHelper.setUp();
+        world = UltiCleanerTestHelper.createMockWorld("world");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        UltiCleanerTestHelper.tearDown();
+    }
+
+    @Test
+    @DisplayName("Should report the region schedulers missing from the Spigot API")
+    void unavailable() {
+        assertThat(FoliaSchedulers.isAvailable()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should fail scheduling calls without the region schedulers")
+    void schedulingFails() {
+        Runnable task = () -> { };
+
+        assertThatThrownBy(() -> FoliaSchedulers.runGlobal(null, task))
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> FoliaSchedulers.runGlobalAtFixedRate(null, task, 1, 1))
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> FoliaSchedulers.runAtChunk(null, world, 0, 0, task))
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> FoliaSchedulers.runAsync(null, task))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should treat every chunk as owned when ownership cannot be queried")
+    void ownership() {
+        assertThat(FoliaSchedulers.isOwnedByCurrentRegion(world, 0, 0)).isTrue();
+    }
+}
@@ -0,0 +1,44 @@
+package com.ultikits.plugins.cleaner.utils;
+
+import org.junit.jupiter.api.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ServerCapabilities Tests")
+class ServerCapabilitiesTest {
+
+    @Test
+    @DisplayName("Should treat every platform but Spigot as Paper")
+    void paperFamily() {
+        for (ServerCapabilities.Platform platform : ServerCapabilities.Platform.values()) {
+            ServerCapabilities capabilities = new ServerCapabilities(platform, false, false, false, false, false);
+            assertThat(capabilities.isPaper()).isEqualTo(platform != ServerCapabilities.Platform.SPIGOT);
+            assertThat(capabilities.isFolia()).isEqualTo(platform == ServerCapabilities.Platform.FOLIA);
+        }
+    }
+
+    @Test
+    @DisplayName("Should expose each capability flag")
+    void flags() {
+        ServerCapabilities capabilities = new ServerCapabilities(
+            ServerCapabilities.Platform.PAPER, true, true, false, true, false);
+
+        assertThat(capabilities.getPlatform()).isEqualTo(ServerCapabilities.Platform.PAPER);
+        assertThat(capabilities.isModernPaper()).isTrue();
+        assertThat(capabilities.hasTps()).isTrue();
+        assertThat(capabilities.hasTickTime()).isFalse();
+        assertThat(capabilities.hasAsyncChunks()).isTrue();
+        assertThat(capabilities.hasEntityLoadState()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should describe the matrix in one line")
+    void describe() {
+        ServerCapabilities capabilities = new ServerCapabilities(
+            ServerCapabilities.Platform.FOLIA, true, true, true, true, true);
+
+        assertThat(capabilities.describe())
+            .startsWith("FOLIA [")
+            .contains("tps=true", "asyncChunks=true", "regionThreads=true");
+    }
+}
@@ -6,7 +6,6 @@ import org.bukkit.Chunk;
 import org.bukkit.World;
 import org.junit.jupiter.api.*;
 
-import java.lang.reflect.Method;
 import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.*;
@@ -30,6 +29,12 @@ class ServerTypeUtilTest {
         UltiCleanerTestHelper.tearDown();
     }
 
+    private static ServerCapabilities capabilities(ServerCapabilities.Platform platform, boolean modernPaper,
+                                                  boolean tps, boolean tickTime,
+                                                  boolean asyncChunks, boolean entityLoadState) {
+        return new ServerCapabilities(platform, modernPaper, tps, tickTime, asyncChunks, entityLoadState);
+    }
+
     // ==================== Server Type Detection ====================
 
     @Nested
@@ -37,63 +42,71 @@ class ServerTypeUtilTest {
     class ServerTypeDetection {
 
         @Test
-        @DisplayName("isPaper should return boolean")
-        void isPaper() {
-            boolean result = ServerTypeUtil.isPaper();
-            assertThat(result).isIn(true, false);
-        }
+        @DisplayName("init should detect plain Spigot without optional API")
+        void detectsSpigot() {
+            ServerCapabilities detected = ServerTypeUtil.init();
 
-        @Test
-        @DisplayName("isModernPaper should return boolean")
-        void isModernPaper() {
-            boolean result = ServerTypeUtil.isModernPaper();
-            assertThat(result).isIn(true, false);
+            assertThat(detected.getPlatform()).isEqualTo(ServerCapabilities.Platform.SPIGOT);
+            assertThat(detected.isPaper()).isFalse();
+            assertThat(detected.hasTps()).isFalse();
+            assertThat(detected.hasTickTime()).isFalse();
+            assertThat(detected.hasAsyncChunks()).isFalse();
+            assertThat(detected.hasEntityLoadState()).isFalse();
+            assertThat(ServerTypeUtil.getCapabilities()).isSameAs(detected);
         }
 
         @Test
-        @DisplayName("hasTpsMethod should return boolean")
-        void hasTpsMethod() {
-            boolean result = ServerTypeUtil.hasTpsMethod();
-            assertThat(result).isIn(true, false);
-        }
+        @DisplayName("getCapabilities should detect on first use")
+        void detectsLazily() throws Exception {
+            UltiCleanerTestHelper.setCapabilities(null);
 
-        @Test
-        @DisplayName("getServerSoftware should return non-empty string")
-        void getServerSoftware() {
-            String software = ServerTypeUtil.getServerSoftware();
-            assertThat(software).isNotEmpty();
-            assertThat(software).containsAnyOf("Paper", "Spigot", "CraftBukkit");
+            ServerCapabilities first = ServerTypeUtil.getCapabilities();
+
+            assertThat(first).isNotNull();
+            assertThat(ServerTypeUtil.getCapabilities()).isSameAs(first);
         }
 
         @Test
         @DisplayName("getServerSoftware should return Spigot/CraftBukkit when not Paper")
         void getServerSoftwareSpigot() throws Exception {
-            // Reset caches
-            UltiCleanerTestHelper.setStaticField(ServerTypeUtil.class, "isPaper", false);
-            UltiCleanerTestHelper.setStaticField(ServerTypeUtil.class, "isModernPaper", false);
+            UltiCleanerTestHelper.setPlatform(ServerCapabilities.Platform.SPIGOT);
 
-            String software = ServerTypeUtil.getServerSoftware();
-            assertThat(software).isEqualTo("Spigot/CraftBukkit");
+            assertThat(ServerTypeUtil.getServerSoftware()).isEqualTo("Spigot/CraftBukkit");
+            assertThat(ServerTypeUtil.isPaper()).isFalse();
         }
 
         @Test
         @DisplayName("getServerSoftware should return Paper (Legacy) for legacy Paper")
         void getServerSoftwareLegacyPaper() throws Exception {
-            UltiCleanerTestHelper.setStaticField(ServerTypeUtil.class, "isPaper", true);
-            UltiCleanerTestHelper.setStaticField(ServerTypeUtil.class, "isModernPaper", false);
+            UltiCleanerTestHelper.setCapabilities(
+                capabilities(ServerCapabilities.Platform.PAPER, false, true, true, true, true));
 
-            String software = ServerTypeUtil.getServerSoftware();
-            assertThat(software).isEqualTo("Paper (Legacy)");
+            assertThat(ServerTypeUtil.getServerSoftware()).isEqualTo("Paper (Legacy)");
+            assertThat(ServerTypeUtil.isModernPaper()).isFalse();
         }
 
         @Test
         @DisplayName("getServerSoftware should return Paper (Modern) for modern Paper")
         void getServerSoftwareModernPaper() throws Exception {
-            UltiCleanerTestHelper.setStaticField(ServerTypeUtil.class, "isPaper", true);
-            UltiCleanerTestHelper.setStaticField(ServerTypeUtil.class, "isModernPaper", true);
+            UltiCleanerTestHelper.setCapabilities(
+                capabilities(ServerCapabilities.Platform.PAPER, true, true, true, true, true));
+
+            assertThat(ServerTypeUtil.getServerSoftware()).isEqualTo("Paper (Modern)");
+            assertThat(ServerTypeUtil.isModernPaper()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Paper forks should count as Paper")
+        void forks() throws Exception {
+            UltiCleanerTestHelper.setPlatform(ServerCapabilities.Platform.PURPUR);
+            assertThat(ServerTypeUtil.getServerSoftware()).isEqualTo("Purpur");
+            assertThat(ServerTypeUtil.isPaper()).isTrue();
+            assertThat(ServerTypeUtil.isFolia()).isFalse();
 
-            String software = ServerTypeUtil.getServerSoftware();
-            assertThat(software).isEqualTo("Paper (Modern)");
+            UltiCleanerTestHelper.setPlatform(ServerCapabilities.Platform.FOLIA);
+            assertThat(ServerTypeUtil.getServerSoftware()).isEqualTo("Folia");
+            assertThat(ServerTypeUtil.isPaper()).isTrue();
+            assertThat(ServerTypeUtil.isFolia()).isTrue();
         }
     }
 
@@ -104,33 +117,37 @@ class ServerTypeUtilTest {
     class TpsMethods {
 
         @Test
-        @DisplayName("getServerTps should return null when hasTpsMethod is false")
-        void getServerTpsNull() throws Exception {
-            UltiCleanerTestHelper.setStaticField(ServerTypeUtil.class, "hasTpsMethod", false);
+        @DisplayName("getServerTps should return null when the server has no getTPS")
+        void getServerTpsNull() {
+            assertThat(ServerTypeUtil.hasTpsMethod()).isFalse();
+            assertThat(ServerTypeUtil.getServerTps()).isNull();
+        }
+
+        @Test
+        @DisplayName("getServerTps should return null if the handle cannot be called")
+        void getServerTpsUnbound() throws Exception {
+            // The Spigot API has no getTPS, so the handle is unbound
+            UltiCleanerTestHelper.setCapabilities(
+                capabilities(ServerCapabilities.Platform.PAPER, true, true, true, false, false));
 
-            double[] tps = ServerTypeUtil.getServerTps();
-            assertThat(tps).isNull();
+            assertThat(ServerTypeUtil.hasTpsMethod()).isTrue();
+            assertThat(ServerTypeUtil.getServerTps()).isNull();
         }
 
         @Test
-        @DisplayName("getServerTps should return null or double array")
-        void getServerTps() {
-            double[] tps = ServerTypeUtil.getServerTps();
-            if (tps != null) {
-                assertThat(tps.length).isGreaterThanOrEqualTo(1);
-            }
+        @DisplayName("getAverageTickTime should return -1 when the server has no tick time method")
+        void getAverageTickTimeUnavailable() {
+            assertThat(ServerTypeUtil.hasTickTimeMethod()).isFalse();
+            assertThat(ServerTypeUtil.getAverageTickTime()).isEqualTo(-1.0);
         }
 
         @Test
-        @DisplayName("hasTpsMethod should return false when no getTPS method exists")
-        void hasTpsMethodFalse() throws Exception {
-            // Reset cache to null so it re-detects
-            UltiCleanerTestHelper.setStaticField(ServerTypeUtil.class, "hasTpsMethod", null);
-            UltiCleanerTestHelper.setStaticField(ServerTypeUtil.class, "getTpsMethod", null);
-
-            // Since the mock server doesn't have getTPS, should be false
-            boolean result = ServerTypeUtil.hasTpsMethod();
-            assertThat(result).isFalse();
+        @DisplayName("getAverageTickTime should return -1 if the handle cannot be called")
+        void getAverageTickTimeUnbound() throws Exception {
+            UltiCleanerTestHelper.setCapabilities(
+                capabilities(ServerCapabilities.Platform.PAPER, true, true, true, false, false));
+
+            assertThat(ServerTypeUtil.getAverageTickTime()).isEqualTo(-1.0);
         }
     }
 
@@ -140,133 +157,55 @@ class ServerTypeUtilTest {
     @DisplayName("Chunk Methods")
     class ChunkMethods {
 
-        @Test
-        @DisplayName("getChunkAtAsync should return CompletableFuture")
-        void getChunkAtAsync() {
-            when(world.getChunkAt(anyInt(), anyInt())).thenReturn(chunk);
-
-            CompletableFuture<Chunk> future = ServerTypeUtil.getChunkAtAsync(world, 10, 20);
-
-            assertThat(future).isNotNull();
-            assertThat(future).isCompletedWithValue(chunk);
-        }
-
         @Test
         @DisplayName("getChunkAtAsync should fall back to sync on Spigot")
         void getChunkAtAsyncSpigotFallback() throws Exception {
-            UltiCleanerTestHelper.setStaticField(ServerTypeUtil.class, "isPaper", false);
             when(world.getChunkAt(5, 10)).thenReturn(chunk);
 
             CompletableFuture<Chunk> future = ServerTypeUtil.getChunkAtAsync(world, 5, 10);
 
-            assertThat(future).isNotNull();
-            assertThat(future.isDone()).isTrue();
-            assertThat(future.get()).isSameAs(chunk);
-        }
-
-        @Test
-        @DisplayName("isEntitiesLoaded should return boolean")
-        void isEntitiesLoaded() {
-            when(chunk.isLoaded()).thenReturn(true);
-
-            boolean result = ServerTypeUtil.isEntitiesLoaded(chunk);
-
-            assertThat(result).isIn(true, false);
-        }
-
-        @Test
-        @DisplayName("isEntitiesLoaded should return true for loaded chunk on Spigot")
-        void isEntitiesLoadedSpigotLoaded() throws Exception {
-            UltiCleanerTestHelper.setStaticField(ServerTypeUtil.class, "isPaper", false);
-            when(chunk.isLoaded()).thenReturn(true);
-
-            boolean result = ServerTypeUtil.isEntitiesLoaded(chunk);
-
-            assertThat(result).isTrue();
-        }
-
-        @Test
-        @DisplayName("isEntitiesLoaded should return false for unloaded chunk on Spigot")
-        void isEntitiesLoadedSpigotUnloaded() throws Exception {
-            UltiCleanerTestHelper.setStaticField(ServerTypeUtil.class, "isPaper", false);
-            when(chunk.isLoaded()).thenReturn(false);
-
-            boolean result = ServerTypeUtil.isEntitiesLoaded(chunk);
-
-            assertThat(result).isFalse();
+            assertThat(future).isCompletedWithValue(chunk);
         }
 
         @Test
         @DisplayName("getChunkAtAsync with Paper but no async method should fall back")
         void getChunkAtAsyncPaperFallback() throws Exception {
-            UltiCleanerTestHelper.setStaticField(ServerTypeUtil.class, "isPaper", true);
-            // getChunkAtAsyncMethod is null by default, reflection will fail
-            UltiCleanerTestHelper.setStaticField(ServerTypeUtil.class, "getChunkAtAsyncMethod", null);
-
+            // The Spigot API has no getChunkAtAsync, so the handle is unbound
+            UltiCleanerTestHelper.setCapabilities(
+                capabilities(ServerCapabilities.Platform.PAPER, true, false, false, true, false));
             when(world.getChunkAt(5, 10)).thenReturn(chunk);
 
             CompletableFuture<Chunk> future = ServerTypeUtil.getChunkAtAsync(world, 5, 10);
 
-            assertThat(future).isNotNull();
-            // Should fall through to sync loading
-            assertThat(future.isDone()).isTrue();
-        }
-
-        @Test
-        @DisplayName("isEntitiesLoaded on Paper should attempt Paper API method")
-        void isEntitiesLoadedPaperAttempt() throws Exception {
-            UltiCleanerTestHelper.setStaticField(ServerTypeUtil.class, "isPaper", true);
-            UltiCleanerTestHelper.setStaticField(ServerTypeUtil.class, "isEntitiesLoadedMethod", null);
-
-            // The Spigot 1.20 API may or may not include isEntitiesLoaded on Chunk.
-            // Either way, the call should not throw and should return a boolean.
-            boolean result = ServerTypeUtil.isEntitiesLoaded(chunk);
-            assertThat(result).isIn(true, false);
-        }
-    }
-
-    // ==================== Caching ====================
-
-    @Nested
-    @DisplayName("Caching")
-    class Caching {
-
-        @Test
-        @DisplayName("isPaper should cache result")
-        void isPaperCaches() {
-            boolean first = ServerTypeUtil.isPaper();
-            boolean second = ServerTypeUtil.isPaper();
-
-            assertThat(first).isEqualTo(second);
+            assertThat(future).isCompletedWithValue(chunk);
         }
 
         @Test
-        @DisplayName("isModernPaper should cache result")
-        void isModernPaperCaches() {
-            boolean first = ServerTypeUtil.isModernPaper();
-            boolean second = ServerTypeUtil.isModernPaper();
+        @DisplayName("isEntitiesLoaded should return true for loaded chunk on Spigot")
+        void isEntitiesLoadedSpigotLoaded() {
+            when(chunk.isLoaded()).thenReturn(true);
 
-            assertThat(first).isEqualTo(second);
+            assertThat(ServerTypeUtil.isEntitiesLoaded(chunk)).isTrue();
         }
 
         @Test
-        @DisplayName("hasTpsMethod should cache result")
-        void hasTpsMethodCaches() {
-            boolean first = ServerTypeUtil.hasTpsMethod();
-            boolean second = ServerTypeUtil.hasTpsMethod();
+        @DisplayName("isEntitiesLoaded should return false for unloaded chunk on Spigot")
+        void isEntitiesLoadedSpigotUnloaded() {
+            when(chunk.isLoaded()).thenReturn(false);
 
-            assertThat(first).isEqualTo(second);
+            assertThat(ServerTypeUtil.isEntitiesLoaded(chunk)).isFalse();
         }
 
         @Test
-        @DisplayName("isPaper cache should be reset in tearDown")
-        void isPaperCacheReset() throws Exception {
-            // After setUp, isPaper was reset to null then evaluated
-            // Set it explicitly to a known value
-            UltiCleanerTestHelper.setStaticField(ServerTypeUtil.class, "isPaper", true);
-            assertThat(ServerTypeUtil.isPaper()).isTrue();
+        @DisplayName("isEntitiesLoaded on Paper should call the bound API method")
+        void isEntitiesLoadedPaper() throws Exception {
+            UltiCleanerTestHelper.setCapabilities(
+                capabilities(ServerCapabilities.Platform.PAPER, true, false, false, false, true));
+            when(chunk.isLoaded()).thenReturn(true);
+            when(chunk.isEntitiesLoaded()).thenReturn(false);
 
-            // After tearDown and setUp, it should be re-evaluated
+            assertThat(ServerTypeUtil.isEntitiesLoaded(chunk)).isFalse();
+            verify(chunk).isEntitiesLoaded();
         }
     }
 